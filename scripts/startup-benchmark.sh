@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Cold-start benchmark for the fast-startup runtime image.
+#
+# Starts the application repeatedly with -Dtictactoe.exitAfterStartup=true and reads the
+# "first frame" startup phase from the log, i.e. the time from JVM process start until the
+# main menu has been laid out for the first time. Each round runs the image once with the
+# default -Xshare:auto and only the JDK's classes archived (before), as a stock runtime would
+# start, and once with the AppCDS archive built by the profile (after), alternating so that
+# both see the same machine state.
+#
+# Usage: mvn -Pfast-startup package && scripts/startup-benchmark.sh [runs]
+# Needs a display; on a headless machine run it under xvfb-run.
+set -euo pipefail
+
+RUNS=${1:-10}
+IMAGE="$(cd "$(dirname "$0")/.." && pwd)/target/tictactoe"
+MAIN="org.example.testtictactoe/org.example.tictactoe.Main"
+JDK_ARCHIVE="$IMAGE/lib/server/classes_jdk.jsa"
+
+if [[ ! -x "$IMAGE/bin/java" || ! -f "$JDK_ARCHIVE" ]]; then
+    echo "Runtime image not found at $IMAGE; build it with: mvn -Pfast-startup package" >&2
+    exit 1
+fi
+
+# Prints the milliseconds from JVM start to the first frame for one launch.
+first_frame_ms() {
+    "$IMAGE/bin/java" "$@" -Dtictactoe.exitAfterStartup=true -m "$MAIN" 2>&1 \
+        | sed -n "s/.*Startup phase 'first frame' took [0-9]* ms (\([0-9]*\) ms since JVM start).*/\1/p"
+}
+
+# Prints the minimum and median of the numbers on stdin.
+summarize() {
+    sort -n | awk '{ v[NR] = $1 } END { printf "min %5d ms   median %5d ms\n", v[1], v[int((NR + 1) / 2)] }'
+}
+
+before=()
+after=()
+for ((i = 1; i <= RUNS; i++)); do
+    before+=("$(first_frame_ms -Xshare:auto "-XX:SharedArchiveFile=$JDK_ARCHIVE")")
+    after+=("$(first_frame_ms -Xshare:auto)")
+    echo "run $i/$RUNS: before ${before[-1]} ms, after ${after[-1]} ms"
+done
+
+echo
+echo "Time to first frame over $RUNS runs:"
+printf "  before (JDK CDS):    "; printf '%s\n' "${before[@]}" | summarize
+printf "  after (AppCDS):      "; printf '%s\n' "${after[@]}" | summarize
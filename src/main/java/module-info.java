@@ -3,10 +3,16 @@ module org.example.testtictactoe {
     requires javafx.fxml;
     requires java.logging;
     requires org.tinylog.api;
+    // The logging provider is only looked up as a service; requiring it keeps it in jlink images
+    requires org.tinylog.impl;
 
     // Allow reflection for FXML
     opens org.example.tictactoe to javafx.fxml;
     opens org.example.tictactoe.controllers to javafx.fxml;
+    opens org.example.tictactoe.views to javafx.fxml;
+
+    // Custom board renderers used from FXML
+    exports org.example.tictactoe.views;
 
     // Export the main package
     exports org.example.tictactoe;
@@ -1,9 +1,11 @@
 package org.example.tictactoe;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.example.tictactoe.factories.ViewCache;
+import org.example.tictactoe.utils.StartupTimer;
 import org.tinylog.Logger;
 
 /**
@@ -12,13 +14,22 @@ import org.tinylog.Logger;
  * This class initializes the JavaFX application, loads the main menu, and sets up the primary stage.
  * It also provides error handling and logging for application startup.
  * </p>
+ * <p>
+ * Startup phases are timed with {@link StartupTimer}. Once the main menu is showing, the
+ * remaining views are parsed in the background by the {@link ViewCache}.
+ * </p>
  */
 public class Main extends Application {
+
+    private static final String EXIT_AFTER_STARTUP = "tictactoe.exitAfterStartup";
+
     /**
      * Starts the JavaFX application.
      * <p>
      * This method sets up the main menu by loading the corresponding FXML file, applying styles,
      * and configuring the primary stage. It also handles errors that might occur during the initialization process.
+     * After the menu is shown, the other views are preloaded and the time to the first
+     * frame is logged.
      * </p>
      *
      * @param primaryStage The primary stage for the JavaFX application.
@@ -27,9 +38,9 @@ public class Main extends Application {
     @Override
     public void start(Stage primaryStage) throws Exception {
         Logger.info("Starting Tic-Tac-Toe application.");
+        StartupTimer.mark("fx toolkit ready");
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/org/example/views/MainMenu.fxml"));
-            Scene scene = new Scene(loader.load());
+            Scene scene = ViewCache.load(ViewCache.MAIN_MENU).scene();
             scene.getStylesheets().add(getClass().getResource("/styles/style.css").toExternalForm());
 
             primaryStage.setWidth(390);
@@ -38,9 +49,39 @@ public class Main extends Application {
             primaryStage.setScene(scene);
 
             Logger.info("Main Menu loaded successfully.");
+            StartupTimer.mark("main menu loaded");
             primaryStage.show();
+            StartupTimer.mark("main menu shown");
+            ViewCache.getInstance().preloadAll();
+            scene.addPostLayoutPulseListener(new Runnable() {
+                @Override
+                public void run() {
+                    scene.removePostLayoutPulseListener(this);
+                    Platform.runLater(() -> onFirstFrame(primaryStage));
+                }
+            });
         } catch (Exception e) {
             Logger.error(e, "Error loading the main menu.");
         }
     }
+
+    /**
+     * Logs the startup timings once the first frame of the main menu has been laid out.
+     * <p>
+     * With {@code -Dtictactoe.exitAfterStartup=true} the application exits right away, which
+     * is how the startup benchmark measures cold starts; with {@code -Dtictactoe.training=true}
+     * the {@link TrainingRun} plays through the application.
+     * </p>
+     *
+     * @param primaryStage The stage showing the main menu.
+     */
+    private void onFirstFrame(Stage primaryStage) {
+        StartupTimer.mark("first frame");
+        Logger.info("Startup timings: {}", StartupTimer.summary());
+        if (Boolean.getBoolean(EXIT_AFTER_STARTUP)) {
+            Platform.exit();
+        } else if (TrainingRun.isEnabled()) {
+            TrainingRun.start(primaryStage);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package org.example.tictactoe;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonBase;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.TextField;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.Duration;
+import org.tinylog.Logger;
+
+/**
+ * Plays through the application unattended: the main menu, one game against the Hard AI and
+ * the stats screen, then exits.
+ * <p>
+ * Enabled with {@code -Dtictactoe.training=true}. The `fast-startup` build profile runs it
+ * once to record which classes the application loads, so they can be stored in the runtime
+ * image's class-data-sharing archive. The run clicks through the real screens (looked up by
+ * their {@code fx:id}) so the recorded classes match an interactive session.
+ * </p>
+ */
+final class TrainingRun {
+
+    /** System property that enables the training run. */
+    static final String PROPERTY = "tictactoe.training";
+
+    private static final Duration STEP = Duration.millis(100);
+    private static final int MAX_STEPS = 600; // give up after one minute
+
+    private final Stage primaryStage;
+    private final Timeline timeline = new Timeline();
+    private int steps;
+
+    private TrainingRun(Stage primaryStage) {
+        this.primaryStage = primaryStage;
+    }
+
+    /**
+     * Checks whether the training run was requested on the command line.
+     *
+     * @return {@code true} if {@value #PROPERTY} is set to {@code true}.
+     */
+    static boolean isEnabled() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    /**
+     * Starts the training run on the shown main menu.
+     *
+     * @param primaryStage The stage showing the main menu.
+     */
+    static void start(Stage primaryStage) {
+        Logger.info("Starting training run.");
+        new TrainingRun(primaryStage).run();
+    }
+
+    private void run() {
+        click(primaryStage, "#aiOption");
+        click(primaryStage, "#startButton");
+        Stage difficulty = findStage("AI Difficulty");
+        click(difficulty, "#hardButton");
+        ((TextField) difficulty.getScene().lookup("#playerNameField")).setText("Training");
+        click(difficulty, "#startButton");
+
+        CheckBox heatmap = (CheckBox) primaryStage.getScene().lookup("#heatmapToggle");
+        heatmap.fire();
+        timeline.getKeyFrames().add(new KeyFrame(STEP, event -> step()));
+        timeline.setCycleCount(Animation.INDEFINITE);
+        timeline.play();
+    }
+
+    /**
+     * Plays the first free cell whenever it is the player's turn, and exits once the stats screen is shown.
+     */
+    private void step() {
+        if (++steps > MAX_STEPS || findStage("Game Stats") != null) {
+            Logger.info("Training run finished after {} steps.", steps);
+            timeline.stop();
+            Platform.exit();
+            return;
+        }
+        Node board = primaryStage.getScene().lookup("#boardView");
+        if (!(board instanceof Parent)) return;
+        for (Node cell : ((Parent) board).getChildrenUnmodifiable()) {
+            if (cell instanceof Button button && !button.isDisabled() && button.getText().isBlank()) {
+                button.fire();
+                return;
+            }
+        }
+    }
+
+    private static void click(Stage stage, String selector) {
+        ((ButtonBase) stage.getScene().lookup(selector)).fire();
+    }
+
+    private static Stage findStage(String title) {
+        for (Window window : Window.getWindows()) {
+            if (window instanceof Stage stage && title.equals(stage.getTitle())) return stage;
+        }
+        return null;
+    }
+}
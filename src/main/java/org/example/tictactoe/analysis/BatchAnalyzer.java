@@ -0,0 +1,344 @@
+package org.example.tictactoe.analysis;
+
+import org.example.tictactoe.models.Board;
+import org.example.tictactoe.models.ExactResult;
+import org.example.tictactoe.models.Move;
+import org.example.tictactoe.models.MoveList;
+import org.example.tictactoe.models.PositionCache;
+import org.example.tictactoe.models.Symmetry;
+import org.tinylog.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Evaluates large batches of positions on all cores.
+ * <p>
+ * Positions are given as strings of {@code size * size} cells in row-major order, 'X', 'O'
+ * and '.' (or '-' or a space) for an empty cell, e.g. {@code "X...O...."}; the side to move
+ * follows from the number of stones. For each position the analyzer reports its value for the
+ * side to move and every move that achieves it, found by an alpha-beta search to a fixed depth.
+ * Searches that reach the end of every line are exact: the value is then {@link #WIN},
+ * {@code 0} or {@code -WIN}.
+ * </p>
+ * <p>
+ * Work is deduplicated by the canonical hash of the position, so all rotations and reflections
+ * of a position are searched once per batch, even when they are analyzed at the same time on
+ * different threads. Exact results on boards of up to {@value ExactResult#CELL_LIMIT} cells are
+ * also stored in the {@link PositionCache} as {@link ExactResult}s, so they survive across
+ * batches and restarts and are shared with the game's hints.
+ * </p>
+ */
+public class BatchAnalyzer {
+
+    /**
+     * The value of a won position.
+     */
+    public static final long WIN = Long.MAX_VALUE / 4;
+
+    private static final long INFINITY = Long.MAX_VALUE;
+
+    private final int size;
+    private final int winLength;
+    private final int depth;
+    private final int threads;
+    private final PositionCache cache;
+
+    /**
+     * Creates an analyzer that searches every position to the end, backed by the shared cache.
+     *
+     * @param size      The number of rows and columns.
+     * @param winLength The number of symbols in a row needed to win.
+     */
+    public BatchAnalyzer(int size, int winLength) {
+        this(size, winLength, size * size, Runtime.getRuntime().availableProcessors(), PositionCache.getInstance());
+    }
+
+    /**
+     * Creates an analyzer.
+     *
+     * @param size      The number of rows and columns.
+     * @param winLength The number of symbols in a row needed to win.
+     * @param depth     The search depth in plies; positions with no more empty cells are solved exactly.
+     * @param threads   The number of worker threads.
+     * @param cache     The cache for exact results, or {@code null} to deduplicate within a batch only.
+     */
+    public BatchAnalyzer(int size, int winLength, int depth, int threads, PositionCache cache) {
+        this.size = size;
+        this.winLength = winLength;
+        this.depth = depth;
+        this.threads = threads;
+        this.cache = cache;
+    }
+
+    /**
+     * Analyzes a batch of positions.
+     *
+     * @param positions The encoded positions.
+     * @return The analyses in input order, with throughput figures.
+     * @throws IllegalArgumentException If a position is malformed or cannot occur in a game.
+     */
+    public Batch analyze(Stream<String> positions) {
+        Map<Long, CompletableFuture<Result>> results = new ConcurrentHashMap<>();
+        AtomicLong searched = new AtomicLong();
+        AtomicLong cacheHits = new AtomicLong();
+        long start = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<Analysis> analyses;
+        try {
+            analyses = pool.submit(() -> positions.parallel()
+                    .map(position -> analyze(position, results, searched, cacheHits))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch analysis interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        if (cache != null) cache.flush();
+
+        Batch batch = new Batch(analyses, searched.get(), cacheHits.get(), System.nanoTime() - start);
+        Logger.info("Analyzed {} positions ({} searched, {} from cache) at {} positions/s.", analyses.size(),
+                batch.searched(), batch.cacheHits(), Math.round(batch.positionsPerSecond()));
+        return batch;
+    }
+
+    private Analysis analyze(String position, Map<Long, CompletableFuture<Result>> results, AtomicLong searched,
+                             AtomicLong cacheHits) {
+        Board board = decode(position);
+        char side = sideToMove(board);
+        int symmetry = board.getCanonicalSymmetry();
+        long key = board.getHash(symmetry); // one geometry per batch, and the stones decide the side to move
+
+        CompletableFuture<Result> mine = new CompletableFuture<>();
+        CompletableFuture<Result> shared = results.putIfAbsent(key, mine);
+        Result canonical;
+        if (shared != null) {
+            canonical = shared.join();
+        } else {
+            try {
+                canonical = lookup(board, symmetry);
+                if (canonical != null) {
+                    cacheHits.incrementAndGet();
+                } else {
+                    canonical = search(board, side, symmetry);
+                    searched.incrementAndGet();
+                    store(board, symmetry, canonical);
+                }
+                mine.complete(canonical);
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        int inverse = Symmetry.inverse(symmetry);
+        int[] bestMoves = Arrays.stream(canonical.bestMoves()).map(move -> Symmetry.apply(inverse, move, size))
+                .sorted().toArray();
+        return new Analysis(position, side, canonical.value(), canonical.exact(), bestMoves);
+    }
+
+    /**
+     * Searches every move of the position and keeps the ones with the best value.
+     *
+     * @return The result, with moves in the canonical orientation.
+     */
+    private Result search(Board board, char side, int symmetry) {
+        char opponent = side == 'X' ? 'O' : 'X';
+        int empty = board.getCellCount() - board.getMoveCount();
+        boolean exact = depth >= empty;
+        if (board.checkWinner() != ' ') return new Result(-WIN, true, new int[0]);
+        if (empty == 0) return new Result(0, true, new int[0]);
+
+        MoveList[] plies = new MoveList[Math.min(depth, empty) + 1];
+        for (int ply = 0; ply < plies.length; ply++) {
+            plies[ply] = new MoveList(board.getCellCount());
+        }
+        MoveList moves = plies[0];
+        board.generateMoves(moves);
+        long best = -INFINITY;
+        MoveList bestMoves = new MoveList(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move, side);
+            long value = -negamax(board, plies, 1, Math.min(depth, empty) - 1, opponent, side, -INFINITY, INFINITY);
+            board.undoMove();
+            if (value > best) {
+                best = value;
+                bestMoves.clear();
+            }
+            if (value == best) bestMoves.add(Symmetry.apply(symmetry, move, size));
+        }
+        int[] canonicalMoves = new int[bestMoves.size()];
+        for (int i = 0; i < canonicalMoves.length; i++) {
+            canonicalMoves[i] = bestMoves.get(i);
+        }
+        return new Result(best, exact, canonicalMoves);
+    }
+
+    /**
+     * Alpha-beta search from the point of view of the side to move.
+     */
+    private long negamax(Board board, MoveList[] plies, int ply, int depthLeft, char side, char opponent,
+                         long alpha, long beta) {
+        if (board.checkWinner() != ' ') return -WIN; // the previous move won
+        if (board.isFull()) return 0;
+        if (depthLeft == 0) return board.evaluate(side);
+
+        MoveList moves = plies[ply];
+        board.generateMoves(moves);
+        long best = -INFINITY;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i), side);
+            long value = -negamax(board, plies, ply + 1, depthLeft - 1, opponent, side, -beta, -alpha);
+            board.undoMove();
+            if (value > best) best = value;
+            if (best > alpha) alpha = best;
+            if (alpha >= beta) break;
+        }
+        return best;
+    }
+
+    /**
+     * Gets an exact result from the position cache, with moves in the canonical orientation.
+     */
+    private Result lookup(Board board, int symmetry) {
+        ExactResult cached = ExactResult.lookup(cache, board, symmetry);
+        if (cached == null) return null;
+        return new Result(cached.value() * WIN, true, cached.bestMoves());
+    }
+
+    private void store(Board board, int symmetry, Result result) {
+        if (!result.exact()) return;
+        ExactResult.store(cache, board, symmetry, new ExactResult(Long.signum(result.value()), result.bestMoves()));
+    }
+
+    /**
+     * Builds a board from an encoded position.
+     *
+     * @param position The cells in row-major order.
+     * @return The board.
+     * @throws IllegalArgumentException If the position has the wrong length, unknown symbols or
+     *                                  stone counts that cannot occur with 'X' moving first.
+     */
+    Board decode(String position) {
+        if (position.length() != size * size) {
+            throw new IllegalArgumentException("Expected " + size * size + " cells: \"" + position + "\"");
+        }
+        Board board = new Board(size, winLength);
+        int xs = 0;
+        int os = 0;
+        for (int cell = 0; cell < position.length(); cell++) {
+            char symbol = Character.toUpperCase(position.charAt(cell));
+            switch (symbol) {
+                case 'X' -> xs++;
+                case 'O' -> os++;
+                case '.', '-', ' ' -> {
+                    continue;
+                }
+                default -> throw new IllegalArgumentException(
+                        "Unknown symbol '" + symbol + "' in \"" + position + "\"");
+            }
+            board.makeMove(cell / size, cell % size, symbol);
+        }
+        if (xs != os && xs != os + 1) {
+            throw new IllegalArgumentException("Impossible stone counts in \"" + position + "\"");
+        }
+        return board;
+    }
+
+    private static char sideToMove(Board board) {
+        return board.getMoveCount() % 2 == 0 ? 'X' : 'O';
+    }
+
+    /**
+     * A search result in the canonical orientation of its position.
+     */
+    private record Result(long value, boolean exact, int[] bestMoves) {
+    }
+
+    /**
+     * The analysis of one position.
+     *
+     * @param position   The encoded position.
+     * @param sideToMove The player to move ('X' or 'O').
+     * @param value      The value for the side to move: {@link #WIN}, 0 or {@code -WIN} if exact,
+     *                   otherwise the static evaluation at the search horizon.
+     * @param exact      Whether the search reached the end of every line.
+     * @param bestMoves  The packed moves that achieve the value, in row-major order; empty if the game is over.
+     */
+    public record Analysis(String position, char sideToMove, long value, boolean exact, int[] bestMoves) {
+
+        @Override
+        public String toString() {
+            String result = exact ? (value > 0 ? "win" : value < 0 ? "loss" : "draw") : Long.toString(value);
+            StringBuilder text = new StringBuilder(position).append(' ').append(sideToMove).append(' ')
+                    .append(result);
+            for (int move : bestMoves) {
+                text.append(" (").append(Move.row(move)).append(',').append(Move.col(move)).append(')');
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * The analyses of a batch with its throughput.
+     *
+     * @param analyses  The analyses in input order.
+     * @param searched  The number of distinct positions that had to be searched.
+     * @param cacheHits The number of distinct positions answered by the position cache.
+     * @param nanos     The wall-clock time of the batch.
+     */
+    public record Batch(List<Analysis> analyses, long searched, long cacheHits, long nanos) {
+
+        /**
+         * Gets the throughput of the batch.
+         *
+         * @return The number of analyzed positions per second.
+         */
+        public double positionsPerSecond() {
+            return analyses.size() / Math.max(nanos / 1e9, 1e-9);
+        }
+    }
+
+    /**
+     * Analyzes the positions of a file, one per line, or of standard input.
+     *
+     * @param args The board size, the win length, optionally the depth, the number of threads
+     *             and the file, e.g. {@code 3 3 9 4 positions.txt}.
+     * @throws IOException If the positions cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int winLength = args.length > 1 ? Integer.parseInt(args[1]) : size;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : size * size;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        BatchAnalyzer analyzer = new BatchAnalyzer(size, winLength, depth, threads, PositionCache.getInstance());
+
+        Batch batch;
+        try (BufferedReader reader = args.length > 4 ? Files.newBufferedReader(Path.of(args[4]))
+                : new BufferedReader(new InputStreamReader(System.in))) {
+            batch = analyzer.analyze(reader.lines().filter(line -> !line.isBlank()));
+        }
+        batch.analyses().forEach(System.out::println);
+        System.out.printf("%d positions (%d searched, %d cached) in %.2f s: %.0f positions/s%n",
+                batch.analyses().size(), batch.searched(), batch.cacheHits(), batch.nanos() / 1e9,
+                batch.positionsPerSecond());
+    }
+}
@@ -0,0 +1,335 @@
+package org.example.tictactoe.analysis;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves small k-in-a-row variants exactly by retrograde analysis.
+ * <p>
+ * The solver first enumerates every canonical position with a legal stone count (see
+ * {@link RetrogradeTable#canonical(int)}) and groups them into layers by the number of stones.
+ * It then solves the layers from the full board back to the empty one: a position is lost for
+ * the side to move if the previous mover completed a line, drawn if the board is full, and
+ * otherwise won if some move leads to a lost position, drawn if some move leads to a draw, and
+ * lost if every move leads to a won position. Since every child lies in the layer above, each
+ * layer only reads values that are already final, so its positions are split across a pool of
+ * worker threads without further coordination.
+ * </p>
+ * <p>
+ * The table is saved after every layer. A run pointed at an existing checkpoint for the same
+ * geometry continues with the layer after the last one saved; a complete table is the export
+ * loaded by {@link RetrogradeStrategy}. Run it offline, e.g.
+ * {@code mvn -Pretrograde exec:exec -Dsolver.args="4 4"}.
+ * </p>
+ */
+public final class RetrogradeSolver {
+
+    private static final int CHUNKS_PER_THREAD = 8; // keeps threads busy when chunks differ in cost
+
+    private final RetrogradeTable table;
+    private final Path checkpoint;
+    private final int threads;
+    private int[][] layers;
+
+    /**
+     * Creates a solver that continues from a checkpoint if one exists for the same geometry.
+     *
+     * @param size       The number of rows and columns.
+     * @param winLength  The number of symbols in a row needed to win.
+     * @param threads    The number of worker threads.
+     * @param checkpoint The file the table is saved to after every layer.
+     * @throws IOException If an existing checkpoint cannot be read.
+     */
+    public RetrogradeSolver(int size, int winLength, int threads, Path checkpoint) throws IOException {
+        this.threads = Math.max(1, threads);
+        this.checkpoint = checkpoint;
+        RetrogradeTable resumed = Files.exists(checkpoint) ? RetrogradeTable.load(checkpoint) : null;
+        if (resumed != null && resumed.getSize() == size && resumed.getWinLength() == winLength) {
+            table = resumed;
+        } else {
+            if (resumed != null) Logger.warn("Ignoring checkpoint {} for a different board.", checkpoint);
+            table = new RetrogradeTable(size, winLength);
+        }
+    }
+
+    /**
+     * Gets the solver's table.
+     *
+     * @return The table, complete once {@link #solve()} has returned.
+     */
+    public RetrogradeTable getTable() {
+        return table;
+    }
+
+    /**
+     * Solves every remaining layer, saving the table after each one.
+     *
+     * @return The complete table.
+     * @throws IOException          If a checkpoint cannot be written.
+     * @throws InterruptedException If the calling thread is interrupted; the last checkpoint stays valid.
+     */
+    public RetrogradeTable solve() throws IOException, InterruptedException {
+        if (table.isComplete()) {
+            Logger.info("Retrograde table {} is already complete.", checkpoint);
+            return table;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "retrograde-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long start = System.nanoTime();
+            enumerate(pool);
+            Logger.info("Enumerated {} canonical positions in {} ms.",
+                    Arrays.stream(layers).mapToLong(layer -> layer.length).sum(), millisSince(start));
+
+            for (int layer = table.getNextLayer(); layer >= 0; layer--) {
+                long layerStart = System.nanoTime();
+                solveLayer(pool, layers[layer]);
+                table.setNextLayer(layer - 1);
+                table.save(checkpoint);
+                long millis = millisSince(layerStart);
+                Logger.info("Solved layer {} ({} positions) in {} ms, {} positions/s.", layer, layers[layer].length,
+                        millis, layers[layer].length * 1000L / Math.max(1, millis));
+            }
+            Logger.info("Solved {}x{} with {} in a row in {} ms: {} for the first player.", table.getSize(),
+                    table.getSize(), table.getWinLength(), millisSince(start), describe(table.get(0)));
+            return table;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Collects the canonical positions with a legal stone count into one array per layer.
+     * <p>
+     * Each task walks a contiguous index range like an odometer, keeping the stone counts up to date
+     * instead of decoding every index.
+     * </p>
+     */
+    private void enumerate(ExecutorService pool) throws InterruptedException, IOException {
+        int positions = table.getPositionCount();
+        int chunks = threads * CHUNKS_PER_THREAD;
+        List<Future<IntBuffer[]>> parts = new ArrayList<>();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = (int) ((long) positions * chunk / chunks);
+            int to = (int) ((long) positions * (chunk + 1) / chunks);
+            parts.add(pool.submit(() -> enumerateRange(from, to)));
+        }
+        IntBuffer[] merged = newBuffers();
+        for (Future<IntBuffer[]> part : parts) {
+            IntBuffer[] buffers = await(part);
+            for (int layer = 0; layer < merged.length; layer++) {
+                merged[layer].addAll(buffers[layer]);
+            }
+        }
+        layers = new int[merged.length][];
+        for (int layer = 0; layer < merged.length; layer++) {
+            layers[layer] = merged[layer].toArray();
+        }
+    }
+
+    private IntBuffer[] enumerateRange(int from, int to) {
+        int cells = table.getCellCount();
+        int[] digits = new int[cells];
+        table.decode(from, digits);
+        int x = 0;
+        int o = 0;
+        for (int digit : digits) {
+            if (digit == 1) x++;
+            else if (digit == 2) o++;
+        }
+        IntBuffer[] buffers = newBuffers();
+        for (int index = from; index < to; index++) {
+            if ((x == o || x == o + 1) && isCanonical(index, digits)) {
+                buffers[x + o].add(index);
+            }
+            // Advance the odometer, adjusting the stone counts of the digits that change
+            for (int cell = 0; cell < cells; cell++) {
+                int digit = digits[cell];
+                if (digit == 1) x--;
+                else if (digit == 2) o--;
+                digits[cell] = (digit + 1) % 3;
+                if (digits[cell] == 1) x++;
+                else if (digits[cell] == 2) o++;
+                if (digits[cell] != 0) break;
+            }
+        }
+        return buffers;
+    }
+
+    private boolean isCanonical(int index, int[] digits) {
+        for (int symmetry = 1; symmetry < 8; symmetry++) {
+            if (table.image(digits, symmetry) < index) return false;
+        }
+        return true;
+    }
+
+    private void solveLayer(ExecutorService pool, int[] positions) throws InterruptedException, IOException {
+        int chunks = threads * CHUNKS_PER_THREAD;
+        List<Future<?>> parts = new ArrayList<>();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = (int) ((long) positions.length * chunk / chunks);
+            int to = (int) ((long) positions.length * (chunk + 1) / chunks);
+            parts.add(pool.submit(() -> solveRange(positions, from, to)));
+        }
+        for (Future<?> part : parts) {
+            await(part);
+        }
+    }
+
+    private void solveRange(int[] positions, int from, int to) {
+        int cells = table.getCellCount();
+        int[] digits = new int[cells];
+        int[] images = new int[8];
+        for (int i = from; i < to; i++) {
+            int index = positions[i];
+            table.decode(index, digits);
+            table.set(index, solvePosition(digits, images));
+        }
+    }
+
+    /**
+     * Computes the value of one position from the values of its children.
+     *
+     * @param digits The cell digits of the position.
+     * @param images Scratch space for the indices of the position's eight symmetric variants.
+     * @return The value for the side to move, or {@link RetrogradeTable#UNKNOWN} for impossible positions.
+     */
+    private int solvePosition(int[] digits, int[] images) {
+        int stones = 0;
+        int x = 0;
+        for (int digit : digits) {
+            if (digit != 0) stones++;
+            if (digit == 1) x++;
+        }
+        int toMove = x * 2 == stones ? 1 : 2;
+        int lastMover = 3 - toMove;
+        if (table.hasLine(digits, toMove)) {
+            return RetrogradeTable.UNKNOWN; // the game would have ended before this move
+        }
+        if (table.hasLine(digits, lastMover)) return RetrogradeTable.LOSS;
+        if (stones == digits.length) return RetrogradeTable.DRAW;
+
+        for (int symmetry = 0; symmetry < 8; symmetry++) {
+            images[symmetry] = table.image(digits, symmetry);
+        }
+        boolean draw = false;
+        for (int cell = 0; cell < digits.length; cell++) {
+            if (digits[cell] != 0) continue;
+            // The child's canonical index is the smallest of the parent's images plus the new stone
+            int child = Integer.MAX_VALUE;
+            for (int symmetry = 0; symmetry < 8; symmetry++) {
+                child = Math.min(child, images[symmetry] + toMove * table.imageWeight(symmetry, cell));
+            }
+            int value = table.get(child);
+            if (value == RetrogradeTable.LOSS) return RetrogradeTable.WIN;
+            if (value == RetrogradeTable.DRAW) draw = true;
+        }
+        return draw ? RetrogradeTable.DRAW : RetrogradeTable.LOSS;
+    }
+
+    private IntBuffer[] newBuffers() {
+        IntBuffer[] buffers = new IntBuffer[table.getCellCount() + 1];
+        for (int layer = 0; layer < buffers.length; layer++) {
+            buffers[layer] = new IntBuffer();
+        }
+        return buffers;
+    }
+
+    private static <T> T await(Future<T> future) throws InterruptedException, IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Retrograde solver task failed", e.getCause());
+        }
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Describes a table value in words.
+     *
+     * @param value One of the {@link RetrogradeTable} values.
+     * @return "win", "loss", "draw" or "unknown".
+     */
+    static String describe(int value) {
+        return switch (value) {
+            case RetrogradeTable.WIN -> "win";
+            case RetrogradeTable.LOSS -> "loss";
+            case RetrogradeTable.DRAW -> "draw";
+            default -> "unknown";
+        };
+    }
+
+    /**
+     * Gets the default table file for a geometry, e.g. {@code retrograde_4x4_4.bin}.
+     *
+     * @param size      The number of rows and columns.
+     * @param winLength The number of symbols in a row needed to win.
+     * @return The file name in the working directory.
+     */
+    public static Path defaultFile(int size, int winLength) {
+        return Path.of("retrograde_" + size + "x" + size + "_" + winLength + ".bin");
+    }
+
+    /**
+     * Solves a variant from the command line.
+     * <p>
+     * Arguments: {@code size winLength [threads] [file]}; the thread count defaults to the number of
+     * processors and the file to {@link #defaultFile(int, int)}.
+     * </p>
+     *
+     * @param args The command-line arguments.
+     * @throws Exception If the solver fails or is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: RetrogradeSolver size winLength [threads] [file]");
+            System.exit(2);
+        }
+        int size = Integer.parseInt(args[0]);
+        int winLength = Integer.parseInt(args[1]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Path file = args.length > 3 ? Path.of(args[3]) : defaultFile(size, winLength);
+        new RetrogradeSolver(size, winLength, threads, file).solve();
+    }
+
+    /**
+     * A growable array of primitive ints, so enumeration does not box millions of indices.
+     */
+    private static final class IntBuffer {
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void addAll(IntBuffer other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.tictactoe.analysis;
+
+import org.example.tictactoe.models.AIDifficultyStrategy;
+import org.example.tictactoe.models.Board;
+import org.example.tictactoe.models.Move;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A perfect-play AI strategy that looks moves up in a table exported by {@link RetrogradeSolver}.
+ * <p>
+ * The `RetrogradeStrategy` plays an immediate win if one exists, and otherwise a move into a
+ * position that is lost for the opponent, or else one that is drawn. The table is loaded from
+ * disk on first use; if the file is missing or incomplete, or the board does not match its
+ * geometry, the strategy delegates to a fallback strategy instead.
+ * </p>
+ */
+public class RetrogradeStrategy implements AIDifficultyStrategy {
+
+    /**
+     * Board size of the variant played with the solved table.
+     */
+    public static final int BOARD_SIZE = 4;
+
+    /**
+     * Winning run length of the variant played with the solved table.
+     */
+    public static final int WIN_LENGTH = 4;
+
+    private final Path file;
+    private final AIDifficultyStrategy fallback;
+    private RetrogradeTable table;
+    private boolean loaded;
+
+    /**
+     * Creates a strategy backed by a table file.
+     *
+     * @param file     The table written by {@link RetrogradeSolver}.
+     * @param fallback The strategy used for positions the table does not cover.
+     */
+    public RetrogradeStrategy(Path file, AIDifficultyStrategy fallback) {
+        this.file = file;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Creates a strategy backed by an already solved table.
+     *
+     * @param table    The complete table.
+     * @param fallback The strategy used for positions the table does not cover.
+     */
+    public RetrogradeStrategy(RetrogradeTable table, AIDifficultyStrategy fallback) {
+        this((Path) null, fallback);
+        this.table = table;
+        this.loaded = true;
+    }
+
+    /**
+     * Selects the move with the best solved outcome, preferring immediate wins.
+     *
+     * @param board       The current state of the game board.
+     * @param aiSymbol    The symbol used by the AI player (e.g., 'X' or 'O').
+     * @param humanSymbol The symbol used by the human player (e.g., 'X' or 'O').
+     * @return The packed move, or {@link Move#NONE} if no move is available.
+     */
+    @Override
+    public int selectMove(Board board, char aiSymbol, char humanSymbol) {
+        RetrogradeTable solved = tableFor(board);
+        if (solved == null) return fallback.selectMove(board, aiSymbol, humanSymbol);
+
+        int size = board.getSize();
+        int bestMove = Move.NONE;
+        int bestRank = Integer.MIN_VALUE;
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            if (!board.makeMove(cell / size, cell % size, aiSymbol)) continue;
+            boolean won = board.checkWinner() == aiSymbol;
+            int rank = rank(solved.valueOf(board.getBoard()));
+            board.undoMove();
+            if (won) return Move.of(cell / size, cell % size);
+            if (rank > bestRank) {
+                bestRank = rank;
+                bestMove = Move.of(cell / size, cell % size);
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Scores every empty cell by its solved outcome: 1 for a win, 0 for a draw and -1 for a loss.
+     *
+     * @param board       The current state of the game board.
+     * @param aiSymbol    The symbol of the side whose moves are scored.
+     * @param humanSymbol The symbol of the opposing side.
+     * @return The score of every cell; occupied cells hold {@link Long#MIN_VALUE}.
+     */
+    @Override
+    public long[] scoreMoves(Board board, char aiSymbol, char humanSymbol) {
+        RetrogradeTable solved = tableFor(board);
+        if (solved == null) return fallback.scoreMoves(board, aiSymbol, humanSymbol);
+
+        int size = board.getSize();
+        long[] scores = new long[board.getCellCount()];
+        for (int cell = 0; cell < scores.length; cell++) {
+            scores[cell] = Long.MIN_VALUE;
+            if (board.makeMove(cell / size, cell % size, aiSymbol)) {
+                scores[cell] = rank(solved.valueOf(board.getBoard()));
+                board.undoMove();
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Ranks a move by the value of the resulting position, which is seen from the opponent's side.
+     *
+     * @param childValue The table value of the position after the move.
+     * @return 1 if the move wins, 0 if it draws, -1 if it loses.
+     */
+    private static int rank(int childValue) {
+        return switch (childValue) {
+            case RetrogradeTable.LOSS -> 1;
+            case RetrogradeTable.DRAW -> 0;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Gets the table if it covers the board, loading it on first use.
+     *
+     * @param board The board to play on.
+     * @return The table, or {@code null} if the fallback must be used.
+     */
+    private synchronized RetrogradeTable tableFor(Board board) {
+        if (!loaded) {
+            loaded = true;
+            table = load(file);
+        }
+        if (table == null || table.getSize() != board.getSize() || table.getWinLength() != board.getWinLength()) {
+            return null;
+        }
+        return table;
+    }
+
+    private static RetrogradeTable load(Path file) {
+        if (!Files.exists(file)) {
+            Logger.warn("Retrograde table {} not found; run RetrogradeSolver to create it.", file);
+            return null;
+        }
+        try {
+            RetrogradeTable table = RetrogradeTable.load(file);
+            if (table.isComplete()) return table;
+            Logger.warn("Retrograde table {} is incomplete; resume RetrogradeSolver to finish it.", file);
+        } catch (IOException e) {
+            Logger.error(e, "Failed to load retrograde table {}.", file);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,388 @@
+package org.example.tictactoe.analysis;
+
+import org.tinylog.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The game-theoretic value of every position of a small k-in-a-row board, packed into 2 bits each.
+ * <p>
+ * A position is indexed by reading its cells as base-3 digits (0 = empty, 1 = X, 2 = O), with
+ * cell {@code row * size + col} as digit number {@code row * size + col}; a 4x4 board has
+ * 3^16 (about 43 million) indices, which fit in about 11 MB. Values are stored for the
+ * canonical index of each position only, i.e. the smallest index among its eight rotations
+ * and reflections ({@link #canonical(int)}); the other entries stay {@link #UNKNOWN}.
+ * </p>
+ * <p>
+ * Values are from the point of view of the side to move, which is X when both sides have
+ * the same number of stones and O otherwise. Entries are updated with atomic compare-and-set,
+ * so solver threads can write neighbouring positions that share a 64-bit word.
+ * </p>
+ * <p>
+ * The table can be saved together with the solver's progress (the next layer to solve), which
+ * serves both as a checkpoint and as the exported result loaded by {@link RetrogradeStrategy}.
+ * </p>
+ */
+public final class RetrogradeTable {
+
+    /** Value of positions that are unreachable or not solved yet. */
+    public static final int UNKNOWN = 0;
+    /** The side to move wins with perfect play. */
+    public static final int WIN = 1;
+    /** The side to move loses with perfect play. */
+    public static final int LOSS = 2;
+    /** The game is drawn with perfect play. */
+    public static final int DRAW = 3;
+
+    /** The largest number of cells whose positions fit in an {@code int} index. */
+    public static final int MAX_CELLS = 19;
+
+    private static final int MAGIC = 0x52455452; // "RETR"
+    private static final int VERSION = 1;
+    private static final int VALUES_PER_WORD = 32;
+
+    private final int size;
+    private final int winLength;
+    private final int cells;
+    private final int positions;
+    private final int[] powers; // 3^cell
+    private final int[][] symmetryCells; // [symmetry][cell] -> image cell
+    private final int[][] lines; // cells of every winning line
+    private final AtomicLongArray values;
+    private int nextLayer;
+
+    /**
+     * Creates an empty table for a board geometry.
+     *
+     * @param size      The number of rows and columns.
+     * @param winLength The number of symbols in a row needed to win.
+     * @throws IllegalArgumentException If the board is too large to index or the win length is out of range.
+     */
+    public RetrogradeTable(int size, int winLength) {
+        if (size < 1 || size * size > MAX_CELLS) {
+            throw new IllegalArgumentException("Board too large for a retrograde table: " + size + "x" + size);
+        }
+        if (winLength < 1 || winLength > size) {
+            throw new IllegalArgumentException("Win length must be between 1 and " + size + ": " + winLength);
+        }
+        this.size = size;
+        this.winLength = winLength;
+        this.cells = size * size;
+        powers = new int[cells + 1];
+        powers[0] = 1;
+        for (int cell = 1; cell <= cells; cell++) {
+            powers[cell] = powers[cell - 1] * 3;
+        }
+        positions = powers[cells];
+        symmetryCells = buildSymmetries(size);
+        lines = buildLines(size, winLength);
+        values = new AtomicLongArray((positions + VALUES_PER_WORD - 1) / VALUES_PER_WORD);
+        nextLayer = cells;
+    }
+
+    /**
+     * Gets the number of rows and columns.
+     *
+     * @return The board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of symbols in a row needed to win.
+     *
+     * @return The winning run length.
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Gets the number of cells of the board.
+     *
+     * @return The cell count.
+     */
+    public int getCellCount() {
+        return cells;
+    }
+
+    /**
+     * Gets the number of indices, i.e. 3 to the power of the cell count.
+     *
+     * @return The index count.
+     */
+    public int getPositionCount() {
+        return positions;
+    }
+
+    /**
+     * Gets the solver's progress: the stone count of the next layer to solve.
+     *
+     * @return The next layer, or {@code -1} once every layer is solved.
+     */
+    public int getNextLayer() {
+        return nextLayer;
+    }
+
+    /**
+     * Records the solver's progress.
+     *
+     * @param nextLayer The stone count of the next layer to solve, or {@code -1} when done.
+     */
+    void setNextLayer(int nextLayer) {
+        this.nextLayer = nextLayer;
+    }
+
+    /**
+     * Checks whether every layer has been solved.
+     *
+     * @return {@code true} if the table is complete.
+     */
+    public boolean isComplete() {
+        return nextLayer < 0;
+    }
+
+    /**
+     * Gets the stored value of an index.
+     *
+     * @param index The position index.
+     * @return One of {@link #UNKNOWN}, {@link #WIN}, {@link #LOSS} or {@link #DRAW}.
+     */
+    public int get(int index) {
+        return (int) (values.get(index / VALUES_PER_WORD) >>> shift(index)) & 3;
+    }
+
+    /**
+     * Stores the value of an index.
+     *
+     * @param index The position index.
+     * @param value One of {@link #UNKNOWN}, {@link #WIN}, {@link #LOSS} or {@link #DRAW}.
+     */
+    void set(int index, int value) {
+        int word = index / VALUES_PER_WORD;
+        int shift = shift(index);
+        long current;
+        long updated;
+        do {
+            current = values.get(word);
+            updated = (current & ~(3L << shift)) | ((long) value << shift);
+        } while (!values.compareAndSet(word, current, updated));
+    }
+
+    /**
+     * Gets the value of a position, looked up through its canonical index.
+     *
+     * @param board The board cells ('X', 'O' or ' '), with the table's size.
+     * @return The value for the side to move.
+     */
+    public int valueOf(char[][] board) {
+        return get(canonical(indexOf(board)));
+    }
+
+    /**
+     * Computes the index of a position.
+     *
+     * @param board The board cells ('X', 'O' or ' '), with the table's size.
+     * @return The position index.
+     */
+    public int indexOf(char[][] board) {
+        int index = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                char symbol = board[row][col];
+                index += (symbol == 'X' ? 1 : symbol == 'O' ? 2 : 0) * powers[row * size + col];
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Computes the canonical index of a position: the smallest index among its symmetric variants.
+     *
+     * @param index The position index.
+     * @return The canonical index.
+     */
+    public int canonical(int index) {
+        int[] digits = new int[cells];
+        decode(index, digits);
+        int best = index;
+        for (int symmetry = 1; symmetry < symmetryCells.length; symmetry++) {
+            best = Math.min(best, image(digits, symmetry));
+        }
+        return best;
+    }
+
+    /**
+     * Splits an index into its base-3 cell digits.
+     *
+     * @param index  The position index.
+     * @param digits The array that receives one digit per cell.
+     */
+    void decode(int index, int[] digits) {
+        for (int cell = 0; cell < cells; cell++) {
+            digits[cell] = index % 3;
+            index /= 3;
+        }
+    }
+
+    /**
+     * Computes the index of a position after applying a symmetry.
+     *
+     * @param digits   The cell digits of the position.
+     * @param symmetry The symmetry, between 0 and 7.
+     * @return The index of the transformed position.
+     */
+    int image(int[] digits, int symmetry) {
+        int[] map = symmetryCells[symmetry];
+        int index = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            index += digits[cell] * powers[map[cell]];
+        }
+        return index;
+    }
+
+    /**
+     * Gets the index weight of a cell after a symmetry, i.e. 3 to the power of the image cell.
+     *
+     * @param symmetry The symmetry, between 0 and 7.
+     * @param cell     The cell.
+     * @return The weight of the image cell.
+     */
+    int imageWeight(int symmetry, int cell) {
+        return powers[symmetryCells[symmetry][cell]];
+    }
+
+    /**
+     * Gets the index weight of a cell, i.e. 3 to the power of the cell.
+     *
+     * @param cell The cell.
+     * @return The weight of the cell.
+     */
+    int weight(int cell) {
+        return powers[cell];
+    }
+
+    /**
+     * Checks whether a side owns a complete line.
+     *
+     * @param digits The cell digits of the position.
+     * @param digit  The side's digit (1 for X, 2 for O).
+     * @return {@code true} if the side has won.
+     */
+    boolean hasLine(int[] digits, int digit) {
+        for (int[] line : lines) {
+            boolean complete = true;
+            for (int cell : line) {
+                if (digits[cell] != digit) {
+                    complete = false;
+                    break;
+                }
+            }
+            if (complete) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes the table and the solver's progress to a file.
+     * <p>
+     * The data goes to a temporary file first, which then replaces the target, so an
+     * interrupted save never destroys the previous checkpoint.
+     * </p>
+     *
+     * @param file The target file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            out.writeInt(winLength);
+            out.writeInt(nextLayer);
+            for (int word = 0; word < values.length(); word++) {
+                out.writeLong(values.get(word));
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a table written by {@link #save(Path)}.
+     *
+     * @param file The file to read.
+     * @return The table, including the solver's progress.
+     * @throws IOException If the file cannot be read or is not a retrograde table.
+     */
+    public static RetrogradeTable load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a retrograde table: " + file);
+            }
+            RetrogradeTable table = new RetrogradeTable(in.readInt(), in.readInt());
+            table.nextLayer = in.readInt();
+            for (int word = 0; word < table.values.length(); word++) {
+                table.values.set(word, in.readLong());
+            }
+            Logger.info("Loaded {}x{} retrograde table ({} in a row) from {}, next layer {}.",
+                    table.size, table.size, table.winLength, file, table.nextLayer);
+            return table;
+        }
+    }
+
+    private static int shift(int index) {
+        return (index % VALUES_PER_WORD) * 2;
+    }
+
+    private static int[][] buildSymmetries(int size) {
+        int[][] maps = new int[8][size * size];
+        for (int symmetry = 0; symmetry < 8; symmetry++) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int r = row;
+                    int c = col;
+                    if ((symmetry & 4) != 0) {
+                        r = col;
+                        c = row;
+                    }
+                    if ((symmetry & 1) != 0) r = size - 1 - r;
+                    if ((symmetry & 2) != 0) c = size - 1 - c;
+                    maps[symmetry][row * size + col] = r * size + c;
+                }
+            }
+        }
+        return maps;
+    }
+
+    private static int[][] buildLines(int size, int winLength) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        List<int[]> lines = new ArrayList<>();
+        for (int[] direction : directions) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int endRow = row + direction[0] * (winLength - 1);
+                    int endCol = col + direction[1] * (winLength - 1);
+                    if (endRow < 0 || endRow >= size || endCol < 0 || endCol >= size) continue;
+                    int[] line = new int[winLength];
+                    for (int i = 0; i < winLength; i++) {
+                        line[i] = (row + direction[0] * i) * size + col + direction[1] * i;
+                    }
+                    lines.add(line);
+                }
+            }
+        }
+        return lines.toArray(new int[0][]);
+    }
+}
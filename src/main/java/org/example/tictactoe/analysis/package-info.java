@@ -0,0 +1,21 @@
+/**
+ * Contains offline analysis tools that solve small board variants exactly.
+ * <p>
+ * The `analysis` package holds the retrograde solver and the strategy that plays from its
+ * results, and a batch analyzer for evaluating large sets of positions. Solving runs outside the application, from the command line or the `retrograde`
+ * build profile, and writes a table file that the game loads when the solved variant is played.
+ * </p>
+ *
+ * <h2>Key Classes:</h2>
+ * <ul>
+ *     <li><strong>{@link org.example.tictactoe.analysis.RetrogradeTable}:</strong>
+ *         Stores the value of every canonical position in 2 bits and saves it as a checkpoint or export.</li>
+ *     <li><strong>{@link org.example.tictactoe.analysis.RetrogradeSolver}:</strong>
+ *         Enumerates canonical positions and solves them layer by layer on a thread pool, with resume.</li>
+ *     <li><strong>{@link org.example.tictactoe.analysis.RetrogradeStrategy}:</strong>
+ *         Plays perfectly by looking moves up in a solved table, registered as the "Solved" difficulty.</li>
+ *     <li><strong>{@link org.example.tictactoe.analysis.BatchAnalyzer}:</strong>
+ *         Searches batches of encoded positions in parallel, once per symmetry class, for values and best moves.</li>
+ * </ul>
+ */
+package org.example.tictactoe.analysis;
@@ -0,0 +1,72 @@
+package org.example.tictactoe.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Partial results of a query: per group key, the number of draws, first-mover wins and
+ * second-mover wins, and the total number of moves, in one flat array.
+ */
+final class Aggregate {
+
+    /** Cells per group: draws, first wins, second wins (indexed by the winner code), then moves. */
+    static final int WIDTH = 4;
+    private static final int MOVES = 3;
+
+    private long[] cells;
+
+    Aggregate(int cardinality) {
+        cells = new long[cardinality * WIDTH];
+    }
+
+    /**
+     * Gets the raw cells, for tight aggregation loops. The array is replaced when it grows.
+     */
+    long[] cells() {
+        return cells;
+    }
+
+    int cardinality() {
+        return cells.length / WIDTH;
+    }
+
+    /**
+     * Counts one game.
+     *
+     * @param key    The group key.
+     * @param winner The winner code: 0 draw, 1 first mover, 2 second mover.
+     * @param moves  The number of moves played.
+     */
+    void add(int key, int winner, int moves) {
+        if (key >= cardinality()) cells = Arrays.copyOf(cells, Math.max(2 * cells.length, (key + 1) * WIDTH));
+        cells[key * WIDTH + winner]++;
+        cells[key * WIDTH + MOVES] += moves;
+    }
+
+    /**
+     * Adds the results of another aggregate to this one.
+     *
+     * @param other The aggregate to add.
+     * @return This aggregate.
+     */
+    Aggregate merge(Aggregate other) {
+        if (other.cells.length > cells.length) cells = Arrays.copyOf(cells, other.cells.length);
+        for (int i = 0; i < other.cells.length; i++) {
+            cells[i] += other.cells[i];
+        }
+        return this;
+    }
+
+    Aggregate copy() {
+        Aggregate copy = new Aggregate(0);
+        copy.cells = cells.clone();
+        return copy;
+    }
+
+    Outcome outcome(int key) {
+        int base = key * WIDTH;
+        long draws = cells[base];
+        long firstWins = cells[base + 1];
+        long secondWins = cells[base + 2];
+        return new Outcome(draws + firstWins + secondWins, firstWins, secondWins, draws, cells[base + MOVES]);
+    }
+}
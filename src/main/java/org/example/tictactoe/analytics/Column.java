@@ -0,0 +1,36 @@
+package org.example.tictactoe.analytics;
+
+/**
+ * The dimensions of a {@link GameTable} that games can be filtered and grouped by.
+ * <p>
+ * Every dimension is stored as an int column: names are dictionary-encoded by the table,
+ * numbers are stored as they are.
+ * </p>
+ */
+public enum Column {
+    /** The player who moved first ('X'). */
+    PLAYER1(true),
+    /** The player who moved second ('O'), "AI" in games against the AI. */
+    PLAYER2(true),
+    /** The AI difficulty, empty in Player vs Player games. */
+    STRATEGY(true),
+    /** The number of rows and columns. */
+    BOARD_SIZE(false),
+    /** The number of symbols in a row needed to win. */
+    WIN_LENGTH(false);
+
+    private final boolean named;
+
+    Column(boolean named) {
+        this.named = named;
+    }
+
+    /**
+     * Checks whether the column holds dictionary-encoded names rather than numbers.
+     *
+     * @return {@code true} for name columns.
+     */
+    public boolean isNamed() {
+        return named;
+    }
+}
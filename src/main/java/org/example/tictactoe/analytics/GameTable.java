@@ -0,0 +1,213 @@
+package org.example.tictactoe.analytics;
+
+import org.example.tictactoe.models.GameRecord;
+import org.example.tictactoe.services.GameRecordReader;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * An in-memory, column-oriented table of game records for analytics queries.
+ * <p>
+ * Games are appended into segments of {@value Segment#ROWS} rows. Every {@link Column} is
+ * an int array per segment, with names replaced by dense dictionary keys, so a
+ * {@link Query} is answered by tight loops over primitive arrays that the JIT can unroll
+ * and vectorize. Segments are scanned in parallel on the common fork-join pool and their
+ * partial results merged. Queries registered with {@link #watch(Query)} are updated as
+ * games are appended instead of being rescanned.
+ * </p>
+ * <p>
+ * The table is safe for one appending thread and any number of querying threads.
+ * </p>
+ */
+public class GameTable {
+
+    private static final int DRAW = 0;
+    private static final int FIRST_WINS = 1;
+    private static final int SECOND_WINS = 2;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<String, Integer> keys = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final int[] cardinality = new int[Column.values().length];
+    private final List<LiveQuery> liveQueries = new ArrayList<>();
+    private final int[] row = new int[Column.values().length];
+    private long size;
+
+    /**
+     * Loads every record of a game record file.
+     *
+     * @param file The record file, see {@link org.example.tictactoe.services.GameRecordWriter}.
+     * @return The table; empty if the file does not exist.
+     * @throws IOException If the file cannot be read.
+     */
+    public static GameTable load(Path file) throws IOException {
+        GameTable table = new GameTable();
+        if (file.toFile().exists()) {
+            try (GameRecordReader reader = new GameRecordReader(file)) {
+                reader.forEach(table::append);
+            }
+        }
+        Logger.info("Loaded {} games for analytics from {}.", table.size(), file);
+        return table;
+    }
+
+    /**
+     * Appends a game and updates the watched queries.
+     *
+     * @param record The game record.
+     */
+    public synchronized void append(GameRecord record) {
+        row[Column.PLAYER1.ordinal()] = intern(record.player1());
+        row[Column.PLAYER2.ordinal()] = intern(record.player2());
+        row[Column.STRATEGY.ordinal()] = intern(record.strategy());
+        row[Column.BOARD_SIZE.ordinal()] = record.boardSize();
+        row[Column.WIN_LENGTH.ordinal()] = record.winLength();
+        for (int column = 0; column < row.length; column++) {
+            cardinality[column] = Math.max(cardinality[column], row[column] + 1);
+        }
+        int winner = switch (record.winner()) {
+            case 'X' -> FIRST_WINS;
+            case 'O' -> SECOND_WINS;
+            default -> DRAW;
+        };
+
+        if (segments.isEmpty() || segments.get(segments.size() - 1).isFull()) segments.add(new Segment());
+        segments.get(segments.size() - 1).append(row, winner, record.moves().length, record.startTime());
+        size++;
+        for (LiveQuery query : liveQueries) {
+            query.accept(row, winner, record.moves().length, record.startTime());
+        }
+    }
+
+    /**
+     * Gets the number of games in the table.
+     *
+     * @return The row count.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Runs a query over all games appended so far.
+     *
+     * @param query The query.
+     * @return The outcome per group, largest groups first.
+     */
+    public Map<String, Outcome> query(Query query) {
+        return toResult(query.groupByColumn(), scan(query));
+    }
+
+    /**
+     * Registers a query whose result is updated as games are appended.
+     *
+     * @param query The query.
+     * @return The live query; close it to stop the updates.
+     */
+    public synchronized LiveQuery watch(Query query) {
+        LiveQuery live = new LiveQuery(this, query, plan(query), scan(query));
+        liveQueries.add(live);
+        return live;
+    }
+
+    synchronized void unwatch(LiveQuery query) {
+        liveQueries.remove(query);
+    }
+
+    /**
+     * Scans the segments in parallel, each up to the rows it held when the scan started.
+     */
+    private Aggregate scan(Query query) {
+        Plan plan;
+        Segment[] snapshot;
+        int[] rows;
+        synchronized (this) {
+            plan = plan(query);
+            snapshot = segments.toArray(new Segment[0]);
+            rows = Arrays.stream(snapshot).mapToInt(Segment::size).toArray();
+        }
+        return IntStream.range(0, snapshot.length).parallel()
+                .mapToObj(i -> snapshot[i].aggregate(plan, rows[i]))
+                .reduce(Aggregate::merge)
+                .orElseGet(() -> new Aggregate(plan.cardinality));
+    }
+
+    private synchronized Plan plan(Query query) {
+        List<Column> columns = query.filterColumns();
+        int[] filterColumns = new int[columns.size()];
+        int[] filterKeys = new int[columns.size()];
+        for (int i = 0; i < filterColumns.length; i++) {
+            Column column = columns.get(i);
+            String value = query.filterValues().get(i);
+            filterColumns[i] = column.ordinal();
+            // interning unseen names lets live queries match players who have not played yet
+            filterKeys[i] = column.isNamed() ? intern(value) : Integer.parseInt(value);
+        }
+        int groupBy = query.groupByColumn().ordinal();
+        return new Plan(groupBy, filterColumns, filterKeys, query.from(), query.to(), cardinality[groupBy]);
+    }
+
+    private int intern(String name) {
+        Integer key = keys.get(name);
+        if (key == null) {
+            key = names.size();
+            keys.put(name, key);
+            names.add(name);
+        }
+        return key;
+    }
+
+    /**
+     * Converts an aggregate into labelled outcomes, skipping empty groups.
+     */
+    Map<String, Outcome> toResult(Column groupBy, Aggregate aggregate) {
+        List<Map.Entry<String, Outcome>> groups = new ArrayList<>();
+        synchronized (this) {
+            for (int key = 0; key < aggregate.cardinality(); key++) {
+                Outcome outcome = aggregate.outcome(key);
+                if (outcome.games() > 0) {
+                    groups.add(Map.entry(groupBy.isNamed() ? names.get(key) : Integer.toString(key), outcome));
+                }
+            }
+        }
+        groups.sort(Comparator.comparingLong((Map.Entry<String, Outcome> group) -> group.getValue().games())
+                .reversed());
+        Map<String, Outcome> result = new LinkedHashMap<>();
+        groups.forEach(group -> result.put(group.getKey(), group.getValue()));
+        return result;
+    }
+
+    /**
+     * Runs one query over a game record file and prints the result.
+     *
+     * @param args The record file (default {@code game_records.bin}), the column to group by
+     *             (default {@code STRATEGY}) and any number of {@code COLUMN=value} filters,
+     *             e.g. {@code game_records.bin PLAYER1 STRATEGY=Hard}.
+     * @throws IOException If the file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "game_records.bin");
+        Query query = Query.groupBy(Column.valueOf(args.length > 1 ? args[1].toUpperCase() : "STRATEGY"));
+        for (int i = 2; i < args.length; i++) {
+            String[] filter = args[i].split("=", 2);
+            query = query.where(Column.valueOf(filter[0].toUpperCase()), filter[1]);
+        }
+        GameTable table = load(file);
+
+        long start = System.nanoTime();
+        Map<String, Outcome> result = table.query(query);
+        double millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%s over %d games (%.1f ms):%n", query, table.size(), millis);
+        result.forEach((group, outcome) -> System.out.printf("  %-20s %s%n", group.isEmpty() ? "-" : group, outcome));
+    }
+}
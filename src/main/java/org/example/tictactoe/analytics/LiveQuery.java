@@ -0,0 +1,63 @@
+package org.example.tictactoe.analytics;
+
+import java.util.Map;
+
+/**
+ * A query whose result is kept up to date as games are appended to its {@link GameTable}.
+ * <p>
+ * The result is computed once by a full scan when the query is registered with
+ * {@link GameTable#watch(Query)}; after that every appended game costs one row check, so
+ * reading the result never rescans the history.
+ * </p>
+ */
+public final class LiveQuery implements AutoCloseable {
+
+    private final GameTable table;
+    private final Query query;
+    private final Plan plan;
+    private final Aggregate aggregate;
+
+    LiveQuery(GameTable table, Query query, Plan plan, Aggregate initial) {
+        this.table = table;
+        this.query = query;
+        this.plan = plan;
+        this.aggregate = initial;
+    }
+
+    /**
+     * Counts a newly appended game if it matches the query.
+     */
+    synchronized void accept(int[] keys, int winner, int moves, long startTime) {
+        if (plan.matches(keys, startTime)) aggregate.add(keys[plan.groupBy], winner, moves);
+    }
+
+    /**
+     * Gets the current result.
+     *
+     * @return The outcome per group, largest groups first.
+     */
+    public Map<String, Outcome> result() {
+        Aggregate copy;
+        synchronized (this) {
+            copy = aggregate.copy();
+        }
+        return table.toResult(query.groupByColumn(), copy);
+    }
+
+    /**
+     * Gets the query.
+     *
+     * @return The watched query.
+     */
+    public Query getQuery() {
+        return query;
+    }
+
+    /**
+     * Stops updating the result.
+     */
+    @Override
+    public void close() {
+        table.unwatch(this);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.tictactoe.analytics;
+
+/**
+ * The aggregated results of a group of games.
+ * <p>
+ * "First" and "second" refer to the move order: the first mover plays 'X'. In games against
+ * the AI the human moves first, so {@link #secondWinRate()} is the AI's win rate.
+ * </p>
+ *
+ * @param games      The number of games.
+ * @param firstWins  The number of games won by the first mover.
+ * @param secondWins The number of games won by the second mover.
+ * @param draws      The number of drawn games.
+ * @param moves      The total number of moves played.
+ */
+public record Outcome(long games, long firstWins, long secondWins, long draws, long moves) {
+
+    /**
+     * Gets the share of games won by the first mover.
+     *
+     * @return The win rate between 0 and 1, or 0 without games.
+     */
+    public double firstWinRate() {
+        return rate(firstWins);
+    }
+
+    /**
+     * Gets the share of games won by the second mover.
+     *
+     * @return The win rate between 0 and 1, or 0 without games.
+     */
+    public double secondWinRate() {
+        return rate(secondWins);
+    }
+
+    /**
+     * Gets the share of drawn games.
+     *
+     * @return The draw rate between 0 and 1, or 0 without games.
+     */
+    public double drawRate() {
+        return rate(draws);
+    }
+
+    /**
+     * Gets the average number of moves per game.
+     *
+     * @return The average game length, or 0 without games.
+     */
+    public double averageMoves() {
+        return rate(moves);
+    }
+
+    private double rate(long count) {
+        return games == 0 ? 0 : (double) count / games;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games: %.1f%% first, %.1f%% second, %.1f%% draws, %.1f moves",
+                games, 100 * firstWinRate(), 100 * secondWinRate(), 100 * drawRate(), averageMoves());
+    }
+}
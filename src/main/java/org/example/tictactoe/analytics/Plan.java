@@ -0,0 +1,40 @@
+package org.example.tictactoe.analytics;
+
+/**
+ * A {@link Query} resolved against one {@link GameTable}: filter values are replaced by the
+ * table's column keys, so rows are matched by comparing ints.
+ */
+final class Plan {
+
+    final int groupBy;
+    final int[] filterColumns;
+    final int[] filterKeys;
+    final long from;
+    final long to;
+    /** The number of group keys known when the plan was made. */
+    final int cardinality;
+
+    Plan(int groupBy, int[] filterColumns, int[] filterKeys, long from, long to, int cardinality) {
+        this.groupBy = groupBy;
+        this.filterColumns = filterColumns;
+        this.filterKeys = filterKeys;
+        this.from = from;
+        this.to = to;
+        this.cardinality = cardinality;
+    }
+
+    boolean hasTimeRange() {
+        return from != Long.MIN_VALUE || to != Long.MAX_VALUE;
+    }
+
+    /**
+     * Checks a single row, for incremental updates.
+     */
+    boolean matches(int[] keys, long startTime) {
+        if (startTime < from || startTime >= to) return false;
+        for (int i = 0; i < filterColumns.length; i++) {
+            if (keys[filterColumns[i]] != filterKeys[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.tictactoe.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A group-by aggregation over a {@link GameTable}: the games that match every filter are
+ * grouped by one column and summed into an {@link Outcome} per group.
+ * <p>
+ * Queries are immutable; each filter method returns a new query. For example, the win rate
+ * of the Hard AI against each human is
+ * {@code Query.groupBy(Column.PLAYER1).where(Column.STRATEGY, "Hard")}, read through
+ * {@link Outcome#secondWinRate()}.
+ * </p>
+ */
+public final class Query {
+
+    private final Column groupBy;
+    private final List<Column> filterColumns;
+    private final List<String> filterValues;
+    private final long from;
+    private final long to;
+
+    private Query(Column groupBy, List<Column> filterColumns, List<String> filterValues, long from, long to) {
+        this.groupBy = groupBy;
+        this.filterColumns = filterColumns;
+        this.filterValues = filterValues;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Creates a query over all games, grouped by a column.
+     *
+     * @param column The column to group by.
+     * @return The query.
+     */
+    public static Query groupBy(Column column) {
+        return new Query(column, List.of(), List.of(), Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Restricts the query to games with a given value in a column.
+     *
+     * @param column The column to filter on.
+     * @param value  The required value, e.g. a name or, for number columns, "3".
+     * @return The restricted query.
+     * @throws IllegalArgumentException If a number column is compared to something else.
+     */
+    public Query where(Column column, String value) {
+        if (!column.isNamed()) Integer.parseInt(value); // fail early on e.g. BOARD_SIZE = "big"
+        List<Column> columns = new ArrayList<>(filterColumns);
+        List<String> values = new ArrayList<>(filterValues);
+        columns.add(column);
+        values.add(value);
+        return new Query(groupBy, List.copyOf(columns), List.copyOf(values), from, to);
+    }
+
+    /**
+     * Restricts the query to games started in a time range.
+     *
+     * @param fromMillis The earliest start time, inclusive, in milliseconds since the epoch.
+     * @param toMillis   The latest start time, exclusive.
+     * @return The restricted query.
+     */
+    public Query between(long fromMillis, long toMillis) {
+        return new Query(groupBy, filterColumns, filterValues, Math.max(from, fromMillis), Math.min(to, toMillis));
+    }
+
+    Column groupByColumn() {
+        return groupBy;
+    }
+
+    List<Column> filterColumns() {
+        return filterColumns;
+    }
+
+    List<String> filterValues() {
+        return filterValues;
+    }
+
+    long from() {
+        return from;
+    }
+
+    long to() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("group by ").append(groupBy);
+        for (int i = 0; i < filterColumns.size(); i++) {
+            text.append(i == 0 ? " where " : " and ").append(filterColumns.get(i)).append(" = ")
+                    .append(filterValues.get(i));
+        }
+        if (from != Long.MIN_VALUE || to != Long.MAX_VALUE) {
+            text.append(" between ").append(from).append(" and ").append(to);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.tictactoe.analytics;
+
+/**
+ * A fixed-size block of rows of a {@link GameTable}, stored column by column.
+ * <p>
+ * Queries scan a segment one column at a time: the time range and every filter narrow a
+ * selection vector of row numbers in a tight loop over a single primitive array, and the
+ * selected rows are then summed per group. Rows are only ever appended, and a query only
+ * reads the rows that existed when it started.
+ * </p>
+ */
+final class Segment {
+
+    static final int ROWS = 1 << 14;
+
+    private final int[][] keys = new int[Column.values().length][ROWS];
+    private final byte[] winners = new byte[ROWS]; // 0 draw, 1 first mover, 2 second mover
+    private final short[] moves = new short[ROWS];
+    private final long[] startTimes = new long[ROWS];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == ROWS;
+    }
+
+    void append(int[] rowKeys, int winner, int moveCount, long startTime) {
+        for (int column = 0; column < rowKeys.length; column++) {
+            keys[column][size] = rowKeys[column];
+        }
+        winners[size] = (byte) winner;
+        moves[size] = (short) moveCount;
+        startTimes[size] = startTime;
+        size++;
+    }
+
+    /**
+     * Aggregates the first {@code rows} rows of the segment.
+     *
+     * @param plan The resolved query.
+     * @param rows The number of rows to scan.
+     * @return The partial result.
+     */
+    Aggregate aggregate(Plan plan, int rows) {
+        int[] selection = new int[rows];
+        int count = 0;
+        if (plan.hasTimeRange()) {
+            long from = plan.from;
+            long to = plan.to;
+            for (int row = 0; row < rows; row++) {
+                long start = startTimes[row];
+                if (start >= from && start < to) selection[count++] = row;
+            }
+        } else {
+            for (int row = 0; row < rows; row++) {
+                selection[row] = row;
+            }
+            count = rows;
+        }
+        for (int f = 0; f < plan.filterColumns.length; f++) {
+            int[] column = keys[plan.filterColumns[f]];
+            int key = plan.filterKeys[f];
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int row = selection[i];
+                if (column[row] == key) selection[kept++] = row;
+            }
+            count = kept;
+        }
+
+        Aggregate aggregate = new Aggregate(plan.cardinality);
+        long[] cells = aggregate.cells();
+        int[] group = keys[plan.groupBy];
+        for (int i = 0; i < count; i++) {
+            int row = selection[i];
+            int base = group[row] * Aggregate.WIDTH;
+            cells[base + winners[row]]++;
+            cells[base + 3] += moves[row];
+        }
+        return aggregate;
+    }
+}
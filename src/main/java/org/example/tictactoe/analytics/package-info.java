@@ -0,0 +1,22 @@
+/**
+ * Contains the analytics engine for stored game records.
+ * <p>
+ * The `analytics` package answers group-by questions over the game history, such as the win
+ * rate of the Hard AI against each human or the draw rate per board size. Records are held
+ * column by column, so queries run as tight loops over primitive arrays, segment by segment
+ * in parallel; registered queries are updated incrementally as new games arrive.
+ * </p>
+ *
+ * <h2>Key Classes:</h2>
+ * <ul>
+ *     <li><strong>{@link org.example.tictactoe.analytics.GameTable}:</strong>
+ *         The columnar table of games, its parallel scan and a command-line query runner.</li>
+ *     <li><strong>{@link org.example.tictactoe.analytics.Query}:</strong>
+ *         An immutable filter and group-by description.</li>
+ *     <li><strong>{@link org.example.tictactoe.analytics.Outcome}:</strong>
+ *         Wins, draws and game lengths of one group.</li>
+ *     <li><strong>{@link org.example.tictactoe.analytics.LiveQuery}:</strong>
+ *         A query kept up to date as games are appended.</li>
+ * </ul>
+ */
+package org.example.tictactoe.analytics;
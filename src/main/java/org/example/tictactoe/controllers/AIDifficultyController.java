@@ -12,7 +12,7 @@ import org.tinylog.Logger;
  * <p>
  * This class manages the user interface where players can:
  * <ul>
- *   <li>Select the AI difficulty level (Easy or Hard).</li>
+ *   <li>Select the AI difficulty level (Easy, Hard, Learned, Solved on a 4x4 board, or Expert on a 15x15 board).</li>
  *   <li>Enter their player name.</li>
  * </ul>
  * The selected difficulty and player name are passed to a listener for further game initialization.
@@ -24,10 +24,10 @@ public class AIDifficultyController {
      */
     public Button startButton;
     /**
-     * Radio button for selecting the "Easy" and "Hard" difficulty level.
+     * Radio button for selecting the "Easy", "Hard", "Learned", "Solved" and "Expert" difficulty level.
      */
     @FXML
-    private RadioButton easyButton, hardButton;
+    private RadioButton easyButton, hardButton, learnedButton, solvedButton, expertButton;
     /**
      * Text field for entering the player's name.
      */
@@ -56,6 +56,9 @@ public class AIDifficultyController {
         ToggleGroup difficultyGroup = new ToggleGroup();
         easyButton.setToggleGroup(difficultyGroup);
         hardButton.setToggleGroup(difficultyGroup);
+        learnedButton.setToggleGroup(difficultyGroup);
+        solvedButton.setToggleGroup(difficultyGroup);
+        expertButton.setToggleGroup(difficultyGroup);
         startButton.setOnAction(event->handleStartButton());
     }
 
@@ -74,7 +77,10 @@ public class AIDifficultyController {
     @FXML
     private void handleStartButton() {
         try {
-            String difficulty = easyButton.isSelected() ? "Easy" : "Hard";
+            String difficulty = easyButton.isSelected() ? "Easy"
+                    : learnedButton.isSelected() ? "Learned"
+                    : solvedButton.isSelected() ? "Solved"
+                    : expertButton.isSelected() ? "Expert" : "Hard";
             String playerName = playerNameField.getText().trim();
 
             if (playerName.isEmpty()) {
@@ -108,7 +114,7 @@ public class AIDifficultyController {
         /**
          * Called when the player confirms the difficulty level and their name.
          *
-         * @param difficultyLevel The selected AI difficulty level ("Easy" or "Hard").
+         * @param difficultyLevel The selected AI difficulty level ("Easy", "Hard", "Learned", "Solved" or "Expert").
          * @param playerName      The player's name.
          */
         void onDifficultySelected(String difficultyLevel, String playerName);
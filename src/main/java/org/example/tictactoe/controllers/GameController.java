@@ -1,20 +1,28 @@
 package org.example.tictactoe.controllers;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
-import javafx.scene.layout.GridPane;
+import javafx.scene.control.ProgressIndicator;
 import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import org.example.tictactoe.factories.ViewCache;
+import org.example.tictactoe.models.GameRecord;
 import org.example.tictactoe.models.GameState;
 import org.example.tictactoe.models.Leaderboard;
+import org.example.tictactoe.models.Move;
 import org.example.tictactoe.models.Stats;
 import org.example.tictactoe.utils.ErrorHandler;
+import org.example.tictactoe.views.BoardView;
 import org.tinylog.Logger;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Controller class for the Tic-Tac-Toe game board screen.
@@ -22,15 +30,25 @@ import java.io.IOException;
  * This class manages the game board where players interact by making moves.
  * It handles updates to the board display, game status, and the end of the game.
  * </p>
+ * <p>
+ * AI turns run on a background thread owned by the controller, so the board stays responsive
+ * while the AI thinks. The search is cancelled when the window closes.
+ * </p>
  */
 public class GameController {
 
     /**
-     * The grid pane representing the game board.
-     * Cells in the grid are dynamically created during initialization.
+     * The board renderer declared in `GameBoard.fxml` (a grid of buttons or a canvas).
+     * Cells are created during initialization.
+     */
+    @FXML
+    private BoardView boardView;
+
+    /**
+     * Toggles the heatmap of AI move scores; only shown in games against the AI.
      */
     @FXML
-    private GridPane gameGrid;
+    private CheckBox heatmapToggle;
 
     /**
      * Label to display the current game status (e.g., whose turn it is or game results).
@@ -38,6 +56,33 @@ public class GameController {
     @FXML
     private Label statusLabel;
 
+    /**
+     * Buttons to take back and replay turns.
+     */
+    @FXML
+    private Button undoButton, redoButton;
+
+    /**
+     * Highlights the best moves for the player; only shown in games against the AI.
+     */
+    @FXML
+    private Button hintButton;
+
+    /**
+     * Indicator shown while the AI is thinking.
+     */
+    @FXML
+    private ProgressIndicator aiProgress;
+
+    /**
+     * Runs AI searches off the JavaFX Application Thread.
+     */
+    private final ExecutorService aiExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ai-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * The current game state, managing the game's logic.
      */
@@ -66,12 +111,38 @@ public class GameController {
      */
     @FXML
     public void initializeGame(boolean isAI, String aiDifficulty, String player1Name, String player2Name) {
+        initializeGame(isAI, aiDifficulty, player1Name, player2Name, 3, 3);
+    }
+
+    /**
+     * Initializes the game on a custom k-in-a-row board.
+     *
+     * @param isAI          Whether the game is Player vs AI or Player vs Player.
+     * @param aiDifficulty  The AI difficulty level (if playing against AI).
+     * @param player1Name   The name of Player 1.
+     * @param player2Name   The name of Player 2 (or "AI" for AI games).
+     * @param boardSize     The number of rows and columns of the board.
+     * @param winLength     The number of symbols in a row needed to win.
+     */
+    public void initializeGame(boolean isAI, String aiDifficulty, String player1Name, String player2Name,
+                               int boardSize, int winLength) {
         Logger.info("Initializing game. Mode: {}, Player1: {}, Player2: {}, Difficulty: {}",
                 isAI ? "Player vs AI" : "Player vs Player", player1Name, player2Name, aiDifficulty);
         try{
-        gameState = new GameState(isAI, aiDifficulty, player1Name, player2Name);
+        gameState = new GameState(isAI, aiDifficulty, player1Name, player2Name, boardSize, winLength);
+        gameState.setAiExecutor(aiExecutor, Platform::runLater);
+        gameState.setPondering(true);
+        cancelAiOnClose();
         setupGameGrid();
         bindGameStateListeners();
+        undoButton.setOnAction(event -> gameState.undo());
+        redoButton.setOnAction(event -> gameState.redo());
+        heatmapToggle.setVisible(isAI);
+        heatmapToggle.setManaged(isAI);
+        heatmapToggle.setOnAction(event -> refreshHeatmap());
+        hintButton.setVisible(isAI);
+        hintButton.setManaged(isAI);
+        hintButton.setOnAction(event -> showHint());
             Logger.info("Game successfully initialized.");
         }catch (Exception e){
             ErrorHandler.logAndShowError("Error initializing game.",e);
@@ -80,66 +151,92 @@ public class GameController {
         }
 
     /**
-     * Sets up the game board grid by dynamically creating buttons for each cell.
+     * Sets up the board renderer with an empty cell for every board position.
      */
     private void setupGameGrid() {
         Logger.info("Setting up game grid.");
         try {
-            for (int row = 0; row < 3; row++) {
-                for (int col = 0; col < 3; col++) {
-                    Button cell = createGridCell(row, col);
-                    gameGrid.add(cell, col, row);
-                }
-            }
+            boardView.setupBoard(gameState.getBoardSize(), gameState::makeMove);
             Logger.info("Game grid setup completed.");
         } catch (Exception e) {
             ErrorHandler.logAndShowError("Error setting up game grid.",e);
             Logger.error(e, "Error while setting up game grid.");
         }
     }
-    /**
-     * Creates a button for a single grid cell and attaches a click handler for making moves.
-     *
-     * @param row The row index of the cell.
-     * @param col The column index of the cell.
-     * @return A configured {@link Button} representing the grid cell.
-     */
-    private Button createGridCell(int row, int col) {
-        Button cell = new Button();
-        cell.setPrefSize(100, 100);
-        cell.setStyle("-fx-font-size: 24px;");
-        cell.setOnAction(event -> gameState.makeMove(row, col));
-        return cell;
-    }
     /**
      * Binds listeners to the game state to handle board updates, status changes, and game over events.
      */
     private void bindGameStateListeners() {
-        gameState.setOnBoardUpdate(this::updateBoardDisplay);
+        gameState.setOnCellUpdate(this::updateCell);
         gameState.setOnStatusUpdate(this::updateStatusLabel);
         gameState.setOnGameOver(this::handleGameOver);
+        gameState.setOnThinkingChanged(this::updateThinkingIndicator);
+        gameState.setOnAiError(e -> ErrorHandler.logAndShowError(
+                "The AI could not choose a move. Your last move was taken back; please try again.", e));
     }
+
     /**
-     * Updates the board display to reflect the current game state.
+     * Cancels any running AI search and stops the AI thread when the game window is hidden.
+     */
+    private void cancelAiOnClose() {
+        if (statusLabel.getScene() == null) return;
+        Window window = statusLabel.getScene().getWindow();
+        if (window != null) {
+            window.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> shutdown());
+        }
+    }
+
+    /**
+     * Cancels the AI search, if any, and shuts down the AI thread.
+     */
+    public void shutdown() {
+        Logger.info("Shutting down game controller.");
+        if (gameState != null) {
+            gameState.cancelAi();
+        }
+        aiExecutor.shutdownNow();
+    }
+
+    /**
+     * Shows the progress indicator while the AI is thinking and locks the history buttons.
+     *
+     * @param thinking {@code true} while an AI search is running.
+     */
+    private void updateThinkingIndicator(boolean thinking) {
+        aiProgress.setVisible(thinking);
+        hintButton.setDisable(thinking);
+        if (thinking) {
+            statusLabel.setText("AI is thinking...");
+            boardView.clearHeatmap();
+        }
+        updateHistoryButtons();
+    }
+    /**
+     * Repaints a single cell after the game state reports a change.
      *
-     * @param board The 2D character array representing the current game board.
+     * @param row    The row index of the cell.
+     * @param col    The column index of the cell.
+     * @param symbol The new content of the cell ('X', 'O', or ' ' when cleared).
      */
-    private void updateBoardDisplay(char[][] board) {
-        Logger.debug("Updating game board display.");
+    private void updateCell(int row, int col, char symbol) {
+        Logger.debug("Updating cell Row {}, Column {} to '{}'.", row, col, symbol);
         try {
-            for (int row = 0; row < 3; row++) {
-                for (int col = 0; col < 3; col++) {
-                    Button cell = (Button) getNodeFromGridPane(gameGrid, row, col);
-                    if (cell != null) {
-                        cell.setText(String.valueOf(board[row][col]));
-                    }
-                }
-            }
+            boardView.setCell(row, col, symbol);
+            updateHistoryButtons();
+            refreshHeatmap();
         } catch (Exception e) {
             ErrorHandler.logAndShowError("Error updating game board display.",e);
             Logger.error(e, "Error updating board display.");
         }
     }
+    /**
+     * Enables the undo and redo buttons only when the game state can take back or replay a turn.
+     */
+    private void updateHistoryButtons() {
+        undoButton.setDisable(!gameState.canUndo());
+        redoButton.setDisable(!gameState.canRedo());
+    }
+
     /**
      * Updates the status label to show the current game's status.
      *
@@ -158,71 +255,98 @@ public class GameController {
      * This method also disables all buttons on the grid and shows the stats screen.
      * </p>
      *
-     * @param message The game over message (e.g., "Player 1 wins!" or "It's a draw!").
+     * @param record The record of the finished game.
      */
-    private void handleGameOver(String message) {
-        Logger.info("Game over with message: {}", message);
+    private void handleGameOver(GameRecord record) {
+        Logger.info("Game over: {}", record);
         if (gameOverHandled) return; // Prevent duplicate execution
         gameOverHandled = true;
 
-        if (message.contains("wins!")) {
-            String winnerName = message.split(" ")[0]; // Extract winner's name
-            stats.addGameResult(winnerName + " wins!"); // Add result to Stats
-            leaderboard.recordWin(winnerName); // Record the win in the leaderboard
-            Logger.info("Winner detected: {}", message.split(" ")[0]);
-        } else if (message.contains("draw")) {
-            stats.addGameResult("It's a draw!"); // Add draw result to Stats
+        stats.addGameResult(record);
+        if (record.isDraw()) {
             Logger.info("Game ended in a draw.");
-
+        } else {
+            leaderboard.recordWin(record.winnerName());
+            Logger.info("Winner detected: {}", record.winnerName());
         }
 
+        if (gameState.getPonderHitRate() > 0) {
+            Logger.info("Ponder hit rate: {}%", Math.round(gameState.getPonderHitRate() * 100));
+        }
         disableAllButtons();
-        statusLabel.setText(message);
+        updateHistoryButtons();
+        statusLabel.setText(record.message());
         showStatsScreen();
     }
 
     /**
      * Opens the stats screen to display game results and leaderboard data.
+     * <p>
+     * The stats view is shared through the {@link ViewCache}: it is refreshed and shown in its
+     * existing window if that window is still open, or in a new one otherwise.
+     * </p>
      */
     private void showStatsScreen() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/org/example/views/Stats.fxml"));
-            Stage stage = new Stage();
-            stage.setTitle("Game Stats");
-            stage.setScene(new Scene(loader.load()));
+            ViewCache.LoadedView view = ViewCache.getInstance().get(ViewCache.STATS);
+            StatsController controller = view.getController();
+            controller.refresh();
+            Stage stage = (Stage) view.scene().getWindow();
+            if (stage == null) {
+                stage = new Stage();
+                stage.setTitle("Game Stats");
+                stage.setScene(view.scene());
+            }
             stage.show();
+            stage.toFront();
         } catch (IOException e) {
             ErrorHandler.logAndShowError("Error showing stats screen.",e);
             Logger.error("Error showing stats screen.", e);
         }
     }
     /**
-     * Disables all buttons on the grid to prevent further interaction after the game ends.
+     * Disables all cells on the board to prevent further interaction after the game ends.
      */
     private void disableAllButtons() {
         Logger.debug("Disabling all buttons on the grid.");
-        for (Node node : gameGrid.getChildren()) {
-            if (node instanceof Button) {
-                node.setDisable(true);
-            }
+        boardView.setBoardDisabled(true);
+        boardView.clearHeatmap();
+        hintButton.setDisable(true);
+    }
+
+    /**
+     * Requests fresh AI move scores for the heatmap, or clears it when the heatmap is off.
+     * <p>
+     * The scores are computed on the AI thread and shown once they arrive; results for a
+     * position that has changed in the meantime are dropped by the game state.
+     * </p>
+     */
+    private void refreshHeatmap() {
+        if (!heatmapToggle.isSelected() || gameState.isAiThinking()) {
+            boardView.clearHeatmap();
+            return;
         }
+        gameState.requestMoveScores(boardView::showHeatmap);
     }
+
     /**
-     * Retrieves a node (button) from the grid pane at a specific row and column.
-     *
-     * @param gridPane The {@link GridPane} containing the nodes.
-     * @param row      The row index of the node.
-     * @param col      The column index of the node.
-     * @return The {@link Node} at the specified position, or {@code null} if not found.
-     */
-    private Node getNodeFromGridPane(GridPane gridPane, int row, int col) {
-        for (Node node : gridPane.getChildren()) {
-            if (GridPane.getRowIndex(node) != null && GridPane.getColumnIndex(node) != null) {
-                if (GridPane.getRowIndex(node) == row && GridPane.getColumnIndex(node) == col) {
-                    return node;
-                }
+     * Asks for a hint and highlights the suggested moves with their value in the status label.
+     * <p>
+     * The hint is computed on the AI thread, so the board stays responsive; the highlight is
+     * replaced by the heatmap, or cleared, with the next move.
+     * </p>
+     */
+    private void showHint() {
+        gameState.requestHint(hint -> {
+            int size = gameState.getBoardSize();
+            long[] highlight = new long[size * size];
+            Arrays.fill(highlight, Long.MIN_VALUE);
+            for (int move : hint.bestMoves()) {
+                highlight[Move.row(move) * size + Move.col(move)] = hint.value();
             }
-        }
-        return null;
+            boardView.showHeatmap(highlight);
+            String value = hint.exact() ? hint.describe() + " with best play" : "AI " + hint.describe();
+            statusLabel.setText("Hint (" + value + ")");
+        });
     }
 }
@@ -1,13 +1,14 @@
 package org.example.tictactoe.controllers;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.RadioButton;
 import javafx.scene.control.ToggleGroup;
 import javafx.stage.Stage;
+import org.example.tictactoe.analysis.RetrogradeStrategy;
 import org.example.tictactoe.factories.ControllerFactory;
+import org.example.tictactoe.factories.ViewCache;
+import org.example.tictactoe.models.ThreatSpaceStrategy;
 import org.example.tictactoe.utils.ErrorHandler;
 import java.io.IOException;
 
@@ -129,8 +130,9 @@ public class MainMenuController {
     /**
      * Starts the game with the specified settings.
      * <p>
-     * This method loads the game board screen and initializes the game controller with the
-     * provided parameters.
+     * This method takes the pre-parsed game board screen from the {@link ViewCache} and
+     * initializes the game controller with the provided parameters. The "Expert" difficulty is played on a 15x15 five-in-a-row board
+     * and the "Solved" difficulty on a 4x4 four-in-a-row board.
      * </p>
      *
      * @param isAI          Whether the game is Player vs AI or Player vs Player.
@@ -140,12 +142,22 @@ public class MainMenuController {
      */
     private void startGame(boolean isAI, String player1Name, String player2Name, String aiDifficulty) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/org/example/views/GameBoard.fxml"));
+            ViewCache.LoadedView view = ViewCache.getInstance().take(ViewCache.GAME_BOARD);
             Stage stage = (Stage) aiOption.getScene().getWindow();
-            stage.setScene(new Scene(loader.load()));
+            stage.setScene(view.scene());
 
-            GameController controller = loader.getController();
-            controller.initializeGame(isAI, aiDifficulty, player1Name, player2Name);
+            GameController controller = view.getController();
+            if ("Expert".equals(aiDifficulty)) {
+                controller.initializeGame(isAI, aiDifficulty, player1Name, player2Name,
+                        ThreatSpaceStrategy.BOARD_SIZE, ThreatSpaceStrategy.WIN_LENGTH);
+                stage.sizeToScene();
+            } else if ("Solved".equals(aiDifficulty)) {
+                controller.initializeGame(isAI, aiDifficulty, player1Name, player2Name,
+                        RetrogradeStrategy.BOARD_SIZE, RetrogradeStrategy.WIN_LENGTH);
+                stage.sizeToScene();
+            } else {
+                controller.initializeGame(isAI, aiDifficulty, player1Name, player2Name);
+            }
 
         } catch (IOException e) {
             ErrorHandler.logAndShowError("Failed to start the game.", e);
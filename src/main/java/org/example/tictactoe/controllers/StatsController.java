@@ -3,12 +3,16 @@ package org.example.tictactoe.controllers;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ListView;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
 import javafx.stage.Stage;
 import org.example.tictactoe.models.Stats;
 import org.example.tictactoe.models.Leaderboard;
 import org.example.tictactoe.utils.ErrorHandler;
 import org.tinylog.Logger;
 
+import java.util.EnumMap;
+import java.util.Map;
 
 
 /**
@@ -17,9 +21,16 @@ import org.tinylog.Logger;
  * This class is responsible for displaying the game results and leaderboard data
  * to the user. It also provides a close button to exit the stats screen.
  * </p>
+ * <p>
+ * The leaderboard has one tab per {@link Leaderboard.Window}: today, the last 7 and 30 days,
+ * and all time.
+ * </p>
  */
 public class StatsController {
 
+    private static final int OPENING_PLIES = 3;
+    private static final int OPENING_COUNT = 10;
+
     /**
      * Singleton instance of the leaderboard, which holds win counts for players.
      */
@@ -32,10 +43,21 @@ public class StatsController {
     private ListView<String> resultsListView;
 
     /**
-     * ListView for displaying the leaderboard (player names and win counts).
+     * Tabs holding one leaderboard (player names and win counts) per time window.
      */
     @FXML
-    private ListView<String> leaderboardListView;
+    private TabPane leaderboardTabs;
+
+    /**
+     * The leaderboard list of each time window, created during initialization.
+     */
+    private final Map<Leaderboard.Window, ListView<String>> leaderboardLists = new EnumMap<>(Leaderboard.Window.class);
+
+    /**
+     * ListView for displaying the most popular openings and how they ended.
+     */
+    @FXML
+    private ListView<String> openingsListView;
 
     /**
      * Button to close the stats screen.
@@ -57,8 +79,10 @@ public class StatsController {
     @FXML
     public void initialize() {
         try {
+            createLeaderboardTabs();
             updateResults();
             updateLeaderboard();
+            updateOpenings();
             closeButton.setOnAction(actionEvent -> handleCloseButton());
         }catch (Exception e) {
             ErrorHandler.logAndShowError("Error initializing StatsController", e);
@@ -66,6 +90,19 @@ public class StatsController {
 
     }
 
+    /**
+     * Reloads the game results and leaderboard.
+     * <p>
+     * The stats screen is cached and reused between games, so it is refreshed every time
+     * it is shown.
+     * </p>
+     */
+    public void refresh() {
+        updateResults();
+        updateLeaderboard();
+        updateOpenings();
+    }
+
     /**
      * Handles the action for closing the stats screen.
      * <p>
@@ -98,17 +135,48 @@ public class StatsController {
 
 
     /**
-     * Updates the leaderboard ListView.
+     * Updates the list of popular openings.
+     * <p>
+     * The openings come from the incrementally updated opening trie, so this does not scan
+     * the game history.
+     * </p>
+     */
+    private void updateOpenings() {
+        try {
+            openingsListView.getItems().clear();
+            stats.getPopularOpenings(OPENING_PLIES, OPENING_COUNT).forEach(opening ->
+                    openingsListView.getItems().add(opening.toString()));
+        } catch (Exception e) {
+            Logger.debug("Error updating openings", e);
+        }
+    }
+
+    /**
+     * Creates a tab with a leaderboard list for every time window.
+     */
+    private void createLeaderboardTabs() {
+        for (Leaderboard.Window window : Leaderboard.Window.values()) {
+            ListView<String> list = new ListView<>();
+            list.getStyleClass().add("list-view");
+            leaderboardLists.put(window, list);
+            leaderboardTabs.getTabs().add(new Tab(window.getLabel(), list));
+        }
+    }
+
+    /**
+     * Updates the leaderboard lists.
      * <p>
-     * Fetches the leaderboard data (player names and win counts) from the Leaderboard model
-     * and displays them in the `leaderboardListView`. Logs any exceptions that occur during the update.
+     * Fetches the leaderboard data (player names and win counts) of every time window from the
+     * Leaderboard model and displays them in the tabs. Logs any exceptions that occur during the update.
      * </p>
      */
     private void updateLeaderboard() {
         try {
-            leaderboardListView.getItems().clear();
-            leaderboard.getWinCounts().forEach((player, wins) ->
-                    leaderboardListView.getItems().add(player + ": " + wins + " wins"));
+            leaderboardLists.forEach((window, list) -> {
+                list.getItems().clear();
+                leaderboard.getWinCounts(window).forEach((player, wins) ->
+                        list.getItems().add(player + ": " + wins + " wins"));
+            });
         }catch (Exception e) {
             Logger.debug("Error updating leaderboard", e);
         }
@@ -1,7 +1,5 @@
 package org.example.tictactoe.factories;
 
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.stage.Stage;
 import org.example.tictactoe.controllers.AIDifficultyController;
 import org.example.tictactoe.controllers.EnterNamesController;
@@ -21,8 +19,8 @@ public class ControllerFactory {
     /**
      * Creates a stage for the AI Difficulty Selection screen.
      * <p>
-     * Loads the `AIDifficulty.fxml` file, sets up the controller, and binds
-     * the provided listener to handle difficulty selection events.
+     * Takes the pre-parsed `AIDifficulty.fxml` view from the {@link ViewCache}, sets up the
+     * controller, and binds the provided listener to handle difficulty selection events.
      * </p>
      *
      * @param listener The listener to handle difficulty selection and player name input.
@@ -32,12 +30,12 @@ public class ControllerFactory {
     public static Stage createAIDifficultyStage(AIDifficultyController.DifficultySelectionListener listener) throws IOException {
         Stage stage = null;
         try {
-            FXMLLoader loader = new FXMLLoader(ControllerFactory.class.getResource("/org/example/views/AIDifficulty.fxml"));
+            ViewCache.LoadedView view = ViewCache.getInstance().take(ViewCache.AI_DIFFICULTY);
             stage = new Stage();
             stage.setTitle("AI Difficulty");
-            stage.setScene(new Scene(loader.load()));
+            stage.setScene(view.scene());
 
-            AIDifficultyController controller = loader.getController();
+            AIDifficultyController controller = view.getController();
             controller.setDifficultySelectionListener(listener);
         } catch (IOException e) {
             Logger.error("Failed to load FXML (AIDifficulty.fxml) file", e);
@@ -50,8 +48,8 @@ public class ControllerFactory {
     /**
      * Creates a stage for the Player Name Input screen.
      * <p>
-     * Loads the `EnterNames.fxml` file, sets up the controller, and binds
-     * the provided listener to handle name input events.
+     * Takes the pre-parsed `EnterNames.fxml` view from the {@link ViewCache}, sets up the
+     * controller, and binds the provided listener to handle name input events.
      * </p>
      *
      * @param listener The listener to handle player name input events.
@@ -61,12 +59,12 @@ public class ControllerFactory {
     public static Stage createPlayerNamesStage(EnterNamesController.NameInputListener listener) throws IOException {
         Stage stage = null;
         try {
-            FXMLLoader loader = new FXMLLoader(ControllerFactory.class.getResource("/org/example/views/EnterNames.fxml"));
+            ViewCache.LoadedView view = ViewCache.getInstance().take(ViewCache.ENTER_NAMES);
             stage = new Stage();
             stage.setTitle("Enter Player Names");
-            stage.setScene(new Scene(loader.load()));
+            stage.setScene(view.scene());
 
-            EnterNamesController controller = loader.getController();
+            EnterNamesController controller = view.getController();
             controller.setNameInputListener(listener);
         } catch (IOException e) {
             Logger.error("Failed to load FXML (EnterNames.fxml) file", e);
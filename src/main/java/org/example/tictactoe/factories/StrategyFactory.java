@@ -1,8 +1,16 @@
 package org.example.tictactoe.factories;
 
+import org.example.tictactoe.analysis.RetrogradeSolver;
+import org.example.tictactoe.analysis.RetrogradeStrategy;
+import org.example.tictactoe.learning.LearnedStrategy;
+import org.example.tictactoe.learning.SelfPlayTrainer;
 import org.example.tictactoe.models.AIDifficultyStrategy;
+import org.example.tictactoe.models.CachingStrategy;
 import org.example.tictactoe.models.EasyStrategy;
 import org.example.tictactoe.models.HardStrategy;
+import org.example.tictactoe.models.OpeningTrie;
+import org.example.tictactoe.models.PositionCache;
+import org.example.tictactoe.models.ThreatSpaceStrategy;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -12,7 +20,10 @@ import org.tinylog.Logger;
  * Factory class for managing and providing AI difficulty strategies.
  * <p>
  * This class allows the registration and retrieval of AI strategies based
- * on difficulty levels. Default strategies for "Easy" and "Hard" are pre-registered.
+ * on difficulty levels. Default strategies for "Easy", "Hard", "Expert" (large boards),
+ * "Solved" (the 4x4 table exported by {@link RetrogradeSolver}) and "Learned" (the network
+ * trained by {@link SelfPlayTrainer}) are pre-registered; the deterministic searches are
+ * wrapped in a {@link CachingStrategy}.
  * </p>
  */
 public class StrategyFactory {
@@ -26,7 +37,16 @@ public class StrategyFactory {
     static {
         Logger.debug("Registering default AI strategies.");
         strategies.put("Easy", new EasyStrategy());
-        strategies.put("Hard", new HardStrategy());
+        // Deterministic strategies share the persistent position cache across games and restarts;
+        // it is opened on the first Hard or Expert move, not when this class is loaded
+        strategies.put("Hard", new CachingStrategy("Hard", new HardStrategy(OpeningTrie.getInstance()),
+                PositionCache::getInstance));
+        strategies.put("Expert", new CachingStrategy("Expert", new ThreatSpaceStrategy(), PositionCache::getInstance));
+        // Perfect play from the offline retrograde table, searching instead while the table is missing
+        strategies.put("Solved", new RetrogradeStrategy(RetrogradeSolver.defaultFile(
+                RetrogradeStrategy.BOARD_SIZE, RetrogradeStrategy.WIN_LENGTH), strategies.get("Hard")));
+        // Self-play trained network for the classic board, searching instead while the network is missing
+        strategies.put("Learned", new LearnedStrategy(SelfPlayTrainer.defaultFile(3, 3), strategies.get("Hard")));
         Logger.debug("Default AI strategies registered: {}", strategies.keySet());
     }
 
@@ -0,0 +1,236 @@
+package org.example.tictactoe.factories;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Caches parsed FXML views so windows open without parsing FXML on the JavaFX Application Thread.
+ * <p>
+ * The `ViewCache` is a singleton. {@link #preloadAll()} parses every view in
+ * `org/example/views` on a background thread while the main menu is showing. Views come in
+ * two kinds:
+ * </p>
+ * <ul>
+ *     <li><strong>Single-use views</strong> (name input, AI difficulty, game board) hold per-window
+ *         state, so each {@link #take(String)} hands out the pre-parsed instance and schedules
+ *         a fresh one in the background for the next window.</li>
+ *     <li><strong>Reusable views</strong> (stats) have controllers that can refresh themselves,
+ *         so the same scene and controller are returned every time.</li>
+ * </ul>
+ * <p>
+ * JavaFX allows building nodes off the Application Thread as long as they are not part of a
+ * scene yet, but a {@link Scene} itself must be created on the Application Thread. The
+ * background thread therefore only parses the root node and controller; {@link #take(String)}
+ * and {@link #get(String)}, called on the Application Thread, wrap the root in a scene. They
+ * never wait for a preload: if the view is not ready yet, it is loaded on the caller's thread
+ * as before.
+ * </p>
+ */
+public class ViewCache {
+
+    /** The main menu, loaded directly at startup. */
+    public static final String MAIN_MENU = "MainMenu.fxml";
+    /** The AI difficulty selection dialog (single use). */
+    public static final String AI_DIFFICULTY = "AIDifficulty.fxml";
+    /** The player name input dialog (single use). */
+    public static final String ENTER_NAMES = "EnterNames.fxml";
+    /** The game board screen (single use). */
+    public static final String GAME_BOARD = "GameBoard.fxml";
+    /** The stats screen (reusable). */
+    public static final String STATS = "Stats.fxml";
+
+    private static final String VIEW_PATH = "/org/example/views/";
+    private static final String[] SINGLE_USE_VIEWS = {AI_DIFFICULTY, ENTER_NAMES, GAME_BOARD};
+    private static final String[] REUSABLE_VIEWS = {STATS};
+
+    private static ViewCache instance;
+
+    private final Map<String, CompletableFuture<ParsedView>> views = new ConcurrentHashMap<>();
+    private final Map<String, LoadedView> reusable = new ConcurrentHashMap<>(); // views with their scene
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "view-preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ViewCache() {
+    }
+
+    /**
+     * Provides the singleton instance of the `ViewCache` class.
+     *
+     * @return The single instance of the `ViewCache`.
+     */
+    public static synchronized ViewCache getInstance() {
+        if (instance == null) {
+            instance = new ViewCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts parsing all secondary views on the background thread.
+     */
+    public void preloadAll() {
+        Logger.info("Preloading views in the background.");
+        for (String view : SINGLE_USE_VIEWS) {
+            schedule(view);
+        }
+        for (String view : REUSABLE_VIEWS) {
+            schedule(view);
+        }
+    }
+
+    /**
+     * Takes a single-use view: the pre-parsed instance if it is ready, otherwise a freshly loaded one.
+     * <p>
+     * Must be called on the JavaFX Application Thread. Once the pre-parsed instance is taken, a
+     * replacement is scheduled on the background thread, so the next call is fast again; a
+     * preload that is still running is left for the next call.
+     * </p>
+     *
+     * @param view The FXML file name, e.g. {@link #GAME_BOARD}.
+     * @return The loaded view with its scene and controller.
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    public LoadedView take(String view) throws IOException {
+        CompletableFuture<ParsedView> preloaded = views.get(view);
+        if (preloaded != null && !preloaded.isDone()) {
+            Logger.debug("View {} is still preloading, loading it directly.", view);
+            return load(view);
+        }
+        views.remove(view);
+        LoadedView loaded = resolve(view, preloaded);
+        schedule(view);
+        return loaded;
+    }
+
+    /**
+     * Gets a reusable view, loading it on first use if it was not preloaded.
+     * <p>
+     * The same scene and controller are returned every time; callers must refresh the
+     * controller's content before showing it.
+     * </p>
+     *
+     * @param view The FXML file name, e.g. {@link #STATS}.
+     * @return The shared loaded view.
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    public LoadedView get(String view) throws IOException {
+        LoadedView shared = reusable.get(view);
+        if (shared != null) return shared;
+        CompletableFuture<ParsedView> preloaded = views.remove(view);
+        LoadedView loaded = preloaded != null && !preloaded.isDone() ? load(view) : resolve(view, preloaded);
+        reusable.put(view, loaded);
+        return loaded;
+    }
+
+    /**
+     * Loads and parses a view on the calling thread, which must be the JavaFX Application Thread.
+     *
+     * @param view The FXML file name.
+     * @return The loaded view.
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    public static LoadedView load(String view) throws IOException {
+        return parse(view).toLoadedView();
+    }
+
+    /**
+     * Parses a view into its root node and controller, without a scene; safe on any thread.
+     *
+     * @param view The FXML file name.
+     * @return The parsed view.
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    private static ParsedView parse(String view) throws IOException {
+        long start = System.nanoTime();
+        URL location = ViewCache.class.getResource(VIEW_PATH + view);
+        if (location == null) {
+            throw new IOException("View not found: " + VIEW_PATH + view);
+        }
+        FXMLLoader loader = new FXMLLoader(location);
+        Parent root = loader.load();
+        Logger.debug("Parsed view {} on {} in {} ms.", view, Thread.currentThread().getName(),
+                (System.nanoTime() - start) / 1_000_000);
+        return new ParsedView(root, loader.getController());
+    }
+
+    /**
+     * Queues a background load of the view unless one is already pending.
+     *
+     * @param view The FXML file name.
+     */
+    private void schedule(String view) {
+        views.computeIfAbsent(view, name -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return parse(name);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }, loader));
+    }
+
+    /**
+     * Wraps a finished preload in a scene, or loads the view directly if there is none or the preload failed.
+     *
+     * @param view      The FXML file name.
+     * @param preloaded The completed preload, or {@code null}.
+     * @return The loaded view.
+     * @throws IOException If the FXML file cannot be loaded.
+     */
+    private LoadedView resolve(String view, CompletableFuture<ParsedView> preloaded) throws IOException {
+        if (preloaded != null) {
+            try {
+                return preloaded.join().toLoadedView();
+            } catch (CompletionException e) {
+                Logger.warn(e.getCause(), "Preloading view {} failed, loading it directly.", view);
+            }
+        }
+        return load(view);
+    }
+
+    /**
+     * A view parsed on the background thread: its root node and controller, not yet in a scene.
+     */
+    private record ParsedView(Parent root, Object controller) {
+
+        /**
+         * Wraps the root in a scene; must run on the JavaFX Application Thread.
+         */
+        LoadedView toLoadedView() {
+            return new LoadedView(new Scene(root), controller);
+        }
+    }
+
+    /**
+     * A parsed view: its scene and the controller created by the FXML loader.
+     *
+     * @param scene      The scene wrapping the view's root node.
+     * @param controller The view's controller.
+     */
+    public record LoadedView(Scene scene, Object controller) {
+
+        /**
+         * Gets the controller cast to the expected type.
+         *
+         * @param <T> The controller type.
+         * @return The controller.
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T getController() {
+            return (T) controller;
+        }
+    }
+}
@@ -13,6 +13,8 @@
  *         screens for AI difficulty selection and player name input.</li>
  *     <li><strong>{@link org.example.tictactoe.factories.StrategyFactory}:</strong>
  *         Manages the creation and registration of AI difficulty strategies, such as Easy and Hard.</li>
+ *     <li><strong>{@link org.example.tictactoe.factories.ViewCache}:</strong>
+ *         Preloads FXML views on a background thread and hands out pre-parsed views and controllers.</li>
  * </ul>
  *
  * <h2>Responsibilities:</h2>
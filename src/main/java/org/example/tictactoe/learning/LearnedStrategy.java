@@ -0,0 +1,180 @@
+package org.example.tictactoe.learning;
+
+import org.example.tictactoe.models.AIDifficultyStrategy;
+import org.example.tictactoe.models.Board;
+import org.example.tictactoe.models.Move;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An AI strategy that plays from an {@link NTupleNetwork} trained by self-play.
+ * <p>
+ * The `LearnedStrategy` does not search: it plays every empty cell once, values the
+ * resulting position with one weight lookup per winning line, and picks the best move for its
+ * side, taking an immediate win first. The network is loaded from disk on first use; if the
+ * file is missing or the board does not match its geometry, the strategy delegates to a
+ * fallback strategy instead.
+ * </p>
+ */
+public class LearnedStrategy implements AIDifficultyStrategy {
+
+    private static final long SCORE_SCALE = 1_000; // scoreMoves reports values in thousandths
+
+    private final Path file;
+    private final AIDifficultyStrategy fallback;
+    private NTupleNetwork network;
+    private boolean loaded;
+
+    /**
+     * Creates a strategy backed by a network file.
+     *
+     * @param file     The network written by {@link SelfPlayTrainer}.
+     * @param fallback The strategy used for boards the network was not trained for.
+     */
+    public LearnedStrategy(Path file, AIDifficultyStrategy fallback) {
+        this.file = file;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Creates a strategy backed by an already trained network.
+     *
+     * @param network  The network.
+     * @param fallback The strategy used for boards the network was not trained for.
+     */
+    public LearnedStrategy(NTupleNetwork network, AIDifficultyStrategy fallback) {
+        this((Path) null, fallback);
+        this.network = network;
+        this.loaded = true;
+    }
+
+    /**
+     * Selects the move leading to the position the network values best for the AI.
+     *
+     * @param board       The current state of the game board.
+     * @param aiSymbol    The symbol used by the AI player (e.g., 'X' or 'O').
+     * @param humanSymbol The symbol used by the human player (e.g., 'X' or 'O').
+     * @return The packed move, or {@link Move#NONE} if no move is available.
+     */
+    @Override
+    public int selectMove(Board board, char aiSymbol, char humanSymbol) {
+        NTupleNetwork trained = networkFor(board);
+        if (trained == null) return fallback.selectMove(board, aiSymbol, humanSymbol);
+
+        TuplePosition position = TuplePosition.of(trained, board.getBoard());
+        int cell = bestMove(trained, trained.weights(), position, digit(aiSymbol));
+        return cell < 0 ? Move.NONE : Move.of(cell / board.getSize(), cell % board.getSize());
+    }
+
+    /**
+     * Scores every empty cell by the network's value of the resulting position for the given side.
+     *
+     * @param board       The current state of the game board.
+     * @param aiSymbol    The symbol of the side whose moves are scored.
+     * @param humanSymbol The symbol of the opposing side.
+     * @return The value of every cell in thousandths, from -1000 to 1000; occupied cells hold {@link Long#MIN_VALUE}.
+     */
+    @Override
+    public long[] scoreMoves(Board board, char aiSymbol, char humanSymbol) {
+        NTupleNetwork trained = networkFor(board);
+        if (trained == null) return fallback.scoreMoves(board, aiSymbol, humanSymbol);
+
+        TuplePosition position = TuplePosition.of(trained, board.getBoard());
+        int digit = digit(aiSymbol);
+        long[] scores = new long[position.cellCount()];
+        for (int cell = 0; cell < scores.length; cell++) {
+            scores[cell] = Long.MIN_VALUE;
+            if (position.isEmpty(cell)) {
+                scores[cell] = Math.round(afterstateValue(trained, trained.weights(), position, cell, digit)
+                        * SCORE_SCALE);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Picks the move whose resulting position is valued best for the side to move.
+     *
+     * @param network  The network.
+     * @param weights  The weights to value positions with.
+     * @param position The position; restored before returning.
+     * @param digit    The side to move ({@link TuplePosition#X} or {@link TuplePosition#O}).
+     * @return The best empty cell, or {@code -1} if the board is full.
+     */
+    static int bestMove(NTupleNetwork network, float[] weights, TuplePosition position, int digit) {
+        int best = -1;
+        float bestValue = Float.NEGATIVE_INFINITY;
+        for (int cell = 0; cell < position.cellCount(); cell++) {
+            if (!position.isEmpty(cell)) continue;
+            float value = afterstateValue(network, weights, position, cell, digit);
+            if (value > bestValue) {
+                bestValue = value;
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Values the position after a move from the mover's point of view.
+     * <p>
+     * Finished games get their exact outcome (1 for a win, 0 for a full board), which is never
+     * below the network's value of an unfinished position, so immediate wins are always taken.
+     * </p>
+     */
+    private static float afterstateValue(NTupleNetwork network, float[] weights, TuplePosition position,
+                                         int cell, int digit) {
+        boolean won = position.play(cell, digit);
+        float value = won ? 1 : position.isFull() ? 0 : network.value(weights, position) * sign(digit);
+        position.undo(cell);
+        return value;
+    }
+
+    /**
+     * Gets the sign that turns a value for X into a value for the given side.
+     *
+     * @param digit {@link TuplePosition#X} or {@link TuplePosition#O}.
+     * @return 1 for X, -1 for O.
+     */
+    static int sign(int digit) {
+        return digit == TuplePosition.X ? 1 : -1;
+    }
+
+    private static int digit(char symbol) {
+        return symbol == 'X' ? TuplePosition.X : TuplePosition.O;
+    }
+
+    /**
+     * Gets the network if it was trained for the board, loading it on first use.
+     *
+     * @param board The board to play on.
+     * @return The network, or {@code null} if the fallback must be used.
+     */
+    private synchronized NTupleNetwork networkFor(Board board) {
+        if (!loaded) {
+            loaded = true;
+            network = load(file);
+        }
+        if (network == null || network.getSize() != board.getSize()
+                || network.getWinLength() != board.getWinLength()) {
+            return null;
+        }
+        return network;
+    }
+
+    private static NTupleNetwork load(Path file) {
+        if (!Files.exists(file)) {
+            Logger.warn("N-tuple network {} not found; run SelfPlayTrainer to create it.", file);
+            return null;
+        }
+        try {
+            return NTupleNetwork.load(file);
+        } catch (IOException e) {
+            Logger.error(e, "Failed to load N-tuple network {}.", file);
+            return null;
+        }
+    }
+}
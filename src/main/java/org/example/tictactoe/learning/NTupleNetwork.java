@@ -0,0 +1,273 @@
+package org.example.tictactoe.learning;
+
+import org.tinylog.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A value function for k-in-a-row positions, represented as an N-tuple network.
+ * <p>
+ * Every winning line of the board is one tuple. The contents of a tuple's cells, read as
+ * base-3 digits (0 = empty, 1 = X, 2 = O), select one weight from the tuple's own table of
+ * 3^k weights, and the value of a position is the hyperbolic tangent of the sum of the
+ * selected weights: close to 1 when X is expected to win and close to -1 when O is. The same
+ * line contents mean very different things depending on who moves next, so there are two
+ * sets of tables, one for each side to move.
+ * Evaluating a position is therefore one table lookup per line, and after a move only the
+ * lines through the played cell change (see {@link TuplePosition}).
+ * </p>
+ * <p>
+ * The weights are trained by {@link SelfPlayTrainer} and saved, together with the number of
+ * games trained so far, to a file loaded by {@link LearnedStrategy}.
+ * </p>
+ */
+public final class NTupleNetwork {
+
+    private static final int MAGIC = 0x4E545550; // "NTUP"
+    private static final int VERSION = 1;
+
+    private final int size;
+    private final int winLength;
+    private final int[][] tuples; // cells of every winning line
+    private final int[] offsets; // first weight of every tuple
+    private final int sideOffset; // first weight of the tables used when O is to move
+    private final int[][] cellTuples; // [cell] -> tuples through the cell
+    private final int[][] cellPowers; // [cell] -> the cell's digit weight within each of those tuples
+    private final int xLine; // pattern of a tuple filled with X; a tuple filled with O is twice this
+    private final float[] weights;
+    private long games;
+
+    /**
+     * Creates a network with all weights zero, i.e. every position valued as a draw.
+     *
+     * @param size      The number of rows and columns.
+     * @param winLength The number of symbols in a row needed to win.
+     * @throws IllegalArgumentException If the win length does not fit the board.
+     */
+    public NTupleNetwork(int size, int winLength) {
+        if (winLength < 1 || winLength > size) {
+            throw new IllegalArgumentException("Win length must be between 1 and " + size + ": " + winLength);
+        }
+        this.size = size;
+        this.winLength = winLength;
+        tuples = buildLines(size, winLength);
+        int patterns = 1;
+        int line = 0;
+        for (int i = 0; i < winLength; i++) {
+            line += patterns;
+            patterns *= 3;
+        }
+        xLine = line;
+        offsets = new int[tuples.length];
+        for (int tuple = 0; tuple < tuples.length; tuple++) {
+            offsets[tuple] = tuple * patterns;
+        }
+        sideOffset = tuples.length * patterns;
+        weights = new float[2 * sideOffset];
+
+        int cells = size * size;
+        List<List<int[]>> byCell = new ArrayList<>();
+        for (int cell = 0; cell < cells; cell++) {
+            byCell.add(new ArrayList<>());
+        }
+        for (int tuple = 0; tuple < tuples.length; tuple++) {
+            int power = 1;
+            for (int cell : tuples[tuple]) {
+                byCell.get(cell).add(new int[]{tuple, power});
+                power *= 3;
+            }
+        }
+        cellTuples = new int[cells][];
+        cellPowers = new int[cells][];
+        for (int cell = 0; cell < cells; cell++) {
+            List<int[]> entries = byCell.get(cell);
+            cellTuples[cell] = entries.stream().mapToInt(entry -> entry[0]).toArray();
+            cellPowers[cell] = entries.stream().mapToInt(entry -> entry[1]).toArray();
+        }
+    }
+
+    /**
+     * Gets the number of rows and columns.
+     *
+     * @return The board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of symbols in a row needed to win.
+     *
+     * @return The winning run length.
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Gets the number of tuples, i.e. winning lines.
+     *
+     * @return The tuple count.
+     */
+    public int getTupleCount() {
+        return tuples.length;
+    }
+
+    /**
+     * Gets the number of self-play games the weights were trained on.
+     *
+     * @return The game count.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Records the number of self-play games the weights were trained on.
+     *
+     * @param games The game count.
+     */
+    void setGames(long games) {
+        this.games = games;
+    }
+
+    /**
+     * Gets the live weight table; only the trainer's learner thread may write to it.
+     *
+     * @return The weights, indexed by tuple offset plus pattern.
+     */
+    float[] weights() {
+        return weights;
+    }
+
+    int cellCount() {
+        return size * size;
+    }
+
+    int[] tuplesThrough(int cell) {
+        return cellTuples[cell];
+    }
+
+    int[] powersThrough(int cell) {
+        return cellPowers[cell];
+    }
+
+    /**
+     * Gets the first weight of a tuple's table.
+     *
+     * @param tuple The tuple.
+     * @param digit The side to move ({@link TuplePosition#X} or {@link TuplePosition#O}).
+     * @return The weight index of the tuple's empty pattern.
+     */
+    int offset(int tuple, int digit) {
+        return digit == TuplePosition.X ? offsets[tuple] : sideOffset + offsets[tuple];
+    }
+
+    int completePattern(int digit) {
+        return xLine * digit;
+    }
+
+    /**
+     * Values a position with a set of weights.
+     *
+     * @param weights  The weights, e.g. a snapshot published by the trainer.
+     * @param position The position.
+     * @return The expected outcome between -1 (O wins) and 1 (X wins).
+     */
+    float value(float[] weights, TuplePosition position) {
+        int base = position.sideToMove() == TuplePosition.X ? 0 : sideOffset;
+        float sum = 0;
+        for (int tuple = 0; tuple < tuples.length; tuple++) {
+            sum += weights[base + offsets[tuple] + position.pattern(tuple)];
+        }
+        return (float) Math.tanh(sum);
+    }
+
+    /**
+     * Values a position given by the weight indices of its tuples.
+     *
+     * @param weights  The weights.
+     * @param features The weight index of every tuple ({@link TuplePosition#features()}).
+     * @return The expected outcome between -1 (O wins) and 1 (X wins).
+     */
+    static float value(float[] weights, int[] features) {
+        float sum = 0;
+        for (int feature : features) {
+            sum += weights[feature];
+        }
+        return (float) Math.tanh(sum);
+    }
+
+    /**
+     * Writes the weights and the game count to a file, replacing it atomically.
+     *
+     * @param file The target file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            out.writeInt(winLength);
+            out.writeLong(games);
+            for (float weight : weights) {
+                out.writeFloat(weight);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a network written by {@link #save(Path)}.
+     *
+     * @param file The file to read.
+     * @return The network.
+     * @throws IOException If the file cannot be read or is not a network.
+     */
+    public static NTupleNetwork load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not an N-tuple network: " + file);
+            }
+            NTupleNetwork network = new NTupleNetwork(in.readInt(), in.readInt());
+            network.games = in.readLong();
+            for (int i = 0; i < network.weights.length; i++) {
+                network.weights[i] = in.readFloat();
+            }
+            Logger.info("Loaded {}x{} N-tuple network ({} in a row, {} games) from {}.",
+                    network.size, network.size, network.winLength, network.games, file);
+            return network;
+        }
+    }
+
+    private static int[][] buildLines(int size, int winLength) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        List<int[]> lines = new ArrayList<>();
+        for (int[] direction : directions) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int endRow = row + direction[0] * (winLength - 1);
+                    int endCol = col + direction[1] * (winLength - 1);
+                    if (endRow < 0 || endRow >= size || endCol < 0 || endCol >= size) continue;
+                    int[] line = new int[winLength];
+                    for (int i = 0; i < winLength; i++) {
+                        line[i] = (row + direction[0] * i) * size + col + direction[1] * i;
+                    }
+                    lines.add(line);
+                }
+            }
+        }
+        return lines.toArray(new int[0][]);
+    }
+}
@@ -0,0 +1,363 @@
+package org.example.tictactoe.learning;
+
+import org.example.tictactoe.models.AIDifficultyStrategy;
+import org.example.tictactoe.models.HardStrategy;
+import org.example.tictactoe.simulation.Match;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Trains an {@link NTupleNetwork} by self-play with temporal-difference learning.
+ * <p>
+ * Several actor threads play games against themselves, choosing the best move by the
+ * current weights ({@link LearnedStrategy#bestMove}) or, with a small probability, a random
+ * one to keep exploring. Each finished game is queued as the features of its positions plus
+ * the final result. A single learner thread takes the games in batches and moves the value of
+ * every position towards the value of the next one (TD(0)), and of the last one towards the
+ * result.
+ * </p>
+ * <p>
+ * Only the learner writes the weights. After each batch it publishes a copy through a
+ * volatile field, which the actors read at the start of every game, so no locks are needed
+ * and actors never see a half-updated table. An actor that fails queues a marker episode
+ * instead of its game, so the learner stops with the actor's exception rather than waiting
+ * for a game that never comes. The learner also saves a checkpoint every
+ * {@value #CHECKPOINT_INTERVAL} games, from which a later run resumes, and periodically plays
+ * the published weights against {@link HardStrategy}.
+ * </p>
+ * <p>
+ * Run it offline, e.g. {@code mvn -Plearning compile exec:exec -Dtrainer.args="3 3 200000"}.
+ * </p>
+ */
+public final class SelfPlayTrainer {
+
+    private static final float LEARNING_RATE = 0.002f;
+    private static final double EXPLORATION = 0.1;
+    private static final int BATCH_SIZE = 64;
+    private static final int QUEUE_CAPACITY = 1_024;
+    private static final long CHECKPOINT_INTERVAL = 20_000;
+    private static final long EVALUATION_INTERVAL = 50_000;
+    private static final int EVALUATION_GAMES = 100;
+    private static final Episode FAILED = new Episode(new int[0][], new boolean[0], 0); // queued by a failed actor
+
+    private final NTupleNetwork network;
+    private final int actors;
+    private final Path checkpoint;
+    private final long seed;
+    private final BlockingQueue<Episode> episodes = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong scheduled = new AtomicLong();
+    private volatile float[] published;
+    private volatile Throwable actorFailure;
+
+    /**
+     * The positions of one self-play game and its result.
+     *
+     * @param features The features of every position after a move, except the final one.
+     * @param explored Whether the move played from each of those positions was a random one.
+     * @param result   The result for X: 1 for a win, -1 for a loss, 0 for a draw.
+     */
+    record Episode(int[][] features, boolean[] explored, float result) {
+    }
+
+    /**
+     * The results of the trained weights against another strategy.
+     *
+     * @param wins   The games won.
+     * @param draws  The games drawn.
+     * @param losses The games lost.
+     */
+    public record Evaluation(int wins, int draws, int losses) {
+        /**
+         * Gets the share of points scored, counting a draw as half a win.
+         *
+         * @return The score between 0 and 1.
+         */
+        public double score() {
+            int games = wins + draws + losses;
+            return games == 0 ? 0 : (wins + draws / 2.0) / games;
+        }
+    }
+
+    /**
+     * Creates a trainer that continues from a checkpoint if one exists for the same geometry.
+     *
+     * @param size       The number of rows and columns.
+     * @param winLength  The number of symbols in a row needed to win.
+     * @param actors     The number of self-play threads.
+     * @param checkpoint The file the network is saved to, or {@code null} to train in memory only.
+     * @param seed       The seed of the actors' exploration.
+     * @throws IOException If an existing checkpoint cannot be read.
+     */
+    public SelfPlayTrainer(int size, int winLength, int actors, Path checkpoint, long seed) throws IOException {
+        this.actors = Math.max(1, actors);
+        this.checkpoint = checkpoint;
+        this.seed = seed;
+        NTupleNetwork resumed = checkpoint != null && Files.exists(checkpoint) ? NTupleNetwork.load(checkpoint) : null;
+        if (resumed != null && resumed.getSize() == size && resumed.getWinLength() == winLength) {
+            network = resumed;
+        } else {
+            if (resumed != null) Logger.warn("Ignoring checkpoint {} for a different board.", checkpoint);
+            network = new NTupleNetwork(size, winLength);
+        }
+        published = network.weights().clone();
+    }
+
+    /**
+     * Gets the trained network.
+     *
+     * @return The network, including its live weights.
+     */
+    public NTupleNetwork getNetwork() {
+        return network;
+    }
+
+    /**
+     * Trains until the network has seen the given total number of games.
+     *
+     * @param totalGames The total number of games, including those of a resumed checkpoint.
+     * @return The trained network.
+     * @throws IOException          If a checkpoint cannot be written.
+     * @throws InterruptedException If the calling thread is interrupted; the last checkpoint stays valid.
+     * @throws IllegalStateException If a self-play actor fails; the last checkpoint stays valid.
+     */
+    public NTupleNetwork train(long totalGames) throws IOException, InterruptedException {
+        return train(totalGames, this::playGame);
+    }
+
+    /**
+     * Trains with the given way of playing a self-play game.
+     *
+     * @param totalGames The total number of games, including those of a resumed checkpoint.
+     * @param games      Plays one game with the given weights and source of exploratory moves.
+     * @return The trained network.
+     * @throws IOException          If a checkpoint cannot be written.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    NTupleNetwork train(long totalGames, BiFunction<float[], SplittableRandom, Episode> games)
+            throws IOException, InterruptedException {
+        long remaining = totalGames - network.getGames();
+        if (remaining <= 0) {
+            Logger.info("N-tuple network has already been trained on {} games.", network.getGames());
+            return network;
+        }
+        scheduled.set(network.getGames());
+        actorFailure = null;
+        ExecutorService pool = Executors.newFixedThreadPool(actors, runnable -> {
+            Thread thread = new Thread(runnable, "self-play-actor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int actor = 0; actor < actors; actor++) {
+                SplittableRandom random = new SplittableRandom(seed + actor * 0x9E3779B97F4A7C15L + network.getGames());
+                pool.execute(() -> act(totalGames, random, games));
+            }
+            learn(totalGames);
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        if (checkpoint != null) network.save(checkpoint);
+        return network;
+    }
+
+    /**
+     * Plays self-play games with the latest published weights until enough games are scheduled.
+     */
+    private void act(long totalGames, SplittableRandom random, BiFunction<float[], SplittableRandom, Episode> games) {
+        try {
+            while (scheduled.getAndIncrement() < totalGames) {
+                Episode episode;
+                try {
+                    episode = games.apply(published, random);
+                } catch (RuntimeException | Error e) {
+                    actorFailure = e;
+                    episode = FAILED;
+                }
+                episodes.put(episode);
+                if (episode == FAILED) return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Plays one exploratory game and records the features of its positions.
+     *
+     * @param weights The weights to choose moves with.
+     * @param random  The source of exploratory moves.
+     * @return The game's episode.
+     */
+    Episode playGame(float[] weights, SplittableRandom random) {
+        TuplePosition position = new TuplePosition(network);
+        List<int[]> features = new ArrayList<>();
+        boolean[] explored = new boolean[position.cellCount()];
+        while (true) {
+            int digit = position.sideToMove();
+            boolean exploring = random.nextDouble() < EXPLORATION;
+            int cell = exploring
+                    ? randomMove(position, random)
+                    : LearnedStrategy.bestMove(network, weights, position, digit);
+            if (!features.isEmpty()) explored[features.size() - 1] = exploring;
+            boolean won = position.play(cell, digit);
+            if (won || position.isFull()) {
+                int[][] positions = features.toArray(new int[0][]);
+                return new Episode(positions, explored, won ? LearnedStrategy.sign(digit) : 0);
+            }
+            features.add(position.features());
+        }
+    }
+
+    /**
+     * Takes queued games in batches, applies the TD updates, publishes the weights and saves checkpoints.
+     */
+    private void learn(long totalGames) throws IOException, InterruptedException {
+        float[] weights = network.weights();
+        List<Episode> batch = new ArrayList<>(BATCH_SIZE);
+        long start = System.nanoTime();
+        long startGames = network.getGames();
+        while (network.getGames() < totalGames) {
+            batch.add(episodes.take());
+            episodes.drainTo(batch, BATCH_SIZE - 1);
+            for (Episode episode : batch) {
+                if (episode == FAILED) throw new IllegalStateException("A self-play actor failed", actorFailure);
+                update(weights, episode);
+            }
+            long before = network.getGames();
+            network.setGames(before + batch.size());
+            batch.clear();
+            published = weights.clone();
+
+            long games = network.getGames();
+            if (checkpoint != null && games / CHECKPOINT_INTERVAL > before / CHECKPOINT_INTERVAL) {
+                network.save(checkpoint);
+                long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                Logger.info("Checkpoint after {} games, {} games/s.", games, (games - startGames) * 1000 / millis);
+            }
+            if (games / EVALUATION_INTERVAL > before / EVALUATION_INTERVAL) {
+                Evaluation result = evaluate(new HardStrategy(), EVALUATION_GAMES);
+                Logger.info("After {} games against Hard: {} wins, {} draws, {} losses.",
+                        games, result.wins(), result.draws(), result.losses());
+            }
+        }
+    }
+
+    /**
+     * Applies the TD(0) updates of one game.
+     * <p>
+     * Positions followed by a random move are skipped, so exploration does not teach the
+     * network the value of moves the greedy policy would not play.
+     * </p>
+     *
+     * @param weights The learner's weights.
+     * @param episode The game.
+     */
+    static void update(float[] weights, Episode episode) {
+        int[][] features = episode.features();
+        for (int t = 0; t < features.length; t++) {
+            if (episode.explored()[t]) continue;
+            float target = t + 1 < features.length ? NTupleNetwork.value(weights, features[t + 1]) : episode.result();
+            float value = NTupleNetwork.value(weights, features[t]);
+            float delta = LEARNING_RATE * (target - value);
+            for (int feature : features[t]) {
+                weights[feature] += delta;
+            }
+        }
+    }
+
+    /**
+     * Plays the published weights against another strategy, alternating sides.
+     * <p>
+     * Each game starts with a random opening move ({@link Match}), so deterministic opponents
+     * still produce varied games.
+     * </p>
+     *
+     * @param opponent The opposing strategy.
+     * @param games    The number of games.
+     * @return The results from the trained network's point of view.
+     */
+    public Evaluation evaluate(AIDifficultyStrategy opponent, int games) {
+        LearnedStrategy learned = new LearnedStrategy(snapshot(), opponent);
+        int wins = 0;
+        int draws = 0;
+        int losses = 0;
+        for (int game = 0; game < games; game++) {
+            char learnedSymbol = game % 2 == 0 ? 'X' : 'O';
+            Match.Result result = learnedSymbol == 'X'
+                    ? Match.play(learned, opponent, network.getSize(), network.getWinLength(), seed + game)
+                    : Match.play(opponent, learned, network.getSize(), network.getWinLength(), seed + game);
+            if (result.winner() == learnedSymbol) wins++;
+            else if (result.winner() == ' ') draws++;
+            else losses++;
+        }
+        return new Evaluation(wins, draws, losses);
+    }
+
+    private NTupleNetwork snapshot() {
+        NTupleNetwork copy = new NTupleNetwork(network.getSize(), network.getWinLength());
+        System.arraycopy(published, 0, copy.weights(), 0, published.length);
+        copy.setGames(network.getGames());
+        return copy;
+    }
+
+    private static int randomMove(TuplePosition position, SplittableRandom random) {
+        int empty = position.cellCount() - position.stones();
+        int pick = random.nextInt(empty);
+        for (int cell = 0; cell < position.cellCount(); cell++) {
+            if (position.isEmpty(cell) && pick-- == 0) return cell;
+        }
+        throw new IllegalStateException("No empty cell");
+    }
+
+    /**
+     * Gets the default network file for a geometry, e.g. {@code learned_3x3_3.bin}.
+     *
+     * @param size      The number of rows and columns.
+     * @param winLength The number of symbols in a row needed to win.
+     * @return The file name in the working directory.
+     */
+    public static Path defaultFile(int size, int winLength) {
+        return Path.of("learned_" + size + "x" + size + "_" + winLength + ".bin");
+    }
+
+    /**
+     * Trains a network from the command line and reports its results against {@link HardStrategy}.
+     * <p>
+     * Arguments: {@code size winLength games [actors] [file]}; the actor count defaults to the number
+     * of processors and the file to {@link #defaultFile(int, int)}.
+     * </p>
+     *
+     * @param args The command-line arguments.
+     * @throws Exception If training fails or is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: SelfPlayTrainer size winLength games [actors] [file]");
+            System.exit(2);
+        }
+        int size = Integer.parseInt(args[0]);
+        int winLength = Integer.parseInt(args[1]);
+        long games = Long.parseLong(args[2]);
+        int actors = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Path file = args.length > 4 ? Path.of(args[4]) : defaultFile(size, winLength);
+        SelfPlayTrainer trainer = new SelfPlayTrainer(size, winLength, actors, file, System.nanoTime());
+        trainer.train(games);
+        Evaluation result = trainer.evaluate(new HardStrategy(), EVALUATION_GAMES);
+        Logger.info("Final result against Hard: {} wins, {} draws, {} losses (score {}).",
+                result.wins(), result.draws(), result.losses(), String.format("%.2f", result.score()));
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.tictactoe.learning;
+
+/**
+ * A board position kept as the pattern of every tuple of an {@link NTupleNetwork}.
+ * <p>
+ * Playing or taking back a stone only updates the tuples through its cell, and since the
+ * tuples are exactly the winning lines, a win is detected by the same update.
+ * </p>
+ */
+final class TuplePosition {
+
+    /** Digit of an X stone; X moves first. */
+    static final int X = 1;
+    /** Digit of an O stone. */
+    static final int O = 2;
+
+    private final NTupleNetwork network;
+    private final int[] cells;
+    private final int[] patterns;
+    private int stones;
+
+    /**
+     * Creates an empty position.
+     *
+     * @param network The network whose tuples are tracked.
+     */
+    TuplePosition(NTupleNetwork network) {
+        this.network = network;
+        this.cells = new int[network.cellCount()];
+        this.patterns = new int[network.getTupleCount()];
+    }
+
+    /**
+     * Creates a position from board cells.
+     *
+     * @param network The network whose tuples are tracked.
+     * @param board   The board cells ('X', 'O' or ' '), with the network's size.
+     * @return The position.
+     */
+    static TuplePosition of(NTupleNetwork network, char[][] board) {
+        TuplePosition position = new TuplePosition(network);
+        int size = network.getSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                char symbol = board[row][col];
+                if (symbol == 'X') position.play(row * size + col, X);
+                else if (symbol == 'O') position.play(row * size + col, O);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Places a stone.
+     *
+     * @param cell  The empty cell.
+     * @param digit {@link #X} or {@link #O}.
+     * @return {@code true} if the stone completes a line.
+     */
+    boolean play(int cell, int digit) {
+        cells[cell] = digit;
+        stones++;
+        int[] tuples = network.tuplesThrough(cell);
+        int[] powers = network.powersThrough(cell);
+        int complete = network.completePattern(digit);
+        boolean won = false;
+        for (int i = 0; i < tuples.length; i++) {
+            patterns[tuples[i]] += digit * powers[i];
+            if (patterns[tuples[i]] == complete) won = true;
+        }
+        return won;
+    }
+
+    /**
+     * Removes a stone.
+     *
+     * @param cell The occupied cell.
+     */
+    void undo(int cell) {
+        int digit = cells[cell];
+        int[] tuples = network.tuplesThrough(cell);
+        int[] powers = network.powersThrough(cell);
+        for (int i = 0; i < tuples.length; i++) {
+            patterns[tuples[i]] -= digit * powers[i];
+        }
+        cells[cell] = 0;
+        stones--;
+    }
+
+    boolean isEmpty(int cell) {
+        return cells[cell] == 0;
+    }
+
+    boolean isFull() {
+        return stones == cells.length;
+    }
+
+    int stones() {
+        return stones;
+    }
+
+    int cellCount() {
+        return cells.length;
+    }
+
+    /**
+     * Gets the side to move.
+     *
+     * @return {@link #X} after an even number of stones, {@link #O} otherwise.
+     */
+    int sideToMove() {
+        return stones % 2 == 0 ? X : O;
+    }
+
+    int pattern(int tuple) {
+        return patterns[tuple];
+    }
+
+    /**
+     * Gets the weight index selected by every tuple, as recorded for training.
+     *
+     * @return One weight index per tuple.
+     */
+    int[] features() {
+        int digit = sideToMove();
+        int[] features = new int[patterns.length];
+        for (int tuple = 0; tuple < patterns.length; tuple++) {
+            features[tuple] = network.offset(tuple, digit) + patterns[tuple];
+        }
+        return features;
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Contains the self-play training pipeline and the strategy that plays from its results.
+ * <p>
+ * The `learning` package trains a value function for k-in-a-row boards offline, from the
+ * command line or the `learning` build profile, and writes it to a file that the game loads
+ * when the "Learned" difficulty is played. Everything runs on the CPU; playing a move costs
+ * one table lookup per winning line for each empty cell.
+ * </p>
+ *
+ * <h2>Key Classes:</h2>
+ * <ul>
+ *     <li><strong>{@link org.example.tictactoe.learning.NTupleNetwork}:</strong>
+ *         Values positions with one weight table per winning line, indexed by the line's contents.</li>
+ *     <li><strong>{@link org.example.tictactoe.learning.SelfPlayTrainer}:</strong>
+ *         Trains the network with parallel self-play actors and a batched TD learner, with checkpoints
+ *         and periodic evaluation against the Hard strategy.</li>
+ *     <li><strong>{@link org.example.tictactoe.learning.LearnedStrategy}:</strong>
+ *         Plays the move whose resulting position the trained network values best.</li>
+ * </ul>
+ */
+package org.example.tictactoe.learning;
@@ -12,13 +12,72 @@ public interface AIDifficultyStrategy {
      * Determines the next move for the AI player based on the current state of the game board.
      * <p>
      * The implementation defines the logic for selecting the move, which can vary
-     * depending on the difficulty level or other factors.
+     * depending on the difficulty level or other factors. The move is returned in the packed
+     * form described by {@link Move}, so no array is allocated per call.
      * </p>
      *
      * @param board       The current state of the game board.
      * @param aiSymbol    The symbol representing the AI player (e.g., 'X' or 'O').
      * @param humanSymbol The symbol representing the human player (e.g., 'X' or 'O').
-     * @return An array containing the row and column indices of the selected move, e.g., {@code [row, col]}.
+     * @return The packed move, or {@link Move#NONE} if no move is available.
      */
-    int[] getMove(Board board, char aiSymbol, char humanSymbol);
+    int selectMove(Board board, char aiSymbol, char humanSymbol);
+
+    /**
+     * Determines the next move for the AI player based on the current state of the game board.
+     * <p>
+     * Convenience form of {@link #selectMove(Board, char, char)} that unpacks the move.
+     * </p>
+     *
+     * @param board       The current state of the game board.
+     * @param aiSymbol    The symbol representing the AI player (e.g., 'X' or 'O').
+     * @param humanSymbol The symbol representing the human player (e.g., 'X' or 'O').
+     * @return An array containing the row and column indices of the selected move, e.g., {@code [row, col]},
+     *         or {@code [-1, -1]} if no move is available.
+     */
+    default int[] getMove(Board board, char aiSymbol, char humanSymbol) {
+        return Move.toArray(selectMove(board, aiSymbol, humanSymbol));
+    }
+
+    /**
+     * Scores every empty cell as a move for the given side, e.g. for a heatmap overlay.
+     * <p>
+     * The default implementation plays each move and reads the board's incremental pattern
+     * evaluation ({@link Board#evaluate(char)}); strategies with a deeper notion of move value
+     * may override it. The board is restored before returning.
+     * </p>
+     *
+     * @param board       The current state of the game board.
+     * @param aiSymbol    The symbol of the side whose moves are scored.
+     * @param humanSymbol The symbol of the opposing side.
+     * @return The score of every cell indexed by {@code row * size + col}, where higher is better
+     *         for {@code aiSymbol}; occupied cells hold {@link Long#MIN_VALUE}.
+     */
+    default long[] scoreMoves(Board board, char aiSymbol, char humanSymbol) {
+        int size = board.getSize();
+        long[] scores = new long[board.getCellCount()];
+        for (int cell = 0; cell < scores.length; cell++) {
+            scores[cell] = Long.MIN_VALUE;
+            if (board.makeMove(cell / size, cell % size, aiSymbol)) {
+                scores[cell] = board.evaluate(aiSymbol);
+                board.undoMove();
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Gets the strategy to use for one game, given the game's seed.
+     * <p>
+     * Strategies registered in the factory are shared by all games. A strategy that uses
+     * randomness returns a new instance with its own stream seeded from {@code seed}, so each
+     * game is reproducible from its seed alone; deterministic strategies return themselves.
+     * </p>
+     *
+     * @param seed The game's seed.
+     * @return The strategy for the game.
+     */
+    default AIDifficultyStrategy forGame(long seed) {
+        return this;
+    }
 }
@@ -28,9 +28,25 @@ public class AIPlayer {
      * @param difficulty  The difficulty level of the AI (e.g., "Easy", "Hard").
      */
     public AIPlayer(char aiSymbol, char humanSymbol, String difficulty) {
+        this(aiSymbol, humanSymbol, StrategyFactory.getStrategy(difficulty));
+    }
+
+    /**
+     * Creates a new AIPlayer whose strategy is seeded for one game.
+     *
+     * @param aiSymbol    The symbol used by the AI player (e.g., 'X' or 'O').
+     * @param humanSymbol The symbol used by the human player (e.g., 'X' or 'O').
+     * @param difficulty  The difficulty level of the AI (e.g., "Easy", "Hard").
+     * @param seed        The game's seed, see {@link AIDifficultyStrategy#forGame(long)}.
+     */
+    public AIPlayer(char aiSymbol, char humanSymbol, String difficulty, long seed) {
+        this(aiSymbol, humanSymbol, StrategyFactory.getStrategy(difficulty).forGame(seed));
+    }
+
+    private AIPlayer(char aiSymbol, char humanSymbol, AIDifficultyStrategy strategy) {
         this.aiSymbol = aiSymbol;
         this.humanSymbol = humanSymbol;
-        this.strategy = StrategyFactory.getStrategy(difficulty);
+        this.strategy = strategy;
     }
 
     /**
@@ -48,9 +64,35 @@ public class AIPlayer {
      * </p>
      *
      * @param board The current state of the game board.
-     * @return An array containing the row and column indices of the selected move, e.g., {@code [row, col]}.
+     * @return An array containing the row and column indices of the selected move, e.g., {@code [row, col]},
+     *         or {@code [-1, -1]} if the board is full.
      */
     public int[] getBestMove(Board board) {
-        return strategy.getMove(board, aiSymbol, humanSymbol);
+        return Move.toArray(selectMove(board));
+    }
+
+    /**
+     * Determines the best move for the AI player in the packed form described by {@link Move}.
+     * <p>
+     * This is the allocation-free variant of {@link #getBestMove(Board)} used by the game loop.
+     * </p>
+     *
+     * @param board The current state of the game board.
+     * @return The packed move, or {@link Move#NONE} if no move is available.
+     */
+    public int selectMove(Board board) {
+        return strategy.selectMove(board, aiSymbol, humanSymbol);
+    }
+
+    /**
+     * Scores every empty cell as a move for the given side using this player's strategy.
+     *
+     * @param board    The current state of the game board.
+     * @param side     The symbol of the side whose moves are scored.
+     * @param opponent The symbol of the opposing side.
+     * @return The score per cell; see {@link AIDifficultyStrategy#scoreMoves(Board, char, char)}.
+     */
+    public long[] scoreMoves(Board board, char side, char opponent) {
+        return strategy.scoreMoves(board, side, opponent);
     }
 }
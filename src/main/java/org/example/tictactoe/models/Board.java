@@ -1,5 +1,6 @@
 package org.example.tictactoe.models;
 
+import java.util.SplittableRandom;
 
 /**
  * Represents the game board for Tic-Tac-Toe.
@@ -8,12 +9,46 @@ package org.example.tictactoe.models;
  * and determines if the board is full. It is used as the primary data structure
  * for game state management.
  * </p>
+ * <p>
+ * Besides the classic 3x3 game, the board supports square boards of any size with a
+ * configurable winning run length ("k in a row"). Every winning line (a run of
+ * {@code winLength} cells in any direction) is precomputed, and the board keeps a per-line
+ * count of stones for each side. Moves are recorded on an undo stack, so {@link #makeMove}
+ * and {@link #undoMove} only touch the lines through the changed cell and the winner and
+ * full-board checks are O(1). A Zobrist hash of the position is maintained the same way,
+ * giving searches a cheap key for transposition tables, and so is a static evaluation built
+ * from per-side pattern counts (see {@link PatternTable}). Hashes under the board's
+ * {@link Symmetry symmetries} give a canonical key shared by equivalent positions.
+ * </p>
+ * <p>
+ * The incremental state assumes the two sides use the symbols 'X' and 'O'. The array returned
+ * by {@link #getBoard()} must be treated as read-only.
+ * </p>
  */
 public class Board {
 
-    private static final int SIZE = 3;// The size of the Tic-Tac-Toe board (3x3)
+    private static final int SIZE = 3;// The size of the classic Tic-Tac-Toe board (3x3)
+    private static final int X = 0;
+    private static final int O = 1;
+    private static final long ZOBRIST_SEED = 0x5DEECE66DL; // fixed so equal positions hash equally across boards
+
+    private final int size;
+    private final int winLength;
     private final char[][] board;
 
+    private final int[][] lineCells; // cell indices of every winning line
+    private final int[][] cellLines; // ids of the lines through each cell
+    private final int[][] lineCounts; // [side][line] stones of that side on the line
+    private final int[] completedLines = new int[2]; // lines fully owned by each side
+    private final long[][] zobristKeys; // [side][cell]
+    private final long[] patternWeights;
+    private final int[][] patternCounts; // [side][stones] live lines with that many stones
+    private final long[] patternScores = new long[2]; // [side] sum of live line weights
+    private long hash;
+
+    private final int[] history; // undo stack of packed moves
+    private int moveCount;
+
     /**
      * Constructs a new, empty Tic-Tac-Toe board.
      * <p>
@@ -21,15 +56,58 @@ public class Board {
      * </p>
      */
     public Board() {
-        board = new char[SIZE][SIZE];
+        this(SIZE, SIZE);
+    }
+
+    /**
+     * Constructs a new, empty square board with a custom size and winning run length.
+     *
+     * @param size      The number of rows and columns (between 1 and 255).
+     * @param winLength The number of symbols in a row needed to win (between 1 and {@code size}).
+     * @throws IllegalArgumentException If the size or winning length is out of range.
+     */
+    public Board(int size, int winLength) {
+        if (size < 1 || size > 255) {
+            throw new IllegalArgumentException("Board size must be between 1 and 255: " + size);
+        }
+        if (winLength < 1 || winLength > size) {
+            throw new IllegalArgumentException("Win length must be between 1 and " + size + ": " + winLength);
+        }
+        this.size = size;
+        this.winLength = winLength;
+        board = new char[size][size];
+        history = new int[size * size];
+        lineCells = buildLines(size, winLength);
+        cellLines = indexLinesByCell(size * size, lineCells);
+        lineCounts = new int[2][lineCells.length];
+        zobristKeys = createZobristKeys(size * size);
+        patternWeights = PatternTable.weights(winLength, lineCells.length);
+        patternCounts = new int[2][winLength + 1];
         resetBoard();
     }
 
+    /**
+     * Constructs a copy of another board, including its move history.
+     * <p>
+     * Used to hand a snapshot of the game to a background search.
+     * </p>
+     *
+     * @param other The board to copy.
+     */
+    public Board(Board other) {
+        this(other.size, other.winLength);
+        for (int i = 0; i < other.moveCount; i++) {
+            int move = other.history[i];
+            makeMove(move, other.board[Move.row(move)][Move.col(move)]);
+        }
+    }
+
     /**
      * Attempts to make a move on the board.
      * <p>
      * The move is placed at the specified row and column with the player's symbol,
-     * provided the cell is within bounds and currently empty.
+     * provided the cell is within bounds and currently empty. The move is pushed onto the
+     * undo stack and can be taken back with {@link #undoMove()}.
      * </p>
      *
      * @param row         The row index (0-based) of the cell.
@@ -40,11 +118,49 @@ public class Board {
     public boolean makeMove(int row, int col, char playerSymbol) {
         if (isWithinBounds(row, col) && board[row][col] == ' ') {
             board[row][col] = playerSymbol;
+            history[moveCount++] = Move.of(row, col);
+            int side = sideOf(playerSymbol);
+            int cell = row * size + col;
+            updateLines(cell, side, 1);
+            hash ^= zobristKeys[side][cell];
             return true;
         }
         return false;
     }
 
+    /**
+     * Makes a move given in the packed form described by {@link Move}.
+     *
+     * @param move         The packed move.
+     * @param playerSymbol The symbol of the player making the move (e.g., 'X' or 'O').
+     * @return {@code true} if the move was successfully made; {@code false} otherwise.
+     */
+    public boolean makeMove(int move, char playerSymbol) {
+        return move != Move.NONE && makeMove(Move.row(move), Move.col(move), playerSymbol);
+    }
+
+    /**
+     * Takes back the most recent move.
+     * <p>
+     * The cell is cleared and the per-line counts are restored, so the board is exactly
+     * in the state it was before the move.
+     * </p>
+     *
+     * @return The packed move that was undone, or {@link Move#NONE} if no moves have been made.
+     */
+    public int undoMove() {
+        if (moveCount == 0) return Move.NONE;
+        int move = history[--moveCount];
+        int row = Move.row(move);
+        int col = Move.col(move);
+        int side = sideOf(board[row][col]);
+        int cell = row * size + col;
+        board[row][col] = ' ';
+        updateLines(cell, side, -1);
+        hash ^= zobristKeys[side][cell];
+        return move;
+    }
+
     /**
      * Checks if the board is full.
      * <p>
@@ -55,27 +171,261 @@ public class Board {
      * @return {@code true} if the board is full; {@code false} otherwise.
      */
     public boolean isFull() {
-        for (char[] row : board) {
-            for (char cell : row) {
-                if (cell == ' ') return false;
-            }
-        }
-        return true;
+        return moveCount == history.length;
     }
 
     /**
      * Checks for a winner on the board.
      * <p>
-     * A winner is determined if any row, column, or diagonal contains the same non-empty symbol.
+     * A winner is determined if any row, column, or diagonal contains {@code winLength}
+     * consecutive cells with the same non-empty symbol. The answer comes from the
+     * incrementally maintained line counts, so no rescan is needed.
      * </p>
      *
      * @return The winning player's symbol ('X' or 'O') if there is a winner; otherwise, a space character (' ').
      */
     public char checkWinner() {
-        for (int i = 0; i < SIZE; i++) {
-            if (checkRow(i) || checkColumn(i)) return board[i][i];
+        if (completedLines[X] > 0) return 'X';
+        if (completedLines[O] > 0) return 'O';
+        return ' ';
+    }
+
+    /**
+     * Fills the given buffer with every empty cell on the board, in row-major order.
+     * <p>
+     * The buffer is cleared first. No objects are allocated, which keeps AI searches
+     * allocation-free per node.
+     * </p>
+     *
+     * @param moves The buffer that receives the packed moves (see {@link Move}).
+     * @return The number of moves generated.
+     */
+    public int generateMoves(MoveList moves) {
+        moves.clear();
+        for (int row = 0; row < size; row++) {
+            char[] cells = board[row];
+            for (int col = 0; col < size; col++) {
+                if (cells[col] == ' ') moves.add(Move.of(row, col));
+            }
+        }
+        return moves.size();
+    }
+
+    /**
+     * Gets the number of cells in the board.
+     *
+     * @return The total cell count (rows multiplied by columns).
+     */
+    public int getCellCount() {
+        return size * size;
+    }
+
+    /**
+     * Gets the number of rows (and columns) of the board.
+     *
+     * @return The board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of symbols in a row needed to win.
+     *
+     * @return The winning run length.
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Gets the number of moves currently on the undo stack.
+     *
+     * @return The number of occupied cells.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Returns a move from the move history.
+     *
+     * @param index The position in the history (0 is the first move of the game).
+     * @return The packed move.
+     * @throws IndexOutOfBoundsException If no move has been made at that position.
+     */
+    public int getMove(int index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("Move " + index + " out of bounds for " + moveCount + " moves");
+        }
+        return history[index];
+    }
+
+    /**
+     * Gets the Zobrist hash of the current position.
+     * <p>
+     * Boards of the same size produce the same hash for the same position.
+     * </p>
+     *
+     * @return The 64-bit position hash.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Computes the Zobrist hash the position would have after applying a symmetry.
+     *
+     * @param symmetry The symmetry index (see {@link Symmetry}).
+     * @return The 64-bit hash of the transformed position.
+     */
+    public long getHash(int symmetry) {
+        if (symmetry == Symmetry.IDENTITY) return hash;
+        long transformed = 0;
+        for (int i = 0; i < moveCount; i++) {
+            int move = history[i];
+            int side = sideOf(board[Move.row(move)][Move.col(move)]);
+            int image = Symmetry.apply(symmetry, move, size);
+            transformed ^= zobristKeys[side][Move.row(image) * size + Move.col(image)];
         }
-        return checkDiagonals();
+        return transformed;
+    }
+
+    /**
+     * Finds the symmetry that maps the position onto its canonical form.
+     * <p>
+     * The canonical form is the symmetric variant with the smallest hash, so all eight
+     * rotations and reflections of a position share the key {@link #getCanonicalHash()}.
+     * A move {@code m} in this position corresponds to {@code Symmetry.apply(symmetry, m, size)}
+     * in the canonical form.
+     * </p>
+     *
+     * @return The symmetry index.
+     */
+    public int getCanonicalSymmetry() {
+        int best = Symmetry.IDENTITY;
+        long bestHash = hash;
+        for (int symmetry = 1; symmetry < Symmetry.COUNT; symmetry++) {
+            long candidate = getHash(symmetry);
+            if (Long.compareUnsigned(candidate, bestHash) < 0) {
+                bestHash = candidate;
+                best = symmetry;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the hash of the canonical form of the position, shared by all its rotations and reflections.
+     *
+     * @return The 64-bit canonical hash.
+     */
+    public long getCanonicalHash() {
+        return getHash(getCanonicalSymmetry());
+    }
+
+    /**
+     * Returns the static evaluation of the position from a player's point of view.
+     * <p>
+     * The score is the sum of the {@link PatternTable} weights of the player's live lines
+     * minus those of the opponent. It is maintained incrementally, so this call is O(1).
+     * </p>
+     *
+     * @param symbol The player symbol ('X' or 'O').
+     * @return The evaluation; positive values favour the given player.
+     */
+    public long evaluate(char symbol) {
+        int side = sideOf(symbol);
+        return patternScores[side] - patternScores[1 - side];
+    }
+
+    /**
+     * Recomputes the static evaluation by scanning every line.
+     * <p>
+     * Produces the same value as {@link #evaluate(char)}; it exists as a reference for
+     * tests and benchmarks.
+     * </p>
+     *
+     * @param symbol The player symbol ('X' or 'O').
+     * @return The evaluation; positive values favour the given player.
+     */
+    public long evaluateFully(char symbol) {
+        long[] scores = new long[2];
+        for (int line = 0; line < lineCells.length; line++) {
+            int xs = 0;
+            int os = 0;
+            for (int cell : lineCells[line]) {
+                char c = board[cell / size][cell % size];
+                if (c == 'X') xs++;
+                else if (c != ' ') os++;
+            }
+            if (xs > 0 && os == 0) scores[X] += patternWeights[xs];
+            if (os > 0 && xs == 0) scores[O] += patternWeights[os];
+        }
+        int side = sideOf(symbol);
+        return scores[side] - scores[1 - side];
+    }
+
+    /**
+     * Gets the number of live lines (lines without opponent stones) holding exactly the given
+     * number of a player's stones, e.g. open threes for {@code stones = winLength - 2}.
+     *
+     * @param symbol The player symbol ('X' or 'O').
+     * @param stones The number of stones on the line ({@code 1..winLength}).
+     * @return The number of such lines.
+     */
+    public int getPatternCount(char symbol, int stones) {
+        return patternCounts[sideOf(symbol)][stones];
+    }
+
+    /**
+     * Gets the number of precomputed winning lines.
+     *
+     * @return The line count.
+     */
+    int getLineCount() {
+        return lineCells.length;
+    }
+
+    /**
+     * Returns the cell indices ({@code row * size + col}) of a winning line.
+     *
+     * @param line The line id.
+     * @return The cells of the line; must not be modified.
+     */
+    int[] getLineCells(int line) {
+        return lineCells[line];
+    }
+
+    /**
+     * Returns the ids of the winning lines passing through a cell.
+     *
+     * @param cell The cell index ({@code row * size + col}).
+     * @return The line ids; must not be modified.
+     */
+    int[] getLinesThrough(int cell) {
+        return cellLines[cell];
+    }
+
+    /**
+     * Gets the number of stones a player has on a winning line.
+     *
+     * @param symbol The player symbol ('X' or 'O').
+     * @param line   The line id.
+     * @return The stone count.
+     */
+    int getLineStones(char symbol, int line) {
+        return lineCounts[sideOf(symbol)][line];
+    }
+
+    /**
+     * Checks whether a cell, given by its index, is empty.
+     *
+     * @param cell The cell index ({@code row * size + col}).
+     * @return {@code true} if the cell is empty; {@code false} otherwise.
+     */
+    boolean isEmpty(int cell) {
+        return board[cell / size][cell % size] == ' ';
     }
 
     /**
@@ -98,8 +448,8 @@ public class Board {
      * </p>
      */
     private void resetBoard() {
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
                 board[i][j] = ' ';
             }
         }
@@ -112,37 +462,125 @@ public class Board {
      * @return {@code true} if the coordinates are valid; {@code false} otherwise.
      */
     private boolean isWithinBounds(int row, int col) {
-        return row >= 0 && row < SIZE && col >= 0 && col < SIZE;
+        return row >= 0 && row < size && col >= 0 && col < size;
     }
 
     /**
-     * Checks if all cells in the specified row contain the same non-empty symbol.
+     * Adds or removes one stone of a side on every line through a cell.
      *
-     * @param row The row index (0-based) to check.
-     * @return {@code true} if the row contains a winning combination; {@code false} otherwise.
+     * @param cell  The cell index ({@code row * size + col}).
+     * @param side  The side index of the stone.
+     * @param delta {@code 1} when placing a stone, {@code -1} when removing it.
      */
-    private boolean checkRow(int row) {
-        return board[row][0] != ' ' && board[row][0] == board[row][1] && board[row][1] == board[row][2];
+    private void updateLines(int cell, int side, int delta) {
+        int[] counts = lineCounts[side];
+        for (int line : cellLines[cell]) {
+            updatePatterns(line, -1);
+            if (delta < 0 && counts[line] == winLength) completedLines[side]--;
+            counts[line] += delta;
+            if (delta > 0 && counts[line] == winLength) completedLines[side]++;
+            updatePatterns(line, 1);
+        }
     }
 
     /**
-     * Checks if all cells in the specified column contain the same non-empty symbol.
+     * Adds or removes a line's contribution to the pattern counts and scores.
      *
-     * @param col The column index (0-based) to check.
-     * @return {@code true} if the column contains a winning combination; {@code false} otherwise.
+     * @param line The line id.
+     * @param sign {@code 1} to add the contribution, {@code -1} to remove it.
      */
-    private boolean checkColumn(int col) {
-        return board[0][col] != ' ' && board[0][col] == board[1][col] && board[1][col] == board[2][col];
+    private void updatePatterns(int line, int sign) {
+        int xs = lineCounts[X][line];
+        int os = lineCounts[O][line];
+        if (xs > 0 && os == 0) {
+            patternCounts[X][xs] += sign;
+            patternScores[X] += sign * patternWeights[xs];
+        } else if (os > 0 && xs == 0) {
+            patternCounts[O][os] += sign;
+            patternScores[O] += sign * patternWeights[os];
+        }
     }
 
     /**
-     * Checks if any diagonal contains the same non-empty symbol.
+     * Maps a player symbol to the side index used by the line counts.
      *
-     * @return The winning player's symbol ('X' or 'O') if a diagonal contains a winning combination; otherwise, a space character (' ').
+     * @param symbol The player symbol.
+     * @return {@code 0} for 'X' and {@code 1} for any other symbol.
      */
-    private char checkDiagonals() {
-        if (board[0][0] != ' ' && board[0][0] == board[1][1] && board[1][1] == board[2][2]) return board[0][0];
-        if (board[0][2] != ' ' && board[0][2] == board[1][1] && board[1][1] == board[2][0]) return board[0][2];
-        return ' ';
+    private static int sideOf(char symbol) {
+        return symbol == 'X' ? X : O;
+    }
+
+    /**
+     * Creates the Zobrist keys for both sides.
+     *
+     * @param cells The number of cells on the board.
+     * @return The keys indexed by side and cell.
+     */
+    private static long[][] createZobristKeys(int cells) {
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED + cells);
+        long[][] keys = new long[2][cells];
+        for (long[] sideKeys : keys) {
+            for (int cell = 0; cell < cells; cell++) {
+                sideKeys[cell] = random.nextLong();
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Enumerates every run of {@code winLength} cells in the four line directions.
+     *
+     * @param size      The board size.
+     * @param winLength The winning run length.
+     * @return The cell indices of each line.
+     */
+    private static int[][] buildLines(int size, int winLength) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        int[][] lines = new int[4 * size * size][];
+        int count = 0;
+        for (int[] direction : directions) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int endRow = row + direction[0] * (winLength - 1);
+                    int endCol = col + direction[1] * (winLength - 1);
+                    if (endRow >= size || endCol < 0 || endCol >= size) continue;
+                    if (winLength == 1 && direction != directions[0]) continue; // avoid duplicate single cells
+                    int[] line = new int[winLength];
+                    for (int i = 0; i < winLength; i++) {
+                        line[i] = (row + direction[0] * i) * size + col + direction[1] * i;
+                    }
+                    lines[count++] = line;
+                }
+            }
+        }
+        int[][] result = new int[count][];
+        System.arraycopy(lines, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Builds the reverse index from each cell to the lines passing through it.
+     *
+     * @param cells     The number of cells on the board.
+     * @param lineCells The cell indices of each line.
+     * @return The line ids through each cell.
+     */
+    private static int[][] indexLinesByCell(int cells, int[][] lineCells) {
+        int[] counts = new int[cells];
+        for (int[] line : lineCells) {
+            for (int cell : line) counts[cell]++;
+        }
+        int[][] index = new int[cells][];
+        for (int cell = 0; cell < cells; cell++) {
+            index[cell] = new int[counts[cell]];
+            counts[cell] = 0;
+        }
+        for (int line = 0; line < lineCells.length; line++) {
+            for (int cell : lineCells[line]) {
+                index[cell][counts[cell]++] = line;
+            }
+        }
+        return index;
     }
 }
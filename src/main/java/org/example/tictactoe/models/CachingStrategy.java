@@ -0,0 +1,105 @@
+package org.example.tictactoe.models;
+
+import java.util.function.Supplier;
+
+/**
+ * Decorates a deterministic strategy with the process-wide {@link PositionCache}.
+ * <p>
+ * Before searching, the `CachingStrategy` looks up the canonical form of the position
+ * ({@link Board#getCanonicalHash()}), so a move found once is reused for every rotation and
+ * reflection of the position, in every later game and after restarts. Moves are stored in
+ * the orientation of the canonical form and mapped back through the inverse symmetry.
+ * </p>
+ * <p>
+ * Only strategies that always pick the same move for the same position should be wrapped;
+ * the cache key includes the strategy name, the board geometry and the AI's symbol.
+ * </p>
+ * <p>
+ * The cache may be supplied lazily, so it is only opened (and its file mapped) when the first
+ * move is actually selected, not when the strategy is registered.
+ * </p>
+ */
+public class CachingStrategy implements AIDifficultyStrategy {
+
+    private final AIDifficultyStrategy delegate;
+    private final Supplier<PositionCache> cacheSupplier;
+    private final long salt;
+    private PositionCache cache;
+
+    /**
+     * Wraps a strategy with a position cache.
+     *
+     * @param name     The strategy name, used to keep the entries of different strategies apart.
+     * @param delegate The deterministic strategy that computes moves on a cache miss.
+     * @param cache    The position cache.
+     */
+    public CachingStrategy(String name, AIDifficultyStrategy delegate, PositionCache cache) {
+        this(name, delegate, () -> cache);
+    }
+
+    /**
+     * Wraps a strategy with a position cache that is opened on the first move.
+     *
+     * @param name          The strategy name, used to keep the entries of different strategies apart.
+     * @param delegate      The deterministic strategy that computes moves on a cache miss.
+     * @param cacheSupplier Supplies the position cache; called once, when the first move is selected.
+     */
+    public CachingStrategy(String name, AIDifficultyStrategy delegate, Supplier<PositionCache> cacheSupplier) {
+        this.delegate = delegate;
+        this.cacheSupplier = cacheSupplier;
+        this.salt = name.hashCode() * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Returns the cached move for the position, or asks the wrapped strategy and caches its answer.
+     * <p>
+     * Moves from interrupted searches are not cached, since they may not be the strategy's real choice.
+     * </p>
+     *
+     * @param board       The current state of the game board.
+     * @param aiSymbol    The symbol used by the AI player (e.g., 'X' or 'O').
+     * @param humanSymbol The symbol used by the human player (e.g., 'X' or 'O').
+     * @return The packed move, or {@link Move#NONE} if no move is available.
+     */
+    @Override
+    public int selectMove(Board board, char aiSymbol, char humanSymbol) {
+        int size = board.getSize();
+        int symmetry = board.getCanonicalSymmetry();
+        long key = board.getHash(symmetry) ^ salt ^ geometryKey(size, board.getWinLength(), aiSymbol);
+
+        PositionCache cache = cache();
+        int cached = cache.lookup(key);
+        if (cached != PositionCache.MISSING) {
+            int move = Symmetry.apply(Symmetry.inverse(symmetry), cached, size);
+            if (move != Move.NONE && board.getBoard()[Move.row(move)][Move.col(move)] == ' ') return move;
+        }
+
+        int move = delegate.selectMove(board, aiSymbol, humanSymbol);
+        if (move != Move.NONE && !Thread.currentThread().isInterrupted()) {
+            cache.store(key, Symmetry.apply(symmetry, move, size));
+        }
+        return move;
+    }
+
+    /**
+     * Scores moves with the wrapped strategy; scores are not cached.
+     *
+     * @param board       The current state of the game board.
+     * @param aiSymbol    The symbol of the side whose moves are scored.
+     * @param humanSymbol The symbol of the opposing side.
+     * @return The score of every cell, as computed by the wrapped strategy.
+     */
+    @Override
+    public long[] scoreMoves(Board board, char aiSymbol, char humanSymbol) {
+        return delegate.scoreMoves(board, aiSymbol, humanSymbol);
+    }
+
+    private synchronized PositionCache cache() {
+        if (cache == null) cache = cacheSupplier.get();
+        return cache;
+    }
+
+    private static long geometryKey(int size, int winLength, char aiSymbol) {
+        return ((long) size << 48 | (long) winLength << 32 | aiSymbol) * 0xC2B2AE3D27D4EB4FL;
+    }
+}
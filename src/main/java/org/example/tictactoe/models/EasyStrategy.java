@@ -2,7 +2,7 @@ package org.example.tictactoe.models;
 
 import org.tinylog.Logger;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * A simple AI strategy for Tic-Tac-Toe.
@@ -11,33 +11,69 @@ import java.util.Random;
  * the state of the game or potential winning/losing positions. It is designed to
  * provide an easy difficulty level for the AI.
  * </p>
+ * <p>
+ * Moves are drawn uniformly from the list of empty cells, so every move costs one random
+ * number however full the board is. A strategy created for a game with {@link #forGame(long)}
+ * draws each move from a {@link SplittableRandom} seeded with the game's seed and the position
+ * hash, so the move depends only on the seed and the position: speculative calls (e.g. by the
+ * {@link Ponderer}) and undo/redo cannot shift the choices, and a game is exactly replayable
+ * from its seed and the human's moves.
+ * </p>
  */
 public class EasyStrategy implements AIDifficultyStrategy {
 
-    private final Random random = new Random();
+    private final SplittableRandom random; // null: each move is derived from the seed and the position
+    private final long seed;
+
+    /**
+     * Creates a strategy with an unpredictable random stream.
+     */
+    public EasyStrategy() {
+        this.random = new SplittableRandom();
+        this.seed = 0;
+    }
+
+    /**
+     * Creates a strategy whose moves are determined by a seed and the position.
+     *
+     * @param seed The seed of the moves.
+     */
+    public EasyStrategy(long seed) {
+        this.random = null;
+        this.seed = seed;
+    }
 
     /**
      * Selects a random valid move for the AI player.
      * <p>
-     * This method iterates until it finds an empty cell on the board. It does not
-     * consider game state or strategy, making it suitable for a beginner-level AI.
+     * The empty cells are collected into a {@link MoveList} and one of them is picked
+     * uniformly. It does not consider game state or strategy, making it suitable for a
+     * beginner-level AI.
      * </p>
      *
      * @param board      The current state of the game board.
      * @param aiSymbol   The symbol used by the AI player (e.g., 'X' or 'O').
      * @param humanSymbol The symbol used by the human player (e.g., 'X' or 'O').
-     * @return An array containing the row and column indices of the selected move, e.g., {@code [row, col]}.
+     * @return The packed move (see {@link Move}), or {@link Move#NONE} if the board is full.
+     */
+    @Override
+    public int selectMove(Board board, char aiSymbol, char humanSymbol) {
+        MoveList moves = new MoveList(board.getCellCount());
+        if (board.generateMoves(moves) == 0) return Move.NONE;
+        SplittableRandom source = random != null ? random : new SplittableRandom(seed ^ board.getHash());
+        int move = moves.get(source.nextInt(moves.size()));
+        Logger.debug("AI (Easy) selected move: Row {}, Column {}", Move.row(move), Move.col(move));
+        return move;
+    }
+
+    /**
+     * Creates a strategy with its own random stream for one game.
+     *
+     * @param seed The game's seed.
+     * @return A new `EasyStrategy` whose moves are determined by {@code seed} and the position.
      */
     @Override
-    public int[] getMove(Board board, char aiSymbol, char humanSymbol) {
-        Logger.info("AI (Easy) is selecting a random move.");
-        char[][] gameState = board.getBoard();
-        int row, col;
-        do {
-            row = random.nextInt(3);
-            col = random.nextInt(3);
-        } while (gameState[row][col] != ' ');
-        Logger.info("AI (Easy) selected move: Row {}, Column {}", row, col);
-        return new int[]{row, col};
+    public AIDifficultyStrategy forGame(long seed) {
+        return new EasyStrategy(seed);
     }
 }
@@ -0,0 +1,67 @@
+package org.example.tictactoe.models;
+
+/**
+ * An exact game value with every move that achieves it, as kept in the {@link PositionCache}.
+ * <p>
+ * Every component that solves positions exactly (the hint solver and the batch analyzer)
+ * stores and reads its results through this class, so a position solved by one is reused by
+ * the other. An entry is keyed by the canonical hash of the position and the board geometry;
+ * the side to move follows from the number of stones. Its value holds the result plus one
+ * above a mask of the best moves in the canonical orientation, so only boards of up to
+ * {@value #CELL_LIMIT} cells are cached.
+ * </p>
+ *
+ * @param value     The value for the side to move: 1 for a win, 0 for a draw, -1 for a loss.
+ * @param bestMoves The packed moves that achieve the value, in the canonical orientation.
+ */
+public record ExactResult(int value, int[] bestMoves) {
+
+    /** The largest board whose best moves fit into the 16-bit move mask of a cache entry. */
+    public static final int CELL_LIMIT = 16;
+
+    private static final long SALT = "ExactResult".hashCode() * 0x9E3779B97F4A7C15L;
+
+    /**
+     * Looks up the exact result of a position.
+     *
+     * @param cache    The position cache, or {@code null}.
+     * @param board    The position.
+     * @param symmetry The position's canonical symmetry ({@link Board#getCanonicalSymmetry()}).
+     * @return The result with moves in the canonical orientation, or {@code null} if it is not cached.
+     */
+    public static ExactResult lookup(PositionCache cache, Board board, int symmetry) {
+        if (cache == null || board.getCellCount() > CELL_LIMIT) return null;
+        int entry = cache.lookup(key(board, symmetry));
+        if (entry == PositionCache.MISSING) return null;
+        int size = board.getSize();
+        int[] moves = new int[Integer.bitCount(entry & 0xFFFF)];
+        int count = 0;
+        for (int cell = 0; cell < size * size; cell++) {
+            if ((entry & 1 << cell) != 0) moves[count++] = Move.of(cell / size, cell % size);
+        }
+        return new ExactResult((entry >>> 16) - 1, moves);
+    }
+
+    /**
+     * Stores the exact result of a position, if the board is small enough.
+     *
+     * @param cache    The position cache, or {@code null}.
+     * @param board    The position.
+     * @param symmetry The position's canonical symmetry ({@link Board#getCanonicalSymmetry()}).
+     * @param result   The result, with moves in the canonical orientation.
+     */
+    public static void store(PositionCache cache, Board board, int symmetry, ExactResult result) {
+        if (cache == null || board.getCellCount() > CELL_LIMIT) return;
+        int size = board.getSize();
+        int mask = 0;
+        for (int move : result.bestMoves()) {
+            mask |= 1 << (Move.row(move) * size + Move.col(move));
+        }
+        cache.store(key(board, symmetry), (Integer.signum(result.value()) + 1) << 16 | mask);
+    }
+
+    private static long key(Board board, int symmetry) {
+        return board.getHash(symmetry) ^ SALT
+                ^ ((long) board.getSize() << 48 | (long) board.getWinLength() << 32) * 0xC2B2AE3D27D4EB4FL;
+    }
+}
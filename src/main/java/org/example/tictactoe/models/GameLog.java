@@ -0,0 +1,101 @@
+package org.example.tictactoe.models;
+
+import org.example.tictactoe.utils.NameDictionary;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The finished games held by {@link Stats}, stored column by column instead of as objects.
+ * <p>
+ * Names are {@link NameDictionary} ids, the small fields are bytes and the moves of all games
+ * share one {@code char} arena (a packed move fits into 16 bits), so a game of the classic
+ * board takes about 60 bytes instead of the 250 or more of a {@link GameRecord} with its own
+ * name strings and move array. Records are rebuilt when they are read. Not thread-safe;
+ * {@link Stats} guards it.
+ * </p>
+ */
+final class GameLog {
+
+    private final NameDictionary names;
+    private int size;
+    private int[] player1 = new int[64];
+    private int[] player2 = new int[64];
+    private int[] strategy = new int[64];
+    private byte[] boardSize = new byte[64]; // up to 255, read back unsigned
+    private byte[] winLength = new byte[64];
+    private byte[] winner = new byte[64];
+    private long[] seed = new long[64];
+    private long[] startTime = new long[64];
+    private long[] duration = new long[64];
+    private int[] moveEnd = new int[64]; // the moves of game i end at moveEnd[i] in the arena
+    private char[] moves = new char[512];
+    private int moveCount;
+
+    GameLog(NameDictionary names) {
+        this.names = names;
+    }
+
+    void add(GameRecord record) {
+        if (size == player1.length) grow();
+        int[] recordMoves = record.moves();
+        if (moveCount + recordMoves.length > moves.length) {
+            moves = Arrays.copyOf(moves, Math.max(moves.length * 2, moveCount + recordMoves.length));
+        }
+        for (int move : recordMoves) {
+            moves[moveCount++] = (char) move;
+        }
+        player1[size] = names.intern(record.player1());
+        player2[size] = names.intern(record.player2());
+        strategy[size] = names.intern(record.strategy());
+        boardSize[size] = (byte) record.boardSize();
+        winLength[size] = (byte) record.winLength();
+        winner[size] = (byte) record.winner();
+        seed[size] = record.seed();
+        startTime[size] = record.startTime();
+        duration[size] = record.durationMillis();
+        moveEnd[size] = moveCount;
+        size++;
+    }
+
+    GameRecord get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("No game " + index);
+        int from = index == 0 ? 0 : moveEnd[index - 1];
+        int[] gameMoves = new int[moveEnd[index] - from];
+        for (int i = 0; i < gameMoves.length; i++) {
+            gameMoves[i] = moves[from + i];
+        }
+        return new GameRecord(names.name(player1[index]), names.name(player2[index]), names.name(strategy[index]),
+                boardSize[index] & 0xFF, winLength[index] & 0xFF, seed[index], startTime[index], duration[index],
+                (char) winner[index], gameMoves);
+    }
+
+    void forEach(Consumer<GameRecord> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(get(i));
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+        moveCount = 0;
+    }
+
+    private void grow() {
+        int capacity = player1.length * 2;
+        player1 = Arrays.copyOf(player1, capacity);
+        player2 = Arrays.copyOf(player2, capacity);
+        strategy = Arrays.copyOf(strategy, capacity);
+        boardSize = Arrays.copyOf(boardSize, capacity);
+        winLength = Arrays.copyOf(winLength, capacity);
+        winner = Arrays.copyOf(winner, capacity);
+        seed = Arrays.copyOf(seed, capacity);
+        startTime = Arrays.copyOf(startTime, capacity);
+        duration = Arrays.copyOf(duration, capacity);
+        moveEnd = Arrays.copyOf(moveEnd, capacity);
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.tictactoe.models;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The complete record of a finished game.
+ * <p>
+ * Unlike the result message shown to the player, a record keeps everything needed to
+ * analyse or replay the game: who played, against which strategy, on which board, when,
+ * how long it took, how it ended and every move in order. Records are written to and read
+ * from disk by {@link org.example.tictactoe.services.GameRecordWriter} and
+ * {@link org.example.tictactoe.services.GameRecordReader}.
+ * </p>
+ *
+ * @param player1        The name of the player who played 'X'.
+ * @param player2        The name of the player who played 'O' ("AI" in games against the AI).
+ * @param strategy       The AI difficulty, or an empty string in Player vs Player games.
+ * @param boardSize      The number of rows and columns.
+ * @param winLength      The number of symbols in a row needed to win.
+ * @param seed           The seed of the AI's random choices.
+ * @param startTime      The start of the game, in milliseconds since the epoch.
+ * @param durationMillis The length of the game in milliseconds.
+ * @param winner         The winning symbol ('X' or 'O'), or ' ' for a draw.
+ * @param moves          The packed moves in the order they were played (see {@link Move}).
+ */
+public record GameRecord(String player1, String player2, String strategy, int boardSize, int winLength, long seed,
+                         long startTime, long durationMillis, char winner, int[] moves) {
+
+    /**
+     * Validates the record.
+     *
+     * @throws IllegalArgumentException If the result or a move does not fit the board.
+     */
+    public GameRecord {
+        if (winner != 'X' && winner != 'O' && winner != ' ') {
+            throw new IllegalArgumentException("Invalid winner symbol: '" + winner + "'");
+        }
+        if (moves.length > boardSize * boardSize) {
+            throw new IllegalArgumentException(moves.length + " moves do not fit a " + boardSize + "x" + boardSize
+                    + " board");
+        }
+        for (int move : moves) {
+            if (move < 0 || Move.row(move) >= boardSize || Move.col(move) >= boardSize) {
+                throw new IllegalArgumentException("Move (" + Move.row(move) + ", " + Move.col(move)
+                        + ") is off the board");
+            }
+        }
+    }
+
+    /**
+     * Checks whether the game ended in a draw.
+     *
+     * @return {@code true} for a draw; {@code false} if a player won.
+     */
+    public boolean isDraw() {
+        return winner == ' ';
+    }
+
+    /**
+     * Gets the name of the winner.
+     *
+     * @return The winner's name, or {@code null} for a draw.
+     */
+    public String winnerName() {
+        return switch (winner) {
+            case 'X' -> player1;
+            case 'O' -> player2;
+            default -> null;
+        };
+    }
+
+    /**
+     * Gets the result message shown to the players.
+     *
+     * @return E.g. "Alice wins!" or "It's a draw!".
+     */
+    public String message() {
+        return isDraw() ? "It's a draw!" : winnerName() + " wins!";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GameRecord other
+                && player1.equals(other.player1) && player2.equals(other.player2)
+                && strategy.equals(other.strategy) && boardSize == other.boardSize
+                && winLength == other.winLength && seed == other.seed && startTime == other.startTime
+                && durationMillis == other.durationMillis && winner == other.winner
+                && Arrays.equals(moves, other.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Objects.hash(player1, player2, strategy, boardSize, winLength, seed, startTime,
+                durationMillis, winner);
+        return 31 * hash + Arrays.hashCode(moves);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(message()).append(' ').append(player1).append(" vs ").append(player2);
+        if (!strategy.isEmpty()) text.append(" (").append(strategy).append(')');
+        text.append(", ").append(boardSize).append('x').append(boardSize).append('/').append(winLength).append(':');
+        for (int move : moves) {
+            text.append(" (").append(Move.row(move)).append(',').append(Move.col(move)).append(')');
+        }
+        return text.toString();
+    }
+}
@@ -2,6 +2,10 @@ package org.example.tictactoe.models;
 
 import org.tinylog.Logger;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 
 /**
@@ -11,6 +15,27 @@ import java.util.function.Consumer;
  * and determining the game's outcome. It supports both Player vs Player
  * and Player vs AI modes.
  * </p>
+ * <p>
+ * By default the AI moves synchronously inside {@link #makeMove(int, int)}. When an AI
+ * executor is set with {@link #setAiExecutor(ExecutorService, Executor)}, the AI searches a
+ * snapshot of the board on that executor and its move is handed back through the callback
+ * executor (e.g. the JavaFX Application Thread), where all state changes and listener
+ * notifications happen.
+ * </p>
+ * <p>
+ * With an AI executor and {@link #setPondering(boolean) pondering} enabled, the AI also uses
+ * the human's thinking time: a {@link Ponderer} prepares replies to the human's likely moves,
+ * and a ponder hit is answered without a search.
+ * </p>
+ * <p>
+ * In games against the AI, {@link #requestHint(Consumer)} suggests the best moves to the
+ * human; see {@link Hinter} for where the answers come from.
+ * </p>
+ * <p>
+ * Every game has a seed that drives all of the AI's randomness (see
+ * {@link AIDifficultyStrategy#forGame(long)}), so a game can be replayed exactly from its
+ * seed and the human's moves.
+ * </p>
  */
 public class GameState {
 
@@ -20,14 +45,28 @@ public class GameState {
     private final AIPlayer aiPlayer;
     private Player currentPlayer;
     private final boolean isAgainstAI;
+    private final long seed;
+    private final String aiDifficulty;
+    private final long startTime = System.currentTimeMillis();
+    private final MoveList redoMoves; // moves taken back by undo(), most recent last
 
    /* private final Stats stats = Stats.getInstance(); // For recording game results
     private final Leaderboard leaderboard = Leaderboard.getInstance(); // For recording wins
 */
     private Consumer<char[][]> onBoardUpdate;
     private Consumer<String> onStatusUpdate;
-    private Consumer<String> onGameOver;
+    private Consumer<GameRecord> onGameOver;
+    private Consumer<Boolean> onThinkingChanged;
+    private CellUpdateListener onCellUpdate;
+    private Consumer<Throwable> onAiError;
 
+    private ExecutorService aiExecutor; // null: the AI moves synchronously
+    private Executor callbackExecutor = Runnable::run;
+    private Future<?> aiTask;
+    private boolean aiThinking;
+    private volatile boolean cancelled;
+    private Ponderer ponderer; // null: pondering is off
+    private Hinter hinter; // created with the first hint
 
     /**
      * Constructs a new `GameState` instance.
@@ -38,14 +77,49 @@ public class GameState {
      * @param player2Name The name of Player 2 (or "AI" if playing against AI).
      */
     public GameState(boolean isAI, String aiDifficulty, String player1Name, String player2Name) {
-        Logger.info("Creating new game state: isAI={}, aiDifficulty={}, player1={}, player2={}",
-                isAI, aiDifficulty, player1Name, player2Name);
-        board = new Board();
+        this(isAI, aiDifficulty, player1Name, player2Name, 3, 3);
+    }
+
+    /**
+     * Constructs a new `GameState` instance on a custom k-in-a-row board.
+     *
+     * @param isAI        Whether the game is against an AI player.
+     * @param aiDifficulty The difficulty level of the AI player (e.g., "Easy", "Hard" or "Expert").
+     * @param player1Name The name of Player 1.
+     * @param player2Name The name of Player 2 (or "AI" if playing against AI).
+     * @param boardSize   The number of rows and columns of the board.
+     * @param winLength   The number of symbols in a row needed to win.
+     */
+    public GameState(boolean isAI, String aiDifficulty, String player1Name, String player2Name,
+                     int boardSize, int winLength) {
+        this(isAI, aiDifficulty, player1Name, player2Name, boardSize, winLength,
+                ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a new `GameState` instance with a given seed, e.g. to replay a recorded game.
+     *
+     * @param isAI        Whether the game is against an AI player.
+     * @param aiDifficulty The difficulty level of the AI player (e.g., "Easy", "Hard" or "Expert").
+     * @param player1Name The name of Player 1.
+     * @param player2Name The name of Player 2 (or "AI" if playing against AI).
+     * @param boardSize   The number of rows and columns of the board.
+     * @param winLength   The number of symbols in a row needed to win.
+     * @param seed        The seed of the AI's random choices.
+     */
+    public GameState(boolean isAI, String aiDifficulty, String player1Name, String player2Name,
+                     int boardSize, int winLength, long seed) {
+        Logger.info("Creating new game state: isAI={}, aiDifficulty={}, player1={}, player2={}, board={}x{}, win={}, "
+                + "seed={}", isAI, aiDifficulty, player1Name, player2Name, boardSize, boardSize, winLength, seed);
+        board = new Board(boardSize, winLength);
+        redoMoves = new MoveList(board.getCellCount());
         this.isAgainstAI = isAI;
+        this.seed = seed;
+        this.aiDifficulty = isAI ? aiDifficulty : "";
 
         player1 = new Player('X', player1Name);
         if (isAI) {
-            aiPlayer = new AIPlayer('O', 'X', aiDifficulty);
+            aiPlayer = new AIPlayer('O', 'X', aiDifficulty, seed);
             player2 = null;
         } else {
             player2 = new Player('O', player2Name);
@@ -63,11 +137,22 @@ public class GameState {
      */
     public void makeMove(int row, int col) {
         Logger.info("Player {} attempting move at Row {}, Column {}.", currentPlayer.getName(), row, col);
+        if (gameOverTriggered || cancelled) {
+            Logger.warn("Ignoring move at Row {}, Column {}: the game is over.", row, col);
+            return;
+        }
+        if (aiThinking) {
+            Logger.warn("Ignoring move at Row {}, Column {}: the AI is thinking.", row, col);
+            return;
+        }
         if (board.makeMove(row, col, currentPlayer.getSymbol())) {
             Logger.info("Move successful.");
+            stopPondering();
+            redoMoves.clear();
+            notifyCellUpdate(Move.of(row, col));
             notifyBoardUpdate();
             if (checkGameOver()) {
-                Logger.info("Game over detected.");
+                Logger.info("Game over detected (seed {}).", seed);
                 return;
             }
                 switchTurn();
@@ -89,20 +174,11 @@ public class GameState {
 
         char winner = board.checkWinner();
         if (winner != ' ') {
-            Logger.info("Winner determined: {}", (winner == player1.getSymbol()) ? player1.getName() : (isAgainstAI ? "AI" : player2.getName()));
+            GameRecord record = createRecord(winner);
+            Logger.info("Winner determined: {}", record.winnerName());
             gameOverTriggered = true;
-
-            String winnerName;
-            if (winner == player1.getSymbol()) {
-                winnerName = player1.getName();
-            } else if (isAgainstAI) {
-                winnerName = "AI";
-            } else {
-                winnerName = player2.getName();
-            }
-
             if (onGameOver != null) {
-                onGameOver.accept(winnerName + " wins!");
+                onGameOver.accept(record);
             }
             return true;
         }
@@ -111,7 +187,7 @@ public class GameState {
             Logger.info("Board is full. Game ended in a draw.");
             gameOverTriggered = true;
             if (onGameOver != null) {
-                onGameOver.accept("It's a draw!");
+                onGameOver.accept(createRecord(' '));
             }
             return true;
         }
@@ -119,6 +195,22 @@ public class GameState {
         return false;
     }
 
+    /**
+     * Creates the record of the finished game.
+     *
+     * @param winner The winning symbol, or ' ' for a draw.
+     * @return The game record.
+     */
+    private GameRecord createRecord(char winner) {
+        int[] moves = new int[board.getMoveCount()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = board.getMove(i);
+        }
+        return new GameRecord(player1.getName(), isAgainstAI ? "AI" : player2.getName(), aiDifficulty,
+                board.getSize(), board.getWinLength(), seed, startTime, System.currentTimeMillis() - startTime,
+                winner, moves);
+    }
+
 
     /**
      * Switches turns between the players.
@@ -127,16 +219,349 @@ public class GameState {
      * </p>
      */
     private void switchTurn() {
-        if (isAgainstAI && currentPlayer == player1) {
-            int[] aiMove = aiPlayer.getBestMove(board);
-            board.makeMove(aiMove[0], aiMove[1], aiPlayer.getSymbol());
-            notifyBoardUpdate();
-            if (checkGameOver()) return;
+        if (isAgainstAI) {
+            startAiTurn();
+            return;
         }
-        currentPlayer = (currentPlayer == player1) ? (isAgainstAI ? player1 : player2) : player1;
+        currentPlayer = (currentPlayer == player1) ? player2 : player1;
         notifyStatusUpdate();
     }
 
+    /**
+     * Lets the AI choose its move, either directly or on the AI executor.
+     */
+    private void startAiTurn() {
+        if (aiExecutor == null) {
+            applyAiMove(aiPlayer.selectMove(board));
+            return;
+        }
+        if (ponderer != null) {
+            int reply = ponderer.lookup(board.getHash());
+            Logger.info("Ponder {} (hit rate {}/{}).", reply != Move.NONE ? "hit" : "miss",
+                    ponderer.getHits(), ponderer.getLookups());
+            if (reply != Move.NONE) {
+                applyAiMove(reply);
+                return;
+            }
+        }
+        Board snapshot = new Board(board);
+        setThinking(true);
+        aiTask = aiExecutor.submit(() -> {
+            int move;
+            try {
+                move = aiPlayer.selectMove(snapshot);
+            } catch (RuntimeException | Error e) {
+                callbackExecutor.execute(() -> {
+                    aiTask = null;
+                    setThinking(false);
+                    if (!cancelled) recoverFromAiFailure(e);
+                });
+                return;
+            }
+            if (Thread.currentThread().isInterrupted()) return;
+            callbackExecutor.execute(() -> {
+                aiTask = null;
+                setThinking(false);
+                if (!cancelled) applyAiMove(move);
+            });
+        });
+    }
+
+    /**
+     * Reports a failed AI search and takes back the player's move, so the player can try again.
+     *
+     * @param failure The exception thrown by the AI.
+     */
+    private void recoverFromAiFailure(Throwable failure) {
+        Logger.error(failure, "The AI failed to choose a move; taking back the player's last move.");
+        int move = board.undoMove();
+        notifyCellUpdate(move);
+        notifyBoardUpdate();
+        notifyStatusUpdate();
+        if (onAiError != null) {
+            onAiError.accept(failure);
+        }
+        startPondering();
+    }
+
+    /**
+     * Plays the AI's move and hands the turn back to the player.
+     *
+     * @param move The packed move chosen by the AI.
+     */
+    private void applyAiMove(int move) {
+        board.makeMove(move, aiPlayer.getSymbol());
+        notifyCellUpdate(move);
+        notifyBoardUpdate();
+        if (checkGameOver()) return;
+        notifyStatusUpdate();
+        startPondering();
+    }
+
+    /**
+     * Runs AI turns on a background executor instead of the caller's thread.
+     *
+     * @param aiExecutor       The executor that runs AI searches.
+     * @param callbackExecutor The executor on which the AI's move is applied and listeners are notified
+     *                         (e.g. {@code Platform::runLater}).
+     */
+    public void setAiExecutor(ExecutorService aiExecutor, Executor callbackExecutor) {
+        this.aiExecutor = aiExecutor;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Cancels a running AI search and ignores any further moves.
+     * <p>
+     * Used when the game window closes. The search thread is interrupted and its result, if
+     * any, is discarded.
+     * </p>
+     */
+    public void cancelAi() {
+        cancelled = true;
+        stopPondering();
+        Future<?> task = aiTask;
+        if (task != null) {
+            Logger.info("Cancelling AI search.");
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * Enables or disables pondering, i.e. preparing AI replies while the human is thinking.
+     * <p>
+     * Pondering needs an AI executor ({@link #setAiExecutor(ExecutorService, Executor)}) and
+     * only applies to games against the AI; otherwise this method has no effect.
+     * </p>
+     *
+     * @param enabled {@code true} to ponder on the human's time; {@code false} to stop.
+     */
+    public void setPondering(boolean enabled) {
+        if (!isAgainstAI || aiExecutor == null) return;
+        if (!enabled) {
+            stopPondering();
+            ponderer = null;
+            return;
+        }
+        if (ponderer == null) {
+            ponderer = new Ponderer(aiPlayer, player1.getSymbol());
+        }
+        startPondering();
+    }
+
+    /**
+     * Gets the share of AI turns that were answered from a pondered reply.
+     *
+     * @return The ponder hit rate between 0 and 1, or 0 if pondering is off or no AI turn has been played.
+     */
+    public double getPonderHitRate() {
+        return ponderer == null ? 0 : ponderer.getHitRate();
+    }
+
+    /**
+     * Starts pondering if it is enabled and the human is to move in a running game.
+     */
+    private void startPondering() {
+        if (ponderer != null && !gameOverTriggered && !cancelled && !aiThinking) {
+            ponderer.start(board, aiExecutor);
+        }
+    }
+
+    private void stopPondering() {
+        if (ponderer != null) {
+            ponderer.stop();
+        }
+    }
+
+    /**
+     * Checks whether the AI is currently searching for its move.
+     *
+     * @return {@code true} while an AI search is running; {@code false} otherwise.
+     */
+    public boolean isAiThinking() {
+        return aiThinking;
+    }
+
+    /**
+     * Asks the AI to score every empty cell as a move for the player to move, e.g. for a heatmap.
+     * <p>
+     * With an AI executor set, the scores are computed on a snapshot of the board on that
+     * executor and delivered through the callback executor; otherwise they are computed and
+     * delivered immediately. Nothing is delivered in Player vs Player games, once the game is
+     * over, while the AI is thinking, or if the board changed while the scores were computed.
+     * </p>
+     *
+     * @param onScores A consumer that accepts the score per cell, indexed by {@code row * size + col};
+     *                 occupied cells hold {@link Long#MIN_VALUE}.
+     */
+    public void requestMoveScores(Consumer<long[]> onScores) {
+        if (!isAgainstAI || gameOverTriggered || cancelled || aiThinking) return;
+        char side = currentPlayer.getSymbol();
+        char opponent = aiPlayer.getSymbol();
+        if (aiExecutor == null) {
+            onScores.accept(aiPlayer.scoreMoves(board, side, opponent));
+            return;
+        }
+        Board snapshot = new Board(board);
+        long hash = board.getHash();
+        aiExecutor.execute(() -> {
+            long[] scores = aiPlayer.scoreMoves(snapshot, side, opponent);
+            callbackExecutor.execute(() -> {
+                if (!cancelled && !gameOverTriggered && !aiThinking && board.getHash() == hash) {
+                    onScores.accept(scores);
+                }
+            });
+        });
+    }
+
+    /**
+     * Suggests the best moves for the player to move.
+     * <p>
+     * The hint is answered from earlier analysis where possible: hints already given in this
+     * game, the position cache, the positions solved for earlier hints and the scores the
+     * ponderer computed for this position. Otherwise it is searched for within a time budget.
+     * With an AI executor set, pondering is paused while the hint is computed on that executor
+     * and resumed afterwards, and the hint is delivered through the callback executor;
+     * otherwise it is computed and delivered immediately. Nothing is delivered in Player vs
+     * Player games, once the game is over, while the AI is thinking, or if the board changed
+     * while the hint was computed.
+     * </p>
+     *
+     * @param onHint A consumer that accepts the hint.
+     */
+    public void requestHint(Consumer<Hint> onHint) {
+        if (!isAgainstAI || gameOverTriggered || cancelled || aiThinking) return;
+        if (hinter == null) {
+            hinter = new Hinter(aiPlayer);
+        }
+        char side = currentPlayer.getSymbol();
+        char opponent = aiPlayer.getSymbol();
+        long hash = board.getHash();
+        if (aiExecutor == null) {
+            onHint.accept(hinter.hint(board, side, opponent, null));
+            return;
+        }
+        stopPondering();
+        Board snapshot = new Board(board);
+        Hinter current = hinter;
+        Ponderer pondered = ponderer;
+        aiExecutor.execute(() -> {
+            Hint hint = current.hint(snapshot, side, opponent, pondered == null ? null : pondered.getScores(hash));
+            callbackExecutor.execute(() -> {
+                if (!cancelled && !gameOverTriggered && !aiThinking && board.getHash() == hash) {
+                    onHint.accept(hint);
+                    startPondering();
+                }
+            });
+        });
+    }
+
+    private void setThinking(boolean thinking) {
+        aiThinking = thinking;
+        if (onThinkingChanged != null) {
+            onThinkingChanged.accept(thinking);
+        }
+    }
+
+    /**
+     * Gets the number of rows (and columns) of the game board.
+     *
+     * @return The board size.
+     */
+    public int getBoardSize() {
+        return board.getSize();
+    }
+
+    /**
+     * Gets the seed of the AI's random choices in this game.
+     *
+     * @return The game's seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Takes back the last turn.
+     * <p>
+     * Against the AI, both the AI's reply and the player's move are taken back so that it is
+     * the player's turn again. Undone moves can be replayed with {@link #redo()} until a new
+     * move is made. Undo is not available once the game is over.
+     * </p>
+     *
+     * @return {@code true} if any move was taken back; {@code false} otherwise.
+     */
+    public boolean undo() {
+        if (!canUndo()) return false;
+        stopPondering();
+        do {
+            int move = board.undoMove();
+            redoMoves.add(move);
+            notifyCellUpdate(move);
+        } while (isAgainstAI && board.getMoveCount() % 2 != 0);
+        Logger.info("Undo: {} move(s) on the redo stack.", redoMoves.size());
+        restoreTurn();
+        return true;
+    }
+
+    /**
+     * Replays the last turn taken back by {@link #undo()}.
+     *
+     * @return {@code true} if any move was replayed; {@code false} otherwise.
+     */
+    public boolean redo() {
+        if (!canRedo()) return false;
+        stopPondering();
+        do {
+            int move = redoMoves.removeLast();
+            board.makeMove(move, symbolToMove());
+            notifyCellUpdate(move);
+        } while (isAgainstAI && board.getMoveCount() % 2 != 0 && !redoMoves.isEmpty());
+        Logger.info("Redo: {} move(s) left on the redo stack.", redoMoves.size());
+        restoreTurn();
+        return true;
+    }
+
+    /**
+     * Checks whether {@link #undo()} would take back a move.
+     *
+     * @return {@code true} if a move can be undone; {@code false} otherwise.
+     */
+    public boolean canUndo() {
+        return !gameOverTriggered && !aiThinking && board.getMoveCount() > 0;
+    }
+
+    /**
+     * Checks whether {@link #redo()} would replay a move.
+     *
+     * @return {@code true} if a move can be redone; {@code false} otherwise.
+     */
+    public boolean canRedo() {
+        return !gameOverTriggered && !aiThinking && !redoMoves.isEmpty();
+    }
+
+    /**
+     * Gets the symbol of the side to move, derived from the number of moves made ('X' moves first).
+     *
+     * @return The symbol of the side to move.
+     */
+    private char symbolToMove() {
+        if (board.getMoveCount() % 2 == 0) return player1.getSymbol();
+        return isAgainstAI ? aiPlayer.getSymbol() : player2.getSymbol();
+    }
+
+    /**
+     * Re-synchronizes the current player and listeners after the move history changed.
+     */
+    private void restoreTurn() {
+        currentPlayer = (isAgainstAI || board.getMoveCount() % 2 == 0) ? player1 : player2;
+        notifyBoardUpdate();
+        if (!checkGameOver()) {
+            notifyStatusUpdate();
+            startPondering();
+        }
+    }
+
     /**
      * Sets the callback for board updates.
      *
@@ -157,12 +582,62 @@ public class GameState {
     /**
      * Sets the callback for when the game is over.
      *
-     * @param onGameOver A consumer that accepts the game-over message.
+     * @param onGameOver A consumer that accepts the record of the finished game;
+     *                   {@link GameRecord#message()} gives the message to show.
      */
-    public void setOnGameOver(Consumer<String> onGameOver) {
+    public void setOnGameOver(Consumer<GameRecord> onGameOver) {
         this.onGameOver = onGameOver;
     }
 
+    /**
+     * Sets the callback for single-cell changes.
+     * <p>
+     * Unlike {@link #setOnBoardUpdate(Consumer)}, the listener is told exactly which cell
+     * changed (a move, or a cell cleared by undo), so views can repaint only that cell.
+     * </p>
+     *
+     * @param onCellUpdate The listener to notify for every changed cell.
+     */
+    public void setOnCellUpdate(CellUpdateListener onCellUpdate) {
+        this.onCellUpdate = onCellUpdate;
+    }
+
+    /**
+     * Sets the callback for when an AI search starts or finishes.
+     *
+     * @param onThinkingChanged A consumer that accepts {@code true} when the AI starts thinking
+     *                          and {@code false} when it is done.
+     */
+    public void setOnThinkingChanged(Consumer<Boolean> onThinkingChanged) {
+        this.onThinkingChanged = onThinkingChanged;
+    }
+
+    /**
+     * Sets the callback for when an AI search on the AI executor fails.
+     * <p>
+     * The player's last move has already been taken back when the listener is called, so the
+     * game can go on.
+     * </p>
+     *
+     * @param onAiError A consumer that accepts the exception thrown by the AI.
+     */
+    public void setOnAiError(Consumer<Throwable> onAiError) {
+        this.onAiError = onAiError;
+    }
+
+    /**
+     * Notifies the cell listener about a changed cell.
+     *
+     * @param move The packed position of the cell.
+     */
+    private void notifyCellUpdate(int move) {
+        if (onCellUpdate != null) {
+            int row = Move.row(move);
+            int col = Move.col(move);
+            onCellUpdate.onCellUpdate(row, col, board.getBoard()[row][col]);
+        }
+    }
+
     /**
      * Notifies listeners about the updated board state.
      */
@@ -179,4 +654,40 @@ public class GameState {
             onStatusUpdate.accept(currentPlayer.getName() + "'s turn (" + currentPlayer.getSymbol() + ")");
         }
 
-    }}
\ No newline at end of file
+    }
+
+    /**
+     * Interface for receiving single-cell board changes.
+     */
+    public interface CellUpdateListener {
+        /**
+         * Called when a cell changes.
+         *
+         * @param row    The row index of the cell (0-based).
+         * @param col    The column index of the cell (0-based).
+         * @param symbol The new content of the cell ('X', 'O', or ' ' when cleared).
+         */
+        void onCellUpdate(int row, int col, char symbol);
+    }
+
+    /**
+     * A suggested move for the player to move.
+     *
+     * @param bestMoves The packed moves (see {@link Move}) that achieve the value, in row-major order.
+     * @param value     If exact, 1, 0 or -1 as the player wins, draws or loses with best play from
+     *                  both sides; otherwise the AI's score of the moves, where higher is better.
+     * @param exact     Whether the value was proven by searching to the end of the game.
+     */
+    public record Hint(int[] bestMoves, long value, boolean exact) {
+
+        /**
+         * Describes the value in words.
+         *
+         * @return "win", "draw" or "loss" for an exact hint, otherwise e.g. "score 120".
+         */
+        public String describe() {
+            if (!exact) return "score " + value;
+            return value > 0 ? "win" : value < 0 ? "loss" : "draw";
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.tictactoe.models;
 
+import java.util.Arrays;
+
 /**
  * An advanced AI strategy for Tic-Tac-Toe.
  * <p>
@@ -7,44 +9,138 @@ package org.example.tictactoe.models;
  * for the AI player. It evaluates all potential moves and predicts the outcomes to
  * maximize its chances of winning or forcing a draw.
  * </p>
+ * <p>
+ * Moves are handled in their packed {@code int} form and generated into one reusable
+ * {@link MoveList} per ply, so the search allocates nothing per node. Each move is applied
+ * with {@link Board#makeMove(int, char)} and taken back with {@link Board#undoMove()}, which
+ * keeps the board's incremental winner check in sync.
+ * </p>
+ * <p>
+ * On the classic board the search is exhaustive. On larger boards it stops after
+ * {@value #LARGE_BOARD_DEPTH} plies and scores the horizon with the board's incremental
+ * pattern evaluation ({@link Board#evaluate(char)}).
+ * </p>
+ * <p>
+ * With an {@link OpeningTrie}, the first moves are tried in the order of their results in
+ * recorded games. The search has no pruning, so this does not change the score of the chosen
+ * move, only which of several equally good moves is played: the one that has worked best.
+ * </p>
  */
 public class HardStrategy implements AIDifficultyStrategy {
 
+    private static final long WIN_SCORE = Long.MAX_VALUE / 4;
+    private static final int EXHAUSTIVE_CELL_LIMIT = 9;
+    private static final int LARGE_BOARD_DEPTH = 2;
+
+    private final OpeningTrie openings;
+
+    /**
+     * Creates a strategy that tries moves in board order.
+     */
+    public HardStrategy() {
+        this(null);
+    }
+
+    /**
+     * Creates a strategy that tries opening moves in the order of their recorded results.
+     *
+     * @param openings The opening statistics, or {@code null} for board order.
+     */
+    public HardStrategy(OpeningTrie openings) {
+        this.openings = openings;
+    }
+
     /**
      * Calculates the best move for the AI player using the Minimax algorithm.
      * <p>
      * The method evaluates all valid moves on the board and chooses the one with the
-     * highest score based on the Minimax evaluation.
+     * highest score based on the Minimax evaluation. If the calling thread is interrupted,
+     * the search stops and the best move found so far is returned.
      * </p>
      *
      * @param board       The current state of the game board.
      * @param aiSymbol    The symbol used by the AI player (e.g., 'X' or 'O').
      * @param humanSymbol The symbol used by the human player (e.g., 'X' or 'O').
-     * @return An array containing the row and column indices of the best move, e.g., {@code [row, col]}.
+     * @return The packed best move (see {@link Move}), or {@link Move#NONE} if the board is full.
      */
     @Override
-    public int[] getMove(Board board, char aiSymbol, char humanSymbol) {
+    public int selectMove(Board board, char aiSymbol, char humanSymbol) {
         //Logger.info("AI (Hard) is calculating the best move.");
-        int bestScore = Integer.MIN_VALUE;
-        int[] bestMove = new int[2];
-        char[][] gameState = board.getBoard();
+        // Buffers are per call because the strategy instance is shared through StrategyFactory.
+        MoveList[] plies = createPlyBuffers(board);
+        MoveList moves = plies[0];
+        board.generateMoves(moves);
+        if (openings != null) openings.orderMoves(board, moves);
 
-        for (int row = 0; row < 3; row++) {
-            for (int col = 0; col < 3; col++) {
-                if (gameState[row][col] == ' ') {
-                    gameState[row][col] = aiSymbol;
-                    int score = minimax(board, false, aiSymbol, humanSymbol);
-                    gameState[row][col] = ' ';
-                    if (score > bestScore) {
-                        bestScore = score;
-                        bestMove = new int[]{row, col};
-                    }
-                }
+        long bestScore = Long.MIN_VALUE;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < moves.size() && !Thread.currentThread().isInterrupted(); i++) {
+            int move = moves.get(i);
+            long score = scoreMove(board, plies, move, aiSymbol, humanSymbol);
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
             }
         }
-       // Logger.info("AI (Hard) selected move: Row {}, Column {}", bestMove[0], bestMove[1]);
+       // Logger.info("AI (Hard) selected move: Row {}, Column {}", Move.row(bestMove), Move.col(bestMove));
         return bestMove;
     }
+
+    /**
+     * Scores every empty cell with the same search that {@link #selectMove} runs for it.
+     * <p>
+     * The highest score therefore always belongs to a move the strategy would play, so a
+     * heatmap or hint built from these scores agrees with the AI. If the calling thread is
+     * interrupted, the cells not yet searched keep {@link Long#MIN_VALUE}.
+     * </p>
+     *
+     * @param board       The current state of the game board.
+     * @param aiSymbol    The symbol of the side whose moves are scored.
+     * @param humanSymbol The symbol of the opposing side.
+     * @return The minimax score of every cell indexed by {@code row * size + col};
+     *         occupied cells hold {@link Long#MIN_VALUE}.
+     */
+    @Override
+    public long[] scoreMoves(Board board, char aiSymbol, char humanSymbol) {
+        int size = board.getSize();
+        long[] scores = new long[board.getCellCount()];
+        Arrays.fill(scores, Long.MIN_VALUE);
+        MoveList[] plies = createPlyBuffers(board);
+        MoveList moves = plies[0];
+        board.generateMoves(moves);
+        for (int i = 0; i < moves.size() && !Thread.currentThread().isInterrupted(); i++) {
+            int move = moves.get(i);
+            scores[Move.row(move) * size + Move.col(move)] = scoreMove(board, plies, move, aiSymbol, humanSymbol);
+        }
+        return scores;
+    }
+
+    /**
+     * Plays one root move, searches the reply tree to the strategy's depth and takes the move back.
+     */
+    private long scoreMove(Board board, MoveList[] plies, int move, char aiSymbol, char humanSymbol) {
+        int depth = board.getCellCount() <= EXHAUSTIVE_CELL_LIMIT ? board.getCellCount() : LARGE_BOARD_DEPTH;
+        board.makeMove(move, aiSymbol);
+        long score = minimax(board, plies, 1, depth - 1, false, aiSymbol, humanSymbol);
+        board.undoMove();
+        return score;
+    }
+
+    /**
+     * Allocates one move buffer for every ply the search can reach on the given board.
+     *
+     * @param board The board that will be searched.
+     * @return An array of move lists indexed by ply.
+     */
+    static MoveList[] createPlyBuffers(Board board) {
+        int cells = board.getCellCount();
+        MoveList[] plies = new MoveList[cells + 1];
+        for (int ply = 0; ply < plies.length; ply++) {
+            plies[ply] = new MoveList(cells);
+        }
+        return plies;
+    }
+
     /**
      * Minimax algorithm for evaluating the optimal move.
      * <p>
@@ -54,35 +150,38 @@ public class HardStrategy implements AIDifficultyStrategy {
      * </p>
      *
      * @param board        The current state of the game board.
+     * @param plies        The per-ply move buffers created by {@link #createPlyBuffers(Board)}.
+     * @param ply          The current search depth, used to select the move buffer.
+     * @param depthLeft    The number of plies left before the position is scored statically.
      * @param isMaximizing Indicates whether the current turn is maximizing (AI) or minimizing (human).
      * @param aiSymbol     The symbol used by the AI player.
      * @param humanSymbol  The symbol used by the human player.
-     * @return An integer score representing the outcome of the game state:
+     * @return A score representing the outcome of the game state:
      *         <ul>
-     *         <li>10 for an AI win</li>
-     *         <li>-10 for a human win</li>
+     *         <li>a large positive constant for an AI win</li>
+     *         <li>its negation for a human win</li>
      *         <li>0 for a draw</li>
+     *         <li>the static evaluation for the AI when the depth limit is reached</li>
      *         </ul>
      */
-    private int minimax(Board board, boolean isMaximizing, char aiSymbol, char humanSymbol) {
+    private long minimax(Board board, MoveList[] plies, int ply, int depthLeft, boolean isMaximizing,
+                         char aiSymbol, char humanSymbol) {
         //Logger.debug("Evaluating board state. Maximizing: {}", isMaximizing);
         char winner = board.checkWinner();
-        if (winner == aiSymbol) return 10;
-        if (winner == humanSymbol) return -10;
+        if (winner == aiSymbol) return WIN_SCORE;
+        if (winner == humanSymbol) return -WIN_SCORE;
         if (board.isFull()) return 0;
+        if (depthLeft == 0) return board.evaluate(aiSymbol);
 
-        char[][] gameState = board.getBoard();
-        int bestScore = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        MoveList moves = plies[ply];
+        board.generateMoves(moves);
+        long bestScore = isMaximizing ? Long.MIN_VALUE : Long.MAX_VALUE;
 
-        for (int row = 0; row < 3; row++) {
-            for (int col = 0; col < 3; col++) {
-                if (gameState[row][col] == ' ') {
-                    gameState[row][col] = isMaximizing ? aiSymbol : humanSymbol;
-                    int score = minimax(board, !isMaximizing, aiSymbol, humanSymbol);
-                    gameState[row][col] = ' ';
-                    bestScore = isMaximizing ? Math.max(score, bestScore) : Math.min(score, bestScore);
-                }
-            }
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i), isMaximizing ? aiSymbol : humanSymbol);
+            long score = minimax(board, plies, ply + 1, depthLeft - 1, !isMaximizing, aiSymbol, humanSymbol);
+            board.undoMove();
+            bestScore = isMaximizing ? Math.max(score, bestScore) : Math.min(score, bestScore);
         }
         //Logger.debug("Minimax evaluation completed. Best score: {}", bestScore);
         return bestScore;
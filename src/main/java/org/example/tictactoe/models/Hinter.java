@@ -0,0 +1,233 @@
+package org.example.tictactoe.models;
+
+import org.example.tictactoe.utils.LongLongMap;
+import org.tinylog.Logger;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Suggests moves to the human player of one game.
+ * <p>
+ * A hint is answered from the cheapest source that has it: the hints already given in this
+ * game, then the exact results in the {@link PositionCache} ({@link ExactResult}, shared with
+ * the batch analyzer and stored under the canonical hash so every rotation and reflection
+ * shares them across games and restarts), then an exact search. The search
+ * memoizes the value of every position it finishes in a primitive {@link LongLongMap} that
+ * lives as long as the game, so on the classic board the first hint solves the whole game
+ * tree and every later one is a few lookups. On larger boards the search stops at a time
+ * budget; the hint then falls back to the move scores the {@link Ponderer} already computed
+ * for the position, or asks the AI's strategy to score the moves.
+ * </p>
+ * <p>
+ * Hints are computed on the AI executor, never on the JavaFX Application Thread. The methods
+ * are synchronized, so the hinter may also be used without an executor.
+ * </p>
+ */
+final class Hinter {
+
+    private static final long DEFAULT_BUDGET_NANOS = 200_000_000L;
+    private static final int MAX_SOLVED = 1 << 18; // memoized positions per game
+    private static final int CHECK_INTERVAL = 1024; // nodes between deadline checks
+    private static final long UNSOLVED = Long.MIN_VALUE;
+
+    private final AIPlayer aiPlayer;
+    private final Supplier<PositionCache> cacheSupplier;
+    private final long budgetNanos;
+    private final Map<Long, GameState.Hint> hints = new HashMap<>(); // position hash -> hint given
+    private final LongLongMap solved = new LongLongMap(); // position hash -> 1, 0 or -1 for the side to move
+    private PositionCache cache;
+    private boolean cacheResolved;
+    private long deadline;
+    private int nodes;
+    private boolean outOfTime;
+
+    /**
+     * Creates a hinter backed by the shared position cache and the default time budget.
+     * <p>
+     * The shared cache is only opened by the first hint on a board small enough to be cached.
+     * </p>
+     *
+     * @param aiPlayer The AI whose strategy scores moves when no exact answer is found in time.
+     */
+    Hinter(AIPlayer aiPlayer) {
+        this(aiPlayer, PositionCache::getInstance, DEFAULT_BUDGET_NANOS);
+    }
+
+    /**
+     * Creates a hinter.
+     *
+     * @param aiPlayer    The AI whose strategy scores moves when no exact answer is found in time.
+     * @param cache       The cache for exact hints, or {@code null} to keep them for this game only.
+     * @param budgetNanos The time one hint may spend on the exact search.
+     */
+    Hinter(AIPlayer aiPlayer, PositionCache cache, long budgetNanos) {
+        this(aiPlayer, () -> cache, budgetNanos);
+    }
+
+    private Hinter(AIPlayer aiPlayer, Supplier<PositionCache> cacheSupplier, long budgetNanos) {
+        this.aiPlayer = aiPlayer;
+        this.cacheSupplier = cacheSupplier;
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Finds the best moves for the side to move.
+     *
+     * @param board    The position, which must not be over; restored before returning.
+     * @param side     The symbol of the side to move.
+     * @param opponent The symbol of the other side.
+     * @param pondered The side's move scores computed while pondering this position, or {@code null}.
+     * @return The hint.
+     */
+    synchronized GameState.Hint hint(Board board, char side, char opponent, long[] pondered) {
+        long hash = board.getHash();
+        GameState.Hint hint = hints.get(hash);
+        if (hint != null) return hint;
+
+        String source = "cache";
+        hint = lookup(board);
+        if (hint == null) {
+            source = "search";
+            hint = solve(board, side, opponent);
+        }
+        if (hint == null) {
+            source = pondered != null ? "ponderer" : "strategy";
+            long[] scores = pondered != null ? pondered : aiPlayer.scoreMoves(board, side, opponent);
+            hint = bestScored(scores, board.getSize());
+        }
+        Logger.info("Hint from {}: {} ({} positions solved this game).", source, hint.describe(), solved.size());
+        hints.put(hash, hint);
+        return hint;
+    }
+
+    /**
+     * Solves every move of the position exactly, unless the time budget runs out first.
+     *
+     * @return The exact hint, or {@code null} if the search was stopped.
+     */
+    private GameState.Hint solve(Board board, char side, char opponent) {
+        MoveList[] plies = new MoveList[board.getCellCount() - board.getMoveCount() + 1];
+        for (int ply = 0; ply < plies.length; ply++) {
+            plies[ply] = new MoveList(board.getCellCount());
+        }
+        deadline = System.nanoTime() + budgetNanos;
+        nodes = 0;
+        outOfTime = false;
+
+        MoveList moves = plies[0];
+        board.generateMoves(moves);
+        long best = -2;
+        MoveList bestMoves = new MoveList(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move, side);
+            long value = valueAfterMove(board, plies, 1, opponent, side);
+            board.undoMove();
+            if (outOfTime) return null;
+            if (value > best) {
+                best = value;
+                bestMoves.clear();
+            }
+            if (value == best) bestMoves.add(move);
+        }
+        int[] packed = new int[bestMoves.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = bestMoves.get(i);
+        }
+        GameState.Hint hint = new GameState.Hint(packed, best, true);
+        store(board, hint);
+        return hint;
+    }
+
+    /**
+     * Gets the value of the move just made for the side that made it.
+     */
+    private long valueAfterMove(Board board, MoveList[] plies, int ply, char side, char opponent) {
+        if (board.checkWinner() != ' ') return 1;
+        if (board.isFull()) return 0;
+        return -negamax(board, plies, ply, side, opponent);
+    }
+
+    /**
+     * Computes the exact value of a running game for the side to move: 1, 0 or -1.
+     * <p>
+     * A win is the best possible value, so the remaining moves are skipped once one is found.
+     * Values are memoized only for finished subtrees, so a stopped search leaves nothing wrong
+     * behind and the next hint continues from what it did finish.
+     * </p>
+     */
+    private long negamax(Board board, MoveList[] plies, int ply, char side, char opponent) {
+        long hash = board.getHash();
+        long known = solved.get(hash, UNSOLVED);
+        if (known != UNSOLVED) return known;
+        if (++nodes % CHECK_INTERVAL == 0
+                && (System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+            outOfTime = true;
+        }
+        if (outOfTime) return 0;
+
+        MoveList moves = plies[ply];
+        board.generateMoves(moves);
+        long best = -1;
+        for (int i = 0; i < moves.size() && best < 1; i++) {
+            board.makeMove(moves.get(i), side);
+            long value = valueAfterMove(board, plies, ply + 1, opponent, side);
+            board.undoMove();
+            if (outOfTime) return 0;
+            best = Math.max(best, value);
+        }
+        if (solved.size() < MAX_SOLVED) solved.put(hash, best);
+        return best;
+    }
+
+    /**
+     * Gets an exact hint from the position cache, mapping its moves back from the canonical orientation.
+     */
+    private GameState.Hint lookup(Board board) {
+        PositionCache cache = board.getCellCount() <= ExactResult.CELL_LIMIT ? cache() : null;
+        if (cache == null) return null;
+        int symmetry = board.getCanonicalSymmetry();
+        ExactResult result = ExactResult.lookup(cache, board, symmetry);
+        if (result == null) return null;
+        int inverse = Symmetry.inverse(symmetry);
+        int[] moves = Arrays.stream(result.bestMoves()).map(move -> Symmetry.apply(inverse, move, board.getSize()))
+                .sorted().toArray();
+        return new GameState.Hint(moves, result.value(), true);
+    }
+
+    private void store(Board board, GameState.Hint hint) {
+        PositionCache cache = board.getCellCount() <= ExactResult.CELL_LIMIT ? cache() : null;
+        if (cache == null) return;
+        int symmetry = board.getCanonicalSymmetry();
+        int[] moves = Arrays.stream(hint.bestMoves()).map(move -> Symmetry.apply(symmetry, move, board.getSize()))
+                .toArray();
+        ExactResult.store(cache, board, symmetry, new ExactResult((int) hint.value(), moves));
+    }
+
+    private PositionCache cache() {
+        if (!cacheResolved) {
+            cache = cacheSupplier.get();
+            cacheResolved = true;
+        }
+        return cache;
+    }
+
+    /**
+     * Builds a heuristic hint from move scores: every move with the highest score.
+     */
+    private static GameState.Hint bestScored(long[] scores, int size) {
+        long best = Long.MIN_VALUE;
+        for (long score : scores) {
+            best = Math.max(best, score);
+        }
+        int count = 0;
+        int[] moves = new int[scores.length];
+        for (int cell = 0; cell < scores.length; cell++) {
+            if (best != Long.MIN_VALUE && scores[cell] == best) moves[count++] = Move.of(cell / size, cell % size);
+        }
+        return new GameState.Hint(Arrays.copyOf(moves, count), best, false);
+    }
+}
@@ -1,9 +1,16 @@
 package org.example.tictactoe.models;
 
+import org.example.tictactoe.replication.ReplicatedLeaderboard;
 import org.example.tictactoe.services.StatsPersistenceService;
 import org.tinylog.Logger;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -14,26 +21,98 @@ import java.util.stream.Collectors;
  * is shared across the application. It handles the storage and retrieval of player
  * win counts and persists data using a file-based system.
  * </p>
+ * <p>
+ * Besides the all-time counts, wins of the last {@value WindowedCounter#BUCKETS} days are
+ * counted per day (see {@link WindowedCounter}), so the daily, weekly and monthly boards
+ * (see {@link Window}) are answered without rescanning the game history.
+ * </p>
+ * <p>
+ * All-time wins are kept in a {@link ShardedLeaderboard} with one shard per processor, so
+ * recording a win re-sorts only one shard and the top players are merged from the shard heads.
+ * A win is persisted by appending one line for the winner to each file; the files are
+ * compacted to one line per player when the leaderboard is loaded.
+ * </p>
+ * <p>
+ * Several game processes on one machine can share the all-time board: started with
+ * {@code -D}{@value #REPLICATION_PROPERTY}{@code =<nodeId>:<port>:<peerPort>,...}, each process
+ * runs a {@link ReplicatedLeaderboard} node and keeps its own files, named after the node id,
+ * instead of overwriting the shared {@code leaderboard.txt}. The windowed boards stay local.
+ * </p>
  */
 public class Leaderboard {
 
+    /**
+     * System property that makes this process a node of a replicated leaderboard, as
+     * {@code nodeId:port:peerPort,peerPort,...}.
+     */
+    public static final String REPLICATION_PROPERTY = "tictactoe.replication";
+
     private static final String LEADERBOARD_FILE = "leaderboard.txt";
 
-    private final Map<String, Integer> wins = new HashMap<>();
+    private final ShardedLeaderboard wins = new ShardedLeaderboard(Runtime.getRuntime().availableProcessors());
+    private final Map<String, WindowedCounter> recentWins = new HashMap<>();
     private final StatsPersistenceService persistenceService;
+    private final ReplicatedLeaderboard replicated;
     private static Leaderboard instance;
 
     /**
      * Private constructor for initializing the leaderboard and loading existing stats.
      */
     private Leaderboard() {
+        this(startReplication(System.getProperty(REPLICATION_PROPERTY)));
+    }
+
+    private Leaderboard(ReplicatedLeaderboard replicated) {
+        this(new StatsPersistenceService(replicated == null ? LEADERBOARD_FILE
+                : "leaderboard_" + replicated.getNodeId() + ".txt"), replicated);
+    }
+
+    /**
+     * Creates a local leaderboard on the given files instead of the shared instance, e.g. for tests.
+     *
+     * @param persistenceService The service that loads and saves the wins.
+     */
+    Leaderboard(StatsPersistenceService persistenceService) {
+        this(persistenceService, null);
+    }
+
+    private Leaderboard(StatsPersistenceService persistenceService, ReplicatedLeaderboard replicated) {
         Logger.info("Initializing Leaderboard.");
-        this.persistenceService = new StatsPersistenceService(LEADERBOARD_FILE);
-        this.wins.putAll(persistenceService.loadStats());
-        Logger.info("Loaded leaderboard data: {}", wins);
+        this.replicated = replicated;
+        this.persistenceService = persistenceService;
+        persistenceService.loadStats().forEach(wins::addWins);
+        this.recentWins.putAll(persistenceService.loadWindows());
+        long today = LocalDate.now().toEpochDay();
+        this.recentWins.values().removeIf(counter -> counter.isExpired(today)); // players inactive for a month
+        persistenceService.saveStats(wins.toMap()); // compact the lines appended since the last start
+        persistenceService.saveWindows(recentWins);
+        Logger.info("Loaded leaderboard data of {} players.", wins.size());
     }
 
 
+    /**
+     * Starts the replication node configured by {@link #REPLICATION_PROPERTY}.
+     *
+     * @return The node, or {@code null} if replication is off or the node cannot start.
+     */
+    private static ReplicatedLeaderboard startReplication(String config) {
+        if (config == null || config.isBlank()) return null;
+        try {
+            String[] parts = config.split(":", 3);
+            List<Integer> peers = new ArrayList<>();
+            if (parts.length > 2 && !parts[2].isBlank()) {
+                for (String peer : parts[2].split(",")) {
+                    peers.add(Integer.parseInt(peer.trim()));
+                }
+            }
+            return new ReplicatedLeaderboard(parts[0], Integer.parseInt(parts[1]), peers,
+                    Path.of("leaderboard_" + parts[0] + ".crdt"));
+        } catch (IOException | RuntimeException e) {
+            Logger.error(e, "Cannot start the replicated leaderboard '{}', using a local one", config);
+            return null;
+        }
+    }
+
     /**
      * Provides the singleton instance of the `Leaderboard` class.
      *
@@ -56,10 +135,24 @@ public class Leaderboard {
      * @param playerName The name of the player who won.
      */
     public void recordWin(String playerName) {
+        recordWin(playerName, LocalDate.now());
+    }
+
+    /**
+     * Records a win for a specific player on a given day.
+     *
+     * @param playerName The name of the player who won.
+     * @param day        The day of the win.
+     */
+    public void recordWin(String playerName, LocalDate day) {
         Logger.info("Recording win for player: {}", playerName);
-        wins.put(playerName, wins.getOrDefault(playerName, 0) + 1);
-        Logger.info("Updated leaderboard: {}", wins);
-        persistenceService.saveStats(wins);
+        int count = wins.recordWin(playerName);
+        WindowedCounter recent = recentWins.computeIfAbsent(playerName, name -> new WindowedCounter());
+        recent.add(day.toEpochDay(), 1);
+        if (replicated != null) replicated.recordWin(playerName);
+        Logger.info("Updated leaderboard: {} has {} wins", playerName, count);
+        persistenceService.appendStat(playerName, count);
+        persistenceService.appendWindow(playerName, recent);
     }
 
     /**
@@ -68,14 +161,109 @@ public class Leaderboard {
      * @return A map containing player names as keys and their respective win counts as values.
      */
     public Map<String, Integer> getWinCounts() {
-        Logger.debug("Fetching sorted win counts from leaderboard.");
-        return wins.entrySet().stream()
+        return getWinCounts(Window.ALL_TIME);
+    }
+
+    /**
+     * Retrieves the win counts within a time window ending today, sorted in descending order of wins.
+     *
+     * @param window The time window.
+     * @return A map containing player names as keys and their respective win counts as values.
+     */
+    public Map<String, Integer> getWinCounts(Window window) {
+        return getWinCounts(window, LocalDate.now());
+    }
+
+    /**
+     * Retrieves the win counts within a time window ending on a given day, sorted in descending
+     * order of wins. Players without wins in the window are left out.
+     *
+     * @param window The time window.
+     * @param today  The last day of the window.
+     * @return A map containing player names as keys and their respective win counts as values.
+     */
+    public Map<String, Integer> getWinCounts(Window window, LocalDate today) {
+        Logger.debug("Fetching sorted {} win counts from leaderboard.", window);
+        Map<String, Integer> counts;
+        if (window == Window.ALL_TIME) {
+            if (replicated == null) return wins.topK(Integer.MAX_VALUE);
+            counts = replicated.getWinCounts();
+        } else {
+            counts = new HashMap<>();
+            long day = today.toEpochDay();
+            recentWins.forEach((name, counter) -> {
+                long count = counter.sum(day, window.getDays());
+                if (count > 0) counts.put(name, (int) count);
+            });
+        }
+        return counts.entrySet().stream()
                 .sorted((a, b) -> b.getValue() - a.getValue()) // Sort descending by wins
                 .collect(Collectors.toMap(
                         Map.Entry::getKey,
                         Map.Entry::getValue,
                         (e1, e2) -> e1,
-                        HashMap::new
+                        LinkedHashMap::new
                 ));
     }
+
+    /**
+     * Retrieves the players with the most all-time wins, without sorting all players.
+     *
+     * @param k The maximum number of players.
+     * @return A map containing player names as keys and their win counts as values, most wins first.
+     */
+    public Map<String, Integer> getTopWinCounts(int k) {
+        if (replicated == null) return wins.topK(k);
+        return replicated.getWinCounts().entrySet().stream().limit(k)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) -> e1, LinkedHashMap::new));
+    }
+
+    /**
+     * Gets the replication node of this process, e.g. for its lag metrics.
+     *
+     * @return The node, or {@code null} if the leaderboard is not replicated.
+     */
+    public ReplicatedLeaderboard getReplication() {
+        return replicated;
+    }
+
+    /**
+     * The time windows of the leaderboard.
+     */
+    public enum Window {
+        /** Wins of the current day. */
+        DAILY("Today", 1),
+        /** Wins of the last 7 days, including today. */
+        WEEKLY("Last 7 Days", 7),
+        /** Wins of the last 30 days, including today. */
+        MONTHLY("Last 30 Days", 30),
+        /** All wins ever recorded. */
+        ALL_TIME("All Time", 0);
+
+        private final String label;
+        private final int days;
+
+        Window(String label, int days) {
+            this.label = label;
+            this.days = days;
+        }
+
+        /**
+         * Gets the name of the window shown to the user.
+         *
+         * @return The label.
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Gets the length of the window.
+         *
+         * @return The number of days, or 0 for {@link #ALL_TIME}.
+         */
+        public int getDays() {
+            return days;
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package org.example.tictactoe.models;
+
+/**
+ * Utility methods for the packed primitive move representation.
+ * <p>
+ * A move is encoded in a single {@code int}: the row index in the upper bits and the
+ * column index in the lowest 8 bits. This lets strategies pass moves around and store them
+ * in {@link MoveList} buffers without allocating an {@code int[]} per move.
+ * </p>
+ */
+public final class Move {
+
+    /**
+     * Marker value for "no move" (e.g., when the board is full).
+     */
+    public static final int NONE = -1;
+
+    private static final int COLUMN_BITS = 8;
+    private static final int COLUMN_MASK = (1 << COLUMN_BITS) - 1;
+
+    private Move() {
+    }
+
+    /**
+     * Packs a row and column index into a single move value.
+     *
+     * @param row The row index (0-based).
+     * @param col The column index (0-based, below 256).
+     * @return The packed move.
+     */
+    public static int of(int row, int col) {
+        return (row << COLUMN_BITS) | col;
+    }
+
+    /**
+     * Extracts the row index from a packed move.
+     *
+     * @param move The packed move.
+     * @return The row index (0-based).
+     */
+    public static int row(int move) {
+        return move >>> COLUMN_BITS;
+    }
+
+    /**
+     * Extracts the column index from a packed move.
+     *
+     * @param move The packed move.
+     * @return The column index (0-based).
+     */
+    public static int col(int move) {
+        return move & COLUMN_MASK;
+    }
+
+    /**
+     * Converts a packed move into the legacy {@code [row, col]} array form.
+     *
+     * @param move The packed move.
+     * @return An array containing the row and column indices, e.g., {@code [row, col]};
+     *         {@code [-1, -1]} for {@link #NONE}.
+     */
+    public static int[] toArray(int move) {
+        if (move == NONE) return new int[]{-1, -1};
+        return new int[]{row(move), col(move)};
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.tictactoe.models;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer of packed moves (see {@link Move}).
+ * <p>
+ * Move generation fills a `MoveList` in place instead of returning new collections, so a
+ * search can allocate one list per ply up front and reuse it for every node at that ply.
+ * </p>
+ */
+public final class MoveList {
+
+    private int[] moves;
+    private int size;
+
+    /**
+     * Creates an empty move list with the given initial capacity.
+     *
+     * @param capacity The number of moves the list can hold before growing.
+     */
+    public MoveList(int capacity) {
+        moves = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * Removes all moves from the list without releasing its storage.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Appends a packed move to the list.
+     *
+     * @param move The packed move to add.
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * Removes and returns the last move in the list.
+     *
+     * @return The packed move that was removed.
+     * @throws IndexOutOfBoundsException If the list is empty.
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Cannot remove from an empty move list");
+        }
+        return moves[--size];
+    }
+
+    /**
+     * Returns the packed move at the given position.
+     *
+     * @param index The position in the list (0-based).
+     * @return The packed move.
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return moves[index];
+    }
+
+    /**
+     * Replaces the packed move at the given position, e.g. to reorder the list.
+     *
+     * @param index The position in the list (0-based).
+     * @param move  The packed move.
+     */
+    public void set(int index, int move) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        moves[index] = move;
+    }
+
+    /**
+     * Gets the number of moves in the list.
+     *
+     * @return The number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list contains no moves.
+     *
+     * @return {@code true} if the list is empty; {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
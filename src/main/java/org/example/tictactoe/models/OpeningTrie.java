@@ -0,0 +1,305 @@
+package org.example.tictactoe.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Statistics of the openings played in finished games, as a trie of move sequences.
+ * <p>
+ * Each node stands for the first moves of some games and counts how many games went through
+ * it and how they ended. Sequences are stored in canonical form, the smallest of their eight
+ * rotations and reflections (see {@link Symmetry}), so symmetric openings share one path; the
+ * first level of the trie is the board geometry. Only the first {@value #DEPTH} moves of a
+ * game are stored.
+ * </p>
+ * <p>
+ * Nodes live in parallel int arrays (key, first child, next sibling and the three counters),
+ * so the trie costs 24 bytes per node and no objects. Games are added one at a time as they
+ * end, which keeps lookups and the list of popular openings instant at any history size.
+ * The shared instance is fed by {@link Stats} and used by {@link HardStrategy} to order moves.
+ * </p>
+ */
+public class OpeningTrie {
+
+    /**
+     * The number of moves of a game that are recorded.
+     */
+    public static final int DEPTH = 6;
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private static OpeningTrie instance;
+
+    private int[] keys = new int[64];
+    private int[] firstChild = new int[64];
+    private int[] nextSibling = new int[64];
+    private int[] games = new int[64];
+    private int[] firstWins = new int[64];
+    private int[] secondWins = new int[64];
+    private int nodeCount;
+
+    /**
+     * Creates an empty trie.
+     */
+    public OpeningTrie() {
+        newNode(0);
+    }
+
+    /**
+     * Provides the shared trie of the games played in this application.
+     *
+     * @return The shared instance.
+     */
+    public static synchronized OpeningTrie getInstance() {
+        if (instance == null) {
+            instance = new OpeningTrie();
+        }
+        return instance;
+    }
+
+    /**
+     * Adds the opening of a finished game.
+     *
+     * @param record The game record.
+     */
+    public synchronized void add(GameRecord record) {
+        int[] moves = Arrays.copyOf(record.moves(), Math.min(DEPTH, record.moves().length));
+        int[] path = canonical(moves, record.boardSize());
+        int node = child(ROOT, geometry(record.boardSize(), record.winLength()), true);
+        count(node, record.winner());
+        for (int move : path) {
+            node = child(node, move, true);
+            count(node, record.winner());
+        }
+    }
+
+    /**
+     * Looks up the statistics of an opening, in any orientation.
+     *
+     * @param size      The number of rows and columns.
+     * @param winLength The number of symbols in a row needed to win.
+     * @param moves     The packed moves of the opening, at most {@value #DEPTH}.
+     * @return The statistics, or {@code null} if no recorded game started this way.
+     */
+    public synchronized Entry lookup(int size, int winLength, int[] moves) {
+        int[] path = canonical(moves, size);
+        int node = child(ROOT, geometry(size, winLength), false);
+        for (int i = 0; i < path.length && node != NONE; i++) {
+            node = child(node, path[i], false);
+        }
+        return node == NONE ? null : entry(node, size, winLength, path);
+    }
+
+    /**
+     * Sorts moves so that the moves that did best for the player to move in recorded games
+     * come first. Unknown moves are ranked as if they scored half of the points. The sort is
+     * stable, and moves are left alone beyond the recorded depth.
+     *
+     * @param board The position before the moves.
+     * @param moves The moves to sort.
+     */
+    public synchronized void orderMoves(Board board, MoveList moves) {
+        int played = board.getMoveCount();
+        if (played >= DEPTH || moves.size() < 2) return;
+        int size = board.getSize();
+        int[] prefix = new int[played];
+        for (int i = 0; i < played; i++) {
+            prefix[i] = board.getMove(i);
+        }
+
+        // Walk to the canonical prefix and remember every symmetry that produces it.
+        int[] path = canonical(prefix, size);
+        int node = child(ROOT, geometry(size, board.getWinLength()), false);
+        for (int i = 0; i < path.length && node != NONE; i++) {
+            node = child(node, path[i], false);
+        }
+        if (node == NONE) return;
+        int[] ties = new int[Symmetry.COUNT];
+        int tieCount = 0;
+        for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+            if (Arrays.equals(image(prefix, symmetry, size), path)) ties[tieCount++] = symmetry;
+        }
+
+        boolean firstMover = played % 2 == 0;
+        double[] scores = new double[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            int key = Integer.MAX_VALUE;
+            for (int t = 0; t < tieCount; t++) {
+                key = Math.min(key, Symmetry.apply(ties[t], moves.get(i), size));
+            }
+            int child = child(node, key, false);
+            scores[i] = child == NONE ? 0.5 : score(child, firstMover);
+        }
+        for (int i = 1; i < moves.size(); i++) { // insertion sort, the lists are short
+            int move = moves.get(i);
+            double score = scores[i];
+            int j = i - 1;
+            for (; j >= 0 && scores[j] < score; j--) {
+                moves.set(j + 1, moves.get(j));
+                scores[j + 1] = scores[j];
+            }
+            moves.set(j + 1, move);
+            scores[j + 1] = score;
+        }
+    }
+
+    /**
+     * Finds the openings of a given length played most often, over all board geometries.
+     *
+     * @param plies The length of the openings.
+     * @param limit The maximum number of openings.
+     * @return The openings, most popular first.
+     */
+    public synchronized List<Entry> popular(int plies, int limit) {
+        PriorityQueue<Entry> best = new PriorityQueue<>(Comparator.comparingInt(Entry::games));
+        for (int root = firstChild[ROOT]; root != NONE; root = nextSibling[root]) {
+            collect(root, keys[root] >>> 8, keys[root] & 0xFF, new int[plies], 0, best, limit);
+        }
+        List<Entry> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingInt(Entry::games).reversed());
+        return result;
+    }
+
+    private void collect(int node, int size, int winLength, int[] path, int depth, PriorityQueue<Entry> best,
+                         int limit) {
+        if (depth == path.length) {
+            if (best.size() < limit) {
+                best.add(entry(node, size, winLength, path.clone()));
+            } else if (limit > 0 && games[node] > best.peek().games()) {
+                best.poll();
+                best.add(entry(node, size, winLength, path.clone()));
+            }
+            return;
+        }
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            path[depth] = keys[child];
+            collect(child, size, winLength, path, depth + 1, best, limit);
+        }
+    }
+
+    /**
+     * Gets the number of nodes, including the root and one node per board geometry.
+     *
+     * @return The node count.
+     */
+    public synchronized int size() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the points per game of one side (a win counts 1, a draw 1/2), with one extra won
+     * and one extra lost game so that rarely played moves stay close to 1/2.
+     */
+    private double score(int node, boolean firstMover) {
+        int wins = firstMover ? firstWins[node] : secondWins[node];
+        int draws = games[node] - firstWins[node] - secondWins[node];
+        return (wins + 0.5 * draws + 1) / (games[node] + 2);
+    }
+
+    private void count(int node, char winner) {
+        games[node]++;
+        if (winner == 'X') firstWins[node]++;
+        if (winner == 'O') secondWins[node]++;
+    }
+
+    private Entry entry(int node, int size, int winLength, int[] path) {
+        return new Entry(size, winLength, path, games[node], firstWins[node], secondWins[node]);
+    }
+
+    private static int geometry(int size, int winLength) {
+        return size << 8 | winLength;
+    }
+
+    /**
+     * Finds the child of a node with the given key, optionally creating it.
+     *
+     * @return The child node, or {@link #NONE} if it does not exist and {@code create} is false.
+     */
+    private int child(int node, int key, boolean create) {
+        if (node == NONE) return NONE;
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (keys[child] == key) return child;
+        }
+        if (!create) return NONE;
+        int child = newNode(key);
+        nextSibling[child] = firstChild[node];
+        firstChild[node] = child;
+        return child;
+    }
+
+    private int newNode(int key) {
+        if (nodeCount == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            games = Arrays.copyOf(games, capacity);
+            firstWins = Arrays.copyOf(firstWins, capacity);
+            secondWins = Arrays.copyOf(secondWins, capacity);
+        }
+        int node = nodeCount++;
+        keys[node] = key;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        return node;
+    }
+
+    /**
+     * Gets the canonical form of a move sequence: its lexicographically smallest image under
+     * the board symmetries. The canonical form of a prefix is a prefix of the canonical form,
+     * which is what makes the trie consistent.
+     */
+    static int[] canonical(int[] moves, int size) {
+        int[] best = moves;
+        for (int symmetry = 1; symmetry < Symmetry.COUNT; symmetry++) {
+            int[] image = image(moves, symmetry, size);
+            if (Arrays.compare(image, best) < 0) best = image;
+        }
+        return best == moves ? moves.clone() : best;
+    }
+
+    private static int[] image(int[] moves, int symmetry, int size) {
+        int[] image = new int[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            image[i] = Symmetry.apply(symmetry, moves[i], size);
+        }
+        return image;
+    }
+
+    /**
+     * The statistics of one opening.
+     *
+     * @param size       The number of rows and columns.
+     * @param winLength  The number of symbols in a row needed to win.
+     * @param moves      The packed moves of the opening, in canonical orientation.
+     * @param games      The number of games that started this way.
+     * @param firstWins  The number of those games won by 'X'.
+     * @param secondWins The number of those games won by 'O'.
+     */
+    public record Entry(int size, int winLength, int[] moves, int games, int firstWins, int secondWins) {
+
+        /**
+         * Gets the number of drawn games.
+         *
+         * @return The draw count.
+         */
+        public int draws() {
+            return games - firstWins - secondWins;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder().append(size).append('x').append(size).append('/')
+                    .append(winLength).append(':');
+            for (int move : moves) {
+                text.append(" (").append(Move.row(move)).append(',').append(Move.col(move)).append(')');
+            }
+            return text.append(String.format(" - %d games, X %d%% / draw %d%% / O %d%%", games,
+                    100 * firstWins / games, 100 * draws() / games, 100 * secondWins / games)).toString();
+        }
+    }
+}
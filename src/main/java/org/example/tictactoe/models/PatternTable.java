@@ -0,0 +1,46 @@
+package org.example.tictactoe.models;
+
+/**
+ * Score lookup table for line patterns on k-in-a-row boards.
+ * <p>
+ * A line (a run of {@code winLength} cells) is "live" for a side while the opponent has no
+ * stone on it. A live line holding {@code n} stones is scored by {@code weights[n]}; the
+ * weights grow by a factor of eight per stone, so an open four is worth more than any
+ * realistic number of threes. For five in a row, {@code n = 2, 3, 4} are the open twos,
+ * threes and fours.
+ * </p>
+ * <p>
+ * For long runs the growth saturates: no weight exceeds {@link #MAX_SCORE} divided by the
+ * number of lines, so a side's total stays below {@link #MAX_SCORE} and never reaches the
+ * win scores of the searches ({@code Long.MAX_VALUE / 4}) or overflows.
+ * </p>
+ */
+public final class PatternTable {
+
+    /**
+     * The bound on one side's total pattern score, and so on the magnitude of an evaluation.
+     */
+    public static final long MAX_SCORE = Long.MAX_VALUE / 8;
+
+    private static final int GROWTH_BITS = 3;
+
+    private PatternTable() {
+    }
+
+    /**
+     * Builds the weight table for the given winning run length.
+     *
+     * @param winLength The number of symbols in a row needed to win.
+     * @param lineCount The number of lines on the board, which bounds how many weights add up.
+     * @return The weight of a live line indexed by stone count ({@code 0..winLength}).
+     */
+    public static long[] weights(int winLength, int lineCount) {
+        long cap = MAX_SCORE / Math.max(1, lineCount);
+        long[] weights = new long[winLength + 1];
+        for (int stones = 1; stones <= winLength; stones++) {
+            int bits = GROWTH_BITS * (stones - 1);
+            weights[stones] = bits < Long.SIZE - 1 ? Math.min(1L << bits, cap) : cap;
+        }
+        return weights;
+    }
+}
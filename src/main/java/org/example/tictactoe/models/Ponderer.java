@@ -0,0 +1,195 @@
+package org.example.tictactoe.models;
+
+import org.example.tictactoe.utils.LongLongMap;
+import org.tinylog.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Lets the AI think on the human's time.
+ * <p>
+ * While the human is choosing a move, the `Ponderer` searches a snapshot of the board on the
+ * AI executor: it ranks the human's candidate moves with
+ * {@link AIDifficultyStrategy#scoreMoves(Board, char, char)}, plays the most likely ones and
+ * stores the AI's answer to each in a reply map keyed by the resulting position hash. When the
+ * human moves, {@link #lookup(long)} returns the prepared answer on a ponder hit, so the AI
+ * can reply without searching.
+ * </p>
+ * <p>
+ * Lookups and hits are counted so the ponder hit rate can be reported. The reply map is a
+ * primitive {@link LongLongMap}, guarded by its own lock because the pondering thread fills it.
+ * </p>
+ * <p>
+ * The candidate scores of the pondered position are kept as well, so a hint for that position
+ * can reuse them ({@link #getScores(long)}). Pondering that is stopped and started again on
+ * the same position resumes with the replies already prepared.
+ * </p>
+ */
+final class Ponderer {
+
+    private static final int MAX_CANDIDATES = 12; // covers every reply on the classic board
+
+    private final AIPlayer aiPlayer;
+    private final char humanSymbol;
+    private final LongLongMap replies = new LongLongMap(MAX_CANDIDATES); // position hash -> AI reply
+    private long position; // the hash of the pondered position
+    private long[] scores; // the human's candidate scores in that position, null until computed
+    private Future<?> task;
+    private long lookups;
+    private long hits;
+
+    /**
+     * Creates a ponderer for the given AI.
+     *
+     * @param aiPlayer    The AI whose replies are prepared.
+     * @param humanSymbol The symbol of the human player.
+     */
+    Ponderer(AIPlayer aiPlayer, char humanSymbol) {
+        this.aiPlayer = aiPlayer;
+        this.humanSymbol = humanSymbol;
+    }
+
+    /**
+     * Starts pondering on a snapshot of the board; any previous pondering is stopped. Replies
+     * prepared for another position are dropped, those for the same position are kept.
+     *
+     * @param board    The board with the human to move.
+     * @param executor The executor that runs the AI's searches.
+     */
+    void start(Board board, ExecutorService executor) {
+        stop();
+        synchronized (replies) {
+            if (board.getHash() != position) {
+                replies.clear();
+                position = board.getHash();
+                scores = null;
+            }
+        }
+        Board snapshot = new Board(board);
+        task = executor.submit(() -> ponder(snapshot));
+    }
+
+    /**
+     * Interrupts the pondering search, keeping the replies found so far.
+     */
+    void stop() {
+        if (task != null) {
+            task.cancel(true);
+            task = null;
+        }
+    }
+
+    /**
+     * Looks up the prepared reply for the position after the human's move, and counts the hit or miss.
+     *
+     * @param hash The hash of the current position ({@link Board#getHash()}).
+     * @return The packed reply, or {@link Move#NONE} on a ponder miss.
+     */
+    int lookup(long hash) {
+        lookups++;
+        int reply;
+        synchronized (replies) {
+            reply = (int) replies.get(hash, Move.NONE);
+        }
+        if (reply == Move.NONE) return Move.NONE;
+        hits++;
+        return reply;
+    }
+
+    /**
+     * Gets the human's candidate scores computed while pondering a position.
+     *
+     * @param hash The hash of the position.
+     * @return A copy of the scores (see {@link AIDifficultyStrategy#scoreMoves(Board, char, char)}),
+     * or {@code null} if that position has not been scored.
+     */
+    long[] getScores(long hash) {
+        synchronized (replies) {
+            return hash == position && scores != null ? scores.clone() : null;
+        }
+    }
+
+    /**
+     * Gets the share of lookups that found a prepared reply.
+     *
+     * @return The hit rate between 0 and 1, or 0 before the first lookup.
+     */
+    double getHitRate() {
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Gets the number of lookups so far.
+     *
+     * @return The lookup count.
+     */
+    long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * Gets the number of lookups that found a prepared reply.
+     *
+     * @return The hit count.
+     */
+    long getHits() {
+        return hits;
+    }
+
+    /**
+     * Prepares the AI's replies to the human's most promising moves, best first, until interrupted.
+     *
+     * @param board The snapshot to search; only this thread touches it.
+     */
+    private void ponder(Board board) {
+        char aiSymbol = aiPlayer.getSymbol();
+        long[] candidates = getScores(board.getHash());
+        if (candidates == null) {
+            candidates = aiPlayer.scoreMoves(board, humanSymbol, aiSymbol);
+            if (Thread.currentThread().isInterrupted()) return;
+            synchronized (replies) {
+                if (board.getHash() == position) scores = candidates.clone();
+            }
+        }
+        int size = board.getSize();
+        for (int n = 0; n < MAX_CANDIDATES && !Thread.currentThread().isInterrupted(); n++) {
+            int cell = takeBest(candidates);
+            if (cell < 0) break;
+            board.makeMove(cell / size, cell % size, humanSymbol);
+            if (board.checkWinner() == ' ' && !board.isFull() && !isPrepared(board.getHash())) {
+                int reply = aiPlayer.selectMove(board);
+                if (!Thread.currentThread().isInterrupted()) {
+                    synchronized (replies) {
+                        replies.put(board.getHash(), reply);
+                    }
+                }
+            }
+            board.undoMove();
+        }
+        synchronized (replies) {
+            Logger.debug("Pondering prepared {} replies.", replies.size());
+        }
+    }
+
+    private boolean isPrepared(long hash) {
+        synchronized (replies) {
+            return replies.containsKey(hash);
+        }
+    }
+
+    /**
+     * Removes and returns the highest-scored cell.
+     *
+     * @param scores The remaining scores; taken cells are set to {@link Long#MIN_VALUE}.
+     * @return The cell index, or {@code -1} if no scored cell is left.
+     */
+    private static int takeBest(long[] scores) {
+        int best = -1;
+        for (int cell = 0; cell < scores.length; cell++) {
+            if (scores[cell] != Long.MIN_VALUE && (best < 0 || scores[cell] > scores[best])) best = cell;
+        }
+        if (best >= 0) scores[best] = Long.MIN_VALUE;
+        return best;
+    }
+}
@@ -0,0 +1,261 @@
+package org.example.tictactoe.models;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A persistent, size-bounded cache of search results keyed by position hash.
+ * <p>
+ * The `PositionCache` is a singleton shared by every strategy in the process (see
+ * {@link CachingStrategy}), and its table lives in a memory-mapped file, so results survive
+ * both the end of a game and a restart of the application. Repeated openings are then
+ * answered without searching.
+ * </p>
+ * <p>
+ * The table has a fixed number of slots, grouped into buckets of {@value #WAYS}. A key can
+ * only live in its own bucket; when the bucket is full, an entry is evicted with the CLOCK
+ * policy: every hit sets the entry's reference bit, and the bucket's clock hand skips (and
+ * clears) referenced entries until it finds one that has not been used since its last pass.
+ * This approximates LRU without any per-access bookkeeping beyond one bit.
+ * </p>
+ * <p>
+ * If the file cannot be mapped, the cache falls back to an in-memory table of the same size.
+ * Setting the system property {@value #FILE_PROPERTY} chooses another file for the shared
+ * instance, or keeps it in memory with the value {@code none}; processes that run side by
+ * side, such as simulation workers, use this so they do not write to the same mapping.
+ * </p>
+ */
+public class PositionCache {
+
+    /**
+     * Marker returned by {@link #lookup(long)} when the key is not cached.
+     */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    /**
+     * System property that overrides the file of the shared instance; {@code none} keeps it in memory.
+     */
+    public static final String FILE_PROPERTY = "tictactoe.positionCache";
+
+    private static final String CACHE_FILE = "position_cache.bin";
+    private static final String IN_MEMORY = "none";
+    private static final int DEFAULT_CAPACITY = 1 << 16; // slots; 1 MiB of table
+
+    private static final int MAGIC = 0x54545443; // "TTTC"
+    private static final int VERSION = 1; // bump when cached results may no longer be valid
+    private static final int HEADER_BYTES = 16;
+    private static final int SLOT_BYTES = 16; // long key, int value, int flags
+    private static final int WAYS = 8;
+    private static final int OCCUPIED = 1;
+    private static final int REFERENCED = 2;
+
+    private static PositionCache instance;
+
+    private final ByteBuffer table;
+    private final int buckets;
+    private final int slotsOffset;
+    private final int handsOffset;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Opens (or creates) a cache file with room for the given number of entries.
+     * <p>
+     * An existing file with a different layout or version is cleared.
+     * </p>
+     *
+     * @param file     The backing file, or {@code null} for a cache that lives in memory only.
+     * @param capacity The maximum number of entries; rounded up to a power of two of at least {@value #WAYS}.
+     */
+    public PositionCache(Path file, int capacity) {
+        int slots = Integer.highestOneBit(Math.max(WAYS, capacity));
+        if (slots < capacity) slots <<= 1;
+        buckets = slots / WAYS;
+        slotsOffset = HEADER_BYTES;
+        handsOffset = slotsOffset + buckets * WAYS * SLOT_BYTES;
+        int bytes = handsOffset + buckets;
+        table = open(file, bytes);
+        if (table.getInt(0) != MAGIC || table.getInt(4) != VERSION || table.getInt(8) != buckets) {
+            Logger.info("Initializing position cache {} with {} entries.", file, buckets * WAYS);
+            for (int i = 0; i < bytes; i++) {
+                table.put(i, (byte) 0);
+            }
+            table.putInt(0, MAGIC);
+            table.putInt(4, VERSION);
+            table.putInt(8, buckets);
+        } else {
+            Logger.info("Opened position cache {} with {} of {} entries in use.", file, size(), buckets * WAYS);
+        }
+    }
+
+    /**
+     * Provides the singleton instance of the `PositionCache` class, backed by {@value #CACHE_FILE}
+     * unless {@value #FILE_PROPERTY} says otherwise.
+     *
+     * @return The single instance of the `PositionCache`.
+     */
+    public static synchronized PositionCache getInstance() {
+        if (instance == null) {
+            String file = System.getProperty(FILE_PROPERTY, CACHE_FILE);
+            instance = new PositionCache(IN_MEMORY.equals(file) ? null : Path.of(file), DEFAULT_CAPACITY);
+        }
+        return instance;
+    }
+
+    /**
+     * Looks up a cached value and marks the entry as recently used.
+     *
+     * @param key The position key.
+     * @return The cached value, or {@link #MISSING}.
+     */
+    public synchronized int lookup(long key) {
+        int first = bucketOf(key) * WAYS;
+        for (int way = 0; way < WAYS; way++) {
+            int slot = slotAddress(first + way);
+            int flags = table.getInt(slot + 12);
+            if ((flags & OCCUPIED) != 0 && table.getLong(slot) == key) {
+                table.putInt(slot + 12, flags | REFERENCED);
+                hits++;
+                return table.getInt(slot + 8);
+            }
+        }
+        misses++;
+        return MISSING;
+    }
+
+    /**
+     * Stores a value, replacing the key's previous value or evicting an entry of its bucket.
+     *
+     * @param key   The position key.
+     * @param value The value to cache (any value except {@link #MISSING}).
+     */
+    public synchronized void store(long key, int value) {
+        int bucket = bucketOf(key);
+        int first = bucket * WAYS;
+        int free = -1;
+        for (int way = 0; way < WAYS; way++) {
+            int slot = slotAddress(first + way);
+            int flags = table.getInt(slot + 12);
+            if ((flags & OCCUPIED) == 0) {
+                if (free < 0) free = slot;
+            } else if (table.getLong(slot) == key) {
+                table.putInt(slot + 8, value);
+                table.putInt(slot + 12, flags | REFERENCED);
+                return;
+            }
+        }
+        if (free < 0) {
+            free = slotAddress(first + nextVictim(bucket));
+            evictions++;
+        }
+        table.putLong(free, key);
+        table.putInt(free + 8, value);
+        table.putInt(free + 12, OCCUPIED);
+    }
+
+    /**
+     * Counts the entries currently stored.
+     *
+     * @return The number of occupied slots.
+     */
+    public synchronized int size() {
+        int used = 0;
+        for (int slot = 0; slot < buckets * WAYS; slot++) {
+            if ((table.getInt(slotAddress(slot) + 12) & OCCUPIED) != 0) used++;
+        }
+        return used;
+    }
+
+    /**
+     * Gets the maximum number of entries.
+     *
+     * @return The capacity in entries.
+     */
+    public int getCapacity() {
+        return buckets * WAYS;
+    }
+
+    /**
+     * Gets the hit rate of {@link #lookup(long)} since the cache was opened.
+     *
+     * @return The hit rate between 0 and 1, or 0 before the first lookup.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Gets the number of entries evicted since the cache was opened.
+     *
+     * @return The eviction count.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Writes the cached entries through to the backing file.
+     */
+    public synchronized void flush() {
+        if (table instanceof MappedByteBuffer mapped) {
+            mapped.force();
+        }
+    }
+
+    /**
+     * Advances the bucket's clock hand to the first entry whose reference bit is clear,
+     * clearing the bits it passes.
+     *
+     * @param bucket The bucket index.
+     * @return The way to evict.
+     */
+    private int nextVictim(int bucket) {
+        int hand = table.get(handsOffset + bucket);
+        while (true) {
+            int slot = slotAddress(bucket * WAYS + hand);
+            int flags = table.getInt(slot + 12);
+            int victim = hand;
+            hand = (hand + 1) % WAYS;
+            if ((flags & REFERENCED) == 0) {
+                table.put(handsOffset + bucket, (byte) hand);
+                return victim;
+            }
+            table.putInt(slot + 12, flags & ~REFERENCED);
+        }
+    }
+
+    private int bucketOf(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L; // spread the bits Zobrist keys share
+        return (int) (mixed >>> 40) & (buckets - 1);
+    }
+
+    private int slotAddress(int slot) {
+        return slotsOffset + slot * SLOT_BYTES;
+    }
+
+    /**
+     * Maps the backing file, or allocates an in-memory table if there is none or mapping fails.
+     *
+     * @param file  The backing file, or {@code null}.
+     * @param bytes The table size in bytes.
+     * @return The table buffer.
+     */
+    private static ByteBuffer open(Path file, int bytes) {
+        if (file == null) return ByteBuffer.allocate(bytes);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes); // the mapping outlives the channel
+        } catch (IOException | UnsupportedOperationException e) {
+            Logger.warn(e, "Could not map position cache file {}; using an in-memory cache.", file);
+            return ByteBuffer.allocate(bytes);
+        }
+    }
+}
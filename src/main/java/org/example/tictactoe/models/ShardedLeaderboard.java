@@ -0,0 +1,237 @@
+package org.example.tictactoe.models;
+
+import org.example.tictactoe.utils.IntIntMap;
+import org.example.tictactoe.utils.NameDictionary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Win counts of very many players, split into shards that are updated and queried independently.
+ * <p>
+ * Players are hash-partitioned over the shards. Each shard has its own lock, its own map of
+ * counts and its own index sorted by wins, so concurrent updates of different shards do not
+ * contend and no structure grows with the total number of players. The global top {@code k}
+ * is a scatter-gather: every shard hands out its first {@code k} standings, and a k-way merge
+ * over those heads picks the overall best, touching at most {@code k} entries per shard.
+ * </p>
+ * <p>
+ * Players are known by their id in a {@link NameDictionary}: the shards store {@code int} ids
+ * in primitive maps and decode names only for the players they return.
+ * </p>
+ */
+public class ShardedLeaderboard {
+
+    private final NameDictionary names;
+    private final Comparator<Standing> order; // most wins first, then by name
+    private final Shard[] shards;
+
+    /**
+     * Creates an empty leaderboard over the shared {@link NameDictionary}.
+     *
+     * @param shardCount The number of shards, at least 1.
+     * @throws IllegalArgumentException If the shard count is not positive.
+     */
+    public ShardedLeaderboard(int shardCount) {
+        this(shardCount, NameDictionary.getInstance());
+    }
+
+    /**
+     * Creates an empty leaderboard.
+     *
+     * @param shardCount The number of shards, at least 1.
+     * @param names      The dictionary of player names.
+     * @throws IllegalArgumentException If the shard count is not positive.
+     */
+    public ShardedLeaderboard(int shardCount, NameDictionary names) {
+        if (shardCount < 1) throw new IllegalArgumentException("At least one shard is needed, got " + shardCount);
+        this.names = names;
+        this.order = Comparator.comparingInt(Standing::wins).reversed()
+                .thenComparing((a, b) -> names.compare(a.id(), b.id()));
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(order);
+        }
+    }
+
+    /**
+     * Records a win for a player.
+     *
+     * @param playerName The name of the player who won.
+     * @return The player's new win count.
+     */
+    public int recordWin(String playerName) {
+        return addWins(playerName, 1);
+    }
+
+    /**
+     * Adds wins to a player, e.g. when loading saved counts.
+     *
+     * @param playerName The name of the player.
+     * @param wins       The number of wins to add.
+     * @return The player's new win count.
+     */
+    public int addWins(String playerName, int wins) {
+        return addWins(names.intern(playerName), wins);
+    }
+
+    /**
+     * Adds wins to a player known by id.
+     *
+     * @param playerId The player's id in the name dictionary.
+     * @param wins     The number of wins to add.
+     * @return The player's new win count.
+     */
+    public int addWins(int playerId, int wins) {
+        return shardOf(playerId).add(playerId, wins);
+    }
+
+    /**
+     * Gets the wins of a player.
+     *
+     * @param playerName The name of the player.
+     * @return The win count, 0 for an unknown player.
+     */
+    public int getWins(String playerName) {
+        int id = names.lookup(playerName);
+        return id == NameDictionary.NONE ? 0 : shardOf(id).get(id);
+    }
+
+    /**
+     * Gets the number of players with wins.
+     *
+     * @return The player count over all shards.
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of shards.
+     *
+     * @return The shard count.
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Finds the players with the most wins over all shards.
+     * <p>
+     * Each shard is locked only while it copies its own first {@code k} standings, so the
+     * result is consistent per shard but not a snapshot of all shards at one instant.
+     * </p>
+     *
+     * @param k The maximum number of players.
+     * @return The player names and their win counts, most wins first and then by name.
+     */
+    public Map<String, Integer> topK(int k) {
+        // K-way merge: the queue holds the next standing of every shard that has one left.
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(shards.length,
+                (a, b) -> order.compare(a.standing, b.standing));
+        for (Shard shard : shards) {
+            Iterator<Standing> head = shard.head(k).iterator();
+            if (head.hasNext()) queue.add(new Cursor(head.next(), head));
+        }
+        Map<String, Integer> top = new LinkedHashMap<>();
+        while (top.size() < k && !queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            top.put(names.name(cursor.standing.id()), cursor.standing.wins());
+            if (cursor.rest.hasNext()) {
+                cursor.standing = cursor.rest.next();
+                queue.add(cursor);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Copies the win counts of all players, e.g. for saving them.
+     *
+     * @return The player names and their win counts, in no particular order.
+     */
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> all = new HashMap<>();
+        for (Shard shard : shards) {
+            shard.copyTo(names, all);
+        }
+        return all;
+    }
+
+    Shard shardOf(int playerId) {
+        int hash = playerId * 0x9E3779B9; // ids are dense, spread them over the shards
+        return shards[Math.floorMod(hash ^ hash >>> 16, shards.length)];
+    }
+
+    /**
+     * One partition of the players, with its counts and its standings sorted by wins and name.
+     */
+    static final class Shard {
+
+        private final IntIntMap wins = new IntIntMap();
+        private final TreeSet<Standing> standings;
+
+        Shard(Comparator<Standing> order) {
+            standings = new TreeSet<>(order);
+        }
+
+        synchronized int add(int playerId, int amount) {
+            int old = wins.get(playerId, -1);
+            if (old >= 0) standings.remove(new Standing(playerId, old));
+            int updated = Math.max(old, 0) + amount;
+            wins.put(playerId, updated);
+            standings.add(new Standing(playerId, updated));
+            return updated;
+        }
+
+        synchronized int get(int playerId) {
+            return wins.get(playerId, 0);
+        }
+
+        synchronized int size() {
+            return wins.size();
+        }
+
+        synchronized List<Standing> head(int k) {
+            List<Standing> head = new ArrayList<>(Math.min(k, standings.size()));
+            for (Iterator<Standing> it = standings.iterator(); it.hasNext() && head.size() < k; ) {
+                head.add(it.next());
+            }
+            return head;
+        }
+
+        synchronized void copyTo(NameDictionary names, Map<String, Integer> all) {
+            wins.forEach((id, count) -> all.put(names.name(id), count));
+        }
+    }
+
+    /**
+     * A player's place in a shard's index.
+     */
+    record Standing(int id, int wins) {
+    }
+
+    /**
+     * The next standing of one shard during a merge, and the ones after it.
+     */
+    private static final class Cursor {
+        private Standing standing;
+        private final Iterator<Standing> rest;
+
+        private Cursor(Standing standing, Iterator<Standing> rest) {
+            this.standing = standing;
+            this.rest = rest;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package org.example.tictactoe.models;
 
+import org.example.tictactoe.analytics.GameTable;
 import org.example.tictactoe.services.FilePersistenceService;
+import org.example.tictactoe.services.GameRecordReader;
+import org.example.tictactoe.services.GameRecordWriter;
 import org.example.tictactoe.services.PersistenceService;
+import org.example.tictactoe.utils.NameDictionary;
 import org.tinylog.Logger;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,13 +20,31 @@ import java.util.List;
  * The `Stats` class tracks game results and provides methods to persist and retrieve them.
  * It is implemented as a singleton to ensure consistent access across the application.
  * </p>
+ * <p>
+ * Every finished game is kept as a {@link GameRecord} and appended to a binary record file
+ * (see {@link GameRecordWriter}), so saving a result no longer rewrites the whole history.
+ * Result messages from the old text file are still shown, but no longer written.
+ * Every record also feeds the shared {@link OpeningTrie}.
+ * </p>
+ * <p>
+ * In memory, games are kept column by column with player names as {@link NameDictionary} ids
+ * (see {@link GameLog}), and the old result messages as ids as well, so a name repeated over
+ * millions of games is stored once.
+ * </p>
  */
 public class Stats {
 
     private static Stats instance;
 
-    private final List<String> gameResults = new ArrayList<>(); // List to store all results
+    private static final String RECORDS_FILE = "game_records.bin";
+    private static final String LEGACY_RESULTS_FILE = "game_results.txt";
+
+    private final NameDictionary names = NameDictionary.getInstance();
+    private final GameLog gameRecords = new GameLog(names); // all recorded games, oldest first
+    private int[] legacyResults = new int[0]; // ids of the messages saved before games were recorded
     private final PersistenceService persistenceService;
+    private GameTable analytics; // built on first use, then appended to
+    private GameRecordWriter writer; // opened on the first save, so a torn tail is repaired once
 
 
     /**
@@ -45,43 +70,112 @@ public class Stats {
     }
 
     /**
-     * Adds a new game result to the statistics and persists it to storage.
+     * Adds a finished game to the statistics and appends it to the record file.
      *
-     * @param result A string representing the game result (e.g., "Player1 wins!" or "It's a draw!").
+     * @param record The record of the finished game.
      */
-    public void addGameResult(String result) {
-        Logger.info("Adding game result: {}", result);
-        gameResults.add(result); // Append the new result to the list
-        saveResults(); // Save the updated list to file
+    public synchronized void addGameResult(GameRecord record) {
+        Logger.info("Adding game result: {}", record);
+        gameRecords.add(record);
+        OpeningTrie.getInstance().add(record);
+        if (analytics != null) analytics.append(record);
+        saveResult(record);
     }
 
 
     /**
-     * Retrieves the list of all recorded game results.
+     * Retrieves the result messages of all recorded games.
      *
-     * @return A list of strings representing game results.
+     * @return A list of strings representing game results (e.g., "Player1 wins!" or "It's a draw!").
      */
     public List<String> getGameResults() {
         Logger.debug("Fetching game results.");
-        return new ArrayList<>(gameResults); // Return a copy of the list
+        List<String> results = new ArrayList<>(legacyResults.length + gameRecords.size());
+        for (int message : legacyResults) {
+            results.add(names.name(message));
+        }
+        gameRecords.forEach(record -> results.add(record.message()));
+        return results;
+    }
+
+    /**
+     * Retrieves the records of all games played since game records were introduced.
+     *
+     * @return A copy of the list of records, oldest first.
+     */
+    public List<GameRecord> getGameRecords() {
+        List<GameRecord> records = new ArrayList<>(gameRecords.size());
+        gameRecords.forEach(records::add);
+        return records;
+    }
+
+    /**
+     * Gets the most popular openings of the recorded games.
+     *
+     * @param plies The length of the openings.
+     * @param limit The maximum number of openings.
+     * @return The openings, most popular first.
+     */
+    public List<OpeningTrie.Entry> getPopularOpenings(int plies, int limit) {
+        return OpeningTrie.getInstance().popular(plies, limit);
+    }
+
+    /**
+     * Gets the analytics table of all recorded games.
+     * <p>
+     * The table is built from the loaded records on first use and receives every game added
+     * afterwards, so its live queries stay current.
+     * </p>
+     *
+     * @return The analytics table.
+     */
+    public synchronized GameTable getAnalytics() {
+        if (analytics == null) {
+            analytics = new GameTable();
+            gameRecords.forEach(analytics::append);
+        }
+        return analytics;
     }
 
     /**
-     * Saves the current list of game results to a persistent storage file.
+     * Appends a game record to the persistent record file.
+     * <p>
+     * The writer stays open between games: opening it scans the file to cut off a record torn
+     * by a crash, which only needs to happen once. Every record is flushed right away.
+     * </p>
      */
-    private void saveResults() {
-        Logger.info("Saving game results to file.");
-        persistenceService.saveList("game_results.txt", gameResults);
-        Logger.info("Game results saved successfully.");
+    private void saveResult(GameRecord record) {
+        try {
+            if (writer == null) writer = new GameRecordWriter(Path.of(RECORDS_FILE));
+            writer.write(record);
+            writer.flush();
+            Logger.info("Game record saved successfully.");
+        } catch (IOException e) {
+            Logger.error(e, "Error saving game record to file: {}", RECORDS_FILE);
+        }
     }
 
     /**
-     * Loads previously recorded game results from the persistent storage file.
+     * Loads previously recorded games and the result messages of the old text file.
      */
     private void loadResults() {
         Logger.info("Loading game results from file.");
-        gameResults.clear();
-        gameResults.addAll(persistenceService.loadList("game_results.txt"));
-        Logger.info("Loaded game results: {}", gameResults);
+        legacyResults = persistenceService.loadList(LEGACY_RESULTS_FILE).stream().mapToInt(names::intern).toArray();
+        gameRecords.clear();
+        Path file = Path.of(RECORDS_FILE);
+        if (Files.exists(file)) {
+            try (GameRecordReader reader = new GameRecordReader(file)) {
+                reader.forEach(record -> { // stream, so only the compact copy of each game is kept
+                    gameRecords.add(record);
+                    OpeningTrie.getInstance().add(record);
+                });
+            } catch (GameRecordReader.CorruptRecordException e) {
+                Logger.warn(e, "Keeping the {} game records before a corrupt one in {}.", gameRecords.size(),
+                        RECORDS_FILE);
+            } catch (IOException e) {
+                Logger.error(e, "Error loading game records from file: {}", RECORDS_FILE);
+            }
+        }
+        Logger.info("Loaded {} game records and {} older results.", gameRecords.size(), legacyResults.length);
     }
 }
@@ -0,0 +1,64 @@
+package org.example.tictactoe.models;
+
+/**
+ * The eight symmetries of a square board (rotations and reflections).
+ * <p>
+ * A symmetry is an index from 0 to {@link #COUNT} - 1. Bit 2 transposes the board (swaps
+ * rows and columns), then bit 0 mirrors the rows and bit 1 mirrors the columns. Index 0 is
+ * the identity. Positions that map onto each other under a symmetry are equivalent, which
+ * lets caches store one canonical entry for all of them (see {@link Board#getCanonicalSymmetry()}).
+ * </p>
+ */
+public final class Symmetry {
+
+    /**
+     * The number of symmetries of a square board.
+     */
+    public static final int COUNT = 8;
+
+    /**
+     * The identity symmetry.
+     */
+    public static final int IDENTITY = 0;
+
+    private static final int MIRROR_ROWS = 1;
+    private static final int MIRROR_COLUMNS = 2;
+    private static final int TRANSPOSE = 4;
+
+    private Symmetry() {
+    }
+
+    /**
+     * Maps a packed move through a symmetry.
+     *
+     * @param symmetry The symmetry index.
+     * @param move     The packed move.
+     * @param size     The board size.
+     * @return The packed image of the move, or {@link Move#NONE} for {@link Move#NONE}.
+     */
+    public static int apply(int symmetry, int move, int size) {
+        if (move == Move.NONE) return Move.NONE;
+        int row = Move.row(move);
+        int col = Move.col(move);
+        if ((symmetry & TRANSPOSE) != 0) {
+            int swap = row;
+            row = col;
+            col = swap;
+        }
+        if ((symmetry & MIRROR_ROWS) != 0) row = size - 1 - row;
+        if ((symmetry & MIRROR_COLUMNS) != 0) col = size - 1 - col;
+        return Move.of(row, col);
+    }
+
+    /**
+     * Gets the symmetry that undoes the given one.
+     *
+     * @param symmetry The symmetry index.
+     * @return The inverse symmetry index.
+     */
+    public static int inverse(int symmetry) {
+        if ((symmetry & TRANSPOSE) == 0) return symmetry; // mirrors are their own inverse
+        // (mirror after transpose) is undone by transposing after the mirror, i.e. the other axis is mirrored
+        return TRANSPOSE | ((symmetry & MIRROR_ROWS) << 1) | ((symmetry & MIRROR_COLUMNS) >> 1);
+    }
+}
@@ -0,0 +1,364 @@
+package org.example.tictactoe.models;
+
+import org.example.tictactoe.utils.LongPackedMap;
+
+/**
+ * A threat-space solver for k-in-a-row boards.
+ * <p>
+ * The search only considers attacking moves that create a "four" (one stone short of a win
+ * on an otherwise empty line) or a "three" (two stones short), and only the defending
+ * replies that do not lose at once: the completing cell of a four, or, against a three, a
+ * counter-four or a move after which the attacker can no longer make a double four. Any
+ * other reply lets the attacker make two fours in one move, so leaving it out keeps every
+ * proof sound. A three that threatens no double four is not forcing and proves nothing.
+ * This narrow AND/OR tree lets it prove forced wins on large boards, such as 15x15 five in
+ * a row, where full-width alpha-beta stalls.
+ * </p>
+ * <p>
+ * The search is bounded by a node budget and by a cap on the number of positions it
+ * remembers. When either runs out the result is simply "no forced win found".
+ * </p>
+ * <p>
+ * Remembered positions are entries of a {@link LongPackedMap}: a proven win with its winning
+ * threat and the depth it needed, or a refutation ({@link Move#NONE}) with the depth searched.
+ * A win holds at any greater depth and a refutation at any smaller one.
+ * </p>
+ */
+final class ThreatSpaceSearch {
+
+    private final Board board;
+    private final char attacker;
+    private final char defender;
+    private final int size;
+    private final int winLength;
+    private final long nodeBudget;
+    private final int maxTableEntries;
+
+    private final LongPackedMap table = new LongPackedMap(); // position hash -> winning threat or NONE, depth
+    private final MoveList[] threatBuffers;
+    private final MoveList[] defenseBuffers;
+    private final int[] marks;
+    private int stamp;
+
+    private long nodes;
+    private boolean exhausted;
+    private int winningMove = Move.NONE;
+
+    /**
+     * Creates a solver for the given attacker on the given board.
+     *
+     * @param board           The board to search; it is modified during the search and restored afterwards.
+     * @param attacker        The symbol of the side looking for a forced win.
+     * @param defender        The symbol of the opposing side.
+     * @param maxDepth        The maximum number of attacking moves in a winning sequence.
+     * @param nodeBudget      The maximum number of nodes to visit.
+     * @param maxTableEntries The maximum number of positions to remember.
+     */
+    ThreatSpaceSearch(Board board, char attacker, char defender, int maxDepth, long nodeBudget, int maxTableEntries) {
+        this.board = board;
+        this.attacker = attacker;
+        this.defender = defender;
+        this.size = board.getSize();
+        this.winLength = board.getWinLength();
+        this.nodeBudget = nodeBudget;
+        this.maxTableEntries = maxTableEntries;
+        threatBuffers = new MoveList[maxDepth + 1];
+        defenseBuffers = new MoveList[maxDepth + 1];
+        for (int ply = 0; ply <= maxDepth; ply++) {
+            threatBuffers[ply] = new MoveList(board.getCellCount());
+            defenseBuffers[ply] = new MoveList(board.getCellCount());
+        }
+        marks = new int[board.getCellCount()];
+    }
+
+    /**
+     * Looks for a forced win using iterative deepening, so the shortest win found is returned.
+     *
+     * @return The packed first move of a forced win, or {@link Move#NONE} if none was found within the limits.
+     */
+    int findForcedWin() {
+        for (int depth = 1; depth < threatBuffers.length && !exhausted; depth++) {
+            if (attack(depth, 0)) return winningMove;
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Gets the number of nodes visited so far.
+     *
+     * @return The node count.
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Checks whether the last search stopped because of the node budget or an interrupt.
+     *
+     * @return {@code true} if the search was cut off; {@code false} otherwise.
+     */
+    boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * OR node: the attacker is to move and needs one threat that wins against every defense.
+     *
+     * @param depth The number of attacking moves still allowed.
+     * @param ply   The number of attacking moves already made, used to pick buffers.
+     * @return {@code true} if a forced win was proven.
+     */
+    private boolean attack(int depth, int ply) {
+        if (++nodes > nodeBudget || ((nodes & 1023) == 0 && Thread.currentThread().isInterrupted())) {
+            exhausted = true;
+        }
+        if (exhausted) return false;
+
+        int win = findFour(attacker);
+        if (win >= 0) {
+            if (ply == 0) winningMove = toMove(win);
+            return true;
+        }
+        if (depth == 0) return false;
+        long entry = table.get(board.getHash());
+        if (entry != LongPackedMap.MISSING) {
+            int known = LongPackedMap.value(entry);
+            int searched = LongPackedMap.depth(entry);
+            if (known == Move.NONE && searched >= depth) return false;
+            if (known != Move.NONE && searched <= depth) {
+                if (ply == 0) winningMove = known;
+                return true;
+            }
+        }
+
+        MoveList threats = threatBuffers[ply];
+        int forced = findFour(defender);
+        if (forced >= 0) {
+            if (hasSecondFour(defender, forced)) {
+                remember(Move.NONE, depth); // only one of the defender's fours can be blocked
+                return false;
+            }
+            threats.clear();
+            threats.add(toMove(forced)); // the attacker has to block first
+        } else {
+            generateThreats(threats);
+        }
+
+        for (int i = 0; i < threats.size(); i++) {
+            int move = threats.get(i);
+            board.makeMove(move, attacker);
+            boolean wins = defendAll(depth, ply, cellOf(move));
+            board.undoMove();
+            if (wins) {
+                if (ply == 0) winningMove = move;
+                remember(move, depth);
+                return true;
+            }
+            if (exhausted) return false;
+        }
+        if (!exhausted) remember(Move.NONE, depth);
+        return false;
+    }
+
+    /**
+     * Stores the outcome of the current position, while the table has room.
+     *
+     * @param move  The winning threat, or {@link Move#NONE} if the position was refuted.
+     * @param depth The depth of the search.
+     */
+    private void remember(int move, int depth) {
+        if (table.size() < maxTableEntries) table.put(board.getHash(), move, depth);
+    }
+
+    /**
+     * AND node: the attacker has just played a threat and must win against every defense.
+     *
+     * @param depth The remaining attacking depth before the threat was played.
+     * @param ply   The ply of the threat.
+     * @param cell  The cell of the threat.
+     * @return {@code true} if every defense loses.
+     */
+    private boolean defendAll(int depth, int ply, int cell) {
+        if (findFour(defender) >= 0) return false; // the defender wins first
+        MoveList defenses = defenseBuffers[ply];
+        defenses.clear();
+        stamp++;
+        int winningCells = 0;
+        for (int line : board.getLinesThrough(cell)) {
+            if (board.getLineStones(defender, line) == 0 && board.getLineStones(attacker, line) == winLength - 1) {
+                int gap = emptyCellOf(line);
+                if (marks[gap] != stamp) {
+                    marks[gap] = stamp;
+                    winningCells++;
+                    defenses.add(toMove(gap));
+                }
+            }
+        }
+        if (winningCells >= 2) return true; // double four: only one completing cell can be blocked
+        if (winningCells == 0) {
+            if (!hasDoubleFourMove()) return false; // not a threat, the defender gets a free move
+            addCounterFours(defenses);
+            addSafeDefenses(defenses);
+        }
+
+        for (int i = 0; i < defenses.size(); i++) {
+            board.makeMove(defenses.get(i), defender);
+            boolean wins = board.checkWinner() != defender && attack(depth - 1, ply + 1);
+            board.undoMove();
+            if (!wins) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds the defender's moves that leave the attacker without a double four. Only cells of
+     * lines the attacker can turn into a four can take away a double four, so only those are
+     * tried; cells already added, such as counter-fours, are skipped.
+     *
+     * @param defenses The buffer of defending moves.
+     */
+    private void addSafeDefenses(MoveList defenses) {
+        int lines = board.getLineCount();
+        for (int line = 0; line < lines; line++) {
+            if (!isThreeLine(line)) continue;
+            for (int cell : board.getLineCells(line)) {
+                if (marks[cell] == stamp || !board.isEmpty(cell)) continue;
+                marks[cell] = stamp;
+                int move = toMove(cell);
+                board.makeMove(move, defender);
+                boolean safe = !hasDoubleFourMove();
+                board.undoMove();
+                if (safe) defenses.add(move);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the attacker, who has no four, has a move that makes two fours with
+     * different completing cells, which wins unless the defender can win first.
+     *
+     * @return {@code true} if such a move exists.
+     */
+    private boolean hasDoubleFourMove() {
+        int lines = board.getLineCount();
+        for (int line = 0; line < lines; line++) {
+            if (!isThreeLine(line)) continue;
+            for (int cell : board.getLineCells(line)) {
+                if (board.isEmpty(cell) && makesDoubleFour(cell)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a line has no defender stones and is two attacker stones short of a win.
+     */
+    private boolean isThreeLine(int line) {
+        return board.getLineStones(defender, line) == 0 && board.getLineStones(attacker, line) == winLength - 2;
+    }
+
+    private boolean makesDoubleFour(int cell) {
+        int firstGap = -1;
+        for (int line : board.getLinesThrough(cell)) {
+            if (!isThreeLine(line)) continue;
+            for (int gap : board.getLineCells(line)) {
+                if (gap == cell || !board.isEmpty(gap)) continue;
+                if (firstGap < 0) {
+                    firstGap = gap;
+                } else if (gap != firstGap) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects candidate attacking moves: cells that turn a line without defender stones into
+     * a four (collected first) or a three.
+     *
+     * @param threats The buffer that receives the packed moves.
+     */
+    private void generateThreats(MoveList threats) {
+        threats.clear();
+        stamp++;
+        int lines = board.getLineCount();
+        for (int needed = winLength - 2; needed >= Math.max(1, winLength - 3); needed--) {
+            for (int line = 0; line < lines; line++) {
+                if (board.getLineStones(defender, line) == 0 && board.getLineStones(attacker, line) == needed) {
+                    addEmptyCells(line, threats);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the defender's moves that create a four of their own, which force the attacker to respond.
+     *
+     * @param defenses The buffer of defending moves.
+     */
+    private void addCounterFours(MoveList defenses) {
+        int lines = board.getLineCount();
+        for (int line = 0; line < lines; line++) {
+            if (board.getLineStones(attacker, line) == 0 && board.getLineStones(defender, line) == winLength - 2) {
+                addEmptyCells(line, defenses);
+            }
+        }
+    }
+
+    /**
+     * Finds a cell that completes a line for the given side.
+     *
+     * @param side The symbol of the side.
+     * @return The cell index, or {@code -1} if the side has no four.
+     */
+    private int findFour(char side) {
+        char other = side == attacker ? defender : attacker;
+        int lines = board.getLineCount();
+        for (int line = 0; line < lines; line++) {
+            if (board.getLineStones(side, line) == winLength - 1 && board.getLineStones(other, line) == 0) {
+                return emptyCellOf(line);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether a side has a four whose completing cell differs from the given one.
+     */
+    private boolean hasSecondFour(char side, int cell) {
+        char other = side == attacker ? defender : attacker;
+        int lines = board.getLineCount();
+        for (int line = 0; line < lines; line++) {
+            if (board.getLineStones(side, line) == winLength - 1 && board.getLineStones(other, line) == 0
+                    && emptyCellOf(line) != cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addEmptyCells(int line, MoveList out) {
+        for (int cell : board.getLineCells(line)) {
+            if (marks[cell] != stamp && board.isEmpty(cell)) {
+                marks[cell] = stamp;
+                out.add(toMove(cell));
+            }
+        }
+    }
+
+    private int emptyCellOf(int line) {
+        for (int cell : board.getLineCells(line)) {
+            if (board.isEmpty(cell)) return cell;
+        }
+        throw new IllegalStateException("Line " + line + " has no empty cell");
+    }
+
+    private int toMove(int cell) {
+        return Move.of(cell / size, cell % size);
+    }
+
+    private int cellOf(int move) {
+        return Move.row(move) * size + Move.col(move);
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.tictactoe.models;
+
+import org.tinylog.Logger;
+
+/**
+ * An AI strategy for large k-in-a-row boards, such as 15x15 five in a row.
+ * <p>
+ * The `ThreatSpaceStrategy` plays tactically: it wins immediately when it can, blocks the
+ * opponent's immediate win, and otherwise runs a {@link ThreatSpaceSearch} to find a forced
+ * win through sequences of fours and threes. If the opponent has such a sequence, it takes
+ * the opponent's key cell instead. Quiet positions fall back to the move near the existing
+ * stones with the best static pattern evaluation ({@link Board#evaluate(char)}).
+ * </p>
+ * <p>
+ * Each search is bounded by a node budget and a cap on remembered positions, so a move is
+ * returned in bounded time and memory even when no forced win exists.
+ * </p>
+ */
+public class ThreatSpaceStrategy implements AIDifficultyStrategy {
+
+    /**
+     * Board size the strategy is designed for.
+     */
+    public static final int BOARD_SIZE = 15;
+
+    /**
+     * Winning run length the strategy is designed for.
+     */
+    public static final int WIN_LENGTH = 5;
+
+    private static final int DEFAULT_MAX_DEPTH = 12;
+    private static final long DEFAULT_NODE_BUDGET = 200_000;
+    private static final int DEFAULT_MAX_TABLE_ENTRIES = 100_000;
+    private static final int NEIGHBOURHOOD = 2; // positional moves are considered this close to a stone
+
+    private final int maxDepth;
+    private final long nodeBudget;
+    private final int maxTableEntries;
+
+    /**
+     * Creates the strategy with the default search limits.
+     */
+    public ThreatSpaceStrategy() {
+        this(DEFAULT_MAX_DEPTH, DEFAULT_NODE_BUDGET, DEFAULT_MAX_TABLE_ENTRIES);
+    }
+
+    /**
+     * Creates the strategy with custom search limits.
+     *
+     * @param maxDepth        The maximum number of attacking moves in a forced win.
+     * @param nodeBudget      The maximum number of nodes each search may visit.
+     * @param maxTableEntries The maximum number of positions each search may remember.
+     */
+    public ThreatSpaceStrategy(int maxDepth, long nodeBudget, int maxTableEntries) {
+        this.maxDepth = maxDepth;
+        this.nodeBudget = nodeBudget;
+        this.maxTableEntries = maxTableEntries;
+    }
+
+    /**
+     * Selects a move by trying, in order: an immediate win, blocking an immediate loss, a forced
+     * win for the AI, refuting a forced win for the opponent and a positional move.
+     *
+     * @param board       The current state of the game board.
+     * @param aiSymbol    The symbol used by the AI player (e.g., 'X' or 'O').
+     * @param humanSymbol The symbol used by the human player (e.g., 'X' or 'O').
+     * @return The packed move (see {@link Move}), or {@link Move#NONE} if the board is full.
+     */
+    @Override
+    public int selectMove(Board board, char aiSymbol, char humanSymbol) {
+        if (board.isFull()) return Move.NONE;
+        if (board.getMoveCount() == 0) {
+            int center = board.getSize() / 2;
+            return Move.of(center, center);
+        }
+
+        ThreatSpaceSearch attack = new ThreatSpaceSearch(board, aiSymbol, humanSymbol,
+                maxDepth, nodeBudget / 2, maxTableEntries);
+        int move = attack.findForcedWin();
+        if (move != Move.NONE) {
+            Logger.info("AI (Threat) found a forced win starting at Row {}, Column {} ({} nodes).",
+                    Move.row(move), Move.col(move), attack.getNodes());
+            return move;
+        }
+        int block = findCompletingCell(board, humanSymbol, aiSymbol);
+        if (block != Move.NONE) return block;
+
+        ThreatSpaceSearch defense = new ThreatSpaceSearch(board, humanSymbol, aiSymbol,
+                maxDepth, nodeBudget / 2, maxTableEntries);
+        move = defense.findForcedWin();
+        if (move != Move.NONE) {
+            Logger.info("AI (Threat) is refuting a forced win at Row {}, Column {} ({} nodes).",
+                    Move.row(move), Move.col(move), defense.getNodes());
+            return move;
+        }
+        return positionalMove(board, aiSymbol);
+    }
+
+    /**
+     * Finds a cell that completes a winning line for the given side.
+     *
+     * @param board The board.
+     * @param side  The symbol of the side about to win.
+     * @param other The symbol of the opposing side.
+     * @return The packed move, or {@link Move#NONE} if the side cannot win immediately.
+     */
+    private int findCompletingCell(Board board, char side, char other) {
+        int needed = board.getWinLength() - 1;
+        for (int line = 0; line < board.getLineCount(); line++) {
+            if (board.getLineStones(side, line) == needed && board.getLineStones(other, line) == 0) {
+                for (int cell : board.getLineCells(line)) {
+                    if (board.isEmpty(cell)) return Move.of(cell / board.getSize(), cell % board.getSize());
+                }
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Picks the empty cell near the existing stones with the best static evaluation.
+     *
+     * @param board    The board.
+     * @param aiSymbol The symbol of the AI.
+     * @return The packed move.
+     */
+    private int positionalMove(Board board, char aiSymbol) {
+        int size = board.getSize();
+        char[][] cells = board.getBoard();
+        long bestScore = Long.MIN_VALUE;
+        int bestMove = Move.NONE;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (cells[row][col] != ' ' || !hasNeighbour(cells, row, col)) continue;
+                board.makeMove(row, col, aiSymbol);
+                long score = board.evaluate(aiSymbol);
+                board.undoMove();
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = Move.of(row, col);
+                }
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Checks whether a stone lies within {@link #NEIGHBOURHOOD} cells of the given cell.
+     *
+     * @param cells The board cells.
+     * @param row   The row index of the cell.
+     * @param col   The column index of the cell.
+     * @return {@code true} if a stone is nearby; {@code false} otherwise.
+     */
+    private boolean hasNeighbour(char[][] cells, int row, int col) {
+        int size = cells.length;
+        for (int r = Math.max(0, row - NEIGHBOURHOOD); r <= Math.min(size - 1, row + NEIGHBOURHOOD); r++) {
+            for (int c = Math.max(0, col - NEIGHBOURHOOD); c <= Math.min(size - 1, col + NEIGHBOURHOOD); c++) {
+                if (cells[r][c] != ' ') return true;
+            }
+        }
+        return false;
+    }
+}
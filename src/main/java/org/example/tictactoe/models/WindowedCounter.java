@@ -0,0 +1,124 @@
+package org.example.tictactoe.models;
+
+import java.util.Arrays;
+
+/**
+ * Counts events per day over a sliding window of the most recent {@value #BUCKETS} days.
+ * <p>
+ * The counts live in a ring buffer indexed by epoch day. Moving to a new day clears only the
+ * buckets that have fallen out of the window, so old events expire without any scan of the
+ * history, and the total over any window of up to {@value #BUCKETS} days is a sum of at most
+ * that many buckets.
+ * </p>
+ */
+public final class WindowedCounter {
+
+    /**
+     * The number of days kept, enough for a 30-day window.
+     */
+    public static final int BUCKETS = 32;
+
+    private final int[] buckets;
+    private long lastDay; // epoch day of the newest bucket
+
+    /**
+     * Creates an empty counter.
+     */
+    public WindowedCounter() {
+        this(Long.MIN_VALUE, new int[BUCKETS]);
+    }
+
+    /**
+     * Restores a counter from its persisted state.
+     *
+     * @param lastDay The epoch day of the newest bucket, see {@link #getLastDay()}.
+     * @param buckets The counts, see {@link #getBuckets()}.
+     * @throws IllegalArgumentException If the number of buckets is not {@value #BUCKETS}.
+     */
+    public WindowedCounter(long lastDay, int[] buckets) {
+        if (buckets.length != BUCKETS) {
+            throw new IllegalArgumentException("Expected " + BUCKETS + " buckets, got " + buckets.length);
+        }
+        this.lastDay = lastDay;
+        this.buckets = buckets.clone();
+    }
+
+    /**
+     * Counts an event. Events older than the window are ignored.
+     *
+     * @param day    The epoch day of the event.
+     * @param amount The number of events.
+     */
+    public void add(long day, int amount) {
+        if (lastDay == Long.MIN_VALUE) {
+            lastDay = day;
+        } else if (day > lastDay) {
+            long expired = Math.min(day - lastDay, BUCKETS);
+            for (long i = 1; i <= expired; i++) {
+                buckets[index(lastDay + i)] = 0;
+            }
+            lastDay = day;
+        } else if (day <= lastDay - BUCKETS) {
+            return;
+        }
+        buckets[index(day)] += amount;
+    }
+
+    /**
+     * Gets the number of events in the given number of days up to and including a day.
+     *
+     * @param today The epoch day the window ends on.
+     * @param days  The length of the window in days, at most {@value #BUCKETS}.
+     * @return The number of events in the window.
+     * @throws IllegalArgumentException If the window is longer than the counter keeps.
+     */
+    public long sum(long today, int days) {
+        if (days > BUCKETS) throw new IllegalArgumentException("A window of " + days + " days is too long");
+        if (lastDay == Long.MIN_VALUE) return 0;
+        long from = Math.max(today - days + 1, lastDay - BUCKETS + 1);
+        long to = Math.min(today, lastDay);
+        long total = 0;
+        for (long day = from; day <= to; day++) {
+            total += buckets[index(day)];
+        }
+        return total;
+    }
+
+    /**
+     * Checks whether every counted event has left the window.
+     *
+     * @param today The current epoch day.
+     * @return {@code true} if the counter is empty as of {@code today}.
+     */
+    public boolean isExpired(long today) {
+        return sum(today, BUCKETS) == 0;
+    }
+
+    /**
+     * Gets the epoch day of the newest bucket, for persistence.
+     *
+     * @return The day, or {@link Long#MIN_VALUE} if nothing has been counted.
+     */
+    public long getLastDay() {
+        return lastDay;
+    }
+
+    /**
+     * Gets a copy of the ring buffer, for persistence. Bucket {@code day mod BUCKETS} holds the
+     * count of {@code day}.
+     *
+     * @return The counts.
+     */
+    public int[] getBuckets() {
+        return buckets.clone();
+    }
+
+    private static int index(long day) {
+        return (int) Math.floorMod(day, (long) BUCKETS);
+    }
+
+    @Override
+    public String toString() {
+        return "WindowedCounter[lastDay=" + lastDay + ", buckets=" + Arrays.toString(buckets) + "]";
+    }
+}
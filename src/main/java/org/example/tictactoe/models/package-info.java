@@ -19,14 +19,29 @@
  *         Represents the AI player and integrates with difficulty strategies to determine moves.</li>
  *     <li><strong>{@link org.example.tictactoe.models.Leaderboard}:</strong>
  *         Maintains and persists player win counts for the leaderboard.</li>
+ *     <li><strong>{@link org.example.tictactoe.models.ShardedLeaderboard}:</strong>
+ *         Hash-partitions win counts over independently locked, sorted shards and merges their heads for the top players.</li>
+ *     <li><strong>{@link org.example.tictactoe.models.WindowedCounter}:</strong>
+ *         Counts wins per day in a ring buffer for the daily, weekly and monthly leaderboards.</li>
  *     <li><strong>{@link org.example.tictactoe.models.Stats}:</strong>
  *         Tracks game results and provides methods for persisting and retrieving them.</li>
+ *     <li><strong>{@link org.example.tictactoe.models.OpeningTrie}:</strong>
+ *         Counts games and results per canonical opening, for move ordering and popular openings.</li>
+ *     <li><strong>{@link org.example.tictactoe.models.GameRecord}:</strong>
+ *         The complete record of a finished game: players, board, seed, timing, result and moves.</li>
  *     <li><strong>{@link org.example.tictactoe.models.AIDifficultyStrategy}:</strong>
  *         Interface defining the contract for AI move strategies.</li>
  *     <li><strong>{@link org.example.tictactoe.models.EasyStrategy}:</strong>
  *         Implements a basic AI strategy that selects random moves.</li>
  *     <li><strong>{@link org.example.tictactoe.models.HardStrategy}:</strong>
  *         Implements a more advanced AI strategy using minimax algorithm.</li>
+ *     <li><strong>{@link org.example.tictactoe.models.ThreatSpaceStrategy}:</strong>
+ *         Implements a tactical AI strategy for large boards that searches for forced wins through threats.</li>
+ *     <li><strong>{@link org.example.tictactoe.models.PositionCache}:</strong>
+ *         Persists search results in a memory-mapped, CLOCK-evicted table keyed by canonical position hash,
+ *         used through {@link org.example.tictactoe.models.CachingStrategy}.</li>
+ *     <li><strong>{@link org.example.tictactoe.models.ExactResult}:</strong>
+ *         The shared cache format of exactly solved positions, written by hints and batch analysis.</li>
  * </ul>
  *
  * <h2>Responsibilities:</h2>
@@ -0,0 +1,99 @@
+package org.example.tictactoe.replication;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A grow-only counter that can be updated on several nodes and merged in any order.
+ * <p>
+ * Every node counts its own increments in its own slot; the value is the sum of all slots.
+ * Merging keeps the larger count of each slot, which is commutative, associative and
+ * idempotent, so replicas that have seen the same updates have the same value no matter how
+ * often or in which order they exchanged their state.
+ * </p>
+ * <p>
+ * Not thread-safe; {@link ReplicatedLeaderboard} guards its counters.
+ * </p>
+ */
+public final class GCounter {
+
+    private final Map<String, Long> counts = new HashMap<>();
+
+    /**
+     * Adds to the slot of a node.
+     *
+     * @param node   The node making the update.
+     * @param amount The amount to add.
+     * @throws IllegalArgumentException If the amount is negative.
+     */
+    public void increment(String node, long amount) {
+        if (amount < 0) throw new IllegalArgumentException("A grow-only counter cannot be decremented");
+        counts.merge(node, amount, Long::sum);
+    }
+
+    /**
+     * Merges the slot of one node from another replica.
+     *
+     * @param node  The node owning the slot.
+     * @param count The other replica's count for that node.
+     * @return {@code true} if this counter changed.
+     */
+    public boolean merge(String node, long count) {
+        long current = get(node);
+        if (count <= current) return false;
+        counts.put(node, count);
+        return true;
+    }
+
+    /**
+     * Merges another replica into this one.
+     *
+     * @param other The other replica.
+     * @return {@code true} if this counter changed.
+     */
+    public boolean merge(GCounter other) {
+        boolean changed = false;
+        for (Map.Entry<String, Long> entry : other.counts.entrySet()) {
+            changed |= merge(entry.getKey(), entry.getValue());
+        }
+        return changed;
+    }
+
+    /**
+     * Gets the slot of one node.
+     *
+     * @param node The node.
+     * @return The increments made on that node, as far as this replica knows.
+     */
+    public long get(String node) {
+        return counts.getOrDefault(node, 0L);
+    }
+
+    /**
+     * Gets the value of the counter.
+     *
+     * @return The sum of all slots.
+     */
+    public long value() {
+        long value = 0;
+        for (long count : counts.values()) {
+            value += count;
+        }
+        return value;
+    }
+
+    /**
+     * Gets the slots of all nodes.
+     *
+     * @return An unmodifiable view of the counts per node.
+     */
+    public Map<String, Long> entries() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public String toString() {
+        return "GCounter" + counts;
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.tictactoe.replication;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A counter that can be incremented and decremented on several nodes and merged in any order.
+ * <p>
+ * It is a pair of {@link GCounter}s, one for the increments and one for the decrements; the
+ * value is their difference. The leaderboard uses decrements to take back a win, e.g. one
+ * recorded by mistake, without any coordination between the nodes.
+ * </p>
+ * <p>
+ * Not thread-safe; {@link ReplicatedLeaderboard} guards its counters.
+ * </p>
+ */
+public final class PNCounter {
+
+    private final GCounter increments = new GCounter();
+    private final GCounter decrements = new GCounter();
+
+    /**
+     * Adds to the counter on a node.
+     *
+     * @param node   The node making the update.
+     * @param amount The amount to add, not negative.
+     */
+    public void increment(String node, long amount) {
+        increments.increment(node, amount);
+    }
+
+    /**
+     * Subtracts from the counter on a node.
+     *
+     * @param node   The node making the update.
+     * @param amount The amount to subtract, not negative.
+     */
+    public void decrement(String node, long amount) {
+        decrements.increment(node, amount);
+    }
+
+    /**
+     * Merges the slots of one node from another replica.
+     *
+     * @param node       The node owning the slots.
+     * @param increments The other replica's increments made on that node.
+     * @param decrements The other replica's decrements made on that node.
+     * @return {@code true} if this counter changed.
+     */
+    public boolean merge(String node, long increments, long decrements) {
+        boolean changed = this.increments.merge(node, increments);
+        return this.decrements.merge(node, decrements) | changed;
+    }
+
+    /**
+     * Merges another replica into this one.
+     *
+     * @param other The other replica.
+     * @return {@code true} if this counter changed.
+     */
+    public boolean merge(PNCounter other) {
+        boolean changed = increments.merge(other.increments);
+        return decrements.merge(other.decrements) | changed;
+    }
+
+    /**
+     * Gets the increments made on one node.
+     *
+     * @param node The node.
+     * @return The increments, as far as this replica knows.
+     */
+    public long getIncrements(String node) {
+        return increments.get(node);
+    }
+
+    /**
+     * Gets the decrements made on one node.
+     *
+     * @param node The node.
+     * @return The decrements, as far as this replica knows.
+     */
+    public long getDecrements(String node) {
+        return decrements.get(node);
+    }
+
+    /**
+     * Gets the nodes that have updated the counter.
+     *
+     * @return The node ids.
+     */
+    public Set<String> nodes() {
+        Set<String> nodes = new HashSet<>(increments.entries().keySet());
+        nodes.addAll(decrements.entries().keySet());
+        return nodes;
+    }
+
+    /**
+     * Gets the value of the counter.
+     *
+     * @return The increments minus the decrements.
+     */
+    public long value() {
+        return increments.value() - decrements.value();
+    }
+
+    @Override
+    public String toString() {
+        return "PNCounter[increments=" + increments.entries() + ", decrements=" + decrements.entries() + "]";
+    }
+}
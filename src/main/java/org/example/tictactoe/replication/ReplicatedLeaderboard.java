@@ -0,0 +1,572 @@
+package org.example.tictactoe.replication;
+
+import org.tinylog.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A leaderboard of all-time wins shared by several processes on one machine.
+ * <p>
+ * Each process runs a node with its own id. The wins of a player are a {@link PNCounter}, so
+ * every node records wins in its own slot and the replicas converge by merging, without locks,
+ * leaders or a shared file. Every {@value #GOSSIP_INTERVAL_MILLIS} ms a node sends its peers a
+ * delta with only the slots it changed since the previous round; a peer that is new or has
+ * reconnected, and every peer every {@value #FULL_STATE_ROUNDS} rounds, gets the full state
+ * instead, which repairs deltas lost while a peer was down and carries updates between nodes
+ * that are not peers of each other. Messages go over loopback TCP connections.
+ * </p>
+ * <p>
+ * Every message announces how many updates its sender has made, so a node knows how many of a
+ * peer's updates it is missing; see {@link #getLag()}. A node with a state file saves local
+ * updates at once and merged updates at the end of the round, and picks up where it left off
+ * after a restart.
+ * </p>
+ * <p>
+ * A node that starts without its state file (new, memory-only, or having lost the file) counts
+ * in the slot of a new incarnation, {@code <nodeId>.<start time>}, and records the slot in the
+ * state file. Its earlier slot lives on in the peers, and since slots only ever grow by
+ * max-merge, reusing it would let the peers' higher old counts absorb every update made before
+ * the first full state from a peer arrived.
+ * </p>
+ *
+ * <h2>Protocol</h2>
+ * <pre>
+ * kind:byte (DELTA | FULL) sender:UTF senderSlot:UTF sentAt:long(epoch ms) senderUpdates:long entryCount:int
+ * entry: player:UTF node:UTF increments:long decrements:long
+ * </pre>
+ */
+public class ReplicatedLeaderboard implements Closeable {
+
+    /**
+     * The time between two gossip rounds.
+     */
+    public static final long GOSSIP_INTERVAL_MILLIS = 200;
+
+    static final int FULL_STATE_ROUNDS = 10;
+    static final byte DELTA = 1;
+    static final byte FULL = 2;
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 500;
+    private static final String SLOT_LINE = "slot";
+
+    private final String nodeId;
+    private final String slot; // the counter slot of this incarnation of the node
+    private final List<Integer> peerPorts;
+    private final Path stateFile;
+    private final ServerSocket server;
+    private final ScheduledExecutorService gossip;
+
+    // Guarded by this.
+    private final Map<String, PNCounter> counters = new HashMap<>();
+    private final Set<String> changed = new HashSet<>(); // players whose own slot changed since the last delta
+    private final Map<String, Peer> peers = new HashMap<>(); // by node id, for lag
+    private long updates; // updates made in this node's slot
+    private boolean unsaved;
+
+    // Used by the gossip thread only.
+    private final Map<Integer, DataOutputStream> connections = new HashMap<>();
+    private long round;
+
+    private final Set<Socket> accepted = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Starts a node that keeps its state in memory only.
+     *
+     * @param nodeId    The id of this node, unique among the nodes.
+     * @param port      The loopback port to listen on, or 0 for any free port.
+     * @param peerPorts The ports of the peers to gossip with.
+     * @throws IOException If the port cannot be bound.
+     */
+    public ReplicatedLeaderboard(String nodeId, int port, List<Integer> peerPorts) throws IOException {
+        this(nodeId, port, peerPorts, null);
+    }
+
+    /**
+     * Starts a node, restoring its state from a file.
+     *
+     * @param nodeId    The id of this node, unique among the nodes; no whitespace or ':'.
+     * @param port      The loopback port to listen on, or 0 for any free port.
+     * @param peerPorts The ports of the peers to gossip with.
+     * @param stateFile The file keeping the state, or {@code null} to keep it in memory only.
+     * @throws IOException If the port cannot be bound or the state file cannot be read.
+     */
+    public ReplicatedLeaderboard(String nodeId, int port, List<Integer> peerPorts, Path stateFile)
+            throws IOException {
+        if (nodeId.isEmpty() || nodeId.matches(".*[\\s:].*")) {
+            throw new IllegalArgumentException("Invalid node id: '" + nodeId + "'");
+        }
+        this.nodeId = nodeId;
+        this.peerPorts = List.copyOf(peerPorts);
+        this.stateFile = stateFile;
+        String loadedSlot = stateFile != null ? load() : null;
+        if (loadedSlot != null) {
+            slot = loadedSlot;
+        } else {
+            slot = nodeId + "." + Long.toString(System.currentTimeMillis(), 36);
+            unsaved = stateFile != null; // record the new slot even before the first update
+        }
+        updates = merged(slot);
+
+        server = new ServerSocket();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        Thread acceptor = new Thread(this::accept, "replication-accept-" + nodeId);
+        acceptor.setDaemon(true);
+        acceptor.start();
+        gossip = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replication-gossip-" + nodeId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        gossip.scheduleWithFixedDelay(this::gossipRound, GOSSIP_INTERVAL_MILLIS, GOSSIP_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        Logger.info("Replicated leaderboard node {} (slot {}) listening on port {}, peers {}.", nodeId, slot,
+                getPort(), this.peerPorts);
+    }
+
+    /**
+     * Gets the id of this node.
+     *
+     * @return The node id.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Gets the port this node listens on.
+     *
+     * @return The loopback port.
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Records a win for a player on this node.
+     *
+     * @param playerName The name of the player who won.
+     */
+    public void recordWin(String playerName) {
+        update(playerName, true);
+    }
+
+    /**
+     * Takes back a win of a player, e.g. one recorded by mistake, on this node.
+     *
+     * @param playerName The name of the player.
+     */
+    public void retractWin(String playerName) {
+        update(playerName, false);
+    }
+
+    private synchronized void update(String playerName, boolean win) {
+        PNCounter counter = counters.computeIfAbsent(playerName, name -> new PNCounter());
+        if (win) {
+            counter.increment(slot, 1);
+        } else {
+            counter.decrement(slot, 1);
+        }
+        updates++;
+        changed.add(playerName);
+        unsaved = true;
+        save();
+    }
+
+    /**
+     * Gets the wins of a player, as far as this node knows.
+     *
+     * @param playerName The name of the player.
+     * @return The wins over all nodes.
+     */
+    public synchronized long getWins(String playerName) {
+        PNCounter counter = counters.get(playerName);
+        return counter == null ? 0 : counter.value();
+    }
+
+    /**
+     * Retrieves the win counts over all nodes, as far as this node knows, sorted in descending
+     * order of wins and then by name. Players without wins are left out.
+     *
+     * @return A map containing player names as keys and their respective win counts as values.
+     */
+    public synchronized Map<String, Integer> getWinCounts() {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        counters.forEach((name, counter) -> {
+            if (counter.value() > 0) entries.add(Map.entry(name, (int) counter.value()));
+        });
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        entries.forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+        return counts;
+    }
+
+    /**
+     * Gets the replication lag of every node this node has heard from.
+     *
+     * @return The lag per peer, ordered by node id.
+     */
+    public synchronized List<ReplicationLag> getLag() {
+        long now = System.currentTimeMillis();
+        List<ReplicationLag> lag = new ArrayList<>();
+        peers.forEach((node, peer) -> lag.add(new ReplicationLag(node, Math.max(0, peer.updates - merged(peer.slot)),
+                now - peer.lastHeard, peer.deliveryMillis)));
+        lag.sort(Comparator.comparing(ReplicationLag::node));
+        return lag;
+    }
+
+    /**
+     * Counts the updates in a slot that have been merged here.
+     */
+    private long merged(String slot) {
+        long total = 0;
+        for (PNCounter counter : counters.values()) {
+            total += counter.getIncrements(slot) + counter.getDecrements(slot);
+        }
+        return total;
+    }
+
+    /**
+     * Stops gossiping, closes all connections and saves the state.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        gossip.shutdown();
+        try {
+            gossip.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        connections.values().forEach(ReplicatedLeaderboard::closeQuietly);
+        accepted.forEach(ReplicatedLeaderboard::closeQuietly);
+        closeQuietly(server);
+        synchronized (this) {
+            save();
+        }
+        Logger.info("Replicated leaderboard node {} stopped.", nodeId);
+    }
+
+    /**
+     * Sends one round of deltas, or full states where due, to every peer.
+     */
+    void gossipRound() {
+        try {
+            sendRound();
+        } catch (RuntimeException e) {
+            Logger.error(e, "Gossip round of node {} failed", nodeId); // keep the schedule alive
+        }
+    }
+
+    private void sendRound() {
+        round++;
+        boolean fullRound = round % FULL_STATE_ROUNDS == 0;
+        byte[] delta;
+        byte[] full = null;
+        synchronized (this) {
+            delta = encode(DELTA, changed);
+            changed.clear();
+            if (fullRound) full = encode(FULL, counters.keySet());
+            save();
+        }
+        for (int port : peerPorts) {
+            DataOutputStream out = connections.get(port);
+            try {
+                boolean connected = out == null;
+                if (connected) out = connect(port);
+                if (connected && full == null) {
+                    synchronized (this) {
+                        full = encode(FULL, counters.keySet());
+                    }
+                }
+                out.write(connected || fullRound ? full : delta);
+                out.flush();
+            } catch (IOException e) {
+                if (out != null) {
+                    Logger.info("Lost the connection to the peer on port {}: {}", port, e.getMessage());
+                    closeQuietly(out);
+                    connections.remove(port);
+                } else {
+                    Logger.debug("Peer on port {} is not reachable: {}", port, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private DataOutputStream connect(int port) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        connections.put(port, out);
+        Logger.info("Node {} connected to the peer on port {}.", nodeId, port);
+        return out;
+    }
+
+    /**
+     * Encodes the slots of the given players: only this node's slots for a delta, every node's
+     * slots for a full state.
+     */
+    private byte[] encode(byte kind, Set<String> players) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(kind);
+            out.writeUTF(nodeId);
+            out.writeUTF(slot);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(updates);
+            List<String[]> entries = new ArrayList<>();
+            for (String player : players) {
+                PNCounter counter = counters.get(player);
+                for (String node : kind == FULL ? counter.nodes() : Set.of(slot)) {
+                    entries.add(new String[]{player, node});
+                }
+            }
+            out.writeInt(entries.size());
+            for (String[] entry : entries) {
+                PNCounter counter = counters.get(entry[0]);
+                out.writeUTF(entry[0]);
+                out.writeUTF(entry[1]);
+                out.writeLong(counter.getIncrements(entry[1]));
+                out.writeLong(counter.getDecrements(entry[1]));
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode in memory", e);
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                accepted.add(socket);
+                Thread reader = new Thread(() -> receive(socket), "replication-receive-" + nodeId);
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (!closed) Logger.warn("Node {} stopped accepting peers: {}", nodeId, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Merges the messages of one peer connection until it closes.
+     */
+    private void receive(Socket socket) {
+        try (socket; DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (true) {
+                byte kind;
+                try {
+                    kind = in.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (kind != DELTA && kind != FULL) throw new IOException("Unknown message kind " + kind);
+                String sender = in.readUTF();
+                String senderSlot = in.readUTF();
+                long sentAt = in.readLong();
+                long senderUpdates = in.readLong();
+                int count = in.readInt();
+                String[] players = new String[count];
+                String[] nodes = new String[count];
+                long[] increments = new long[count];
+                long[] decrements = new long[count];
+                for (int i = 0; i < count; i++) {
+                    players[i] = in.readUTF();
+                    nodes[i] = in.readUTF();
+                    increments[i] = in.readLong();
+                    decrements[i] = in.readLong();
+                }
+                merge(sender, senderSlot, sentAt, senderUpdates, players, nodes, increments, decrements);
+            }
+        } catch (IOException e) {
+            if (!closed) Logger.debug("Node {} lost a peer connection: {}", nodeId, e.getMessage());
+        } finally {
+            accepted.remove(socket);
+        }
+    }
+
+    private synchronized void merge(String sender, String senderSlot, long sentAt, long senderUpdates,
+                                    String[] players, String[] nodes, long[] increments, long[] decrements) {
+        boolean ownSlot = false;
+        for (int i = 0; i < players.length; i++) {
+            PNCounter counter = counters.computeIfAbsent(players[i], name -> new PNCounter());
+            if (counter.merge(nodes[i], increments[i], decrements[i])) {
+                unsaved = true;
+                ownSlot |= nodes[i].equals(slot);
+            }
+        }
+        if (ownSlot) { // the state file was older than the peers' copy, e.g. restored from a backup
+            updates = merged(slot);
+            Logger.warn("Node {} restored {} of its own updates from peer {}.", nodeId, updates, sender);
+        }
+        long now = System.currentTimeMillis();
+        Peer peer = peers.computeIfAbsent(sender, node -> new Peer());
+        if (!senderSlot.equals(peer.slot)) { // the peer restarted as a new incarnation
+            peer.slot = senderSlot;
+            peer.updates = 0;
+        }
+        peer.updates = Math.max(peer.updates, senderUpdates);
+        peer.lastHeard = now;
+        peer.deliveryMillis = Math.max(0, now - sentAt);
+    }
+
+    /**
+     * Loads the state file: {@code slot:<own slot>}, then one slot per line,
+     * {@code node:increments:decrements:player}.
+     *
+     * @return This node's slot, or {@code null} if there is no state file.
+     */
+    private String load() throws IOException {
+        if (!Files.exists(stateFile)) return null;
+        String ownSlot = nodeId; // files written before incarnations counted in the node id's slot
+        try (BufferedReader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] parts = line.split(":", 4);
+                if (parts.length == 2 && parts[0].equals(SLOT_LINE)) {
+                    ownSlot = parts[1];
+                    continue;
+                }
+                if (parts.length != 4) {
+                    Logger.warn("Skipping malformed line in {}: {}", stateFile, line);
+                    continue;
+                }
+                long increments = Long.parseLong(parts[1]);
+                long decrements = Long.parseLong(parts[2]);
+                counters.computeIfAbsent(parts[3], name -> new PNCounter()).merge(parts[0], increments, decrements);
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Corrupt replicated leaderboard state in " + stateFile, e);
+        }
+        Logger.info("Loaded replicated leaderboard state of node {} (slot {}) from {}.", nodeId, ownSlot, stateFile);
+        return ownSlot;
+    }
+
+    /**
+     * Writes the state file if anything changed, replacing it atomically. Called with the lock held.
+     */
+    private void save() {
+        if (stateFile == null || !unsaved) return;
+        Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(SLOT_LINE + ":" + slot);
+            writer.newLine();
+            for (Map.Entry<String, PNCounter> entry : counters.entrySet()) {
+                PNCounter counter = entry.getValue();
+                for (String node : counter.nodes()) {
+                    writer.write(node + ":" + counter.getIncrements(node) + ":" + counter.getDecrements(node) + ":"
+                            + entry.getKey());
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            Logger.error(e, "Failed to save the replicated leaderboard to {}", temp);
+            return;
+        }
+        try {
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            unsaved = false;
+        } catch (IOException e) {
+            Logger.error(e, "Failed to replace {}", stateFile);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            Logger.debug("Ignoring a failure to close: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * What this node knows about a peer's progress.
+     */
+    private static final class Peer {
+        private String slot;
+        private long updates;
+        private long lastHeard;
+        private long deliveryMillis;
+    }
+
+    /**
+     * Runs a node controlled through standard input, so that several JVMs can be started on one
+     * machine. The state is kept in {@code leaderboard_<nodeId>.crdt} in the working directory.
+     * <p>
+     * Commands, one per line: {@code win <player>}, {@code retract <player>}, {@code counts}
+     * (answers {@code COUNTS {player=wins, ...}}), {@code lag} (answers {@code LAG [...]}) and
+     * {@code quit}. The node prints {@code READY <port>} once it listens.
+     * </p>
+     *
+     * @param args The node id, the port to listen on and the ports of the peers.
+     * @throws IOException If the node cannot start or standard input fails.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReplicatedLeaderboard <nodeId> <port> [peerPort...]");
+            System.exit(1);
+        }
+        List<Integer> peerPorts = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            peerPorts.add(Integer.parseInt(args[i]));
+        }
+        Path stateFile = Path.of("leaderboard_" + args[0] + ".crdt");
+        try (ReplicatedLeaderboard node = new ReplicatedLeaderboard(args[0], Integer.parseInt(args[1]), peerPorts,
+                stateFile);
+             BufferedReader commands = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            System.out.println("READY " + node.getPort());
+            for (String line = commands.readLine(); line != null; line = commands.readLine()) {
+                String[] command = line.trim().split("\\s+", 2);
+                switch (command[0]) {
+                    case "win" -> node.recordWin(command[1]);
+                    case "retract" -> node.retractWin(command[1]);
+                    case "counts" -> System.out.println("COUNTS " + node.getWinCounts());
+                    case "lag" -> System.out.println("LAG " + node.getLag());
+                    case "quit" -> {
+                        return;
+                    }
+                    default -> System.out.println("ERROR unknown command: " + line);
+                }
+            }
+        }
+    }
+}
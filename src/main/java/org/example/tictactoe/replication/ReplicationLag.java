@@ -0,0 +1,22 @@
+package org.example.tictactoe.replication;
+
+/**
+ * How far one node's view of a peer trails the peer itself.
+ *
+ * @param node             The id of the peer.
+ * @param updatesBehind    The updates the peer has made that have not been merged here yet, as of the
+ *                         peer's last message.
+ * @param millisSinceHeard The time since the last message from the peer.
+ * @param deliveryMillis   The time the last message from the peer took from sending to merging.
+ */
+public record ReplicationLag(String node, long updatesBehind, long millisSinceHeard, long deliveryMillis) {
+
+    /**
+     * Checks whether every update the peer has announced has been merged.
+     *
+     * @return {@code true} if nothing is missing.
+     */
+    public boolean isCaughtUp() {
+        return updatesBehind == 0;
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Contains the leaderboard shared by several game processes on one machine.
+ * <p>
+ * The `replication` package keeps win counts as conflict-free replicated data types, which
+ * every process updates locally and which converge when the processes exchange their state in
+ * any order, so no process has to coordinate with or wait for another.
+ * </p>
+ *
+ * <h2>Key Classes:</h2>
+ * <ul>
+ *     <li><strong>{@link org.example.tictactoe.replication.GCounter}:</strong>
+ *         A grow-only counter with one slot per node, merged by taking the larger slot.</li>
+ *     <li><strong>{@link org.example.tictactoe.replication.PNCounter}:</strong>
+ *         A pair of grow-only counters, so that wins can also be taken back.</li>
+ *     <li><strong>{@link org.example.tictactoe.replication.ReplicatedLeaderboard}:</strong>
+ *         A node that gossips delta states with its peers over loopback sockets and persists its state.</li>
+ *     <li><strong>{@link org.example.tictactoe.replication.ReplicationLag}:</strong>
+ *         How many updates and how much time a node trails one of its peers.</li>
+ * </ul>
+ */
+package org.example.tictactoe.replication;
@@ -0,0 +1,253 @@
+package org.example.tictactoe.services;
+
+import org.example.tictactoe.models.GameRecord;
+import org.example.tictactoe.models.Move;
+import org.tinylog.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams {@link GameRecord}s from a file written by {@link GameRecordWriter}.
+ * <p>
+ * Records are decoded one at a time from a large read buffer, so a file of any size can be
+ * scanned in constant memory. A record cut short at the end of the file, e.g. by a crash
+ * while it was written, ends the stream with a warning instead of failing.
+ * {@link GameRecordWriter} cuts such a tail off before it appends, so later records stay
+ * readable. A record that is complete but cannot be decoded is reported as a
+ * {@link CorruptRecordException} instead.
+ * </p>
+ */
+public class GameRecordReader implements Closeable {
+
+    private final Path file;
+    private final InputStream in;
+    private byte[] buffer = new byte[256];
+    private int position;
+    private int prefixLength; // bytes of the last length prefix read
+    private long end = GameRecordWriter.HEADER_BYTES; // file offset after the last complete record
+
+    /**
+     * Opens a record file for reading.
+     *
+     * @param file The record file.
+     * @throws IOException If the file cannot be opened or is not a record file.
+     */
+    public GameRecordReader(Path file) throws IOException {
+        this.file = file;
+        this.in = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+        try {
+            GameRecordWriter.checkHeader(new DataInputStream(in), file);
+        } catch (IOException e) {
+            in.close();
+            throw e instanceof EOFException ? new IOException(file + " has no record file header", e) : e;
+        }
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The record, or {@code null} at the end of the file.
+     * @throws IOException If reading fails or a record is corrupt.
+     */
+    public GameRecord read() throws IOException {
+        int length = readLength();
+        if (length < 0) return null;
+        if (length > GameRecordWriter.MAX_RECORD_BYTES) {
+            throw new CorruptRecordException("Corrupt record length " + length + " in " + file, end, null);
+        }
+        if (buffer.length < length) buffer = new byte[Math.max(length, buffer.length * 2)];
+        if (in.readNBytes(buffer, 0, length) < length) {
+            Logger.warn("Ignoring a truncated game record at the end of {}.", file);
+            return null;
+        }
+        position = 0;
+        try {
+            GameRecord record = decode();
+            end += prefixLength + length;
+            return record;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | ArithmeticException e) {
+            throw new CorruptRecordException("Corrupt game record in " + file, end, e);
+        }
+    }
+
+    /**
+     * Passes every remaining record to a consumer.
+     *
+     * @param consumer The consumer of the records.
+     * @throws IOException If reading fails or a record is corrupt.
+     */
+    public void forEach(Consumer<GameRecord> consumer) throws IOException {
+        for (GameRecord record = read(); record != null; record = read()) {
+            consumer.accept(record);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Gets the file offset just after the last record read completely.
+     *
+     * @return The offset; the header's length before the first record.
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Reads all records of a file into memory.
+     * <p>
+     * A corrupt record ends the list with a warning; the records before it are kept.
+     * </p>
+     *
+     * @param file The record file.
+     * @return The records in file order; empty if the file does not exist.
+     * @throws IOException If the file cannot be read or is not a record file.
+     */
+    public static List<GameRecord> readAll(Path file) throws IOException {
+        List<GameRecord> records = new ArrayList<>();
+        if (!Files.exists(file)) return records;
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            reader.forEach(records::add);
+        } catch (CorruptRecordException e) {
+            Logger.warn(e, "Keeping the {} records before a corrupt one in {}.", records.size(), file);
+        }
+        return records;
+    }
+
+    /**
+     * Finds where the complete records of a file end, i.e. where the next record belongs.
+     *
+     * @param file The record file.
+     * @return The offset after the last record; everything after it is a torn tail.
+     * @throws CorruptRecordException If a complete record cannot be decoded.
+     * @throws IOException            If the file cannot be read or is not a record file.
+     */
+    static long completeLength(Path file) throws IOException {
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            while (reader.read() != null) {
+                // only the offset matters
+            }
+            return reader.getEnd();
+        }
+    }
+
+    /**
+     * Reads the varint length prefix of the next record.
+     *
+     * @return The length, or -1 at the end of the file.
+     */
+    private int readLength() throws IOException {
+        int value = 0;
+        prefixLength = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift > 0) Logger.warn("Ignoring a truncated game record at the end of {}.", file);
+                return -1;
+            }
+            prefixLength++;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0 && value >= 0) return value;
+            if ((b & 0x80) == 0) break;
+        }
+        throw new CorruptRecordException("Corrupt record length in " + file, end, null);
+    }
+
+    private GameRecord decode() {
+        String player1 = readString();
+        String player2 = readString();
+        String strategy = readString();
+        int size = buffer[position++] & 0xFF;
+        int winLength = buffer[position++] & 0xFF;
+        long seed = (long) readInt() << 32 | readInt() & 0xFFFFFFFFL;
+        long startTime = readVarLong();
+        long duration = readVarLong();
+        char winner = switch (buffer[position++]) {
+            case 1 -> 'X';
+            case 2 -> 'O';
+            default -> ' ';
+        };
+
+        long moveCount = readVarLong();
+        if (size <= 0 || moveCount > size * size) throw new IllegalArgumentException("Invalid move count");
+        int[] moves = new int[(int) moveCount];
+        if (size <= GameRecordWriter.NIBBLE_MAX_SIZE) {
+            for (int i = 0; i < moves.length; i += 2) {
+                int packed = buffer[position++] & 0xFF;
+                moves[i] = move(packed >>> 4, size);
+                if (i + 1 < moves.length) moves[i + 1] = move(packed & 0x0F, size);
+            }
+        } else {
+            for (int i = 0; i < moves.length; i++) {
+                moves[i] = move((int) readVarLong(), size);
+            }
+        }
+        return new GameRecord(player1, player2, strategy, size, winLength, seed, startTime, duration, winner, moves);
+    }
+
+    private static int move(int cell, int size) {
+        return Move.of(cell / size, cell % size);
+    }
+
+    private String readString() {
+        int length = (int) readVarLong();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private int readInt() {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = value << 8 | buffer[position++] & 0xFF;
+        }
+        return value;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+    }
+
+    /**
+     * Signals a record that cannot be decoded, as opposed to a failure to read the file.
+     */
+    public static class CorruptRecordException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long offset;
+
+        CorruptRecordException(String message, long offset, Throwable cause) {
+            super(message + " after byte " + offset, cause);
+            this.offset = offset;
+        }
+
+        /**
+         * Gets the file offset just after the last record before the corrupt one.
+         *
+         * @return The offset.
+         */
+        public long getOffset() {
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.tictactoe.services;
+
+import org.example.tictactoe.models.GameRecord;
+import org.example.tictactoe.models.Move;
+import org.tinylog.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Appends {@link GameRecord}s to a compact binary file.
+ * <p>
+ * The file starts with a 5-byte header (magic and version) followed by the records, each
+ * prefixed with its length as a varint, so that a reader can skip a record without decoding
+ * it and a record cut short by a crash is detected. Before appending to an existing file, the
+ * writer cuts off such a torn tail, since a record written after it could not be told apart
+ * from the torn bytes. A record takes about 30 bytes plus the
+ * names and the moves; moves are stored as cell indices ({@code row * size + col}), packed
+ * two per byte on boards of up to 4x4 and as varints on larger boards.
+ * </p>
+ *
+ * <h2>Record layout</h2>
+ * <pre>
+ * length:varint
+ * player1, player2, strategy: varint byte count + UTF-8 bytes
+ * boardSize:byte winLength:byte seed:long(8 bytes)
+ * startTime:varlong durationMillis:varlong
+ * winner:byte (0 draw, 1 'X', 2 'O')
+ * moveCount:varint moves:(4 bits each | varint each)
+ * </pre>
+ */
+public class GameRecordWriter implements Closeable, Flushable {
+
+    static final int MAGIC = 0x47524543; // "GREC"
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = 5;
+    /** The largest board whose cell indices fit into 4 bits. */
+    static final int NIBBLE_MAX_SIZE = 4;
+    /** The longest record body; a longer length prefix can only come from corruption. */
+    static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final OutputStream out;
+    private byte[] buffer = new byte[256];
+    private int length;
+
+    /**
+     * Opens a record file for appending, creating it if it does not exist.
+     * <p>
+     * An existing file is scanned once to find the end of its last complete record, and a
+     * record torn at the end of the file is truncated.
+     * </p>
+     *
+     * @param file The record file.
+     * @throws IOException If the file cannot be opened or is not a record file.
+     */
+    public GameRecordWriter(Path file) throws IOException {
+        boolean empty = !Files.exists(file) || Files.size(file) == 0;
+        if (!empty) truncateTornTail(file);
+        out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND), 1 << 16);
+        if (empty) {
+            writeInt(MAGIC);
+            buffer[length++] = VERSION;
+            out.write(buffer, 0, length);
+            length = 0;
+        }
+    }
+
+    /**
+     * Appends a record. Records are buffered; call {@link #flush()} to make them durable.
+     *
+     * @param record The record to write.
+     * @throws IOException If writing fails.
+     * @throws IllegalArgumentException If the encoded record is longer than {@value #MAX_RECORD_BYTES} bytes.
+     */
+    public void write(GameRecord record) throws IOException {
+        length = 0;
+        writeString(record.player1());
+        writeString(record.player2());
+        writeString(record.strategy());
+        writeByte(record.boardSize());
+        writeByte(record.winLength());
+        writeLong(record.seed());
+        writeVarLong(record.startTime());
+        writeVarLong(record.durationMillis());
+        writeByte(record.winner() == 'X' ? 1 : record.winner() == 'O' ? 2 : 0);
+
+        int[] moves = record.moves();
+        int size = record.boardSize();
+        writeVarLong(moves.length);
+        if (size <= NIBBLE_MAX_SIZE) {
+            for (int i = 0; i < moves.length; i += 2) {
+                int high = cell(moves[i], size);
+                int low = i + 1 < moves.length ? cell(moves[i + 1], size) : 0;
+                writeByte(high << 4 | low);
+            }
+        } else {
+            for (int move : moves) {
+                writeVarLong(cell(move, size));
+            }
+        }
+
+        int bodyLength = length;
+        if (bodyLength > MAX_RECORD_BYTES) throw new IllegalArgumentException("Game record too long: " + bodyLength);
+        writeVarLong(bodyLength); // the prefix goes after the body in the buffer, then both are written in order
+        out.write(buffer, bodyLength, length - bodyLength);
+        out.write(buffer, 0, bodyLength);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private static int cell(int move, int size) {
+        return Move.row(move) * size + Move.col(move);
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) value;
+    }
+
+    private void writeInt(int value) {
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[length++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[length++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    /**
+     * Cuts off a record torn by a crash at the end of the file, so appended records stay readable.
+     * <p>
+     * If a complete record in the file cannot be decoded, the whole file is first copied to
+     * {@code <file>.corrupt-<time>}, so the records after it are kept for recovery, and the
+     * new records are appended after the last good one.
+     * </p>
+     */
+    private static void truncateTornTail(Path file) throws IOException {
+        long end;
+        try {
+            end = GameRecordReader.completeLength(file);
+        } catch (GameRecordReader.CorruptRecordException e) {
+            Path backup = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+            Files.copy(file, backup);
+            Logger.error(e, "Saved a copy of the corrupt game record file {} to {}.", file, backup);
+            end = e.getOffset();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            if (channel.size() > end) {
+                Logger.warn("Truncating {} bytes at the end of {}.", channel.size() - end, file);
+                channel.truncate(end);
+            }
+        }
+    }
+
+    /**
+     * Checks that an existing file starts with a record file header.
+     */
+    static void checkHeader(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            checkHeader(new DataInputStream(in), file);
+        }
+    }
+
+    static void checkHeader(DataInputStream in, Path file) throws IOException {
+        int magic = in.readInt();
+        byte version = in.readByte();
+        if (magic != MAGIC || version != VERSION) {
+            throw new IOException(file + " is not a game record file (version " + VERSION + ")");
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package org.example.tictactoe.services;
 
+import org.example.tictactoe.models.WindowedCounter;
 import org.tinylog.Logger;
 
 import java.io.*;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -12,17 +14,41 @@ import java.util.Map;
  * The `StatsPersistenceService` class manages reading and writing player statistics to
  * a text file. It supports storing player names and their associated win counts.
  * </p>
+ * <p>
+ * Recent wins per day (see {@link WindowedCounter}) are kept in a second file next to it,
+ * one player per line: {@code lastDay:count,count,...:name}.
+ * </p>
+ * <p>
+ * Both files can also be written incrementally: {@link #appendStat(String, int)} and
+ * {@link #appendWindow(String, WindowedCounter)} add one line for a changed player, and on
+ * loading a later line for the same player replaces an earlier one. {@link #saveStats(Map)}
+ * and {@link #saveWindows(Map)} rewrite a file with one line per player, which compacts it.
+ * </p>
  */
 public class StatsPersistenceService {
 
     private final String fileName;
+    private final String windowsFileName;
+
     /**
      * Constructs a new `StatsPersistenceService` instance with the specified file name.
+     * Recent wins are stored in a file of the same name with a {@code _windows} suffix.
      *
      * @param fileName The name of the file used for storing player statistics.
      */
     public StatsPersistenceService(String fileName) {
+        this(fileName, fileName.replaceFirst("(\\.[^.]*)?$", "_windows$1"));
+    }
+
+    /**
+     * Constructs a new `StatsPersistenceService` instance with explicit file names.
+     *
+     * @param fileName        The name of the file used for storing player statistics.
+     * @param windowsFileName The name of the file used for storing recent wins per day.
+     */
+    public StatsPersistenceService(String fileName, String windowsFileName) {
         this.fileName = fileName;
+        this.windowsFileName = windowsFileName;
     }
 
     /**
@@ -73,4 +99,98 @@ public class StatsPersistenceService {
             Logger.error(e, "Error writing stats to file: {}", fileName);
         }
     }
+
+    /**
+     * Appends the new win count of one player, without rewriting the file.
+     *
+     * @param name  The player's name.
+     * @param count The player's win count, replacing any earlier one.
+     */
+    public void appendStat(String name, int count) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName, true))) {
+            writer.write(name + ":" + count);
+            writer.newLine();
+        } catch (IOException e) {
+            Logger.error(e, "Error appending to stats file: {}", fileName);
+        }
+    }
+
+    /**
+     * Loads the recent wins per day of every player.
+     * <p>
+     * If the file does not exist or an error occurs during reading, an empty map is returned.
+     * Malformed lines are skipped.
+     * </p>
+     *
+     * @return A map containing player names as keys and their recent wins as values.
+     */
+    public Map<String, WindowedCounter> loadWindows() {
+        Logger.info("Attempting to load recent wins from file: {}", windowsFileName);
+        Map<String, WindowedCounter> data = new HashMap<>();
+        File file = new File(windowsFileName);
+        if (!file.exists()) {
+            Logger.warn("Recent wins file does not exist: {}", windowsFileName);
+            return data;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(":", 3);
+                if (parts.length != 3) continue;
+                try {
+                    int[] buckets = Arrays.stream(parts[1].split(",")).mapToInt(Integer::parseInt).toArray();
+                    data.put(parts[2], new WindowedCounter(Long.parseLong(parts[0]), buckets));
+                } catch (IllegalArgumentException e) {
+                    Logger.warn("Skipping malformed recent wins line: {}", line);
+                }
+            }
+            Logger.info("Successfully loaded recent wins from file: {}", windowsFileName);
+        } catch (IOException e) {
+            Logger.error(e, "Error reading from recent wins file: {}", windowsFileName);
+        }
+        return data;
+    }
+
+    /**
+     * Saves the recent wins per day of every player.
+     *
+     * @param data A map containing player names as keys and their recent wins as values.
+     */
+    public void saveWindows(Map<String, WindowedCounter> data) {
+        Logger.info("Saving recent wins to file: {}", windowsFileName);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(windowsFileName))) {
+            for (Map.Entry<String, WindowedCounter> entry : data.entrySet()) {
+                writer.write(formatWindow(entry.getKey(), entry.getValue()));
+                writer.newLine();
+            }
+            Logger.info("Recent wins successfully saved to file: {}", windowsFileName);
+        } catch (IOException e) {
+            Logger.error(e, "Error writing recent wins to file: {}", windowsFileName);
+        }
+    }
+
+    /**
+     * Appends the recent wins of one player, without rewriting the file.
+     *
+     * @param name    The player's name.
+     * @param counter The player's recent wins, replacing any earlier ones.
+     */
+    public void appendWindow(String name, WindowedCounter counter) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(windowsFileName, true))) {
+            writer.write(formatWindow(name, counter));
+            writer.newLine();
+        } catch (IOException e) {
+            Logger.error(e, "Error appending to recent wins file: {}", windowsFileName);
+        }
+    }
+
+    private static String formatWindow(String name, WindowedCounter counter) {
+        StringBuilder line = new StringBuilder().append(counter.getLastDay()).append(':');
+        int[] buckets = counter.getBuckets();
+        for (int i = 0; i < buckets.length; i++) {
+            if (i > 0) line.append(',');
+            line.append(buckets[i]);
+        }
+        return line.append(':').append(name).toString();
+    }
 }
@@ -15,6 +15,9 @@
  *         for saving and loading lists of data to and from files.</li>
  *     <li><strong>{@link org.example.tictactoe.services.StatsPersistenceService}:</strong>
  *         Provides specialized functionality for saving and loading leaderboard statistics.</li>
+ *     <li><strong>{@link org.example.tictactoe.services.GameRecordWriter} and
+ *         {@link org.example.tictactoe.services.GameRecordReader}:</strong>
+ *         Stream game records to and from a compact binary file.</li>
  * </ul>
  *
  * <h2>Responsibilities:</h2>
@@ -0,0 +1,53 @@
+package org.example.tictactoe.simulation;
+
+import org.example.tictactoe.models.AIDifficultyStrategy;
+import org.example.tictactoe.models.Board;
+import org.example.tictactoe.models.Move;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays one game between two strategies without any user interface.
+ * <p>
+ * The first move is a random cell chosen from the game's seed, so that deterministic
+ * strategies still produce varied games and every game can be replayed from its seed.
+ * </p>
+ */
+public final class Match {
+
+    /**
+     * The outcome of a game.
+     *
+     * @param winner The winning symbol ('X' or 'O'), or ' ' for a draw.
+     * @param moves  The number of moves played.
+     */
+    public record Result(char winner, int moves) {
+    }
+
+    private Match() {
+    }
+
+    /**
+     * Plays a game to the end.
+     *
+     * @param x         The strategy playing 'X', which moves first.
+     * @param o         The strategy playing 'O'.
+     * @param size      The number of rows and columns.
+     * @param winLength The number of symbols in a row needed to win.
+     * @param seed      The seed that chooses the opening move.
+     * @return The outcome.
+     */
+    public static Result play(AIDifficultyStrategy x, AIDifficultyStrategy o, int size, int winLength, long seed) {
+        Board board = new Board(size, winLength);
+        int opening = new SplittableRandom(seed).nextInt(board.getCellCount());
+        board.makeMove(opening / size, opening % size, 'X');
+        char turn = 'O';
+        while (board.checkWinner() == ' ' && !board.isFull()) {
+            char other = turn == 'X' ? 'O' : 'X';
+            int move = (turn == 'X' ? x : o).selectMove(board, turn, other);
+            if (move == Move.NONE || !board.makeMove(move, turn)) break;
+            turn = other;
+        }
+        return new Result(board.checkWinner(), board.getMoveCount());
+    }
+}
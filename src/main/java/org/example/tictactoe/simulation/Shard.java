@@ -0,0 +1,68 @@
+package org.example.tictactoe.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A unit of simulation work: a range of seeds played between two strategies.
+ * <p>
+ * Game {@code i} of the shard is played with seed {@code firstSeed + i}; the first strategy
+ * plays 'X' on even seeds and 'O' on odd ones, so both strategies open equally often.
+ * </p>
+ *
+ * @param id        The shard number, unique within one run.
+ * @param first     The name of the first strategy, as registered in the strategy factory.
+ * @param second    The name of the second strategy.
+ * @param size      The number of rows and columns.
+ * @param winLength The number of symbols in a row needed to win.
+ * @param firstSeed The seed of the shard's first game.
+ * @param games     The number of games.
+ */
+public record Shard(int id, String first, String second, int size, int winLength, long firstSeed, int games) {
+
+    /**
+     * Splits the full game matrix into shards: every pair of distinct strategies plays the
+     * same seed range, cut into shards of at most {@code shardSize} games.
+     *
+     * @param strategies The strategy names.
+     * @param size       The number of rows and columns.
+     * @param winLength  The number of symbols in a row needed to win.
+     * @param games      The number of games per pair of strategies.
+     * @param shardSize  The maximum number of games per shard.
+     * @return The shards, numbered from 0.
+     */
+    public static List<Shard> matrix(List<String> strategies, int size, int winLength, int games, int shardSize) {
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < strategies.size(); i++) {
+            for (int j = i + 1; j < strategies.size(); j++) {
+                for (int from = 0; from < games; from += shardSize) {
+                    shards.add(new Shard(shards.size(), strategies.get(i), strategies.get(j), size, winLength,
+                            from, Math.min(shardSize, games - from)));
+                }
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * Gets the pair of strategies the shard belongs to.
+     *
+     * @return The pairing.
+     */
+    public Pairing pairing() {
+        return new Pairing(first, second);
+    }
+
+    /**
+     * An ordered pair of strategy names, used as the key of aggregated results.
+     *
+     * @param first  The first strategy.
+     * @param second The second strategy.
+     */
+    public record Pairing(String first, String second) {
+        @Override
+        public String toString() {
+            return first + " vs " + second;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package org.example.tictactoe.simulation;
+
+import org.example.tictactoe.models.PositionCache;
+import org.tinylog.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs large strategy evaluations in several local worker JVMs.
+ * <p>
+ * The `SimulationCoordinator` listens on a loopback socket and starts one worker process
+ * ({@link SimulationWorker}) per slot, so each worker has its own heap and garbage collector.
+ * Every slot hands its worker one {@link Shard} of the game matrix at a time and reads the
+ * streamed results until the shard is done; only then are they added to the totals, so a
+ * shard is never counted twice.
+ * </p>
+ * <p>
+ * If a worker exits, stops answering for {@value #READ_TIMEOUT_MILLIS} ms or breaks the
+ * protocol, its partial results are dropped, its shard goes back to the front of the queue
+ * for any slot to take, and the slot starts a replacement worker. After
+ * {@code maxRestarts} replacements the run gives up and reports the missing shards.
+ * </p>
+ */
+public final class SimulationCoordinator {
+
+    /**
+     * Starts worker processes.
+     */
+    public interface WorkerLauncher {
+        /**
+         * Starts a worker that connects back to the coordinator.
+         *
+         * @param workerId The id the worker must introduce itself with.
+         * @param port     The coordinator's loopback port.
+         * @return The worker process.
+         * @throws IOException If the process cannot be started.
+         */
+        Process launch(int workerId, int port) throws IOException;
+    }
+
+    private static final long CONNECT_TIMEOUT_MILLIS = 30_000;
+    private static final int READ_TIMEOUT_MILLIS = 60_000;
+    private static final long POLL_MILLIS = 100;
+
+    private final int workers;
+    private final int maxRestarts;
+    private final WorkerLauncher launcher;
+    private final Map<Integer, CompletableFuture<Socket>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger nextWorkerId = new AtomicInteger();
+    private final AtomicInteger restarts = new AtomicInteger();
+    private final Map<Shard.Pairing, Tally> results = new LinkedHashMap<>();
+    private BlockingDeque<Shard> pending;
+    private CountDownLatch remaining;
+
+    /**
+     * Creates a coordinator.
+     *
+     * @param workers     The number of worker processes to run at once.
+     * @param maxRestarts The number of crashed workers to replace before giving up.
+     * @param launcher    Starts the worker processes, e.g. {@link #jvmLauncher(List)}.
+     */
+    public SimulationCoordinator(int workers, int maxRestarts, WorkerLauncher launcher) {
+        this.workers = Math.max(1, workers);
+        this.maxRestarts = maxRestarts;
+        this.launcher = launcher;
+    }
+
+    /**
+     * Creates a launcher that starts workers in a new JVM with this JVM's class path.
+     * <p>
+     * Workers keep their position cache in memory ({@link PositionCache#FILE_PROPERTY}), so
+     * they do not share one memory-mapped file. Each worker's standard output and error go to
+     * {@code tictactoe-worker-<id>.log} in the temporary directory rather than to this JVM's
+     * console, which may be a channel another tool owns (e.g. a test runner's fork).
+     * </p>
+     *
+     * @param jvmOptions Extra JVM options for the workers, e.g. {@code -Xmx512m}.
+     * @return The launcher.
+     */
+    public static WorkerLauncher jvmLauncher(List<String> jvmOptions) {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+        String modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null && !modulePath.isEmpty()) classPath = modulePath + File.pathSeparator + classPath;
+        String workerClassPath = classPath;
+        return (workerId, port) -> {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(jvmOptions);
+            command.add("-D" + PositionCache.FILE_PROPERTY + "=none");
+            command.add("-cp");
+            command.add(workerClassPath);
+            command.add(SimulationWorker.class.getName());
+            command.add(Integer.toString(port));
+            command.add(Integer.toString(workerId));
+            File log = Path.of(System.getProperty("java.io.tmpdir"), "tictactoe-worker-" + workerId + ".log").toFile();
+            Logger.debug("Starting simulation worker {}, logging to {}.", workerId, log);
+            return new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log)
+                    .start();
+        };
+    }
+
+    /**
+     * Plays every shard and aggregates the results per pair of strategies.
+     *
+     * @param shards The shards to play, e.g. from {@link Shard#matrix}.
+     * @return The totals per pair of strategies, in shard order.
+     * @throws IOException          If some shards could not be played within the restart budget.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public Map<Shard.Pairing, Tally> run(List<Shard> shards) throws IOException, InterruptedException {
+        pending = new LinkedBlockingDeque<>(shards);
+        remaining = new CountDownLatch(shards.size());
+        results.clear();
+        for (Shard shard : shards) {
+            results.putIfAbsent(shard.pairing(), new Tally());
+        }
+
+        long start = System.nanoTime();
+        try (ServerSocket server = new ServerSocket(0, workers * 2, InetAddress.getLoopbackAddress())) {
+            Thread acceptor = new Thread(() -> accept(server), "simulation-acceptor");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            ExecutorService slots = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "simulation-slot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<?>> running = new ArrayList<>();
+                for (int slot = 0; slot < workers; slot++) {
+                    running.add(slots.submit(() -> runSlot(server.getLocalPort())));
+                }
+                for (Future<?> slot : running) {
+                    slot.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IOException("Simulation slot failed", e.getCause());
+            } finally {
+                slots.shutdownNow();
+            }
+        }
+
+        if (remaining.getCount() > 0) {
+            throw new IOException(remaining.getCount() + " shards could not be completed after "
+                    + restarts.get() + " worker restarts");
+        }
+        long games = shards.stream().mapToLong(Shard::games).sum();
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        Logger.info("Simulated {} games in {} shards with {} workers in {} ms ({} games/s, {} restarts).",
+                games, shards.size(), workers, millis, games * 1000 / millis, restarts.get());
+        synchronized (results) {
+            return new LinkedHashMap<>(results);
+        }
+    }
+
+    /**
+     * Gets the number of workers replaced after a failure during the last run.
+     *
+     * @return The restart count.
+     */
+    public int getRestarts() {
+        return restarts.get();
+    }
+
+    /**
+     * Accepts worker connections and hands each one to the slot waiting for its worker id.
+     */
+    private void accept(ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                if (in.readByte() != SimulationWorker.HELLO) {
+                    socket.close();
+                    continue;
+                }
+                connection(in.readInt()).complete(socket);
+            } catch (IOException e) {
+                if (!server.isClosed()) Logger.warn(e, "Failed to accept a simulation worker.");
+            }
+        }
+    }
+
+    /**
+     * Keeps one worker busy until every shard is done, replacing it whenever it fails.
+     */
+    private void runSlot(int port) {
+        while (remaining.getCount() > 0) {
+            int workerId = nextWorkerId.getAndIncrement();
+            Process process = null;
+            Shard current = null;
+            try {
+                process = launcher.launch(workerId, port);
+                try (Socket socket = awaitConnection(workerId, process);
+                     DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                     DataOutputStream out = new DataOutputStream(
+                             new BufferedOutputStream(socket.getOutputStream()))) {
+                    while (remaining.getCount() > 0) {
+                        current = pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                        if (current == null) continue;
+                        assign(out, current);
+                        Tally tally = receive(in, current);
+                        synchronized (results) {
+                            results.get(current.pairing()).addAll(tally);
+                        }
+                        current = null;
+                        remaining.countDown();
+                    }
+                    out.writeByte(SimulationWorker.SHUTDOWN);
+                    out.flush();
+                }
+                process.waitFor(CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (IOException e) {
+                Logger.warn("Simulation worker {} failed: {}", workerId, e.getMessage());
+                if (current != null) pending.addFirst(current); // partial results are dropped
+                if (process != null) process.destroyForcibly();
+                if (restarts.incrementAndGet() > maxRestarts) {
+                    Logger.error("Giving up after {} worker restarts.", maxRestarts);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                if (current != null) pending.addFirst(current);
+                if (process != null) process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                connections.remove(workerId);
+            }
+        }
+    }
+
+    private CompletableFuture<Socket> connection(int workerId) {
+        return connections.computeIfAbsent(workerId, id -> new CompletableFuture<>());
+    }
+
+    /**
+     * Waits for a worker to connect, failing early if its process exits first.
+     */
+    private Socket awaitConnection(int workerId, Process process) throws IOException, InterruptedException {
+        CompletableFuture<Socket> connection = connection(workerId);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_TIMEOUT_MILLIS);
+        while (System.nanoTime() < deadline) {
+            try {
+                return connection.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (!process.isAlive()) throw new IOException("exited with code " + process.exitValue());
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+        throw new IOException("did not connect within " + CONNECT_TIMEOUT_MILLIS + " ms");
+    }
+
+    private static void assign(DataOutputStream out, Shard shard) throws IOException {
+        out.writeByte(SimulationWorker.ASSIGN);
+        out.writeInt(shard.id());
+        out.writeUTF(shard.first());
+        out.writeUTF(shard.second());
+        out.writeInt(shard.size());
+        out.writeInt(shard.winLength());
+        out.writeLong(shard.firstSeed());
+        out.writeInt(shard.games());
+        out.flush();
+    }
+
+    /**
+     * Reads the streamed results of a shard until the worker reports it done.
+     *
+     * @return The shard's results.
+     * @throws IOException If the worker fails or breaks the protocol before the shard is done.
+     */
+    private static Tally receive(DataInputStream in, Shard shard) throws IOException {
+        Tally tally = new Tally();
+        long received = 0;
+        while (true) {
+            byte type = in.readByte();
+            int shardId = in.readInt();
+            if (shardId != shard.id()) throw new IOException("sent results for shard " + shardId);
+            if (type == SimulationWorker.DONE) break;
+            if (type != SimulationWorker.RESULTS) throw new IOException("sent unknown message " + type);
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                tally.add(in.readUnsignedShort());
+            }
+            received += count;
+        }
+        if (received != shard.games()) {
+            throw new IOException("sent " + received + " of " + shard.games() + " results");
+        }
+        return tally;
+    }
+
+    /**
+     * Runs an evaluation from the command line and logs the totals per pair of strategies.
+     * <p>
+     * Arguments: {@code workers gamesPerPair shardSize size winLength strategy strategy...}, e.g.
+     * {@code 4 10000 500 3 3 Easy Hard Learned}.
+     * </p>
+     *
+     * @param args The command-line arguments.
+     * @throws Exception If the evaluation fails.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 7) {
+            System.err.println("Usage: SimulationCoordinator workers gamesPerPair shardSize size winLength "
+                    + "strategy strategy...");
+            System.exit(2);
+        }
+        int workers = Integer.parseInt(args[0]);
+        int games = Integer.parseInt(args[1]);
+        int shardSize = Integer.parseInt(args[2]);
+        int size = Integer.parseInt(args[3]);
+        int winLength = Integer.parseInt(args[4]);
+        List<String> strategies = Arrays.asList(args).subList(5, args.length);
+
+        SimulationCoordinator coordinator = new SimulationCoordinator(workers, workers * 2, jvmLauncher(List.of()));
+        Map<Shard.Pairing, Tally> totals = coordinator.run(Shard.matrix(strategies, size, winLength, games, shardSize));
+        totals.forEach((pairing, tally) -> Logger.info("{}: {}", pairing, tally));
+    }
+}
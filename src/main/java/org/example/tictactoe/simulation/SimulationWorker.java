@@ -0,0 +1,123 @@
+package org.example.tictactoe.simulation;
+
+import org.example.tictactoe.factories.StrategyFactory;
+import org.example.tictactoe.models.AIDifficultyStrategy;
+import org.tinylog.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * A simulation worker process, started by {@link SimulationCoordinator}.
+ * <p>
+ * The worker connects to the coordinator's local socket, introduces itself with its worker
+ * id and then plays every shard it is assigned. Results are streamed back in chunks of at
+ * most {@value #CHUNK_GAMES} games, two bytes per game (see {@link Tally#encode(int, int)}),
+ * followed by an end-of-shard message. The worker exits when told to or when the
+ * coordinator goes away.
+ * </p>
+ *
+ * <h2>Protocol</h2>
+ * <ul>
+ *     <li>Worker: {@code HELLO workerId:int}</li>
+ *     <li>Coordinator: {@code ASSIGN id:int first:UTF second:UTF size:int winLength:int firstSeed:long games:int}
+ *         or {@code SHUTDOWN}</li>
+ *     <li>Worker: {@code RESULTS shardId:int count:int result:short...}, then {@code DONE shardId:int}</li>
+ * </ul>
+ */
+public final class SimulationWorker {
+
+    static final byte HELLO = 1;
+    static final byte ASSIGN = 2;
+    static final byte SHUTDOWN = 3;
+    static final byte RESULTS = 4;
+    static final byte DONE = 5;
+
+    /**
+     * System property that makes a worker halt after playing the given number of games, to exercise recovery.
+     */
+    static final String CRASH_PROPERTY = "simulation.crashAfterGames";
+
+    private static final int CHUNK_GAMES = 256;
+    private static final long CHUNK_NANOS = 1_000_000_000L; // stream at least once a second
+
+    private SimulationWorker() {
+    }
+
+    /**
+     * Runs a worker.
+     *
+     * @param args The coordinator's port and the worker id.
+     * @throws IOException If the connection fails.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = Integer.parseInt(args[0]);
+        int workerId = Integer.parseInt(args[1]);
+        long crashAfter = Long.getLong(CRASH_PROPERTY, Long.MAX_VALUE);
+        long played = 0;
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            out.writeByte(HELLO);
+            out.writeInt(workerId);
+            out.flush();
+            while (in.readByte() == ASSIGN) {
+                Shard shard = new Shard(in.readInt(), in.readUTF(), in.readUTF(), in.readInt(), in.readInt(),
+                        in.readLong(), in.readInt());
+                Logger.debug("Worker {} playing shard {}.", workerId, shard.id());
+                AIDifficultyStrategy first = StrategyFactory.getStrategy(shard.first());
+                AIDifficultyStrategy second = StrategyFactory.getStrategy(shard.second());
+
+                short[] chunk = new short[CHUNK_GAMES];
+                int buffered = 0;
+                long lastSent = System.nanoTime();
+                for (int game = 0; game < shard.games(); game++) {
+                    if (played++ >= crashAfter) Runtime.getRuntime().halt(1);
+                    chunk[buffered++] = (short) play(first, second, shard, shard.firstSeed() + game);
+                    if (buffered == CHUNK_GAMES || System.nanoTime() - lastSent > CHUNK_NANOS) {
+                        send(out, shard.id(), chunk, buffered);
+                        buffered = 0;
+                        lastSent = System.nanoTime();
+                    }
+                }
+                if (buffered > 0) send(out, shard.id(), chunk, buffered);
+                out.writeByte(DONE);
+                out.writeInt(shard.id());
+                out.flush();
+            }
+        }
+        Logger.debug("Worker {} finished after {} games.", workerId, played);
+    }
+
+    /**
+     * Plays one game of a shard. Both strategies draw their random choices from streams
+     * derived from the game's seed, so every game can be replayed exactly.
+     *
+     * @return The packed result from the first strategy's point of view.
+     */
+    private static int play(AIDifficultyStrategy first, AIDifficultyStrategy second, Shard shard, long seed) {
+        boolean firstIsX = (seed & 1) == 0;
+        AIDifficultyStrategy x = (firstIsX ? first : second).forGame(seed);
+        AIDifficultyStrategy o = (firstIsX ? second : first).forGame(~seed);
+        Match.Result result = Match.play(x, o, shard.size(), shard.winLength(), seed);
+        int outcome = result.winner() == ' ' ? Tally.DRAW
+                : (result.winner() == 'X') == firstIsX ? Tally.FIRST_WINS : Tally.SECOND_WINS;
+        return Tally.encode(outcome, result.moves());
+    }
+
+    private static void send(DataOutputStream out, int shardId, short[] chunk, int count) throws IOException {
+        out.writeByte(RESULTS);
+        out.writeInt(shardId);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeShort(chunk[i]);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.tictactoe.simulation;
+
+/**
+ * Aggregated results of the games between two strategies.
+ */
+public final class Tally {
+
+    /** Outcome code of a drawn game. */
+    static final int DRAW = 0;
+    /** Outcome code of a game won by the first strategy. */
+    static final int FIRST_WINS = 1;
+    /** Outcome code of a game won by the second strategy. */
+    static final int SECOND_WINS = 2;
+
+    private long firstWins;
+    private long secondWins;
+    private long draws;
+    private long moves;
+
+    /**
+     * Adds one game result in the wire format of {@link SimulationWorker}.
+     *
+     * @param encoded The game's outcome and length, see {@link #encode(int, int)}.
+     */
+    void add(int encoded) {
+        switch (encoded & 3) {
+            case FIRST_WINS -> firstWins++;
+            case SECOND_WINS -> secondWins++;
+            default -> draws++;
+        }
+        moves += encoded >>> 2;
+    }
+
+    /**
+     * Adds all results of another tally.
+     *
+     * @param other The tally to add.
+     */
+    void addAll(Tally other) {
+        firstWins += other.firstWins;
+        secondWins += other.secondWins;
+        draws += other.draws;
+        moves += other.moves;
+    }
+
+    /**
+     * Gets the number of games won by the first strategy.
+     *
+     * @return The win count.
+     */
+    public long getFirstWins() {
+        return firstWins;
+    }
+
+    /**
+     * Gets the number of games won by the second strategy.
+     *
+     * @return The win count.
+     */
+    public long getSecondWins() {
+        return secondWins;
+    }
+
+    /**
+     * Gets the number of drawn games.
+     *
+     * @return The draw count.
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return The game count.
+     */
+    public long getGames() {
+        return firstWins + secondWins + draws;
+    }
+
+    /**
+     * Gets the average number of moves per game.
+     *
+     * @return The average game length, or 0 before the first game.
+     */
+    public double getAverageMoves() {
+        long games = getGames();
+        return games == 0 ? 0 : (double) moves / games;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d-%d-%d (wins-losses-draws), %.1f moves per game",
+                firstWins, secondWins, draws, getAverageMoves());
+    }
+
+    /**
+     * Packs a game result into 16 bits: the outcome in the low 2 bits and the move count above.
+     *
+     * @param outcome {@link #DRAW}, {@link #FIRST_WINS} or {@link #SECOND_WINS}.
+     * @param moves   The number of moves played, below 2^14.
+     * @return The packed result.
+     */
+    static int encode(int outcome, int moves) {
+        return moves << 2 | outcome;
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Contains the tools for large, headless strategy evaluations.
+ * <p>
+ * The `simulation` package plays games between registered strategies without a user
+ * interface. {@link org.example.tictactoe.simulation.Match} plays a single seeded game; the
+ * coordinator spreads a whole game matrix over several worker JVMs, so big evaluations are not
+ * limited by one process's heap and garbage collector.
+ * </p>
+ *
+ * <h2>Key Classes:</h2>
+ * <ul>
+ *     <li><strong>{@link org.example.tictactoe.simulation.SimulationCoordinator}:</strong>
+ *         Starts local worker JVMs, assigns them shards over a loopback socket, aggregates the streamed
+ *         results and reassigns the shard of a worker that crashes.</li>
+ *     <li><strong>{@link org.example.tictactoe.simulation.SimulationWorker}:</strong>
+ *         Plays assigned shards and streams two bytes of result per game back to the coordinator.</li>
+ *     <li><strong>{@link org.example.tictactoe.simulation.Shard}:</strong>
+ *         A strategy pair and seed range, the unit of work and of recovery.</li>
+ *     <li><strong>{@link org.example.tictactoe.simulation.Tally}:</strong>
+ *         Aggregated wins, losses, draws and game lengths of one strategy pair.</li>
+ * </ul>
+ */
+package org.example.tictactoe.simulation;
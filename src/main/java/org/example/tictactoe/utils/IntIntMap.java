@@ -0,0 +1,179 @@
+package org.example.tictactoe.utils;
+
+import java.util.Arrays;
+
+/**
+ * A map from {@code int} to {@code int} without boxing or per-entry objects.
+ * <p>
+ * Keys and values live in two parallel arrays with open addressing and linear probing; the
+ * key 0 marks a free slot, so the entry of key 0 itself is kept aside. The table doubles when
+ * it is half full. Not thread-safe.
+ * </p>
+ */
+public final class IntIntMap {
+
+    private int[] keys;
+    private int[] values;
+    private int size; // entries in the table, not counting key 0
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntIntMap() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty map with room for a number of entries before it grows.
+     *
+     * @param expected The expected number of entries.
+     */
+    public IntIntMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key          The key.
+     * @param defaultValue The value to return if the key is absent.
+     * @return The value, or {@code defaultValue}.
+     */
+    public int get(int key, int defaultValue) {
+        if (key == 0) return hasZeroKey ? zeroValue : defaultValue;
+        int slot = slot(key);
+        return keys[slot] == 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * Checks whether a key is present.
+     *
+     * @param key The key.
+     * @return {@code true} if the map has an entry for the key.
+     */
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : keys[slot(key)] != 0;
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key   The key.
+     * @param value The value.
+     */
+    public void put(int key, int value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        values[slot] = value;
+        if (keys[slot] == 0) insert(slot, key);
+    }
+
+    /**
+     * Adds to the value of a key; an absent key counts as 0.
+     *
+     * @param key   The key.
+     * @param delta The amount to add.
+     * @return The new value.
+     */
+    public int addTo(int key, int delta) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int slot = slot(key);
+        if (keys[slot] != 0) return values[slot] += delta;
+        values[slot] = delta;
+        insert(slot, key);
+        return delta;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * Removes all entries, keeping the capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * Passes every entry to a consumer, in no particular order.
+     *
+     * @param consumer The consumer of the entries.
+     */
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) consumer.accept(0, zeroValue);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) consumer.accept(keys[slot], values[slot]);
+        }
+    }
+
+    /**
+     * Finds the slot holding a nonzero key, or the free slot where it belongs.
+     */
+    private int slot(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int slot, int key) {
+        keys[slot] = key;
+        if (++size * 2 > keys.length) rehash();
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * Receives the entries of a map.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        /**
+         * Accepts one entry.
+         *
+         * @param key   The key.
+         * @param value The value.
+         */
+        void accept(int key, int value);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.tictactoe.utils;
+
+/**
+ * A search table from position hashes to entries of a 32-bit value and a search depth, packed
+ * into one {@code long} per key.
+ * <p>
+ * This is the shape of a transposition table entry: the value is typically a move or a score
+ * and the depth tells how far the position was searched. The entries live in a
+ * {@link LongLongMap}, so a lookup returns a primitive and allocates nothing; use
+ * {@link #value(long)} and {@link #depth(long)} to unpack it. Not thread-safe.
+ * </p>
+ */
+public final class LongPackedMap {
+
+    /**
+     * Returned by {@link #get(long)} for an absent key. Entries are never negative, because
+     * depths are not.
+     */
+    public static final long MISSING = -1;
+
+    private final LongLongMap entries;
+
+    /**
+     * Creates an empty table.
+     */
+    public LongPackedMap() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty table with room for a number of entries before it grows.
+     *
+     * @param expected The expected number of entries.
+     */
+    public LongPackedMap(int expected) {
+        entries = new LongLongMap(expected);
+    }
+
+    /**
+     * Gets the packed entry of a key.
+     *
+     * @param key The key, e.g. a Zobrist hash.
+     * @return The entry, or {@link #MISSING}.
+     */
+    public long get(long key) {
+        return entries.get(key, MISSING);
+    }
+
+    /**
+     * Sets the entry of a key.
+     *
+     * @param key   The key, e.g. a Zobrist hash.
+     * @param value The value, any int.
+     * @param depth The depth, not negative.
+     * @throws IllegalArgumentException If the depth is negative.
+     */
+    public void put(long key, int value, int depth) {
+        if (depth < 0) throw new IllegalArgumentException("Negative depth: " + depth);
+        entries.put(key, (long) depth << 32 | value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all entries, keeping the capacity.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Unpacks the value of an entry.
+     *
+     * @param entry An entry returned by {@link #get(long)}, not {@link #MISSING}.
+     * @return The value.
+     */
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Unpacks the depth of an entry.
+     *
+     * @param entry An entry returned by {@link #get(long)}, not {@link #MISSING}.
+     * @return The depth.
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> 32);
+    }
+}
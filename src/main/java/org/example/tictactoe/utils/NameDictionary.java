@@ -0,0 +1,168 @@
+package org.example.tictactoe.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Maps player names to dense int ids and stores every distinct name once.
+ * <p>
+ * Names are kept as UTF-8 bytes in one growing byte arena, addressed by an offset per id, and
+ * found through an open-addressing table of ids. A name therefore costs its UTF-8 length plus
+ * about 16 bytes, instead of a {@code String} (roughly 40 bytes plus the characters) for every
+ * place that holds it, and structures that refer to names can store plain {@code int}s.
+ * Ids are handed out in order from 0 and never change or go away.
+ * </p>
+ * <p>
+ * The dictionary is thread-safe. Decoding a name creates a new {@code String}, so hot paths
+ * should work with ids and decode only what they show.
+ * </p>
+ */
+public final class NameDictionary {
+
+    /**
+     * The id returned by {@link #lookup(String)} for an unknown name.
+     */
+    public static final int NONE = -1;
+
+    private static NameDictionary instance;
+
+    private byte[] arena = new byte[1024];
+    private int arenaSize;
+    private int[] offsets = new int[65]; // name i is arena[offsets[i] .. offsets[i + 1])
+    private int[] hashes = new int[64];
+    private int[] table = new int[128]; // id + 1 per slot, 0 for free; the length is a power of two
+    private int size;
+
+    /**
+     * Provides the dictionary shared by the whole application.
+     *
+     * @return The shared instance.
+     */
+    public static synchronized NameDictionary getInstance() {
+        if (instance == null) {
+            instance = new NameDictionary();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the id of a name, adding the name if it is new.
+     *
+     * @param name The name.
+     * @return The id, from 0 up.
+     */
+    public synchronized int intern(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytes);
+        int slot = find(bytes, hash);
+        if (table[slot] != 0) return table[slot] - 1;
+
+        int id = size++;
+        if (id + 1 == hashes.length) {
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            offsets = Arrays.copyOf(offsets, hashes.length + 1);
+        }
+        if (arenaSize + bytes.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + bytes.length));
+        }
+        System.arraycopy(bytes, 0, arena, arenaSize, bytes.length);
+        arenaSize += bytes.length;
+        offsets[id + 1] = arenaSize;
+        hashes[id] = hash;
+        table[slot] = id + 1;
+        if (size * 2 > table.length) rehash();
+        return id;
+    }
+
+    /**
+     * Gets the id of a known name.
+     *
+     * @param name The name.
+     * @return The id, or {@link #NONE} if the name has never been interned.
+     */
+    public synchronized int lookup(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        return table[find(bytes, hash(bytes))] - 1;
+    }
+
+    /**
+     * Decodes the name of an id.
+     *
+     * @param id The id.
+     * @return The name.
+     * @throws IndexOutOfBoundsException If no name has this id.
+     */
+    public synchronized String name(int id) {
+        if (id < 0 || id >= size) throw new IndexOutOfBoundsException("No name with id " + id);
+        return new String(arena, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares the names of two ids without decoding them. UTF-8 bytes compare in code point
+     * order, which matches {@link String#compareTo} except between characters above U+FFFF and
+     * characters from U+E000 to U+FFFF.
+     *
+     * @param a The first id.
+     * @param b The second id.
+     * @return A negative number, zero or a positive number as the first name sorts before, equal to
+     * or after the second.
+     */
+    public synchronized int compare(int a, int b) {
+        return Arrays.compareUnsigned(arena, offsets[a], offsets[a + 1], arena, offsets[b], offsets[b + 1]);
+    }
+
+    /**
+     * Gets the number of distinct names.
+     *
+     * @return The name count, which is also the next id.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the heap used by the dictionary's arrays, for memory reports.
+     *
+     * @return The size in bytes, including unused capacity.
+     */
+    public synchronized long getByteSize() {
+        return arena.length + 4L * (offsets.length + hashes.length + table.length);
+    }
+
+    /**
+     * Finds the slot of a name: the slot holding it, or the free slot where it belongs.
+     */
+    private int find(byte[] bytes, int hash) {
+        int mask = table.length - 1;
+        for (int slot = hash & mask; ; slot = slot + 1 & mask) {
+            int id = table[slot] - 1;
+            if (id < 0) return slot;
+            if (hashes[id] == hash && Arrays.equals(arena, offsets[id], offsets[id + 1], bytes, 0, bytes.length)) {
+                return slot;
+            }
+        }
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (table[slot] != 0) {
+                slot = slot + 1 & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    /**
+     * FNV-1a over the bytes, with a final mix so that the low bits used for the slot vary.
+     */
+    private static int hash(byte[] bytes) {
+        int hash = 0x811C9DC5;
+        for (byte b : bytes) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+        return hash ^ hash >>> 16;
+    }
+}
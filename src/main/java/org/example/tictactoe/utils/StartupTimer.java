@@ -0,0 +1,53 @@
+package org.example.tictactoe.utils;
+
+import org.tinylog.Logger;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each phase of application startup takes.
+ * <p>
+ * Phases are marked in order with {@link #mark(String)}; each mark logs the time since the
+ * previous mark and since the JVM process started, so the log shows both where startup time
+ * goes and the total time to the first interactive menu. {@link #summary()} returns the
+ * collected timings as one line.
+ * </p>
+ */
+public class StartupTimer {
+
+    private static final List<String> phases = new ArrayList<>();
+    private static final long processStart = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(System.currentTimeMillis());
+    private static long lastMark = processStart;
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Marks the end of a startup phase and logs its duration.
+     *
+     * @param phase A short name for the phase that just finished (e.g. "main menu loaded").
+     * @return The milliseconds elapsed since the JVM process started.
+     */
+    public static synchronized long mark(String phase) {
+        long now = System.currentTimeMillis();
+        long sinceStart = now - processStart;
+        long sinceLast = now - lastMark;
+        lastMark = now;
+        phases.add(phase + "=" + sinceLast + "ms");
+        Logger.info("Startup phase '{}' took {} ms ({} ms since JVM start).", phase, sinceLast, sinceStart);
+        return sinceStart;
+    }
+
+    /**
+     * Gets the durations of all phases marked so far.
+     *
+     * @return The phases and their durations, e.g. {@code "fx toolkit=412ms, main menu loaded=95ms"}.
+     */
+    public static synchronized String summary() {
+        return String.join(", ", phases) + " (total " + (lastMark - processStart) + "ms)";
+    }
+}
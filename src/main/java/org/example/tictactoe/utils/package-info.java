@@ -12,6 +12,16 @@
      *         Centralizes error and warning handling with methods for logging and displaying user-friendly alerts.</li>
      *     <li><strong>{@link org.example.tictactoe.utils.FileUtils}:</strong>
      *         Provides utility methods for reading from and writing to files, handling common file operations.</li>
+     *     <li><strong>{@link org.example.tictactoe.utils.StartupTimer}:</strong>
+     *         Logs the duration of each startup phase up to the first interactive menu.</li>
+     *     <li><strong>{@link org.example.tictactoe.utils.NameDictionary}:</strong>
+     *         Maps player names to dense int ids and stores each name once in a UTF-8 arena.</li>
+     *     <li><strong>{@link org.example.tictactoe.utils.IntIntMap}:</strong>
+     *         An open-addressing int-to-int map without boxing, for counters keyed by name id.</li>
+     *     <li><strong>{@link org.example.tictactoe.utils.LongLongMap}:</strong>
+     *         The long-to-long counterpart, for tables keyed by position hash.</li>
+     *     <li><strong>{@link org.example.tictactoe.utils.LongPackedMap}:</strong>
+     *         A search table of value-and-depth entries packed into one long per position hash.</li>
      * </ul>
      *
      * <h2>Responsibilities:</h2>
@@ -0,0 +1,62 @@
+package org.example.tictactoe.views;
+
+/**
+ * A renderer for the game board.
+ * <p>
+ * The game screen talks to the board only through this interface, so the renderer can be
+ * chosen in `GameBoard.fxml` by declaring either a {@link GridBoardView} (one button per
+ * cell) or a {@link CanvasBoardView} (a single canvas, suited to large boards).
+ * </p>
+ */
+public interface BoardView {
+
+    /**
+     * Builds an empty board of the given size.
+     *
+     * @param size     The number of rows and columns.
+     * @param listener The listener notified when the player clicks a cell.
+     */
+    void setupBoard(int size, CellClickListener listener);
+
+    /**
+     * Repaints a single cell.
+     *
+     * @param row    The row index of the cell.
+     * @param col    The column index of the cell.
+     * @param symbol The content of the cell ('X', 'O', or ' ' for empty).
+     */
+    void setCell(int row, int col, char symbol);
+
+    /**
+     * Enables or disables clicks on the board.
+     *
+     * @param disabled {@code true} to ignore clicks; {@code false} to accept them.
+     */
+    void setBoardDisabled(boolean disabled);
+
+    /**
+     * Shades the empty cells by score, from cold (low) to hot (high).
+     *
+     * @param scores The score of every cell indexed by {@code row * size + col};
+     *               {@link Long#MIN_VALUE} marks cells without a score.
+     */
+    void showHeatmap(long[] scores);
+
+    /**
+     * Removes any heatmap shading.
+     */
+    void clearHeatmap();
+
+    /**
+     * Interface for handling clicks on board cells.
+     */
+    interface CellClickListener {
+        /**
+         * Called when the player clicks a cell.
+         *
+         * @param row The row index of the cell.
+         * @param col The column index of the cell.
+         */
+        void onCellClicked(int row, int col);
+    }
+}
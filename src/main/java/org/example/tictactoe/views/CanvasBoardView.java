@@ -0,0 +1,186 @@
+package org.example.tictactoe.views;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+
+/**
+ * Board renderer that draws the whole board on a single {@link Canvas}.
+ * <p>
+ * A grid of buttons costs one node, one CSS pass and one layout pass per cell, which stops
+ * scaling around 19x19. This view keeps the cell contents in plain arrays instead: clicks
+ * are hit-tested from the mouse position, a cell change repaints only that cell's
+ * rectangle, and the heatmap is drawn as a translucent fill under the symbols. The whole
+ * board is repainted only when the view is resized or the heatmap changes.
+ * </p>
+ */
+public class CanvasBoardView extends Region implements BoardView {
+
+    private static final double SMALL_BOARD_CELL = 100;
+    private static final double LARGE_BOARD_CELL = 28;
+    private static final Color BACKGROUND = Color.web("#f4f4f4");
+    private static final Color GRID_LINE = Color.web("#9e9e9e");
+    private static final Color X_COLOR = Color.web("#1e3a8a");
+    private static final Color O_COLOR = Color.web("#b91c1c");
+
+    private final Canvas canvas = new Canvas();
+    private int size;
+    private char[] symbols = new char[0];
+    private Color[] heat;
+    private boolean disabled;
+    private CellClickListener listener;
+
+    /**
+     * Creates an empty view; the board is built by {@link #setupBoard(int, CellClickListener)}.
+     */
+    public CanvasBoardView() {
+        getChildren().add(canvas);
+        canvas.addEventHandler(MouseEvent.MOUSE_CLICKED, this::handleClick);
+    }
+
+    /**
+     * Resets the board to the given size with every cell empty.
+     *
+     * @param size     The number of rows and columns.
+     * @param listener The listener notified when the player clicks a cell.
+     */
+    @Override
+    public void setupBoard(int size, CellClickListener listener) {
+        this.size = size;
+        this.listener = listener;
+        symbols = new char[size * size];
+        Arrays.fill(symbols, ' ');
+        heat = null;
+        double cell = size > 3 ? LARGE_BOARD_CELL : SMALL_BOARD_CELL;
+        setPrefSize(cell * size, cell * size);
+        setMinSize(cell * size, cell * size);
+        requestLayout();
+        repaintAll();
+    }
+
+    @Override
+    public void setCell(int row, int col, char symbol) {
+        symbols[row * size + col] = symbol;
+        repaintCell(row, col);
+    }
+
+    @Override
+    public void setBoardDisabled(boolean disabled) {
+        this.disabled = disabled;
+    }
+
+    @Override
+    public void showHeatmap(long[] scores) {
+        heat = Heatmap.colors(scores);
+        repaintAll();
+    }
+
+    @Override
+    public void clearHeatmap() {
+        if (heat == null) return;
+        heat = null;
+        repaintAll();
+    }
+
+    /**
+     * Resizes the canvas to the region and repaints the whole board.
+     */
+    @Override
+    protected void layoutChildren() {
+        double width = snapSizeX(getWidth());
+        double height = snapSizeY(getHeight());
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            repaintAll();
+        }
+    }
+
+    /**
+     * Maps a click to a cell and forwards it to the listener.
+     *
+     * @param event The mouse event.
+     */
+    private void handleClick(MouseEvent event) {
+        if (disabled || listener == null || size == 0 || event.getButton() != MouseButton.PRIMARY) return;
+        double cell = cellSize();
+        int col = (int) ((event.getX() - originX()) / cell);
+        int row = (int) ((event.getY() - originY()) / cell);
+        if (event.getX() < originX() || event.getY() < originY() || row >= size || col >= size) return;
+        listener.onCellClicked(row, col);
+    }
+
+    /**
+     * Clears the canvas and repaints every cell.
+     */
+    private void repaintAll() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                repaintCell(row, col);
+            }
+        }
+    }
+
+    /**
+     * Repaints the rectangle of a single cell: background, heat, border and symbol.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     */
+    private void repaintCell(int row, int col) {
+        double cell = cellSize();
+        if (cell <= 0) return;
+        double x = originX() + col * cell;
+        double y = originY() + row * cell;
+        int index = row * size + col;
+        GraphicsContext g = canvas.getGraphicsContext2D();
+
+        g.setFill(BACKGROUND);
+        g.fillRect(x, y, cell, cell);
+        if (heat != null && heat[index] != null && symbols[index] == ' ') {
+            g.setFill(heat[index]);
+            g.fillRect(x, y, cell, cell);
+        }
+        g.setStroke(GRID_LINE);
+        g.setLineWidth(1);
+        g.strokeRect(x + 0.5, y + 0.5, cell - 1, cell - 1);
+
+        char symbol = symbols[index];
+        if (symbol != ' ') {
+            g.setFill(symbol == 'X' ? X_COLOR : O_COLOR);
+            g.setFont(Font.font("System", FontWeight.BOLD, cell * 0.6));
+            g.setTextAlign(TextAlignment.CENTER);
+            g.setTextBaseline(VPos.CENTER);
+            g.fillText(String.valueOf(symbol), x + cell / 2, y + cell / 2);
+        }
+    }
+
+    /**
+     * Gets the side length of a cell, so the board stays square inside the canvas.
+     *
+     * @return The cell size in pixels, or {@code 0} before the board is set up.
+     */
+    private double cellSize() {
+        if (size == 0) return 0;
+        return Math.floor(Math.min(canvas.getWidth(), canvas.getHeight()) / size);
+    }
+
+    private double originX() {
+        return Math.floor((canvas.getWidth() - cellSize() * size) / 2);
+    }
+
+    private double originY() {
+        return Math.floor((canvas.getHeight() - cellSize() * size) / 2);
+    }
+}
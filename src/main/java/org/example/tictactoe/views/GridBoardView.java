@@ -0,0 +1,112 @@
+package org.example.tictactoe.views;
+
+import javafx.scene.control.Button;
+import javafx.scene.layout.GridPane;
+import javafx.scene.paint.Color;
+
+/**
+ * Board renderer that uses one {@link Button} per cell in a {@link GridPane}.
+ * <p>
+ * This is the classic look of the game. Buttons are kept in a {@code Button[][]} index so a
+ * cell update never searches the pane's children.
+ * </p>
+ */
+public class GridBoardView extends GridPane implements BoardView {
+
+    private Button[][] cells;
+
+    /**
+     * Creates an empty grid; cells are added by {@link #setupBoard(int, CellClickListener)}.
+     */
+    public GridBoardView() {
+        getStyleClass().add("grid-pane");
+    }
+
+    /**
+     * Creates a button for each cell and attaches the click listener.
+     *
+     * @param size     The number of rows and columns.
+     * @param listener The listener notified when the player clicks a cell.
+     */
+    @Override
+    public void setupBoard(int size, CellClickListener listener) {
+        getChildren().clear();
+        cells = new Button[size][size];
+        if (size > 3) {
+            setHgap(2);
+            setVgap(2);
+        }
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                Button cell = createCell(row, col, size, listener);
+                cells[row][col] = cell;
+                add(cell, col, row);
+            }
+        }
+    }
+
+    @Override
+    public void setCell(int row, int col, char symbol) {
+        cells[row][col].setText(String.valueOf(symbol));
+    }
+
+    @Override
+    public void setBoardDisabled(boolean disabled) {
+        for (Button[] row : cells) {
+            for (Button cell : row) {
+                cell.setDisable(disabled);
+            }
+        }
+    }
+
+    @Override
+    public void showHeatmap(long[] scores) {
+        Color[] colors = Heatmap.colors(scores);
+        int size = cells.length;
+        for (int cell = 0; cell < colors.length; cell++) {
+            Button button = cells[cell / size][cell % size];
+            button.setStyle(baseStyle(size) + (colors[cell] == null ? ""
+                    : " -fx-background-color: " + toWeb(colors[cell]) + ";"));
+        }
+    }
+
+    @Override
+    public void clearHeatmap() {
+        for (Button[] row : cells) {
+            for (Button cell : row) {
+                cell.setStyle(baseStyle(cells.length));
+            }
+        }
+    }
+
+    /**
+     * Creates a button for a single grid cell and attaches a click handler for making moves.
+     *
+     * @param row      The row index of the cell.
+     * @param col      The column index of the cell.
+     * @param size     The board size, used to scale the cell.
+     * @param listener The listener notified on clicks.
+     * @return A configured {@link Button} representing the grid cell.
+     */
+    private Button createCell(int row, int col, int size, CellClickListener listener) {
+        Button cell = new Button();
+        if (size > 3) {
+            cell.setPrefSize(28, 28);
+            cell.setMinSize(28, 28);
+        } else {
+            cell.setPrefSize(100, 100);
+        }
+        cell.setStyle(baseStyle(size));
+        cell.setOnAction(event -> listener.onCellClicked(row, col));
+        return cell;
+    }
+
+    private static String baseStyle(int size) {
+        return size > 3 ? "-fx-font-size: 12px; -fx-padding: 0;" : "-fx-font-size: 24px;";
+    }
+
+    private static String toWeb(Color color) {
+        return String.format("rgba(%d, %d, %d, %.2f)", (int) Math.round(color.getRed() * 255),
+                (int) Math.round(color.getGreen() * 255), (int) Math.round(color.getBlue() * 255), color.getOpacity());
+    }
+}
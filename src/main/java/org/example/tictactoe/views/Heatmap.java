@@ -0,0 +1,38 @@
+package org.example.tictactoe.views;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Maps move scores to heatmap colours shared by the board renderers.
+ */
+final class Heatmap {
+
+    private static final Color COLD = Color.rgb(0, 120, 215, 0.15);
+    private static final Color HOT = Color.rgb(220, 60, 30, 0.65);
+
+    private Heatmap() {
+    }
+
+    /**
+     * Computes the colour of every scored cell, normalised between the lowest and highest score.
+     *
+     * @param scores The cell scores; {@link Long#MIN_VALUE} marks cells without a score.
+     * @return The colour per cell, or {@code null} for cells without a score.
+     */
+    static Color[] colors(long[] scores) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long score : scores) {
+            if (score == Long.MIN_VALUE) continue;
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+        }
+        Color[] colors = new Color[scores.length];
+        for (int cell = 0; cell < scores.length; cell++) {
+            if (scores[cell] == Long.MIN_VALUE) continue;
+            double t = max == min ? 1.0 : (double) (scores[cell] - min) / (double) (max - min);
+            colors[cell] = COLD.interpolate(HOT, t);
+        }
+        return colors;
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Provides the board renderers for the Tic-Tac-Toe application.
+ * <p>
+ * The `views` package contains custom JavaFX nodes that draw the game board. The game screen
+ * uses them through the {@link org.example.tictactoe.views.BoardView} interface, and the
+ * renderer is chosen in `GameBoard.fxml` by the element that declares the board.
+ * </p>
+ *
+ * <h2>Key Classes:</h2>
+ * <ul>
+ *     <li><strong>{@link org.example.tictactoe.views.GridBoardView}:</strong>
+ *         One button per cell in a grid pane; the classic look for small boards.</li>
+ *     <li><strong>{@link org.example.tictactoe.views.CanvasBoardView}:</strong>
+ *         Draws the board on a single canvas with hit-testing and per-cell repaints, for large boards.</li>
+ * </ul>
+ *
+ * <h2>Heatmaps:</h2>
+ * <p>
+ * Both renderers can shade the empty cells by the AI's score for each move, so players can
+ * see which moves the AI considers strong.
+ * </p>
+ */
+package org.example.tictactoe.views;
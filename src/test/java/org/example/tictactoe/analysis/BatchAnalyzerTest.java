@@ -0,0 +1,88 @@
+package org.example.tictactoe.analysis;
+
+import org.example.tictactoe.models.Move;
+import org.example.tictactoe.models.PositionCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BatchAnalyzer} class.
+ */
+class BatchAnalyzerTest {
+
+    private static BatchAnalyzer.Analysis single(BatchAnalyzer analyzer, String position) {
+        return analyzer.analyze(Stream.of(position)).analyses().get(0);
+    }
+
+    @Test
+    void testSolvesClassicPositions() {
+        BatchAnalyzer analyzer = new BatchAnalyzer(3, 3, 9, 2, null);
+
+        BatchAnalyzer.Analysis empty = single(analyzer, ".........");
+        assertTrue(empty.exact());
+        assertEquals(0, empty.value(), "The classic game is a draw.");
+        assertEquals(9, empty.bestMoves().length, "Every first move keeps the draw.");
+
+        BatchAnalyzer.Analysis win = single(analyzer, "XX.OO....");
+        assertEquals('X', win.sideToMove());
+        assertEquals(BatchAnalyzer.WIN, win.value());
+        assertTrue(Arrays.stream(win.bestMoves()).anyMatch(move -> move == Move.of(0, 2)));
+
+        BatchAnalyzer.Analysis over = single(analyzer, "XXXOO....");
+        assertEquals(-BatchAnalyzer.WIN, over.value(), "'O' to move has already lost.");
+        assertEquals(0, over.bestMoves().length);
+    }
+
+    @Test
+    void testSymmetricPositionsAreSearchedOnce() {
+        BatchAnalyzer analyzer = new BatchAnalyzer(3, 3, 9, 4, null);
+        List<String> corners = List.of("X........", "..X......", "......X..", "........X", "X........");
+        BatchAnalyzer.Batch batch = analyzer.analyze(corners.stream());
+
+        assertEquals(5, batch.analyses().size());
+        assertEquals(1, batch.searched(), "Rotations of one position should share a single search.");
+        for (int i = 0; i < corners.size(); i++) {
+            BatchAnalyzer.Analysis analysis = batch.analyses().get(i);
+            assertEquals(corners.get(i), analysis.position(), "Results should keep the input order.");
+            assertArrayEquals(new int[]{Move.of(1, 1)}, analysis.bestMoves(), "Only the center holds the draw.");
+        }
+        assertTrue(batch.positionsPerSecond() > 0);
+    }
+
+    @Test
+    void testExactResultsAreReusedFromCache() {
+        PositionCache cache = new PositionCache(null, 1 << 10);
+        List<String> positions = List.of("X...O....", ".X..O....", "XO.......", "X.O......");
+        BatchAnalyzer.Batch first = new BatchAnalyzer(3, 3, 9, 2, cache).analyze(positions.stream());
+        BatchAnalyzer.Batch second = new BatchAnalyzer(3, 3, 9, 2, cache).analyze(positions.stream());
+
+        assertEquals(0, second.searched());
+        assertEquals(first.searched(), second.cacheHits());
+        for (int i = 0; i < positions.size(); i++) {
+            assertEquals(first.analyses().get(i).value(), second.analyses().get(i).value());
+            assertArrayEquals(first.analyses().get(i).bestMoves(), second.analyses().get(i).bestMoves());
+        }
+    }
+
+    @Test
+    void testDepthLimitedSearchOnLargeBoard() {
+        BatchAnalyzer analyzer = new BatchAnalyzer(5, 4, 2, 2, null);
+        BatchAnalyzer.Analysis analysis = single(analyzer, "............X............");
+        assertFalse(analysis.exact());
+        assertEquals('O', analysis.sideToMove());
+        assertTrue(analysis.bestMoves().length > 0);
+    }
+
+    @Test
+    void testRejectsMalformedPositions() {
+        BatchAnalyzer analyzer = new BatchAnalyzer(3, 3, 9, 1, null);
+        assertThrows(IllegalArgumentException.class, () -> single(analyzer, "X..."));
+        assertThrows(IllegalArgumentException.class, () -> single(analyzer, "X..Z....."));
+        assertThrows(IllegalArgumentException.class, () -> single(analyzer, "OO......."));
+    }
+}
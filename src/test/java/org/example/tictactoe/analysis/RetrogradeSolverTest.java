@@ -0,0 +1,121 @@
+package org.example.tictactoe.analysis;
+
+import org.example.tictactoe.models.AIDifficultyStrategy;
+import org.example.tictactoe.models.Board;
+import org.example.tictactoe.models.Move;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RetrogradeSolver}, its {@link RetrogradeTable} and the {@link RetrogradeStrategy}.
+ */
+class RetrogradeSolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testClassicBoardIsDrawn() throws Exception {
+        RetrogradeTable table = new RetrogradeSolver(3, 3, 2, tempDir.resolve("3x3.bin")).solve();
+        assertTrue(table.isComplete());
+        assertEquals(RetrogradeTable.DRAW, table.get(0), "Tic-Tac-Toe is a draw with perfect play.");
+        assertEquals(RetrogradeTable.WIN, table.valueOf(new char[][]{
+                {'X', 'X', ' '},
+                {'O', 'O', ' '},
+                {' ', ' ', ' '}}), "X completes the top row.");
+        assertEquals(RetrogradeTable.LOSS, table.valueOf(new char[][]{
+                {'X', 'X', 'X'},
+                {'O', 'O', ' '},
+                {' ', ' ', ' '}}), "O has already lost.");
+    }
+
+    @Test
+    void testSmallBoardIsWonForFirstPlayer() throws Exception {
+        RetrogradeTable table = new RetrogradeSolver(2, 2, 1, tempDir.resolve("2x2.bin")).solve();
+        assertEquals(RetrogradeTable.WIN, table.get(0), "Every pair of cells is a line on a 2x2 board.");
+    }
+
+    @Test
+    void testSymmetricPositionsShareCanonicalIndex() {
+        RetrogradeTable table = new RetrogradeTable(3, 3);
+        int corner = table.indexOf(new char[][]{{'X', ' ', ' '}, {' ', ' ', ' '}, {' ', ' ', ' '}});
+        int otherCorner = table.indexOf(new char[][]{{' ', ' ', ' '}, {' ', ' ', ' '}, {' ', ' ', 'X'}});
+        int edge = table.indexOf(new char[][]{{' ', 'X', ' '}, {' ', ' ', ' '}, {' ', ' ', ' '}});
+        assertEquals(table.canonical(corner), table.canonical(otherCorner));
+        assertNotEquals(table.canonical(corner), table.canonical(edge));
+    }
+
+    @Test
+    void testResumeFromCheckpoint() throws Exception {
+        Path file = tempDir.resolve("resume.bin");
+        RetrogradeTable complete = new RetrogradeSolver(3, 3, 1, tempDir.resolve("complete.bin")).solve();
+
+        // Simulate a run that stopped after saving layer 5: only layers 6 to 9 are solved
+        RetrogradeTable partial = RetrogradeTable.load(tempDir.resolve("complete.bin"));
+        int[] digits = new int[partial.getCellCount()];
+        for (int index = 0; index < partial.getPositionCount(); index++) {
+            partial.decode(index, digits);
+            int stones = 0;
+            for (int digit : digits) {
+                if (digit != 0) stones++;
+            }
+            if (stones <= 5) partial.set(index, RetrogradeTable.UNKNOWN);
+        }
+        partial.setNextLayer(5);
+        partial.save(file);
+
+        RetrogradeSolver solver = new RetrogradeSolver(3, 3, 2, file);
+        assertEquals(5, solver.getTable().getNextLayer(), "The solver should continue from the checkpoint.");
+        RetrogradeTable resumed = solver.solve();
+        for (int index = 0; index < complete.getPositionCount(); index++) {
+            assertEquals(complete.get(index), resumed.get(index), "Value mismatch at index " + index);
+        }
+        assertTrue(RetrogradeTable.load(file).isComplete(), "The final table should be saved.");
+    }
+
+    @Test
+    void testCheckpointForOtherBoardIsIgnored() throws Exception {
+        Path file = tempDir.resolve("other.bin");
+        new RetrogradeSolver(2, 2, 1, file).solve();
+        RetrogradeSolver solver = new RetrogradeSolver(3, 3, 1, file);
+        assertEquals(3, solver.getTable().getSize());
+        assertEquals(9, solver.getTable().getNextLayer());
+    }
+
+    @Test
+    void testStrategyWinsAndBlocks() throws Exception {
+        RetrogradeTable table = new RetrogradeSolver(3, 3, 1, tempDir.resolve("3x3.bin")).solve();
+        RetrogradeStrategy strategy = new RetrogradeStrategy(table, (board, ai, human) -> Move.NONE);
+
+        Board board = new Board(3, 3);
+        board.makeMove(0, 0, 'X');
+        board.makeMove(1, 1, 'O');
+        board.makeMove(0, 1, 'X');
+        assertEquals(Move.of(0, 2), strategy.selectMove(board, 'O', 'X'), "O must block the top row.");
+
+        board.makeMove(0, 2, 'O');
+        board.makeMove(2, 2, 'X');
+        int move = strategy.selectMove(board, 'O', 'X');
+        assertEquals(Move.of(2, 0), move, "O completes the anti-diagonal.");
+    }
+
+    @Test
+    void testStrategyScoresAndFallsBack() throws Exception {
+        RetrogradeTable table = new RetrogradeSolver(3, 3, 1, tempDir.resolve("3x3.bin")).solve();
+        AIDifficultyStrategy fallback = (board, ai, human) -> Move.of(0, 0);
+        RetrogradeStrategy strategy = new RetrogradeStrategy(table, fallback);
+
+        long[] scores = strategy.scoreMoves(new Board(3, 3), 'X', 'O');
+        for (long score : scores) {
+            assertEquals(0, score, "Every first move draws.");
+        }
+        assertEquals(Move.of(0, 0), strategy.selectMove(new Board(4, 3), 'X', 'O'),
+                "Boards the table does not cover use the fallback.");
+        RetrogradeStrategy missing = new RetrogradeStrategy(tempDir.resolve("missing.bin"), fallback);
+        assertEquals(Move.of(0, 0), missing.selectMove(new Board(3, 3), 'X', 'O'));
+    }
+}
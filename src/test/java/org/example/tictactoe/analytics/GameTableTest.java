@@ -0,0 +1,130 @@
+package org.example.tictactoe.analytics;
+
+import org.example.tictactoe.models.GameRecord;
+import org.example.tictactoe.models.Move;
+import org.example.tictactoe.services.GameRecordWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link GameTable} query engine.
+ */
+class GameTableTest {
+
+    private static final String[] HUMANS = {"Alice", "Bob", "Mary Ann"};
+    private static final String[] STRATEGIES = {"Easy", "Hard", "Expert"};
+
+    /**
+     * Generates games spanning several segments, against the AI and between humans.
+     */
+    private static List<GameRecord> games(int count) {
+        SplittableRandom random = new SplittableRandom(1);
+        List<GameRecord> games = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boolean ai = random.nextInt(4) > 0;
+            int size = random.nextBoolean() ? 3 : 4;
+            int[] moves = new int[5 + random.nextInt(5)];
+            for (int m = 0; m < moves.length; m++) {
+                moves[m] = Move.of(m % size, m / size);
+            }
+            char winner = " XO".charAt(random.nextInt(3));
+            games.add(new GameRecord(HUMANS[random.nextInt(3)], ai ? "AI" : HUMANS[random.nextInt(3)],
+                    ai ? STRATEGIES[random.nextInt(3)] : "", size, size, i, i * 1000L, 0, winner, moves));
+        }
+        return games;
+    }
+
+    private static GameTable table(List<GameRecord> games) {
+        GameTable table = new GameTable();
+        games.forEach(table::append);
+        return table;
+    }
+
+    @Test
+    void testGroupByMatchesNaiveCount() {
+        List<GameRecord> games = games(3 * Segment.ROWS + 123);
+        Map<String, Outcome> result = table(games).query(Query.groupBy(Column.PLAYER1).where(Column.STRATEGY, "Hard"));
+
+        assertEquals(3, result.size());
+        for (String human : HUMANS) {
+            long played = 0;
+            long aiWins = 0;
+            long moves = 0;
+            for (GameRecord game : games) {
+                if (!game.player1().equals(human) || !game.strategy().equals("Hard")) continue;
+                played++;
+                if (game.winner() == 'O') aiWins++;
+                moves += game.moves().length;
+            }
+            Outcome outcome = result.get(human);
+            assertEquals(played, outcome.games(), human);
+            assertEquals(aiWins, outcome.secondWins(), human);
+            assertEquals(moves, outcome.moves(), human);
+            assertEquals(outcome.games(), outcome.firstWins() + outcome.secondWins() + outcome.draws());
+        }
+    }
+
+    @Test
+    void testNumberColumnsAndTimeRange() {
+        List<GameRecord> games = games(20_000);
+        GameTable table = table(games);
+        Map<String, Outcome> bySize = table.query(Query.groupBy(Column.BOARD_SIZE));
+        assertEquals(games.size(), bySize.get("3").games() + bySize.get("4").games());
+
+        Map<String, Outcome> firstHour = table.query(Query.groupBy(Column.STRATEGY)
+                .where(Column.BOARD_SIZE, "3").between(0, 3_600_000));
+        long expected = games.stream().filter(g -> g.boardSize() == 3 && g.startTime() < 3_600_000).count();
+        assertEquals(expected, firstHour.values().stream().mapToLong(Outcome::games).sum());
+        assertTrue(table.query(Query.groupBy(Column.PLAYER1).where(Column.PLAYER2, "Nobody")).isEmpty());
+    }
+
+    @Test
+    void testResultsAreSortedByGames() {
+        List<Long> counts = table(games(5_000)).query(Query.groupBy(Column.STRATEGY)).values().stream()
+                .map(Outcome::games).toList();
+        for (int i = 1; i < counts.size(); i++) {
+            assertTrue(counts.get(i - 1) >= counts.get(i));
+        }
+    }
+
+    @Test
+    void testLiveQueryUpdatesIncrementally() {
+        List<GameRecord> games = games(10_000);
+        GameTable table = table(games.subList(0, 4_000));
+        Query query = Query.groupBy(Column.PLAYER1).where(Column.PLAYER2, "Zed");
+        try (LiveQuery live = table.watch(query)) {
+            assertTrue(live.result().isEmpty());
+            games.subList(4_000, games.size()).forEach(table::append);
+            table.append(new GameRecord("Alice", "Zed", "", 3, 3, 0, 0, 0, 'X', new int[0]));
+            assertEquals(1, live.result().get("Alice").firstWins());
+        }
+
+        Query hard = Query.groupBy(Column.PLAYER1).where(Column.STRATEGY, "Hard");
+        LiveQuery live = table.watch(hard);
+        table.append(games.get(0));
+        assertEquals(table.query(hard), live.result(), "A live query should equal a fresh scan.");
+    }
+
+    @Test
+    void testLoadsRecordFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("games.bin");
+        List<GameRecord> games = games(1_000);
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            for (GameRecord game : games) {
+                writer.write(game);
+            }
+        }
+        GameTable table = GameTable.load(file);
+        assertEquals(1_000, table.size());
+        assertEquals(table(games).query(Query.groupBy(Column.PLAYER2)), table.query(Query.groupBy(Column.PLAYER2)));
+    }
+}
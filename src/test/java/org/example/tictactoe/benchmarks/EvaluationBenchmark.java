@@ -0,0 +1,69 @@
+package org.example.tictactoe.benchmarks;
+
+import org.example.tictactoe.models.Board;
+import org.example.tictactoe.models.MoveList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the incremental pattern evaluation of {@link Board} with a full-board recompute.
+ * <p>
+ * Each operation plays one move on a 15x15 mid-game position, evaluates it and takes the move
+ * back, which is what a search does at every leaf.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    private Board board;
+    private MoveList moves;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        board = new Board(15, 5);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 40; i++) {
+            board.makeMove(random.nextInt(15), random.nextInt(15), i % 2 == 0 ? 'X' : 'O');
+        }
+        moves = new MoveList(225);
+        board.generateMoves(moves);
+    }
+
+    @Benchmark
+    public long incremental() {
+        board.makeMove(nextMove(), 'X');
+        long score = board.evaluate('X');
+        board.undoMove();
+        return score;
+    }
+
+    @Benchmark
+    public long fullRecompute() {
+        board.makeMove(nextMove(), 'X');
+        long score = board.evaluateFully('X');
+        board.undoMove();
+        return score;
+    }
+
+    private int nextMove() {
+        next = next + 1 == moves.size() ? 0 : next + 1;
+        return moves.get(next);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.tictactoe.benchmarks;
+
+import org.example.tictactoe.models.Board;
+import org.example.tictactoe.models.HardStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the minimax search of {@link HardStrategy}.
+ * <p>
+ * Run with {@code -prof gc}: the empty board visits roughly 550,000 nodes and the
+ * three-stone position only a few hundred, yet both report the same
+ * {@code gc.alloc.rate.norm}, because the only allocations are the per-search ply buffers.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HardStrategyBenchmark {
+
+    private final HardStrategy strategy = new HardStrategy();
+    private Board emptyBoard;
+    private Board midGameBoard;
+
+    @Setup
+    public void setUp() {
+        emptyBoard = new Board();
+        midGameBoard = new Board();
+        midGameBoard.makeMove(0, 0, 'X');
+        midGameBoard.makeMove(1, 1, 'O');
+        midGameBoard.makeMove(2, 2, 'X');
+    }
+
+    @Benchmark
+    public int emptyBoard() {
+        return strategy.selectMove(emptyBoard, 'X', 'O');
+    }
+
+    @Benchmark
+    public int midGame() {
+        return strategy.selectMove(midGameBoard, 'O', 'X');
+    }
+}
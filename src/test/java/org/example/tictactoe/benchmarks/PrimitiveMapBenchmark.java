@@ -0,0 +1,117 @@
+package org.example.tictactoe.benchmarks;
+
+import org.example.tictactoe.utils.IntIntMap;
+import org.example.tictactoe.utils.LongLongMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive maps with boxed {@link HashMap}s on the two access patterns they
+ * replace: win counters keyed by player id, and search tables keyed by position hash.
+ * <p>
+ * Run with {@code -prof gc}: the boxed maps allocate an {@code Integer} or {@code Long} for
+ * most updates (outside the small-integer cache) and a node per new key, while the primitive
+ * maps allocate nothing once they have grown.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveMapBenchmark {
+
+    private static final int OPERATIONS = 1024;
+
+    @Param({"1000", "100000"})
+    public int keys;
+
+    private final IntIntMap intMap = new IntIntMap();
+    private final Map<Integer, Integer> boxedIntMap = new HashMap<>();
+    private final LongLongMap longMap = new LongLongMap();
+    private final Map<Long, Long> boxedLongMap = new HashMap<>();
+    private int[] playerIds;
+    private long[] hashes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(49);
+        playerIds = new int[1 << 16];
+        hashes = new long[1 << 16];
+        long[] distinct = random.longs(keys).toArray();
+        for (int i = 0; i < playerIds.length; i++) {
+            playerIds[i] = random.nextInt(keys);
+            hashes[i] = distinct[random.nextInt(keys)];
+        }
+        for (int i = 0; i < keys; i++) { // start from full maps, as a running server would
+            intMap.addTo(i, 1000);
+            boxedIntMap.merge(i, 1000, Integer::sum);
+            longMap.put(distinct[i], i);
+            boxedLongMap.put(distinct[i], (long) i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int intCounter() {
+        int sum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += intMap.addTo(playerIds[next++ & 0xFFFF], 1);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int boxedIntCounter() {
+        int sum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += boxedIntMap.merge(playerIds[next++ & 0xFFFF], 1, Integer::sum);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long longTable() {
+        long sum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            long hash = hashes[next++ & 0xFFFF];
+            long value = longMap.get(hash, -1);
+            longMap.put(hash, value + 1);
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long boxedLongTable() {
+        long sum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            long hash = hashes[next++ & 0xFFFF];
+            Long value = boxedLongMap.get(hash);
+            long current = value == null ? -1 : value;
+            boxedLongMap.put(hash, current + 1);
+            sum += current;
+        }
+        return sum;
+    }
+}
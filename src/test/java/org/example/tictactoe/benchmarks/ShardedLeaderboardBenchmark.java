@@ -0,0 +1,71 @@
+package org.example.tictactoe.benchmarks;
+
+import org.example.tictactoe.models.ShardedLeaderboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures update and top-K query throughput of {@link ShardedLeaderboard} as the number of
+ * shards grows.
+ * <p>
+ * Updates run on four threads, so with one shard they all contend for one lock; more shards
+ * spread them out. A query merges {@code k} standings from every shard, so it gets slower
+ * as shards are added, by the extra heads it has to copy and merge.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class ShardedLeaderboardBenchmark {
+
+    private static final int PLAYERS = 200_000;
+
+    @Param({"1", "4", "16", "64"})
+    public int shards;
+
+    @Param({"10", "100"})
+    public int k;
+
+    private ShardedLeaderboard leaderboard;
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        leaderboard = new ShardedLeaderboard(shards);
+        names = new String[PLAYERS];
+        SplittableRandom random = new SplittableRandom(47);
+        for (int i = 0; i < PLAYERS; i++) {
+            names[i] = "player" + i;
+            leaderboard.addWins(names[i], random.nextInt(1, 1000));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int update() {
+        return leaderboard.recordWin(names[ThreadLocalRandom.current().nextInt(PLAYERS)]);
+    }
+
+    @Benchmark
+    public Map<String, Integer> topK() {
+        return leaderboard.topK(k);
+    }
+}
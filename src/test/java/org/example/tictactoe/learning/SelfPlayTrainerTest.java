@@ -0,0 +1,112 @@
+package org.example.tictactoe.learning;
+
+import org.example.tictactoe.models.AIDifficultyStrategy;
+import org.example.tictactoe.models.Board;
+import org.example.tictactoe.models.HardStrategy;
+import org.example.tictactoe.models.Move;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SelfPlayTrainer}, its {@link NTupleNetwork} and the {@link LearnedStrategy}.
+ */
+class SelfPlayTrainerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPositionTracksLines() {
+        NTupleNetwork network = new NTupleNetwork(3, 3);
+        assertEquals(8, network.getTupleCount());
+        TuplePosition position = new TuplePosition(network);
+        assertFalse(position.play(0, TuplePosition.X));
+        assertFalse(position.play(3, TuplePosition.O));
+        assertFalse(position.play(4, TuplePosition.X));
+        assertFalse(position.play(5, TuplePosition.O));
+        assertTrue(position.play(8, TuplePosition.X), "X completes the diagonal.");
+        position.undo(8);
+        assertFalse(position.play(8, TuplePosition.O), "O has no line through the corner.");
+    }
+
+    @Test
+    void testUpdateMovesValueTowardsResult() {
+        NTupleNetwork network = new NTupleNetwork(3, 3);
+        TuplePosition position = new TuplePosition(network);
+        position.play(4, TuplePosition.X);
+        int[] features = position.features();
+        float before = NTupleNetwork.value(network.weights(), features);
+        SelfPlayTrainer.Episode win = new SelfPlayTrainer.Episode(new int[][]{features}, new boolean[1], 1);
+        for (int i = 0; i < 100; i++) {
+            SelfPlayTrainer.update(network.weights(), win);
+        }
+        assertTrue(NTupleNetwork.value(network.weights(), features) > before);
+        assertEquals(NTupleNetwork.value(network.weights(), features), network.value(network.weights(), position),
+                1e-6, "Both ways of valuing a position should agree.");
+    }
+
+    @Test
+    void testTrainedNetworkHoldsHardToDraws() throws Exception {
+        SelfPlayTrainer trainer = new SelfPlayTrainer(3, 3, 2, null, 42);
+        trainer.train(100_000);
+        assertEquals(100_000, trainer.getNetwork().getGames());
+        SelfPlayTrainer.Evaluation result = trainer.evaluate(new HardStrategy(), 20);
+        assertEquals(20, result.wins() + result.draws() + result.losses());
+        assertTrue(result.losses() <= 4, "The trained network should mostly draw against Hard: " + result);
+    }
+
+    @Test
+    @Timeout(30)
+    void testFailingActorStopsTraining() throws Exception {
+        SelfPlayTrainer trainer = new SelfPlayTrainer(3, 3, 2, null, 42);
+        AtomicInteger played = new AtomicInteger();
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> trainer.train(10_000,
+                (weights, random) -> {
+                    if (played.incrementAndGet() == 500) throw new IllegalArgumentException("broken game");
+                    return trainer.playGame(weights, random);
+                }));
+        assertEquals("broken game", failure.getCause().getMessage());
+        assertTrue(trainer.getNetwork().getGames() < 10_000);
+    }
+
+    @Test
+    void testResumeFromCheckpoint() throws Exception {
+        Path file = tempDir.resolve("learned.bin");
+        new SelfPlayTrainer(3, 3, 1, file, 1).train(2_000);
+
+        SelfPlayTrainer resumed = new SelfPlayTrainer(3, 3, 1, file, 1);
+        assertEquals(2_000, resumed.getNetwork().getGames(), "The trainer should continue from the checkpoint.");
+        resumed.train(3_000);
+        assertEquals(3_000, NTupleNetwork.load(file).getGames());
+
+        assertEquals(0, new SelfPlayTrainer(4, 4, 1, file, 1).getNetwork().getGames(),
+                "A checkpoint for another board should be ignored.");
+    }
+
+    @Test
+    void testStrategyTakesWinAndFallsBack() {
+        NTupleNetwork network = new NTupleNetwork(3, 3);
+        AIDifficultyStrategy fallback = (board, ai, human) -> Move.of(1, 1);
+        LearnedStrategy strategy = new LearnedStrategy(network, fallback);
+
+        Board board = new Board(3, 3);
+        board.makeMove(0, 0, 'X');
+        board.makeMove(1, 0, 'O');
+        board.makeMove(0, 1, 'X');
+        board.makeMove(1, 1, 'O');
+        assertEquals(Move.of(0, 2), strategy.selectMove(board, 'X', 'O'), "X completes the top row.");
+        assertEquals(1000, strategy.scoreMoves(board, 'X', 'O')[2]);
+        assertEquals(Long.MIN_VALUE, strategy.scoreMoves(board, 'X', 'O')[0]);
+
+        assertEquals(Move.of(1, 1), strategy.selectMove(new Board(4, 4), 'X', 'O'),
+                "Boards the network was not trained for use the fallback.");
+        LearnedStrategy missing = new LearnedStrategy(tempDir.resolve("missing.bin"), fallback);
+        assertEquals(Move.of(1, 1), missing.selectMove(new Board(3, 3), 'X', 'O'));
+    }
+}
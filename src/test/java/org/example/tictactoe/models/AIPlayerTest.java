@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AIPlayerTest {
 
@@ -67,4 +68,67 @@ class AIPlayerTest {
         // Check that the selected move is valid (empty cell)
         assertEquals(' ', boardState[move[0]][move[1]]);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetBestMove_OnFullBoard() {
+        char[] cells = "XOXXOOOXX".toCharArray();
+        for (int cell = 0; cell < cells.length; cell++) {
+            board.makeMove(cell / 3, cell % 3, cells[cell]);
+        }
+        assertArrayEquals(new int[]{-1, -1}, new AIPlayer('X', 'O', "Easy").getBestMove(board));
+        assertArrayEquals(new int[]{-1, -1}, new AIPlayer('O', 'X', "Hard").getBestMove(board));
+        assertArrayEquals(new int[]{-1, -1}, Move.toArray(Move.NONE));
+    }
+
+    @Test
+    void testEasyStrategy_SameSeedPlaysSameGame() {
+        Board first = new Board(4, 3);
+        Board second = new Board(4, 3);
+        AIPlayer x1 = new AIPlayer('X', 'O', "Easy", 42);
+        AIPlayer o1 = new AIPlayer('O', 'X', "Easy", 43);
+        AIPlayer x2 = new AIPlayer('X', 'O', "Easy", 42);
+        AIPlayer o2 = new AIPlayer('O', 'X', "Easy", 43);
+
+        for (int turn = 0; !first.isFull() && first.checkWinner() == ' '; turn++) {
+            AIPlayer mover1 = turn % 2 == 0 ? x1 : o1;
+            AIPlayer mover2 = turn % 2 == 0 ? x2 : o2;
+            int[] move = mover1.getBestMove(first);
+            assertArrayEquals(move, mover2.getBestMove(second));
+            assertEquals(' ', first.getBoard()[move[0]][move[1]]);
+            first.makeMove(move[0], move[1], mover1.getSymbol());
+            second.makeMove(move[0], move[1], mover2.getSymbol());
+        }
+    }
+
+    @Test
+    void testEasyStrategy_ReachesEveryCellOfLargerBoard() {
+        Board large = new Board(5, 4);
+        boolean[] seen = new boolean[25];
+        for (int i = 0; i < 1000; i++) {
+            // a seeded Easy strategy always plays the same move in the same position, so vary the seed
+            int[] move = new AIPlayer('X', 'O', "Easy", i).getBestMove(large);
+            seen[move[0] * 5 + move[1]] = true;
+        }
+        for (boolean cell : seen) {
+            assertEquals(true, cell, "Every empty cell should be chosen sometimes.");
+        }
+    }
+
+    @Test
+    void testHardStrategy_ScoresAgreeWithSelectedMove() {
+        HardStrategy strategy = new HardStrategy();
+        board.makeMove(0, 0, 'X');
+        board.makeMove(1, 1, 'O');
+        board.makeMove(0, 1, 'X');
+
+        long[] scores = strategy.scoreMoves(board, 'O', 'X');
+        int move = strategy.selectMove(board, 'O', 'X');
+        assertEquals(Move.of(0, 2), move, "O has to block the top row.");
+        for (long score : scores) {
+            assertTrue(score <= scores[2], "The blocking move should have the highest score.");
+        }
+        assertTrue(scores[5] < scores[2], "Leaving the row open should score as a loss.");
+        assertEquals(Long.MIN_VALUE, scores[4], "Occupied cells are not scored.");
+        assertEquals(3, board.getMoveCount(), "The board should be restored.");
+    }
+}
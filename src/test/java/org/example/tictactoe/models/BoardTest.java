@@ -3,6 +3,8 @@ package org.example.tictactoe.models;/*package org.example.testtictactoe.models;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -124,6 +126,110 @@ public class BoardTest {
     }
 
 
+    @Test
+    void testGenerateMoves_ListsOnlyEmptyCells() {
+        board.makeMove(0, 0, 'X');
+        board.makeMove(1, 1, 'O');
+        MoveList moves = new MoveList(9);
+        assertEquals(7, board.generateMoves(moves));
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            assertEquals(' ', board.getBoard()[Move.row(move)][Move.col(move)]);
+        }
+    }
+
+    @Test
+    void testUndoMove_RestoresCellAndWinner() {
+        board.makeMove(0, 0, 'X');
+        board.makeMove(0, 1, 'X');
+        board.makeMove(0, 2, 'X');
+        assertEquals('X', board.checkWinner());
+
+        assertEquals(Move.of(0, 2), board.undoMove());
+        assertEquals(' ', board.getBoard()[0][2]);
+        assertEquals(' ', board.checkWinner());
+        assertEquals(2, board.getMoveCount());
+    }
+
+    @Test
+    void testUndoMove_EmptyBoard() {
+        assertEquals(Move.NONE, board.undoMove());
+    }
+
+    @Test
+    void testIsFull_AfterUndo() {
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                board.makeMove(i, j, (i + j) % 2 == 0 ? 'X' : 'O');
+            }
+        }
+        board.undoMove();
+        assertFalse(board.isFull());
+    }
+
+    @Test
+    void testCheckWinner_LargerBoardNeedsWinLength() {
+        Board large = new Board(7, 4);
+        large.makeMove(2, 1, 'O');
+        large.makeMove(3, 2, 'O');
+        large.makeMove(4, 3, 'O');
+        assertEquals(' ', large.checkWinner());
+        large.makeMove(5, 4, 'O');
+        assertEquals('O', large.checkWinner());
+    }
+
+    @Test
+    void testConstructor_InvalidWinLength() {
+        assertThrows(IllegalArgumentException.class, () -> new Board(3, 4));
+    }
+
+    @Test
+    void testEvaluate_MatchesFullRecompute() {
+        Board large = new Board(15, 5);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 60; i++) {
+            large.makeMove(random.nextInt(15), random.nextInt(15), i % 2 == 0 ? 'X' : 'O');
+            assertEquals(large.evaluateFully('X'), large.evaluate('X'));
+        }
+        for (int i = 0; i < 30; i++) {
+            large.undoMove();
+            assertEquals(large.evaluateFully('O'), large.evaluate('O'));
+        }
+    }
+
+    @Test
+    void testPatternWeights_StayBoundedForLongRuns() {
+        for (int winLength = 1; winLength <= 255; winLength++) {
+            long[] weights = PatternTable.weights(winLength, 1_000);
+            for (int stones = 1; stones <= winLength; stones++) {
+                assertTrue(weights[stones] >= weights[stones - 1], "Weights must not shrink: k=" + winLength);
+                assertTrue(weights[stones] > 0, "Weights must not overflow: k=" + winLength);
+            }
+            assertTrue(weights[winLength] <= PatternTable.MAX_SCORE / 1_000, "k=" + winLength);
+        }
+
+        Board longRun = new Board(40, 30);
+        long previous = 0;
+        for (int col = 0; col < 29; col++) {
+            longRun.makeMove(0, col, 'X');
+            long score = longRun.evaluate('X');
+            assertTrue(score >= previous && score < PatternTable.MAX_SCORE, "Score after " + (col + 1) + ": " + score);
+            assertEquals(longRun.evaluateFully('X'), score);
+            previous = score;
+        }
+    }
+
+    @Test
+    void testGetPatternCount_OpenThree() {
+        Board large = new Board(15, 5);
+        large.makeMove(7, 6, 'X');
+        large.makeMove(7, 7, 'X');
+        large.makeMove(7, 8, 'X');
+        assertEquals(3, large.getPatternCount('X', 3)); // three windows of five contain all stones
+        large.makeMove(7, 5, 'O');
+        assertEquals(1, large.getPatternCount('X', 3)); // only the window starting right of the block is live
+    }
+
     @Test
     void testGetBoard_NotNull() {
         assertNotNull(board.getBoard());
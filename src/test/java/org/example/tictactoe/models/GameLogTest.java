@@ -0,0 +1,39 @@
+package org.example.tictactoe.models;
+
+import org.example.tictactoe.utils.NameDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link GameLog} class.
+ */
+class GameLogTest {
+
+    @Test
+    void testRecordsRoundTrip() {
+        NameDictionary names = new NameDictionary();
+        GameLog log = new GameLog(names);
+        List<GameRecord> records = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int size = i % 2 == 0 ? 3 : 200;
+            int[] moves = {Move.of(0, 0), Move.of(size - 1, size - 1), Move.of(1, size / 2)};
+            GameRecord record = new GameRecord("player" + i % 7, i % 3 == 0 ? "AI" : "Bob", i % 3 == 0 ? "Hard" : "",
+                    size, 3, -i, 1_700_000_000_000L + i, i * 31L, "XO ".charAt(i % 3), moves);
+            records.add(record);
+            log.add(record);
+        }
+
+        assertEquals(1000, log.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i), log.get(i));
+        }
+        assertEquals(11, names.size(), "Seven players, 'AI', 'Bob', 'Hard' and '' are stored once each.");
+        List<GameRecord> visited = new ArrayList<>();
+        log.forEach(visited::add);
+        assertEquals(records, visited);
+    }
+}
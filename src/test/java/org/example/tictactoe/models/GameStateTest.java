@@ -1,8 +1,17 @@
 package org.example.tictactoe.models;
 
+import org.example.tictactoe.factories.StrategyFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -43,4 +52,265 @@ class GameStateTest {
         // Expect the invalid move to be handled gracefully.
         assertTrue(true, "Invalid move should not throw errors.");
     }
+
+    @Test
+    void testUndoRedo_PlayerVsPlayer() {
+        playerVsPlayerGame.makeMove(0, 0);
+        playerVsPlayerGame.makeMove(1, 1);
+        assertTrue(playerVsPlayerGame.undo());
+        assertTrue(playerVsPlayerGame.canRedo());
+        assertTrue(playerVsPlayerGame.redo());
+        assertFalse(playerVsPlayerGame.canRedo());
+    }
+
+    @Test
+    void testUndo_PlayerVsAITakesBackWholeTurn() {
+        char[][][] boards = new char[1][][];
+        playerVsAIGame.setOnBoardUpdate(board -> boards[0] = board);
+        playerVsAIGame.makeMove(0, 0); // Player move followed by the AI reply
+        assertTrue(playerVsAIGame.undo());
+        for (char[] row : boards[0]) {
+            for (char cell : row) {
+                assertEquals(' ', cell, "Undo should take back both the player and the AI move.");
+            }
+        }
+        assertFalse(playerVsAIGame.canUndo());
+    }
+
+    @Test
+    void testSeed_ReplaysAiMoves() {
+        GameState first = new GameState(true, "Easy", "Player1", "AI", 5, 4, 1234L);
+        GameState second = new GameState(true, "Easy", "Player1", "AI", 5, 4, 1234L);
+        StringBuilder firstUpdates = new StringBuilder();
+        StringBuilder secondUpdates = new StringBuilder();
+        first.setOnCellUpdate((row, col, symbol) -> firstUpdates.append(row).append(col).append(symbol));
+        second.setOnCellUpdate((row, col, symbol) -> secondUpdates.append(row).append(col).append(symbol));
+        for (int col = 0; col < 3; col++) {
+            first.makeMove(4, col);
+            second.makeMove(4, col);
+        }
+        assertEquals(1234L, first.getSeed());
+        assertEquals(firstUpdates.toString(), secondUpdates.toString(), "The same seed should replay the AI.");
+    }
+
+    @Test
+    void testSeed_ReplaysAiMovesWithPondering() {
+        GameState pondering = new GameState(true, "Easy", "Player1", "AI", 5, 4, 1234L);
+        pondering.setAiExecutor(new InlineExecutorService(), Runnable::run);
+        pondering.setPondering(true); // plays speculative AI moves before every human move
+        GameState plain = new GameState(true, "Easy", "Player1", "AI", 5, 4, 1234L);
+        StringBuilder ponderingUpdates = new StringBuilder();
+        StringBuilder plainUpdates = new StringBuilder();
+        pondering.setOnCellUpdate((row, col, symbol) -> ponderingUpdates.append(row).append(col).append(symbol));
+        plain.setOnCellUpdate((row, col, symbol) -> plainUpdates.append(row).append(col).append(symbol));
+
+        pondering.makeMove(4, 0);
+        pondering.undo();
+        ponderingUpdates.setLength(0);
+        for (int col = 0; col < 3; col++) {
+            pondering.makeMove(4, col);
+            plain.makeMove(4, col);
+        }
+        assertEquals(plainUpdates.toString(), ponderingUpdates.toString(),
+                "Pondering and undo should not change the AI's replies.");
+    }
+
+    @Test
+    void testGameOver_ReportsRecord() {
+        GameRecord[] record = new GameRecord[1];
+        GameState game = new GameState(false, "", "Mary Ann", "Bob", 3, 3, 99L);
+        game.setOnGameOver(finished -> record[0] = finished);
+        int[][] moves = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        for (int[] move : moves) {
+            game.makeMove(move[0], move[1]);
+        }
+
+        assertNotNull(record[0], "The game should be over.");
+        assertEquals("Mary Ann", record[0].winnerName());
+        assertEquals("Mary Ann wins!", record[0].message());
+        assertEquals("", record[0].strategy());
+        assertEquals(99L, record[0].seed());
+        assertArrayEquals(new int[]{Move.of(0, 0), Move.of(1, 0), Move.of(0, 1), Move.of(1, 1), Move.of(0, 2)},
+                record[0].moves());
+    }
+
+    @Test
+    void testCellUpdates_PublishOnlyChangedCells() {
+        StringBuilder updates = new StringBuilder();
+        playerVsPlayerGame.setOnCellUpdate((row, col, symbol) ->
+                updates.append(row).append(col).append(symbol).append(';'));
+        playerVsPlayerGame.makeMove(0, 0);
+        playerVsPlayerGame.makeMove(1, 2);
+        playerVsPlayerGame.undo();
+        assertEquals("00X;12O;12 ;", updates.toString());
+    }
+
+    @Test
+    void testNewMove_ClearsRedo() {
+        playerVsPlayerGame.makeMove(0, 0);
+        playerVsPlayerGame.undo();
+        playerVsPlayerGame.makeMove(2, 2);
+        assertFalse(playerVsPlayerGame.canRedo());
+    }
+
+    @Test
+    void testAiMove_RunsOnBackgroundExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch aiMoved = new CountDownLatch(1);
+        playerVsAIGame.setAiExecutor(executor, Runnable::run);
+        playerVsAIGame.setOnThinkingChanged(thinking -> {
+            if (!thinking) aiMoved.countDown();
+        });
+
+        playerVsAIGame.makeMove(0, 0);
+
+        assertTrue(aiMoved.await(5, TimeUnit.SECONDS), "The AI should answer on the executor.");
+        assertFalse(playerVsAIGame.isAiThinking());
+        assertTrue(playerVsAIGame.canUndo());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCancelAi_DiscardsPendingMove() throws InterruptedException {
+        CountDownLatch searching = new CountDownLatch(1);
+        StrategyFactory.registerStrategy("Blocking", (board, aiSymbol, humanSymbol) -> {
+            searching.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Move.of(2, 2);
+        });
+        GameState game = new GameState(true, "Blocking", "Player1", "AI");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        int[] boardUpdates = new int[1];
+        game.setAiExecutor(executor, Runnable::run);
+        game.setOnBoardUpdate(board -> boardUpdates[0]++);
+
+        game.makeMove(0, 0);
+        assertTrue(searching.await(5, TimeUnit.SECONDS));
+        game.cancelAi();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS), "Cancelling should interrupt the search.");
+        assertEquals(1, boardUpdates[0], "Only the player's move should reach the board.");
+    }
+
+    @Test
+    void testAiFailure_ReportedAndPlayerMoveTakenBack() {
+        StrategyFactory.registerStrategy("Broken", (board, aiSymbol, humanSymbol) -> {
+            throw new IllegalStateException("search failed");
+        });
+        GameState game = new GameState(true, "Broken", "Player1", "AI");
+        game.setAiExecutor(new InlineExecutorService(), Runnable::run);
+        Throwable[] reported = new Throwable[1];
+        boolean[] thinking = new boolean[1];
+        game.setOnAiError(e -> reported[0] = e);
+        game.setOnThinkingChanged(value -> thinking[0] = value);
+
+        game.makeMove(1, 1);
+
+        assertNotNull(reported[0], "The failure should be reported.");
+        assertEquals("search failed", reported[0].getMessage());
+        assertFalse(game.isAiThinking());
+        assertFalse(thinking[0], "Listeners should see the AI stop thinking.");
+        assertFalse(game.canUndo(), "The player's move should have been taken back.");
+    }
+
+    @Test
+    void testRequestMoveScores_MarksOccupiedCells() {
+        long[][] received = new long[1][];
+        playerVsAIGame.makeMove(1, 1);
+        playerVsAIGame.requestMoveScores(scores -> received[0] = scores);
+
+        assertNotNull(received[0], "Scores should be delivered synchronously without an executor.");
+        assertEquals(9, received[0].length);
+        assertEquals(Long.MIN_VALUE, received[0][4], "The occupied center must not be scored.");
+        long scored = Arrays.stream(received[0]).filter(score -> score != Long.MIN_VALUE).count();
+        assertEquals(7, scored, "Every empty cell should be scored.");
+    }
+
+    @Test
+    void testRequestMoveScores_IgnoredInPlayerVsPlayer() {
+        playerVsPlayerGame.requestMoveScores(scores -> fail("No AI to score moves."));
+    }
+
+    @Test
+    void testPondering_AnswersFromPreparedReply() {
+        GameState game = new GameState(true, "Hard", "Player1", "AI");
+        game.setAiExecutor(new InlineExecutorService(), Runnable::run);
+        game.setPondering(true); // ponders the opening synchronously on the inline executor
+
+        game.makeMove(1, 1);
+
+        assertEquals(1.0, game.getPonderHitRate(), "The reply to the center should have been prepared.");
+        assertTrue(game.canUndo());
+    }
+
+    @Test
+    void testPondering_IgnoredWithoutExecutor() {
+        playerVsAIGame.setPondering(true);
+        playerVsAIGame.makeMove(0, 0);
+        assertEquals(0.0, playerVsAIGame.getPonderHitRate());
+    }
+
+    @Test
+    void testRequestHint_DeliveredAfterPondering() {
+        GameState game = new GameState(true, "Hard", "Player1", "AI");
+        game.setAiExecutor(new InlineExecutorService(), Runnable::run);
+        game.setPondering(true);
+        game.makeMove(0, 0);
+
+        GameState.Hint[] received = new GameState.Hint[1];
+        game.requestHint(hint -> received[0] = hint);
+
+        assertNotNull(received[0], "The hint should be delivered through the callback executor.");
+        assertTrue(received[0].exact(), "The classic board should be solved within the budget.");
+        assertEquals(0, received[0].value(), "Hard has held the draw.");
+        assertTrue(received[0].bestMoves().length > 0);
+    }
+
+    @Test
+    void testRequestHint_IgnoredInPlayerVsPlayer() {
+        playerVsPlayerGame.requestHint(hint -> fail("Hints are only given against the AI."));
+    }
+
+    /**
+     * Runs every task on the calling thread, so background work finishes before submit returns.
+     */
+    private static final class InlineExecutorService extends AbstractExecutorService {
+        private boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package org.example.tictactoe.models;
+
+import org.example.tictactoe.analysis.BatchAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link Hinter} class.
+ */
+class HinterTest {
+
+    private static final long BUDGET_NANOS = 5_000_000_000L;
+
+    private final AIPlayer aiPlayer = new AIPlayer('O', 'X', "Hard");
+
+    @Test
+    void testSolvesClassicBoard() {
+        Hinter hinter = new Hinter(aiPlayer, null, BUDGET_NANOS);
+        Board board = new Board();
+
+        GameState.Hint opening = hinter.hint(board, 'X', 'O', null);
+        assertTrue(opening.exact());
+        assertEquals(0, opening.value(), "Tic-tac-toe is a draw.");
+        assertEquals(9, opening.bestMoves().length, "Every opening move draws.");
+
+        board.makeMove(0, 0, 'X');
+        board.makeMove(1, 1, 'O');
+        board.makeMove(0, 1, 'X');
+        board.makeMove(2, 2, 'O');
+        GameState.Hint win = hinter.hint(board, 'X', 'O', null);
+        assertTrue(win.exact());
+        assertEquals(1, win.value());
+        assertTrue(Arrays.stream(win.bestMoves()).anyMatch(move -> move == Move.of(0, 2)),
+                "Completing the row wins.");
+        assertEquals(4, board.getMoveCount(), "The board should be restored.");
+        assertSame(win, hinter.hint(board, 'X', 'O', null), "A repeated hint should be reused.");
+    }
+
+    @Test
+    void testCachedHintCoversSymmetricPositions() {
+        PositionCache cache = new PositionCache(null, 1024);
+        Board board = new Board();
+        board.makeMove(0, 0, 'X');
+        GameState.Hint solved = new Hinter(aiPlayer, cache, BUDGET_NANOS).hint(board, 'O', 'X', null);
+        assertArrayEquals(new int[]{Move.of(1, 1)}, solved.bestMoves(), "Only the center holds a corner opening.");
+
+        Board rotated = new Board();
+        rotated.makeMove(2, 2, 'X');
+        GameState.Hint cached = new Hinter(aiPlayer, cache, 0).hint(rotated, 'O', 'X', null);
+        assertTrue(cached.exact(), "The hint should come from the cache without a search.");
+        assertEquals(solved.value(), cached.value());
+        assertArrayEquals(new int[]{Move.of(1, 1)}, cached.bestMoves());
+    }
+
+    @Test
+    void testReusesBatchAnalysis() {
+        PositionCache cache = new PositionCache(null, 1024);
+        new BatchAnalyzer(3, 3, 9, 1, cache).analyze(Stream.of("X........"));
+
+        Board rotated = new Board();
+        rotated.makeMove(2, 2, 'X');
+        GameState.Hint cached = new Hinter(aiPlayer, cache, 0).hint(rotated, 'O', 'X', null);
+        assertTrue(cached.exact(), "The hint should come from the batch analysis without a search.");
+        assertEquals(0, cached.value());
+        assertArrayEquals(new int[]{Move.of(1, 1)}, cached.bestMoves());
+    }
+
+    @Test
+    void testFallsBackToPonderedScoresWhenOutOfTime() {
+        Hinter hinter = new Hinter(aiPlayer, null, 0);
+        Board board = new Board(7, 4);
+        long[] pondered = new long[board.getCellCount()];
+        pondered[24] = 5;
+        pondered[30] = 5;
+
+        GameState.Hint hint = hinter.hint(board, 'X', 'O', pondered);
+        assertFalse(hint.exact());
+        assertEquals(5, hint.value());
+        assertArrayEquals(new int[]{Move.of(3, 3), Move.of(4, 2)}, hint.bestMoves());
+        assertEquals("score 5", hint.describe());
+    }
+}
@@ -3,7 +3,11 @@ package org.example.tictactoe.models;
 import org.example.tictactoe.services.StatsPersistenceService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,4 +42,21 @@ class LeaderboardTest {
         Map<String, Integer> winCounts = leaderboard.getWinCounts();
         assertTrue(winCounts.containsKey("PersistentPlayer"), "Leaderboard should persist the recorded player.");
     }
+
+    @Test
+    void testWinsAreAppendedAndCompactedOnLoad(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("leaderboard.txt");
+        StatsPersistenceService files = new StatsPersistenceService(file.toString(),
+                dir.resolve("leaderboard_windows.txt").toString());
+        Leaderboard first = new Leaderboard(files);
+        first.recordWin("Alice");
+        first.recordWin("Bob");
+        first.recordWin("Alice");
+        assertEquals(3, Files.readAllLines(file).size(), "Every win should append one line.");
+
+        Leaderboard reloaded = new Leaderboard(files);
+        assertEquals(Map.of("Alice", 2, "Bob", 1), reloaded.getWinCounts());
+        assertEquals(2, Files.readAllLines(file).size(), "Loading should compact the file.");
+        assertEquals(2, reloaded.getWinCounts(Leaderboard.Window.DAILY).get("Alice"));
+    }
 }
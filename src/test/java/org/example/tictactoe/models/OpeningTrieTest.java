@@ -0,0 +1,99 @@
+package org.example.tictactoe.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link OpeningTrie} class.
+ */
+class OpeningTrieTest {
+
+    private static GameRecord game(char winner, int... cells) {
+        int[] moves = Arrays.stream(cells).map(cell -> Move.of(cell / 3, cell % 3)).toArray();
+        return new GameRecord("Alice", "AI", "Hard", 3, 3, 0, 0, 0, winner, moves);
+    }
+
+    @Test
+    void testSymmetricOpeningsShareOnePath() {
+        OpeningTrie trie = new OpeningTrie();
+        trie.add(game('X', 4, 0, 8));
+        trie.add(game(' ', 4, 8, 0));
+        trie.add(game('O', 4, 2));
+
+        OpeningTrie.Entry centerCorner = trie.lookup(3, 3, new int[]{Move.of(1, 1), Move.of(2, 0)});
+        assertEquals(3, centerCorner.games(), "All corner replies to the center are one opening.");
+        assertEquals(1, centerCorner.firstWins());
+        assertEquals(1, centerCorner.secondWins());
+        assertEquals(1, centerCorner.draws());
+        assertEquals(2, trie.lookup(3, 3, new int[]{Move.of(1, 1), Move.of(0, 2), Move.of(2, 0)}).games());
+        assertNull(trie.lookup(3, 3, new int[]{Move.of(0, 1)}));
+        assertNull(trie.lookup(4, 4, new int[0]), "Other board geometries have their own openings.");
+    }
+
+    @Test
+    void testCanonicalFormIsPrefixConsistent() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int game = 0; game < 500; game++) {
+            int size = 3 + random.nextInt(3);
+            int[] cells = random.ints(0, size * size).distinct().limit(6).toArray();
+            int[] moves = Arrays.stream(cells).map(cell -> Move.of(cell / size, cell % size)).toArray();
+            int[] canonical = OpeningTrie.canonical(moves, size);
+            for (int length = 0; length <= moves.length; length++) {
+                assertArrayEquals(OpeningTrie.canonical(Arrays.copyOf(moves, length), size),
+                        Arrays.copyOf(canonical, length));
+            }
+        }
+    }
+
+    @Test
+    void testPopularOpeningsAreSortedAndLimited() {
+        OpeningTrie trie = new OpeningTrie();
+        for (int i = 0; i < 5; i++) trie.add(game('X', 4, 1, 0));
+        for (int i = 0; i < 3; i++) trie.add(game(' ', 0, 4, 8));
+        trie.add(game('O', 1, 4, 7));
+        trie.add(game('X', 4)); // too short for three-move openings
+
+        List<OpeningTrie.Entry> popular = trie.popular(3, 2);
+        assertEquals(2, popular.size());
+        assertEquals(5, popular.get(0).games());
+        assertEquals(3, popular.get(1).games());
+        List<OpeningTrie.Entry> firstMoves = trie.popular(1, 10);
+        assertEquals(3, firstMoves.size(), "Center, corner and edge openings.");
+        assertEquals(6, firstMoves.get(0).games());
+    }
+
+    @Test
+    void testOrderMovesPrefersSuccessfulReplies() {
+        OpeningTrie trie = new OpeningTrie();
+        for (int i = 0; i < 4; i++) trie.add(game('X', 4, 1, 0, 8)); // edge replies lose
+        for (int i = 0; i < 4; i++) trie.add(game(' ', 4, 0, 8)); // corner replies draw
+
+        Board board = new Board();
+        board.makeMove(1, 1, 'X');
+        MoveList moves = new MoveList(9);
+        board.generateMoves(moves);
+        trie.orderMoves(board, moves);
+
+        for (int i = 0; i < 4; i++) {
+            int move = moves.get(i);
+            assertTrue(Move.row(move) != 1 && Move.col(move) != 1, "Corners should come first for 'O'.");
+        }
+        assertEquals(8, moves.size());
+    }
+
+    @Test
+    void testHardStrategyBreaksTiesWithOpenings() {
+        Board board = new Board();
+        assertEquals(Move.of(0, 0), new HardStrategy().selectMove(board, 'X', 'O'));
+
+        OpeningTrie trie = new OpeningTrie();
+        for (int i = 0; i < 3; i++) trie.add(game('X', 4, 1, 0, 8));
+        assertEquals(Move.of(1, 1), new HardStrategy(trie).selectMove(board, 'X', 'O'),
+                "Among equally scored first moves, the one that won in recorded games should be played.");
+    }
+}
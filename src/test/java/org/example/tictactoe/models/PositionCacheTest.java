@@ -0,0 +1,106 @@
+package org.example.tictactoe.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link PositionCache} class and the {@link CachingStrategy} built on it.
+ */
+class PositionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testStoreAndLookup() {
+        PositionCache cache = new PositionCache(tempDir.resolve("cache.bin"), 64);
+        assertEquals(PositionCache.MISSING, cache.lookup(42L));
+        cache.store(42L, Move.of(1, 2));
+        cache.store(0L, 7);
+        assertEquals(Move.of(1, 2), cache.lookup(42L));
+        assertEquals(7, cache.lookup(0L), "Zero is a valid key.");
+        cache.store(42L, 3);
+        assertEquals(3, cache.lookup(42L), "Storing an existing key replaces its value.");
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        PositionCache cache = new PositionCache(tempDir.resolve("cache.bin"), 64);
+        for (long key = 0; key < 1_000; key++) {
+            cache.store(key * 0x9E3779B97F4A7C15L, (int) key);
+        }
+        assertEquals(64, cache.getCapacity());
+        assertTrue(cache.size() <= 64);
+        assertTrue(cache.getEvictions() > 0);
+    }
+
+    @Test
+    void testClockKeepsReferencedEntries() {
+        PositionCache cache = new PositionCache(tempDir.resolve("cache.bin"), 8); // a single bucket of 8
+        for (long key = 1; key <= 8; key++) {
+            cache.store(key, (int) key);
+        }
+        cache.lookup(1L); // referenced: the clock hand skips it once
+        cache.store(9L, 9);
+        assertEquals(1, cache.lookup(1L), "A recently used entry should survive the eviction.");
+        assertEquals(PositionCache.MISSING, cache.lookup(2L), "The oldest unused entry should be evicted.");
+    }
+
+    @Test
+    void testEntriesSurviveReopening() {
+        Path file = tempDir.resolve("cache.bin");
+        new PositionCache(file, 64).store(99L, 5);
+        assertEquals(5, new PositionCache(file, 64).lookup(99L));
+        assertEquals(PositionCache.MISSING, new PositionCache(file, 128).lookup(99L),
+                "A cache with a different layout starts empty.");
+    }
+
+    @Test
+    void testSymmetryInverse() {
+        for (int symmetry = 0; symmetry < Symmetry.COUNT; symmetry++) {
+            int image = Symmetry.apply(symmetry, Move.of(0, 1), 3);
+            assertEquals(Move.of(0, 1), Symmetry.apply(Symmetry.inverse(symmetry), image, 3));
+        }
+    }
+
+    @Test
+    void testCanonicalHash_SharedByRotations() {
+        Board corner = new Board();
+        corner.makeMove(0, 0, 'X');
+        corner.makeMove(1, 1, 'O');
+        Board rotated = new Board();
+        rotated.makeMove(2, 2, 'X');
+        rotated.makeMove(1, 1, 'O');
+        assertNotEquals(corner.getHash(), rotated.getHash());
+        assertEquals(corner.getCanonicalHash(), rotated.getCanonicalHash());
+    }
+
+    @Test
+    void testCachingStrategy_ReusesMoveForSymmetricPosition() {
+        PositionCache cache = new PositionCache(tempDir.resolve("cache.bin"), 64);
+        int[] searches = new int[1];
+        AIDifficultyStrategy blockTopRow = (board, ai, human) -> {
+            searches[0]++;
+            return board.getBoard()[0][0] == 'X' ? Move.of(0, 2) : Move.of(2, 0); // block X's two in a row
+        };
+        CachingStrategy strategy = new CachingStrategy("Test", blockTopRow, cache);
+
+        Board board = new Board();
+        board.makeMove(0, 0, 'X');
+        board.makeMove(1, 1, 'O');
+        board.makeMove(0, 1, 'X');
+        assertEquals(Move.of(0, 2), strategy.selectMove(board, 'O', 'X'));
+
+        Board mirrored = new Board(); // the same position mirrored top to bottom
+        mirrored.makeMove(2, 0, 'X');
+        mirrored.makeMove(1, 1, 'O');
+        mirrored.makeMove(2, 1, 'X');
+        assertEquals(Move.of(2, 2), strategy.selectMove(mirrored, 'O', 'X'));
+        assertEquals(1, searches[0], "The mirrored position should be answered from the cache.");
+    }
+}
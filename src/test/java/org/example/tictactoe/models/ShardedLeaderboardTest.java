@@ -0,0 +1,83 @@
+package org.example.tictactoe.models;
+
+import org.example.tictactoe.utils.NameDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ShardedLeaderboard} class.
+ */
+class ShardedLeaderboardTest {
+
+    @Test
+    void testTopKMatchesSortingAllPlayers() {
+        ShardedLeaderboard leaderboard = new ShardedLeaderboard(7);
+        Map<String, Integer> reference = new HashMap<>();
+        Random random = new Random(46);
+        for (int i = 0; i < 20_000; i++) {
+            String player = "player" + (int) Math.abs(random.nextGaussian() * 300);
+            leaderboard.recordWin(player);
+            reference.merge(player, 1, Integer::sum);
+        }
+
+        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(reference.entrySet());
+        sorted.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        for (int k : new int[]{0, 1, 10, 100, reference.size() + 5}) {
+            Map<String, Integer> expected = new LinkedHashMap<>();
+            sorted.stream().limit(k).forEach(entry -> expected.put(entry.getKey(), entry.getValue()));
+            assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(leaderboard.topK(k).entrySet()),
+                    "Top " + k);
+        }
+        assertEquals(reference.size(), leaderboard.size());
+        assertEquals(reference, leaderboard.toMap());
+    }
+
+    @Test
+    void testPlayersStayOnTheirShard() {
+        ShardedLeaderboard leaderboard = new ShardedLeaderboard(4);
+        leaderboard.addWins("alice", 5);
+        leaderboard.recordWin("alice");
+        int alice = NameDictionary.getInstance().lookup("alice");
+        assertSame(leaderboard.shardOf(alice), leaderboard.shardOf(alice));
+        assertEquals(6, leaderboard.getWins("alice"));
+        assertEquals(0, leaderboard.getWins("bob"));
+        assertEquals(1, leaderboard.size());
+        assertThrows(IllegalArgumentException.class, () -> new ShardedLeaderboard(0));
+    }
+
+    @Test
+    void testConcurrentUpdatesAreAllCounted() throws Exception {
+        ShardedLeaderboard leaderboard = new ShardedLeaderboard(8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        leaderboard.recordWin("player" + i % 100);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(100, leaderboard.size());
+        assertEquals(400, leaderboard.getWins("player7"));
+        assertEquals(3, leaderboard.topK(3).size());
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.tictactoe.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ThreatSpaceSearch} class, checked against an exact search.
+ */
+class ThreatSpaceSearchTest {
+
+    private static final int MAX_DEPTH = 8;
+    private static final long NODE_BUDGET = 1_000_000;
+    private static final int TABLE_ENTRIES = 1 << 16;
+
+    @Test
+    void testDefenderWithTwoFoursIsNotAForcedWin() {
+        // X's block at (1,2) also makes an X four, but O still wins at (2,2)
+        Board board = parse(4, ".X...", "OO.O.", "....X", ".OX.X", "OXOX.");
+        assertClaimIsSound(board, 'X', 'O');
+    }
+
+    @Test
+    void testBrokenThreeIsNotForcing() {
+        // (1,4) only makes threes that O can ignore; the quiet move (2,2) draws
+        Board board = parse(4, "X..OX", "XX...", "OX..O", "....O", ".OX.O");
+        int move = search(board, 'X', 'O').findForcedWin();
+        assertNotEquals(Move.of(1, 4), move);
+        assertClaimIsSound(board, 'X', 'O');
+    }
+
+    @Test
+    void testEveryClaimedWinIsRealOnSmallBoards() {
+        Random random = new Random(42);
+        int claims = 0;
+        for (int i = 0; i < 400; i++) {
+            Board board = randomPosition(random, 4, 3, 4 + random.nextInt(7));
+            if (board != null && assertClaimIsSound(board, 'X', 'O')) claims++;
+        }
+        for (int i = 0; i < 60; i++) {
+            Board board = randomPosition(random, 5, 4, 12 + random.nextInt(6));
+            if (board != null && assertClaimIsSound(board, 'X', 'O')) claims++;
+        }
+        assertTrue(claims > 0, "Some positions should have a forced win.");
+    }
+
+    /**
+     * Checks that the solver's forced win, if it claims one, is a win in the exact game value.
+     *
+     * @return {@code true} if the solver claimed a win.
+     */
+    private static boolean assertClaimIsSound(Board board, char attacker, char defender) {
+        long hash = board.getHash();
+        int moves = board.getMoveCount();
+        int move = search(board, attacker, defender).findForcedWin();
+        assertEquals(hash, board.getHash(), "The search must restore the board.");
+        assertEquals(moves, board.getMoveCount());
+        if (move == Move.NONE) return false;
+
+        assertTrue(board.makeMove(move, attacker), "The claimed move must be legal.");
+        boolean wins = board.checkWinner() == attacker || negamax(board, defender, attacker, new HashMap<>()) == -1;
+        board.undoMove();
+        assertTrue(wins, "Claimed a forced win at " + Move.row(move) + "," + Move.col(move) + " that is not one.");
+        return true;
+    }
+
+    private static ThreatSpaceSearch search(Board board, char attacker, char defender) {
+        return new ThreatSpaceSearch(board, attacker, defender, MAX_DEPTH, NODE_BUDGET, TABLE_ENTRIES);
+    }
+
+    /**
+     * Computes the exact value of a running game for the side to move: 1, 0 or -1.
+     */
+    private static int negamax(Board board, char side, char opponent, Map<Long, Integer> memo) {
+        Integer known = memo.get(board.getHash());
+        if (known != null) return known;
+        MoveList moves = new MoveList(board.getCellCount());
+        board.generateMoves(moves);
+        int best = -1;
+        for (int i = 0; i < moves.size() && best < 1; i++) {
+            board.makeMove(moves.get(i), side);
+            int value = board.checkWinner() == side ? 1 : board.isFull() ? 0 : -negamax(board, opponent, side, memo);
+            board.undoMove();
+            best = Math.max(best, value);
+        }
+        memo.put(board.getHash(), best);
+        return best;
+    }
+
+    /**
+     * Plays random moves, X first, and returns the position with X to move, or {@code null} if the game ended.
+     */
+    private static Board randomPosition(Random random, int size, int winLength, int stones) {
+        Board board = new Board(size, winLength);
+        MoveList moves = new MoveList(board.getCellCount());
+        for (int i = 0; i < stones - stones % 2; i++) {
+            board.generateMoves(moves);
+            board.makeMove(moves.get(random.nextInt(moves.size())), i % 2 == 0 ? 'X' : 'O');
+            if (board.checkWinner() != ' ' || board.isFull()) return null;
+        }
+        return board;
+    }
+
+    private static Board parse(int winLength, String... rows) {
+        Board board = new Board(rows.length, winLength);
+        for (int row = 0; row < rows.length; row++) {
+            for (int col = 0; col < rows.length; col++) {
+                char symbol = rows[row].charAt(col);
+                if (symbol != '.') board.makeMove(row, col, symbol);
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.tictactoe.models;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ThreatSpaceStrategy} class.
+ */
+class ThreatSpaceStrategyTest {
+
+    private ThreatSpaceStrategy strategy;
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new ThreatSpaceStrategy();
+        board = new Board(ThreatSpaceStrategy.BOARD_SIZE, ThreatSpaceStrategy.WIN_LENGTH);
+    }
+
+    @Test
+    void testEmptyBoard_PlaysCenter() {
+        assertEquals(Move.of(7, 7), strategy.selectMove(board, 'X', 'O'));
+    }
+
+    @Test
+    void testCompletesFour() {
+        for (int col = 3; col < 7; col++) board.makeMove(7, col, 'O');
+        board.makeMove(7, 2, 'X');
+        board.makeMove(0, 0, 'X');
+        assertEquals(Move.of(7, 7), strategy.selectMove(board, 'O', 'X'));
+    }
+
+    @Test
+    void testBlocksOpponentFour() {
+        for (int row = 2; row < 6; row++) board.makeMove(row, 4, 'X');
+        board.makeMove(1, 4, 'O');
+        board.makeMove(10, 10, 'O');
+        assertEquals(Move.of(6, 4), strategy.selectMove(board, 'O', 'X'));
+    }
+
+    @Test
+    void testFindsForcedWinFromOpenThree() {
+        board.makeMove(7, 5, 'O');
+        board.makeMove(7, 6, 'O');
+        board.makeMove(7, 7, 'O');
+        board.makeMove(0, 0, 'X');
+        board.makeMove(0, 14, 'X');
+        long hash = board.getHash();
+
+        int move = strategy.selectMove(board, 'O', 'X');
+
+        assertEquals(7, Move.row(move));
+        assertTrue(Move.col(move) == 4 || Move.col(move) == 8, "The open three should become an open four.");
+        assertEquals(5, board.getMoveCount(), "The search must restore the board.");
+        assertEquals(hash, board.getHash(), "The search must restore the board hash.");
+    }
+}
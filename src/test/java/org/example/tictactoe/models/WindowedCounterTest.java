@@ -0,0 +1,78 @@
+package org.example.tictactoe.models;
+
+import org.example.tictactoe.services.StatsPersistenceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link WindowedCounter} class and the windowed {@link Leaderboard}.
+ */
+class WindowedCounterTest {
+
+    private static final long DAY = 20_000;
+
+    @Test
+    void testSumsOnlyDaysInWindow() {
+        WindowedCounter counter = new WindowedCounter();
+        counter.add(DAY - 10, 1);
+        counter.add(DAY - 3, 2);
+        counter.add(DAY, 4);
+
+        assertEquals(4, counter.sum(DAY, 1));
+        assertEquals(6, counter.sum(DAY, 7));
+        assertEquals(7, counter.sum(DAY, 30));
+        assertEquals(3, counter.sum(DAY - 1, 30), "Later days should not count towards an earlier window.");
+        assertEquals(0, counter.sum(DAY + 30, 30));
+    }
+
+    @Test
+    void testOldBucketsExpireWhenTheRingWraps() {
+        WindowedCounter counter = new WindowedCounter();
+        counter.add(DAY, 5);
+        counter.add(DAY + WindowedCounter.BUCKETS, 1); // reuses the bucket of DAY
+        assertEquals(1, counter.sum(DAY + WindowedCounter.BUCKETS, WindowedCounter.BUCKETS));
+
+        counter.add(DAY, 3);
+        assertEquals(1, counter.sum(DAY + WindowedCounter.BUCKETS, WindowedCounter.BUCKETS),
+                "Events older than the window should be ignored.");
+        assertTrue(counter.isExpired(DAY + 2L * WindowedCounter.BUCKETS));
+    }
+
+    @Test
+    void testRestoresPersistedState() {
+        WindowedCounter counter = new WindowedCounter();
+        counter.add(DAY - 1, 2);
+        counter.add(DAY, 1);
+        WindowedCounter restored = new WindowedCounter(counter.getLastDay(), counter.getBuckets());
+        assertEquals(3, restored.sum(DAY, 7));
+        assertThrows(IllegalArgumentException.class, () -> new WindowedCounter(DAY, new int[3]));
+    }
+
+    @Test
+    void testLeaderboardWindows(@TempDir Path dir) {
+        Leaderboard leaderboard = new Leaderboard(new StatsPersistenceService(
+                dir.resolve("leaderboard.txt").toString(), dir.resolve("leaderboard_windows.txt").toString()));
+        LocalDate today = LocalDate.now();
+        String recent = "WindowTestRecent";
+        String older = "WindowTestOlder";
+        leaderboard.recordWin(older, today.minusDays(10));
+        leaderboard.recordWin(older, today.minusDays(10));
+        leaderboard.recordWin(recent, today);
+
+        Map<String, Integer> daily = leaderboard.getWinCounts(Leaderboard.Window.DAILY, today);
+        Map<String, Integer> monthly = leaderboard.getWinCounts(Leaderboard.Window.MONTHLY, today);
+        assertTrue(daily.containsKey(recent));
+        assertFalse(daily.containsKey(older), "Wins outside the window should not be listed.");
+        assertFalse(leaderboard.getWinCounts(Leaderboard.Window.WEEKLY, today).containsKey(older));
+
+        List<String> names = List.copyOf(monthly.keySet());
+        assertTrue(names.indexOf(older) < names.indexOf(recent), "Boards should be sorted by wins.");
+    }
+}
@@ -0,0 +1,233 @@
+package org.example.tictactoe.replication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CRDT counters and the {@link ReplicatedLeaderboard}, in one JVM and in several.
+ */
+class ReplicatedLeaderboardTest {
+
+    private static final long CONVERGENCE_MILLIS = 20_000;
+
+    @Test
+    void testGCounterMergeIsOrderIndependentAndIdempotent() {
+        GCounter a = new GCounter();
+        GCounter b = new GCounter();
+        a.increment("a", 3);
+        b.increment("b", 2);
+        b.increment("a", 1); // b has seen an older state of a's slot
+
+        GCounter ab = new GCounter();
+        ab.merge(a);
+        ab.merge(b);
+        GCounter ba = new GCounter();
+        ba.merge(b);
+        ba.merge(a);
+        assertEquals(5, ab.value());
+        assertEquals(ab.entries(), ba.entries());
+        assertFalse(ab.merge(a), "Merging a state twice changes nothing.");
+        assertThrows(IllegalArgumentException.class, () -> a.increment("a", -1));
+    }
+
+    @Test
+    void testPNCounterTakesBackIncrements() {
+        PNCounter a = new PNCounter();
+        PNCounter b = new PNCounter();
+        a.increment("a", 2);
+        b.increment("b", 1);
+        b.decrement("b", 1);
+        a.merge(b);
+        b.merge(a);
+        assertEquals(2, a.value());
+        assertEquals(2, b.value());
+        assertEquals(1, a.getDecrements("b"));
+    }
+
+    @Test
+    @Timeout(30)
+    void testNodesConvergeAndReportLag() throws Exception {
+        int[] ports = freePorts(2);
+        try (ReplicatedLeaderboard a = new ReplicatedLeaderboard("a", ports[0], List.of(ports[1]));
+             ReplicatedLeaderboard b = new ReplicatedLeaderboard("b", ports[1], List.of(ports[0]))) {
+            a.recordWin("alice");
+            a.recordWin("alice");
+            b.recordWin("bob");
+            b.recordWin("alice");
+            b.retractWin("bob");
+
+            Map<String, Integer> expected = Map.of("alice", 3);
+            awaitTrue(() -> a.getWinCounts().equals(expected) && b.getWinCounts().equals(expected));
+            awaitTrue(() -> a.getLag().size() == 1 && a.getLag().get(0).isCaughtUp());
+            ReplicationLag lag = a.getLag().get(0);
+            assertEquals("b", lag.node());
+            assertTrue(lag.millisSinceHeard() < CONVERGENCE_MILLIS);
+            assertEquals(0, b.getWins("bob"));
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void testNodeThatLostItsStateKeepsWinsRecordedBeforeCatchingUp(@TempDir Path directory) throws Exception {
+        int[] ports = freePorts(2);
+        Path stateFile = directory.resolve("a.crdt");
+        try (ReplicatedLeaderboard b = new ReplicatedLeaderboard("b", ports[1], List.of(ports[0]))) {
+            try (ReplicatedLeaderboard a = new ReplicatedLeaderboard("a", ports[0], List.of(ports[1]), stateFile)) {
+                a.recordWin("alice");
+                a.recordWin("alice");
+                awaitTrue(() -> b.getWins("alice") == 2);
+            }
+            Files.delete(stateFile);
+
+            // The restarted node records a win before the peer's full state arrives in the first gossip round
+            try (ReplicatedLeaderboard a = new ReplicatedLeaderboard("a", ports[0], List.of(ports[1]), stateFile)) {
+                a.recordWin("alice");
+                awaitTrue(() -> b.getWins("alice") == 3 && a.getWins("alice") == 3);
+            }
+        }
+    }
+
+    @Test
+    @Timeout(90)
+    void testSeparateJvmsConvergeAndRecoverAfterRestart(@TempDir Path directory) throws Exception {
+        int[] ports = freePorts(3);
+        List<Node> nodes = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                nodes.add(Node.start(directory, "n" + i, ports, i));
+            }
+            nodes.get(0).send("win alice");
+            nodes.get(0).send("win alice");
+            nodes.get(1).send("win bob");
+            nodes.get(1).send("win alice");
+            nodes.get(2).send("win carol");
+            nodes.get(2).send("retract alice");
+            String expected = "{alice=2, bob=1, carol=1}";
+            for (Node node : nodes) {
+                node.awaitAnswer("counts", expected);
+            }
+            nodes.get(0).awaitAnswer("lag", "[ReplicationLag[node=n1, updatesBehind=0",
+                    "ReplicationLag[node=n2, updatesBehind=0");
+
+            // A restarted node keeps its own wins and catches up on what it missed.
+            nodes.get(2).stop();
+            nodes.get(0).send("win dave");
+            nodes.set(2, Node.start(directory, "n2", ports, 2));
+            nodes.get(2).awaitAnswer("counts", "{alice=2, bob=1, carol=1, dave=1}");
+            nodes.get(1).awaitAnswer("counts", "{alice=2, bob=1, carol=1, dave=1}");
+        } finally {
+            nodes.forEach(Node::stop);
+        }
+    }
+
+    private static int[] freePorts(int count) throws IOException {
+        int[] ports = new int[count];
+        List<ServerSocket> sockets = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                ServerSocket socket = new ServerSocket(0);
+                sockets.add(socket);
+                ports[i] = socket.getLocalPort();
+            }
+        } finally {
+            for (ServerSocket socket : sockets) {
+                socket.close();
+            }
+        }
+        return ports;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + CONVERGENCE_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "The nodes did not converge in time.");
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * A node running in its own JVM, driven through its standard input.
+     */
+    private record Node(Process process, PrintWriter commands, BufferedReader answers) {
+
+        static Node start(Path directory, String id, int[] ports, int index) throws IOException {
+            String classPath = System.getProperty("java.class.path");
+            String modulePath = System.getProperty("jdk.module.path");
+            if (modulePath != null && !modulePath.isEmpty()) classPath = modulePath + File.pathSeparator + classPath;
+            List<String> command = new ArrayList<>(List.of(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-Xmx64m", "-cp", classPath,
+                    ReplicatedLeaderboard.class.getName(), id, Integer.toString(ports[index])));
+            for (int i = 0; i < ports.length; i++) {
+                if (i != index) command.add(Integer.toString(ports[i]));
+            }
+            Process process = new ProcessBuilder(command).directory(directory.toFile())
+                    .redirectError(ProcessBuilder.Redirect.DISCARD).start();
+            Node node = new Node(process, new PrintWriter(process.getOutputStream(), true, StandardCharsets.UTF_8),
+                    new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)));
+            node.readAnswer("READY");
+            return node;
+        }
+
+        void send(String command) {
+            commands.println(command);
+        }
+
+        /**
+         * Repeats a query until its answer contains all the expected parts.
+         */
+        void awaitAnswer(String query, String... expected) throws IOException, InterruptedException {
+            long deadline = System.currentTimeMillis() + CONVERGENCE_MILLIS;
+            String answer;
+            while (true) {
+                send(query);
+                answer = readAnswer(query.toUpperCase());
+                boolean matches = true;
+                for (String part : expected) {
+                    matches &= answer.contains(part);
+                }
+                if (matches) return;
+                assertTrue(System.currentTimeMillis() < deadline, "Last answer: " + answer);
+                Thread.sleep(100);
+            }
+        }
+
+        /**
+         * Reads up to the next line with the given prefix, skipping log output.
+         */
+        String readAnswer(String prefix) throws IOException {
+            for (String line = answers.readLine(); line != null; line = answers.readLine()) {
+                if (line.startsWith(prefix)) return line;
+            }
+            throw new IOException("Node exited while waiting for " + prefix);
+        }
+
+        void stop() {
+            if (!process.isAlive()) return;
+            send("quit");
+            try {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) process.destroyForcibly();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.tictactoe.services;
+
+import org.example.tictactoe.models.GameRecord;
+import org.example.tictactoe.models.Move;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link GameRecordWriter} and {@link GameRecordReader}.
+ */
+class GameRecordStreamTest {
+
+    @TempDir
+    Path dir;
+
+    private static GameRecord classic(String player1, char winner, int... cells) {
+        int[] moves = Arrays.stream(cells).map(cell -> Move.of(cell / 3, cell % 3)).toArray();
+        return new GameRecord(player1, "AI", "Hard", 3, 3, -42L, 1_700_000_000_000L, 12_345, winner, moves);
+    }
+
+    @Test
+    void testRoundTripPacksClassicMovesIntoNibbles() throws IOException {
+        Path file = dir.resolve("games.bin");
+        GameRecord win = classic("Mary Ann", 'X', 4, 0, 8, 2, 1, 6, 3, 5, 7);
+        GameRecord loss = classic("Zoë", 'O', 0, 4, 1, 2, 8, 6);
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(win);
+            writer.write(loss);
+        }
+
+        assertEquals(List.of(win, loss), GameRecordReader.readAll(file));
+        assertEquals("Mary Ann wins!", win.message(), "Multi-word names should survive.");
+        // header + length + names + fixed fields + 5 bytes for 9 moves
+        assertTrue(Files.size(file) < 5 + 2 * 48, "Records should be compact, was " + Files.size(file));
+    }
+
+    @Test
+    void testRoundTripLargeBoardWithVarints() throws IOException {
+        Path file = dir.resolve("games.bin");
+        int[] moves = {Move.of(0, 0), Move.of(14, 14), Move.of(7, 3), Move.of(10, 12)};
+        GameRecord record = new GameRecord("Alice", "Bob", "", 15, 5, 7L, 0L, 0L, ' ', moves);
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(record);
+        }
+        assertEquals(List.of(record), GameRecordReader.readAll(file));
+    }
+
+    @Test
+    void testAppendsToExistingFile() throws IOException {
+        Path file = dir.resolve("games.bin");
+        for (int i = 0; i < 3; i++) {
+            try (GameRecordWriter writer = new GameRecordWriter(file)) {
+                writer.write(classic("P" + i, ' ', 0, 1, 2));
+            }
+        }
+        List<GameRecord> records = GameRecordReader.readAll(file);
+        assertEquals(3, records.size());
+        assertEquals("P2", records.get(2).player1());
+    }
+
+    @Test
+    void testTruncatedRecordEndsStream() throws IOException {
+        Path file = dir.resolve("games.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(classic("Alice", 'X', 0, 3, 1, 4, 2));
+            writer.write(classic("Bob", 'X', 0, 3, 1, 4, 2));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        List<GameRecord> records = GameRecordReader.readAll(file);
+        assertEquals(1, records.size(), "Only the complete record should be read.");
+        assertEquals("Alice", records.get(0).player1());
+    }
+
+    @Test
+    void testAppendAfterTornTailKeepsLaterRecords() throws IOException {
+        Path file = dir.resolve("games.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(classic("Alice", 'X', 0, 3, 1, 4, 2));
+            writer.write(classic("Bob", 'X', 0, 3, 1, 4, 2));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        for (String name : List.of("Carol", "Dave", "Erin")) {
+            try (GameRecordWriter writer = new GameRecordWriter(file)) {
+                writer.write(classic(name, 'O', 0, 3, 1, 4, 8));
+            }
+        }
+        List<GameRecord> records = GameRecordReader.readAll(file);
+        assertEquals(List.of("Alice", "Carol", "Dave", "Erin"),
+                records.stream().map(GameRecord::player1).toList(), "The torn record should be dropped.");
+    }
+
+    @Test
+    void testCorruptRecordKeepsEarlierRecords() throws IOException {
+        Path file = dir.resolve("games.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(classic("Alice", 'X', 0, 3, 1, 4, 2));
+        }
+        byte[] corrupt = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0};
+        Files.write(file, corrupt, StandardOpenOption.APPEND);
+
+        List<GameRecord> records = GameRecordReader.readAll(file);
+        assertEquals(1, records.size(), "The record before the corrupt one should be kept.");
+        assertEquals("Alice", records.get(0).player1());
+    }
+
+    @Test
+    void testAppendsAfterRecordOfHugeBoard() throws IOException {
+        Path file = dir.resolve("games.bin");
+        int[] moves = {Move.of(0, 0), Move.of(199, 199), Move.of(150, 3)};
+        GameRecord huge = new GameRecord("Alice", "Bob", "", 200, 130, 7L, 0L, 0L, ' ', moves);
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(huge);
+        }
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(classic("Carol", 'X', 0, 3, 1, 4, 2));
+        }
+        List<GameRecord> records = GameRecordReader.readAll(file);
+        assertEquals(2, records.size(), "A board over 127 cells wide must not read as corrupt.");
+        assertEquals(huge, records.get(0));
+    }
+
+    @Test
+    void testCorruptRecordInTheMiddleIsBackedUpNotTruncated() throws IOException {
+        Path file = dir.resolve("games.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(classic("Alice", 'X', 0, 3, 1, 4, 2));
+        }
+        // a length prefix far beyond any record, followed by a good record
+        Files.write(file, new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01}, StandardOpenOption.APPEND);
+        Path other = dir.resolve("other.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(other)) {
+            writer.write(classic("Bob", 'O', 0, 3, 1, 4, 8));
+        }
+        byte[] bob = Files.readAllBytes(other);
+        Files.write(file, Arrays.copyOfRange(bob, GameRecordWriter.HEADER_BYTES, bob.length), StandardOpenOption.APPEND);
+        byte[] before = Files.readAllBytes(file);
+
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(classic("Carol", 'X', 0, 3, 1, 4, 2));
+        }
+        assertEquals(List.of("Alice", "Carol"),
+                GameRecordReader.readAll(file).stream().map(GameRecord::player1).toList());
+        try (Stream<Path> files = Files.list(dir)) {
+            Path backup = files.filter(path -> path.getFileName().toString().startsWith("games.bin.corrupt-"))
+                    .findFirst().orElseThrow(() -> new AssertionError("The corrupt file should be backed up."));
+            assertArrayEquals(before, Files.readAllBytes(backup), "The backup should keep the later records.");
+        }
+    }
+
+    @Test
+    void testRejectsForeignFile() throws IOException {
+        Path file = dir.resolve("game_results.txt");
+        Files.writeString(file, "Alice wins!\n");
+        assertThrows(IOException.class, () -> GameRecordReader.readAll(file));
+        assertThrows(IOException.class, () -> new GameRecordWriter(file));
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.tictactoe.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SimulationCoordinator} and its worker processes.
+ */
+class SimulationCoordinatorTest {
+
+    @Test
+    void testMatrixCoversEveryPairAndSeed() {
+        List<Shard> shards = Shard.matrix(List.of("Easy", "Hard", "Expert"), 3, 3, 250, 100);
+        assertEquals(9, shards.size(), "Three pairs of three shards each.");
+        assertEquals(new Shard.Pairing("Easy", "Hard"), shards.get(0).pairing());
+        assertEquals(200, shards.get(2).firstSeed());
+        assertEquals(50, shards.get(2).games());
+        assertEquals(new Shard.Pairing("Hard", "Expert"), shards.get(8).pairing());
+    }
+
+    @Test
+    void testTallyDecodesResults() {
+        Tally tally = new Tally();
+        tally.add(Tally.encode(Tally.FIRST_WINS, 5));
+        tally.add(Tally.encode(Tally.SECOND_WINS, 6));
+        tally.add(Tally.encode(Tally.DRAW, 9));
+        tally.add(Tally.encode(Tally.DRAW, 200));
+        assertEquals(1, tally.getFirstWins());
+        assertEquals(1, tally.getSecondWins());
+        assertEquals(2, tally.getDraws());
+        assertEquals(55, tally.getAverageMoves(), 1e-9);
+    }
+
+    @Test
+    void testWorkersAggregateResults() throws Exception {
+        SimulationCoordinator coordinator = new SimulationCoordinator(2, 0,
+                SimulationCoordinator.jvmLauncher(List.of("-Xmx128m")));
+        Map<Shard.Pairing, Tally> totals = coordinator.run(Shard.matrix(List.of("Hard", "Hard"), 3, 3, 40, 10));
+
+        Tally tally = totals.get(new Shard.Pairing("Hard", "Hard"));
+        assertEquals(40, tally.getGames());
+        assertEquals(40, tally.getDraws(), "Perfect players always draw on the classic board.");
+        assertEquals(0, coordinator.getRestarts());
+    }
+
+    @Test
+    void testCrashedWorkerShardIsReassigned() throws Exception {
+        SimulationCoordinator.WorkerLauncher jvm = SimulationCoordinator.jvmLauncher(List.of("-Xmx128m"));
+        SimulationCoordinator.WorkerLauncher crashingFirst = (workerId, port) -> workerId == 0
+                ? SimulationCoordinator.jvmLauncher(List.of("-Xmx128m",
+                        "-D" + SimulationWorker.CRASH_PROPERTY + "=15")).launch(workerId, port)
+                : jvm.launch(workerId, port);
+        SimulationCoordinator coordinator = new SimulationCoordinator(2, 2, crashingFirst);
+        Map<Shard.Pairing, Tally> totals = coordinator.run(Shard.matrix(List.of("Hard", "Hard"), 3, 3, 60, 10));
+
+        assertEquals(60, totals.get(new Shard.Pairing("Hard", "Hard")).getGames(),
+                "Every game should be counted exactly once despite the crash.");
+        assertEquals(1, coordinator.getRestarts());
+    }
+}
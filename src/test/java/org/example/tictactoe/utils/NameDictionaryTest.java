@@ -0,0 +1,41 @@
+package org.example.tictactoe.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link NameDictionary} class.
+ */
+class NameDictionaryTest {
+
+    @Test
+    void testInternAssignsDenseStableIds() {
+        NameDictionary names = new NameDictionary();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, names.intern("player" + i));
+        }
+        assertEquals(42, names.intern("player42"), "Interning again returns the same id.");
+        assertEquals(10_000, names.size());
+        assertEquals("player9999", names.name(9999));
+        assertEquals(NameDictionary.NONE, names.lookup("nobody"));
+        assertThrows(IndexOutOfBoundsException.class, () -> names.name(10_000));
+    }
+
+    @Test
+    void testNonAsciiNamesRoundTripAndCompare() {
+        NameDictionary names = new NameDictionary();
+        int zoe = names.intern("Zoë");
+        int chen = names.intern("陈");
+        int empty = names.intern("");
+        int adam = names.intern("Adam");
+        assertEquals("Zoë", names.name(zoe));
+        assertEquals("陈", names.name(chen));
+        assertEquals("", names.name(empty));
+        assertEquals(chen, names.lookup("陈"));
+        assertTrue(names.compare(adam, zoe) < 0);
+        assertTrue(names.compare(chen, zoe) > 0);
+        assertTrue(names.compare(empty, adam) < 0);
+        assertEquals(0, names.compare(adam, adam));
+    }
+}
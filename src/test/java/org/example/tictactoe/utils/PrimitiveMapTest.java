@@ -0,0 +1,85 @@
+package org.example.tictactoe.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the primitive maps {@link IntIntMap}, {@link LongLongMap} and {@link LongPackedMap}.
+ */
+class PrimitiveMapTest {
+
+    @Test
+    void testIntIntMapMatchesHashMap() {
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(48);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(5_000) - 100; // includes 0 and negative keys
+            if (random.nextBoolean()) {
+                assertEquals(reference.merge(key, 3, Integer::sum), map.addTo(key, 3));
+            } else {
+                map.put(key, i);
+                reference.put(key, i);
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        Map<Integer, Integer> copy = new HashMap<>();
+        map.forEach(copy::put);
+        assertEquals(reference, copy);
+        assertEquals(-1, map.get(1_000_000, -1));
+        assertEquals(reference.containsKey(0), map.containsKey(0));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0));
+    }
+
+    @Test
+    void testLongLongMapMatchesHashMap() {
+        LongLongMap map = new LongLongMap(4);
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(49);
+        long[] keys = new long[3_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i == 0 ? 0 : random.nextLong(); // spread like Zobrist hashes, plus key 0
+        }
+        for (int i = 0; i < 50_000; i++) {
+            long key = keys[random.nextInt(keys.length)];
+            if (random.nextBoolean()) {
+                assertEquals(reference.merge(key, 5L, Long::sum), map.addTo(key, 5));
+            } else {
+                map.put(key, -i);
+                reference.put(key, (long) -i);
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        Map<Long, Long> copy = new HashMap<>();
+        map.forEach(copy::put);
+        assertEquals(reference, copy);
+        assertFalse(map.containsKey(42));
+        assertEquals(7, map.get(42, 7));
+    }
+
+    @Test
+    void testLongPackedMapPacksValueAndDepth() {
+        LongPackedMap table = new LongPackedMap();
+        table.put(123L, -1, 7);
+        table.put(0L, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        table.put(-5L, 0x0102, 0);
+
+        long entry = table.get(123L);
+        assertEquals(-1, LongPackedMap.value(entry));
+        assertEquals(7, LongPackedMap.depth(entry));
+        assertEquals(Integer.MIN_VALUE, LongPackedMap.value(table.get(0L)));
+        assertEquals(Integer.MAX_VALUE, LongPackedMap.depth(table.get(0L)));
+        assertEquals(0x0102, LongPackedMap.value(table.get(-5L)));
+        assertEquals(LongPackedMap.MISSING, table.get(99L));
+        assertEquals(3, table.size());
+        assertThrows(IllegalArgumentException.class, () -> table.put(1L, 0, -1));
+    }
+}